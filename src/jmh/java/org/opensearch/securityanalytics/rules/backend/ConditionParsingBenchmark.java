@@ -0,0 +1,130 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.rules.backend;
+
+import org.antlr.v4.runtime.BailErrorStrategy;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.rules.condition.ConditionLexer;
+import org.opensearch.securityanalytics.rules.condition.ConditionParser;
+import org.opensearch.securityanalytics.rules.condition.aggregation.AggregationLexer;
+import org.opensearch.securityanalytics.rules.condition.aggregation.AggregationParser;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaConditionError;
+import org.opensearch.securityanalytics.rules.objects.SigmaCondition;
+import org.opensearch.securityanalytics.rules.objects.SigmaRule;
+
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Parses the conditions of all pre-packaged rules, as done for every rule when it is converted. parseWithLL is how
+ * conditions were parsed before, by a new parser with full LL prediction; parseWithSLL uses the SLL prediction
+ * SigmaCondition tries first, and parseCondition goes through SigmaCondition, whose parse trees are cached after
+ * the first iteration, including the visitors building the condition items.
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class ConditionParsingBenchmark {
+
+    private final List<SigmaCondition> conditions = new ArrayList<>();
+
+    private final List<String> conditionTexts = new ArrayList<>();
+
+    private final List<String> aggregationTexts = new ArrayList<>();
+
+    @Setup
+    public void setUp() throws Exception {
+        Path rulesPath = Path.of(Objects.requireNonNull(getClass().getClassLoader().getResource("rules/")).toURI());
+        List<Path> categoryPaths;
+        try (Stream<Path> paths = Files.list(rulesPath)) {
+            categoryPaths = paths.sorted().collect(Collectors.toList());
+        }
+
+        for (Path categoryPath: categoryPaths) {
+            String category = categoryPath.getFileName().toString();
+            if (Arrays.stream(Detector.DetectorType.values()).noneMatch(detectorType -> detectorType.getDetectorType().equals(category))) {
+                continue;
+            }
+
+            try (Stream<Path> rulePaths = Files.walk(categoryPath)) {
+                for (Path rulePath: rulePaths.filter(Files::isRegularFile).sorted().collect(Collectors.toList())) {
+                    SigmaRule rule = SigmaRule.fromYaml(Files.readString(rulePath, Charset.defaultCharset()), true);
+                    conditions.addAll(rule.getDetection().getParsedCondition());
+                    for (String condition: rule.getDetection().getCondition()) {
+                        String[] parts = condition.split(" \\| ");
+                        conditionTexts.add(parts[0]);
+                        if (parts.length > 1) {
+                            aggregationTexts.add(parts[1]);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void parseWithLL(Blackhole blackhole) {
+        for (String condition: conditionTexts) {
+            ConditionParser parser = new ConditionParser(new CommonTokenStream(new ConditionLexer(CharStreams.fromString(condition))));
+            parser.getInterpreter().setPredictionMode(PredictionMode.LL);
+            blackhole.consume(parser.start());
+        }
+        for (String aggregation: aggregationTexts) {
+            AggregationParser parser = new AggregationParser(new CommonTokenStream(new AggregationLexer(CharStreams.fromString(aggregation))));
+            parser.getInterpreter().setPredictionMode(PredictionMode.LL);
+            blackhole.consume(parser.comparison_expr());
+        }
+    }
+
+    @Benchmark
+    public void parseWithSLL(Blackhole blackhole) {
+        for (String condition: conditionTexts) {
+            ConditionParser parser = new ConditionParser(new CommonTokenStream(new ConditionLexer(CharStreams.fromString(condition))));
+            parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+            parser.removeErrorListeners();
+            parser.setErrorHandler(new BailErrorStrategy());
+            blackhole.consume(parser.start());
+        }
+        for (String aggregation: aggregationTexts) {
+            AggregationParser parser = new AggregationParser(new CommonTokenStream(new AggregationLexer(CharStreams.fromString(aggregation))));
+            parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+            parser.removeErrorListeners();
+            parser.setErrorHandler(new BailErrorStrategy());
+            blackhole.consume(parser.comparison_expr());
+        }
+    }
+
+    @Benchmark
+    public void parseCondition(Blackhole blackhole) throws SigmaConditionError {
+        for (SigmaCondition condition: conditions) {
+            blackhole.consume(condition.parsed());
+        }
+    }
+}
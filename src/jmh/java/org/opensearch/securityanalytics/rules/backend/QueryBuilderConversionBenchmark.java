@@ -0,0 +1,121 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.rules.backend;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.opensearch.common.Strings;
+import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
+import org.opensearch.securityanalytics.rules.objects.SigmaRule;
+
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Converts all pre-packaged rules to query DSL trees and serializes them, as when they are stored on the rules, and
+ * when a bucket level monitor converts them again against the mappings of its index. With keyword field types every
+ * string field gets a case insensitive term query instead of a match_phrase query.
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class QueryBuilderConversionBenchmark {
+
+    @Param({"unknown", "keyword"})
+    public String fieldType;
+
+    private final List<QueryBackend> backends = new ArrayList<>();
+
+    private final List<List<SigmaRule>> rules = new ArrayList<>();
+
+    @Setup
+    public void setUp() throws Exception {
+        Path rulesPath = Path.of(Objects.requireNonNull(getClass().getClassLoader().getResource("rules/")).toURI());
+        List<Path> categoryPaths;
+        try (Stream<Path> paths = Files.list(rulesPath)) {
+            categoryPaths = paths.sorted().collect(Collectors.toList());
+        }
+
+        for (Path categoryPath: categoryPaths) {
+            String category = categoryPath.getFileName().toString();
+            if (Arrays.stream(Detector.DetectorType.values()).noneMatch(detectorType -> detectorType.getDetectorType().equals(category))) {
+                continue;
+            }
+
+            List<SigmaRule> categoryRules = new ArrayList<>();
+            try (Stream<Path> rulePaths = Files.walk(categoryPath)) {
+                for (Path rulePath: rulePaths.filter(Files::isRegularFile).sorted().collect(Collectors.toList())) {
+                    categoryRules.add(SigmaRule.fromYaml(Files.readString(rulePath, Charset.defaultCharset()), true));
+                }
+            }
+
+            QueryBackend backend = new OSQueryBuilderBackend(category, true, true);
+            if ("keyword".equals(fieldType)) {
+                // map every field the rules of the category query as a keyword
+                Map<String, String> fieldTypes = new HashMap<>();
+                for (SigmaRule rule: categoryRules) {
+                    backend.resetQueryFields();
+                    backend.convertRule(rule);
+                    backend.getQueryFields().keySet().forEach(field -> fieldTypes.put(field, "keyword"));
+                }
+                backend.setFieldTypes(fieldTypes);
+            }
+            backends.add(backend);
+            rules.add(categoryRules);
+        }
+    }
+
+    @Benchmark
+    public void convertBundledRules(Blackhole blackhole) throws SigmaError {
+        for (int i = 0; i < backends.size(); ++i) {
+            QueryBackend backend = backends.get(i);
+            for (SigmaRule rule: rules.get(i)) {
+                backend.resetQueryFields();
+                blackhole.consume(backend.convertRule(rule));
+            }
+        }
+    }
+
+    @Benchmark
+    public void convertAndSerializeBundledRules(Blackhole blackhole) throws SigmaError {
+        for (int i = 0; i < backends.size(); ++i) {
+            QueryBackend backend = backends.get(i);
+            for (SigmaRule rule: rules.get(i)) {
+                backend.resetQueryFields();
+                for (Object query: backend.convertRule(rule)) {
+                    if (query instanceof QueryBuilder) {
+                        blackhole.consume(Strings.toString(XContentType.JSON, (QueryBuilder) query));
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.rules.backend;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
+import org.opensearch.securityanalytics.rules.objects.SigmaRule;
+
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Converts all pre-packaged rules to query_string queries, the work done for every rule when the pre-packaged rules
+ * are imported or a custom rule is indexed. Rules are parsed once, only the conversion is measured.
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class RuleConversionBenchmark {
+
+    private final List<QueryBackend> backends = new ArrayList<>();
+
+    private final List<List<SigmaRule>> rules = new ArrayList<>();
+
+    @Setup
+    public void setUp() throws Exception {
+        Path rulesPath = Path.of(Objects.requireNonNull(getClass().getClassLoader().getResource("rules/")).toURI());
+        List<Path> categoryPaths;
+        try (Stream<Path> paths = Files.list(rulesPath)) {
+            categoryPaths = paths.sorted().collect(Collectors.toList());
+        }
+
+        for (Path categoryPath: categoryPaths) {
+            String category = categoryPath.getFileName().toString();
+            if (Arrays.stream(Detector.DetectorType.values()).noneMatch(detectorType -> detectorType.getDetectorType().equals(category))) {
+                continue;
+            }
+
+            List<SigmaRule> categoryRules = new ArrayList<>();
+            try (Stream<Path> rulePaths = Files.walk(categoryPath)) {
+                for (Path rulePath: rulePaths.filter(Files::isRegularFile).sorted().collect(Collectors.toList())) {
+                    categoryRules.add(SigmaRule.fromYaml(Files.readString(rulePath, Charset.defaultCharset()), true));
+                }
+            }
+            backends.add(new OSQueryBackend(category, true, true));
+            rules.add(categoryRules);
+        }
+    }
+
+    @Benchmark
+    public void convertBundledRules(Blackhole blackhole) throws SigmaError {
+        for (int i = 0; i < backends.size(); ++i) {
+            QueryBackend backend = backends.get(i);
+            for (SigmaRule rule: rules.get(i)) {
+                backend.resetQueryFields();
+                blackhole.consume(backend.convertRule(rule));
+            }
+        }
+    }
+}
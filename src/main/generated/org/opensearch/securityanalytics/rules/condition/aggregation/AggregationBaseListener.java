@@ -27,6 +27,42 @@ public class AggregationBaseListener implements AggregationListener {
      * <p>The default implementation does nothing.</p>
      */
     @Override public void exitComparisonExpressionWithOperator(AggregationParser.ComparisonExpressionWithOperatorContext ctx) { }
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The default implementation does nothing.</p>
+     */
+    @Override public void enterSequenceExpression(AggregationParser.SequenceExpressionContext ctx) { }
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The default implementation does nothing.</p>
+     */
+    @Override public void exitSequenceExpression(AggregationParser.SequenceExpressionContext ctx) { }
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The default implementation does nothing.</p>
+     */
+    @Override public void enterSequence_operator(AggregationParser.Sequence_operatorContext ctx) { }
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The default implementation does nothing.</p>
+     */
+    @Override public void exitSequence_operator(AggregationParser.Sequence_operatorContext ctx) { }
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The default implementation does nothing.</p>
+     */
+    @Override public void enterSelection_list(AggregationParser.Selection_listContext ctx) { }
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The default implementation does nothing.</p>
+     */
+    @Override public void exitSelection_list(AggregationParser.Selection_listContext ctx) { }
     /**
      * {@inheritDoc}
      *
@@ -63,6 +99,18 @@ public class AggregationBaseListener implements AggregationListener {
      * <p>The default implementation does nothing.</p>
      */
     @Override public void exitAgg_operator(AggregationParser.Agg_operatorContext ctx) { }
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The default implementation does nothing.</p>
+     */
+    @Override public void enterAgg_parameter(AggregationParser.Agg_parameterContext ctx) { }
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The default implementation does nothing.</p>
+     */
+    @Override public void exitAgg_parameter(AggregationParser.Agg_parameterContext ctx) { }
     /**
      * {@inheritDoc}
      *
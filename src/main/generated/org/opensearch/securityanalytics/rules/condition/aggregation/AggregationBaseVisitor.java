@@ -22,6 +22,27 @@ public class AggregationBaseVisitor<T> extends AbstractParseTreeVisitor<T> imple
      * {@link #visitChildren} on {@code ctx}.</p>
      */
     @Override public T visitComparisonExpressionWithOperator(AggregationParser.ComparisonExpressionWithOperatorContext ctx) { return visitChildren(ctx); }
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The default implementation returns the result of calling
+     * {@link #visitChildren} on {@code ctx}.</p>
+     */
+    @Override public T visitSequenceExpression(AggregationParser.SequenceExpressionContext ctx) { return visitChildren(ctx); }
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The default implementation returns the result of calling
+     * {@link #visitChildren} on {@code ctx}.</p>
+     */
+    @Override public T visitSequence_operator(AggregationParser.Sequence_operatorContext ctx) { return visitChildren(ctx); }
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The default implementation returns the result of calling
+     * {@link #visitChildren} on {@code ctx}.</p>
+     */
+    @Override public T visitSelection_list(AggregationParser.Selection_listContext ctx) { return visitChildren(ctx); }
     /**
      * {@inheritDoc}
      *
@@ -43,6 +64,13 @@ public class AggregationBaseVisitor<T> extends AbstractParseTreeVisitor<T> imple
      * {@link #visitChildren} on {@code ctx}.</p>
      */
     @Override public T visitAgg_operator(AggregationParser.Agg_operatorContext ctx) { return visitChildren(ctx); }
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The default implementation returns the result of calling
+     * {@link #visitChildren} on {@code ctx}.</p>
+     */
+    @Override public T visitAgg_parameter(AggregationParser.Agg_parameterContext ctx) { return visitChildren(ctx); }
     /**
      * {@inheritDoc}
      *
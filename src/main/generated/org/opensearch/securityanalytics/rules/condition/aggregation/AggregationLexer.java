@@ -21,8 +21,9 @@ public class AggregationLexer extends Lexer {
     protected static final PredictionContextCache _sharedContextCache =
         new PredictionContextCache();
     public static final int
-        GT=1, GE=2, LT=3, LE=4, EQ=5, COUNT=6, SUM=7, MIN=8, MAX=9, AVG=10, BY=11,
-        LPAREN=12, RPAREN=13, DECIMAL=14, IDENTIFIER=15, WS=16;
+        GT=1, GE=2, LT=3, LE=4, EQ=5, COUNT=6, SUM=7, MIN=8, MAX=9, AVG=10, CARDINALITY=11,
+        PERCENTILES=12, NEAR=13, FOLLOWED_BY=14, AND=15, BY=16, LPAREN=17, RPAREN=18,
+        COMMA=19, DECIMAL=20, IDENTIFIER=21, WS=22;
     public static String[] channelNames = {
         "DEFAULT_TOKEN_CHANNEL", "HIDDEN"
     };
@@ -33,8 +34,9 @@ public class AggregationLexer extends Lexer {
 
     private static String[] makeRuleNames() {
         return new String[] {
-            "GT", "GE", "LT", "LE", "EQ", "COUNT", "SUM", "MIN", "MAX", "AVG", "BY",
-            "LPAREN", "RPAREN", "DECIMAL", "IDENTIFIER", "WS"
+            "GT", "GE", "LT", "LE", "EQ", "COUNT", "SUM", "MIN", "MAX", "AVG", "CARDINALITY",
+            "PERCENTILES", "NEAR", "FOLLOWED_BY", "AND", "BY", "LPAREN", "RPAREN",
+            "COMMA", "DECIMAL", "IDENTIFIER", "WS"
         };
     }
     public static final String[] ruleNames = makeRuleNames();
@@ -42,14 +44,16 @@ public class AggregationLexer extends Lexer {
     private static String[] makeLiteralNames() {
         return new String[] {
             null, "'>'", "'>='", "'<'", "'<='", "'=='", "'count'", "'sum'", "'min'",
-            "'max'", "'avg'", "'by'", "'('", "')'"
+            "'max'", "'avg'", "'cardinality'", "'percentiles'", "'near'", "'followed_by'",
+            "'and'", "'by'", "'('", "')'", "','"
         };
     }
     private static final String[] _LITERAL_NAMES = makeLiteralNames();
     private static String[] makeSymbolicNames() {
         return new String[] {
             null, "GT", "GE", "LT", "LE", "EQ", "COUNT", "SUM", "MIN", "MAX", "AVG",
-            "BY", "LPAREN", "RPAREN", "DECIMAL", "IDENTIFIER", "WS"
+            "CARDINALITY", "PERCENTILES", "NEAR", "FOLLOWED_BY", "AND", "BY", "LPAREN",
+            "RPAREN", "COMMA", "DECIMAL", "IDENTIFIER", "WS"
         };
     }
     private static final String[] _SYMBOLIC_NAMES = makeSymbolicNames();
@@ -111,68 +115,104 @@ public class AggregationLexer extends Lexer {
     public ATN getATN() { return _ATN; }
 
     public static final String _serializedATN =
-        "\u0004\u0000\u0010i\u0006\uffff\uffff\u0002\u0000\u0007\u0000\u0002\u0001"+
-        "\u0007\u0001\u0002\u0002\u0007\u0002\u0002\u0003\u0007\u0003\u0002\u0004"+
-        "\u0007\u0004\u0002\u0005\u0007\u0005\u0002\u0006\u0007\u0006\u0002\u0007"+
-        "\u0007\u0007\u0002\b\u0007\b\u0002\t\u0007\t\u0002\n\u0007\n\u0002\u000b"+
-        "\u0007\u000b\u0002\f\u0007\f\u0002\r\u0007\r\u0002\u000e\u0007\u000e\u0002"+
-        "\u000f\u0007\u000f\u0001\u0000\u0001\u0000\u0001\u0001\u0001\u0001\u0001"+
-        "\u0001\u0001\u0002\u0001\u0002\u0001\u0003\u0001\u0003\u0001\u0003\u0001"+
-        "\u0004\u0001\u0004\u0001\u0004\u0001\u0005\u0001\u0005\u0001\u0005\u0001"+
-        "\u0005\u0001\u0005\u0001\u0005\u0001\u0006\u0001\u0006\u0001\u0006\u0001"+
-        "\u0006\u0001\u0007\u0001\u0007\u0001\u0007\u0001\u0007\u0001\b\u0001\b"+
-        "\u0001\b\u0001\b\u0001\t\u0001\t\u0001\t\u0001\t\u0001\n\u0001\n\u0001"+
-        "\n\u0001\u000b\u0001\u000b\u0001\f\u0001\f\u0001\r\u0003\rM\b\r\u0001"+
-        "\r\u0004\rP\b\r\u000b\r\f\rQ\u0001\r\u0001\r\u0004\rV\b\r\u000b\r\f\r"+
-        "W\u0003\rZ\b\r\u0001\u000e\u0001\u000e\u0005\u000e^\b\u000e\n\u000e\f"+
-        "\u000ea\t\u000e\u0001\u000f\u0004\u000fd\b\u000f\u000b\u000f\f\u000fe"+
-        "\u0001\u000f\u0001\u000f\u0000\u0000\u0010\u0001\u0001\u0003\u0002\u0005"+
-        "\u0003\u0007\u0004\t\u0005\u000b\u0006\r\u0007\u000f\b\u0011\t\u0013\n"+
-        "\u0015\u000b\u0017\f\u0019\r\u001b\u000e\u001d\u000f\u001f\u0010\u0001"+
-        "\u0000\u0004\u0001\u000009\u0004\u0000**AZ__az\u0004\u000009AZ__az\u0003"+
-        "\u0000\t\n\f\r  n\u0000\u0001\u0001\u0000\u0000\u0000\u0000\u0003\u0001"+
-        "\u0000\u0000\u0000\u0000\u0005\u0001\u0000\u0000\u0000\u0000\u0007\u0001"+
-        "\u0000\u0000\u0000\u0000\t\u0001\u0000\u0000\u0000\u0000\u000b\u0001\u0000"+
-        "\u0000\u0000\u0000\r\u0001\u0000\u0000\u0000\u0000\u000f\u0001\u0000\u0000"+
-        "\u0000\u0000\u0011\u0001\u0000\u0000\u0000\u0000\u0013\u0001\u0000\u0000"+
-        "\u0000\u0000\u0015\u0001\u0000\u0000\u0000\u0000\u0017\u0001\u0000\u0000"+
-        "\u0000\u0000\u0019\u0001\u0000\u0000\u0000\u0000\u001b\u0001\u0000\u0000"+
-        "\u0000\u0000\u001d\u0001\u0000\u0000\u0000\u0000\u001f\u0001\u0000\u0000"+
-        "\u0000\u0001!\u0001\u0000\u0000\u0000\u0003#\u0001\u0000\u0000\u0000\u0005"+
-        "&\u0001\u0000\u0000\u0000\u0007(\u0001\u0000\u0000\u0000\t+\u0001\u0000"+
-        "\u0000\u0000\u000b.\u0001\u0000\u0000\u0000\r4\u0001\u0000\u0000\u0000"+
-        "\u000f8\u0001\u0000\u0000\u0000\u0011<\u0001\u0000\u0000\u0000\u0013@"+
-        "\u0001\u0000\u0000\u0000\u0015D\u0001\u0000\u0000\u0000\u0017G\u0001\u0000"+
-        "\u0000\u0000\u0019I\u0001\u0000\u0000\u0000\u001bL\u0001\u0000\u0000\u0000"+
-        "\u001d[\u0001\u0000\u0000\u0000\u001fc\u0001\u0000\u0000\u0000!\"\u0005"+
-        ">\u0000\u0000\"\u0002\u0001\u0000\u0000\u0000#$\u0005>\u0000\u0000$%\u0005"+
-        "=\u0000\u0000%\u0004\u0001\u0000\u0000\u0000&\'\u0005<\u0000\u0000\'\u0006"+
-        "\u0001\u0000\u0000\u0000()\u0005<\u0000\u0000)*\u0005=\u0000\u0000*\b"+
-        "\u0001\u0000\u0000\u0000+,\u0005=\u0000\u0000,-\u0005=\u0000\u0000-\n"+
-        "\u0001\u0000\u0000\u0000./\u0005c\u0000\u0000/0\u0005o\u0000\u000001\u0005"+
-        "u\u0000\u000012\u0005n\u0000\u000023\u0005t\u0000\u00003\f\u0001\u0000"+
-        "\u0000\u000045\u0005s\u0000\u000056\u0005u\u0000\u000067\u0005m\u0000"+
-        "\u00007\u000e\u0001\u0000\u0000\u000089\u0005m\u0000\u00009:\u0005i\u0000"+
-        "\u0000:;\u0005n\u0000\u0000;\u0010\u0001\u0000\u0000\u0000<=\u0005m\u0000"+
-        "\u0000=>\u0005a\u0000\u0000>?\u0005x\u0000\u0000?\u0012\u0001\u0000\u0000"+
-        "\u0000@A\u0005a\u0000\u0000AB\u0005v\u0000\u0000BC\u0005g\u0000\u0000"+
-        "C\u0014\u0001\u0000\u0000\u0000DE\u0005b\u0000\u0000EF\u0005y\u0000\u0000"+
-        "F\u0016\u0001\u0000\u0000\u0000GH\u0005(\u0000\u0000H\u0018\u0001\u0000"+
-        "\u0000\u0000IJ\u0005)\u0000\u0000J\u001a\u0001\u0000\u0000\u0000KM\u0005"+
-        "-\u0000\u0000LK\u0001\u0000\u0000\u0000LM\u0001\u0000\u0000\u0000MO\u0001"+
-        "\u0000\u0000\u0000NP\u0007\u0000\u0000\u0000ON\u0001\u0000\u0000\u0000"+
-        "PQ\u0001\u0000\u0000\u0000QO\u0001\u0000\u0000\u0000QR\u0001\u0000\u0000"+
-        "\u0000RY\u0001\u0000\u0000\u0000SU\u0005.\u0000\u0000TV\u0007\u0000\u0000"+
-        "\u0000UT\u0001\u0000\u0000\u0000VW\u0001\u0000\u0000\u0000WU\u0001\u0000"+
-        "\u0000\u0000WX\u0001\u0000\u0000\u0000XZ\u0001\u0000\u0000\u0000YS\u0001"+
-        "\u0000\u0000\u0000YZ\u0001\u0000\u0000\u0000Z\u001c\u0001\u0000\u0000"+
-        "\u0000[_\u0007\u0001\u0000\u0000\\^\u0007\u0002\u0000\u0000]\\\u0001\u0000"+
-        "\u0000\u0000^a\u0001\u0000\u0000\u0000_]\u0001\u0000\u0000\u0000_`\u0001"+
-        "\u0000\u0000\u0000`\u001e\u0001\u0000\u0000\u0000a_\u0001\u0000\u0000"+
-        "\u0000bd\u0007\u0003\u0000\u0000cb\u0001\u0000\u0000\u0000de\u0001\u0000"+
-        "\u0000\u0000ec\u0001\u0000\u0000\u0000ef\u0001\u0000\u0000\u0000fg\u0001"+
-        "\u0000\u0000\u0000gh\u0006\u000f\u0000\u0000h \u0001\u0000\u0000\u0000"+
-        "\u0007\u0000LQWY_e\u0001\u0006\u0000\u0000";
+        "\u0004\u0000\u0016\u00a4\u0006\uffff\uffff\u0002\u0000\u0007\u0000\u0002"+
+        "\u0001\u0007\u0001\u0002\u0002\u0007\u0002\u0002\u0003\u0007\u0003\u0002"+
+        "\u0004\u0007\u0004\u0002\u0005\u0007\u0005\u0002\u0006\u0007\u0006\u0002"+
+        "\u0007\u0007\u0007\u0002\b\u0007\b\u0002\t\u0007\t\u0002\n\u0007\n\u0002"+
+        "\u000b\u0007\u000b\u0002\f\u0007\f\u0002\r\u0007\r\u0002\u000e\u0007\u000e"+
+        "\u0002\u000f\u0007\u000f\u0002\u0010\u0007\u0010\u0002\u0011\u0007\u0011"+
+        "\u0002\u0012\u0007\u0012\u0002\u0013\u0007\u0013\u0002\u0014\u0007\u0014"+
+        "\u0002\u0015\u0007\u0015\u0001\u0000\u0001\u0000\u0001\u0001\u0001\u0001"+
+        "\u0001\u0001\u0001\u0002\u0001\u0002\u0001\u0003\u0001\u0003\u0001\u0003"+
+        "\u0001\u0004\u0001\u0004\u0001\u0004\u0001\u0005\u0001\u0005\u0001\u0005"+
+        "\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0006\u0001\u0006\u0001\u0006"+
+        "\u0001\u0006\u0001\u0007\u0001\u0007\u0001\u0007\u0001\u0007\u0001\b\u0001"+
+        "\b\u0001\b\u0001\b\u0001\t\u0001\t\u0001\t\u0001\t\u0001\n\u0001\n\u0001"+
+        "\n\u0001\n\u0001\n\u0001\n\u0001\n\u0001\n\u0001\n\u0001\n\u0001\n\u0001"+
+        "\n\u0001\u000b\u0001\u000b\u0001\u000b\u0001\u000b\u0001\u000b\u0001\u000b"+
+        "\u0001\u000b\u0001\u000b\u0001\u000b\u0001\u000b\u0001\u000b\u0001\u000b"+
+        "\u0001\f\u0001\f\u0001\f\u0001\f\u0001\f\u0001\r\u0001\r\u0001\r\u0001"+
+        "\r\u0001\r\u0001\r\u0001\r\u0001\r\u0001\r\u0001\r\u0001\r\u0001\r\u0001"+
+        "\u000e\u0001\u000e\u0001\u000e\u0001\u000e\u0001\u000f\u0001\u000f\u0001"+
+        "\u000f\u0001\u0010\u0001\u0010\u0001\u0011\u0001\u0011\u0001\u0012\u0001"+
+        "\u0012\u0001\u0013\u0003\u0013\u0088\b\u0013\u0001\u0013\u0004\u0013\u008b"+
+        "\b\u0013\u000b\u0013\f\u0013\u008c\u0001\u0013\u0001\u0013\u0004\u0013"+
+        "\u0091\b\u0013\u000b\u0013\f\u0013\u0092\u0003\u0013\u0095\b\u0013\u0001"+
+        "\u0014\u0001\u0014\u0005\u0014\u0099\b\u0014\n\u0014\f\u0014\u009c\t\u0014"+
+        "\u0001\u0015\u0004\u0015\u009f\b\u0015\u000b\u0015\f\u0015\u00a0\u0001"+
+        "\u0015\u0001\u0015\u0000\u0000\u0016\u0001\u0001\u0003\u0002\u0005\u0003"+
+        "\u0007\u0004\t\u0005\u000b\u0006\r\u0007\u000f\b\u0011\t\u0013\n\u0015"+
+        "\u000b\u0017\f\u0019\r\u001b\u000e\u001d\u000f\u001f\u0010!\u0011#\u0012"+
+        "%\u0013\'\u0014)\u0015+\u0016\u0001\u0000\u0004\u0001\u000009\u0004\u0000"+
+        "**AZ__az\u0004\u000009AZ__az\u0003\u0000\t\n\f\r  \u00a9\u0000\u0001\u0001"+
+        "\u0000\u0000\u0000\u0000\u0003\u0001\u0000\u0000\u0000\u0000\u0005\u0001"+
+        "\u0000\u0000\u0000\u0000\u0007\u0001\u0000\u0000\u0000\u0000\t\u0001\u0000"+
+        "\u0000\u0000\u0000\u000b\u0001\u0000\u0000\u0000\u0000\r\u0001\u0000\u0000"+
+        "\u0000\u0000\u000f\u0001\u0000\u0000\u0000\u0000\u0011\u0001\u0000\u0000"+
+        "\u0000\u0000\u0013\u0001\u0000\u0000\u0000\u0000\u0015\u0001\u0000\u0000"+
+        "\u0000\u0000\u0017\u0001\u0000\u0000\u0000\u0000\u0019\u0001\u0000\u0000"+
+        "\u0000\u0000\u001b\u0001\u0000\u0000\u0000\u0000\u001d\u0001\u0000\u0000"+
+        "\u0000\u0000\u001f\u0001\u0000\u0000\u0000\u0000!\u0001\u0000\u0000\u0000"+
+        "\u0000#\u0001\u0000\u0000\u0000\u0000%\u0001\u0000\u0000\u0000\u0000\'"+
+        "\u0001\u0000\u0000\u0000\u0000)\u0001\u0000\u0000\u0000\u0000+\u0001\u0000"+
+        "\u0000\u0000\u0001-\u0001\u0000\u0000\u0000\u0003/\u0001\u0000\u0000\u0000"+
+        "\u00052\u0001\u0000\u0000\u0000\u00074\u0001\u0000\u0000\u0000\t7\u0001"+
+        "\u0000\u0000\u0000\u000b:\u0001\u0000\u0000\u0000\r@\u0001\u0000\u0000"+
+        "\u0000\u000fD\u0001\u0000\u0000\u0000\u0011H\u0001\u0000\u0000\u0000\u0013"+
+        "L\u0001\u0000\u0000\u0000\u0015P\u0001\u0000\u0000\u0000\u0017\\\u0001"+
+        "\u0000\u0000\u0000\u0019h\u0001\u0000\u0000\u0000\u001bm\u0001\u0000\u0000"+
+        "\u0000\u001dy\u0001\u0000\u0000\u0000\u001f}\u0001\u0000\u0000\u0000!"+
+        "\u0080\u0001\u0000\u0000\u0000#\u0082\u0001\u0000\u0000\u0000%\u0084\u0001"+
+        "\u0000\u0000\u0000\'\u0087\u0001\u0000\u0000\u0000)\u0096\u0001\u0000"+
+        "\u0000\u0000+\u009e\u0001\u0000\u0000\u0000-.\u0005>\u0000\u0000.\u0002"+
+        "\u0001\u0000\u0000\u0000/0\u0005>\u0000\u000001\u0005=\u0000\u00001\u0004"+
+        "\u0001\u0000\u0000\u000023\u0005<\u0000\u00003\u0006\u0001\u0000\u0000"+
+        "\u000045\u0005<\u0000\u000056\u0005=\u0000\u00006\b\u0001\u0000\u0000"+
+        "\u000078\u0005=\u0000\u000089\u0005=\u0000\u00009\n\u0001\u0000\u0000"+
+        "\u0000:;\u0005c\u0000\u0000;<\u0005o\u0000\u0000<=\u0005u\u0000\u0000"+
+        "=>\u0005n\u0000\u0000>?\u0005t\u0000\u0000?\f\u0001\u0000\u0000\u0000"+
+        "@A\u0005s\u0000\u0000AB\u0005u\u0000\u0000BC\u0005m\u0000\u0000C\u000e"+
+        "\u0001\u0000\u0000\u0000DE\u0005m\u0000\u0000EF\u0005i\u0000\u0000FG\u0005"+
+        "n\u0000\u0000G\u0010\u0001\u0000\u0000\u0000HI\u0005m\u0000\u0000IJ\u0005"+
+        "a\u0000\u0000JK\u0005x\u0000\u0000K\u0012\u0001\u0000\u0000\u0000LM\u0005"+
+        "a\u0000\u0000MN\u0005v\u0000\u0000NO\u0005g\u0000\u0000O\u0014\u0001\u0000"+
+        "\u0000\u0000PQ\u0005c\u0000\u0000QR\u0005a\u0000\u0000RS\u0005r\u0000"+
+        "\u0000ST\u0005d\u0000\u0000TU\u0005i\u0000\u0000UV\u0005n\u0000\u0000"+
+        "VW\u0005a\u0000\u0000WX\u0005l\u0000\u0000XY\u0005i\u0000\u0000YZ\u0005"+
+        "t\u0000\u0000Z[\u0005y\u0000\u0000[\u0016\u0001\u0000\u0000\u0000\\]\u0005"+
+        "p\u0000\u0000]^\u0005e\u0000\u0000^_\u0005r\u0000\u0000_`\u0005c\u0000"+
+        "\u0000`a\u0005e\u0000\u0000ab\u0005n\u0000\u0000bc\u0005t\u0000\u0000"+
+        "cd\u0005i\u0000\u0000de\u0005l\u0000\u0000ef\u0005e\u0000\u0000fg\u0005"+
+        "s\u0000\u0000g\u0018\u0001\u0000\u0000\u0000hi\u0005n\u0000\u0000ij\u0005"+
+        "e\u0000\u0000jk\u0005a\u0000\u0000kl\u0005r\u0000\u0000l\u001a\u0001\u0000"+
+        "\u0000\u0000mn\u0005f\u0000\u0000no\u0005o\u0000\u0000op\u0005l\u0000"+
+        "\u0000pq\u0005l\u0000\u0000qr\u0005o\u0000\u0000rs\u0005w\u0000\u0000"+
+        "st\u0005e\u0000\u0000tu\u0005d\u0000\u0000uv\u0005_\u0000\u0000vw\u0005"+
+        "b\u0000\u0000wx\u0005y\u0000\u0000x\u001c\u0001\u0000\u0000\u0000yz\u0005"+
+        "a\u0000\u0000z{\u0005n\u0000\u0000{|\u0005d\u0000\u0000|\u001e\u0001\u0000"+
+        "\u0000\u0000}~\u0005b\u0000\u0000~\u007f\u0005y\u0000\u0000\u007f \u0001"+
+        "\u0000\u0000\u0000\u0080\u0081\u0005(\u0000\u0000\u0081\"\u0001\u0000"+
+        "\u0000\u0000\u0082\u0083\u0005)\u0000\u0000\u0083$\u0001\u0000\u0000\u0000"+
+        "\u0084\u0085\u0005,\u0000\u0000\u0085&\u0001\u0000\u0000\u0000\u0086\u0088"+
+        "\u0005-\u0000\u0000\u0087\u0086\u0001\u0000\u0000\u0000\u0087\u0088\u0001"+
+        "\u0000\u0000\u0000\u0088\u008a\u0001\u0000\u0000\u0000\u0089\u008b\u0007"+
+        "\u0000\u0000\u0000\u008a\u0089\u0001\u0000\u0000\u0000\u008b\u008c\u0001"+
+        "\u0000\u0000\u0000\u008c\u008a\u0001\u0000\u0000\u0000\u008c\u008d\u0001"+
+        "\u0000\u0000\u0000\u008d\u0094\u0001\u0000\u0000\u0000\u008e\u0090\u0005"+
+        ".\u0000\u0000\u008f\u0091\u0007\u0000\u0000\u0000\u0090\u008f\u0001\u0000"+
+        "\u0000\u0000\u0091\u0092\u0001\u0000\u0000\u0000\u0092\u0090\u0001\u0000"+
+        "\u0000\u0000\u0092\u0093\u0001\u0000\u0000\u0000\u0093\u0095\u0001\u0000"+
+        "\u0000\u0000\u0094\u008e\u0001\u0000\u0000\u0000\u0094\u0095\u0001\u0000"+
+        "\u0000\u0000\u0095(\u0001\u0000\u0000\u0000\u0096\u009a\u0007\u0001\u0000"+
+        "\u0000\u0097\u0099\u0007\u0002\u0000\u0000\u0098\u0097\u0001\u0000\u0000"+
+        "\u0000\u0099\u009c\u0001\u0000\u0000\u0000\u009a\u0098\u0001\u0000\u0000"+
+        "\u0000\u009a\u009b\u0001\u0000\u0000\u0000\u009b*\u0001\u0000\u0000\u0000"+
+        "\u009c\u009a\u0001\u0000\u0000\u0000\u009d\u009f\u0007\u0003\u0000\u0000"+
+        "\u009e\u009d\u0001\u0000\u0000\u0000\u009f\u00a0\u0001\u0000\u0000\u0000"+
+        "\u00a0\u009e\u0001\u0000\u0000\u0000\u00a0\u00a1\u0001\u0000\u0000\u0000"+
+        "\u00a1\u00a2\u0001\u0000\u0000\u0000\u00a2\u00a3\u0006\u0015\u0000\u0000"+
+        "\u00a3,\u0001\u0000\u0000\u0000\u0007\u0000\u0087\u008c\u0092\u0094\u009a"+
+        "\u00a0\u0001\u0006\u0000\u0000";
     public static final ATN _ATN =
         new ATNDeserializer().deserialize(_serializedATN.toCharArray());
     static {
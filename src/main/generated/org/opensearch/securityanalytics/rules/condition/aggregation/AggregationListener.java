@@ -23,6 +23,38 @@ public interface AggregationListener extends ParseTreeListener {
      * @param ctx the parse tree
      */
     void exitComparisonExpressionWithOperator(AggregationParser.ComparisonExpressionWithOperatorContext ctx);
+    /**
+     * Enter a parse tree produced by the {@code SequenceExpression}
+     * labeled alternative in {@link AggregationParser#comparison_expr}.
+     * @param ctx the parse tree
+     */
+    void enterSequenceExpression(AggregationParser.SequenceExpressionContext ctx);
+    /**
+     * Exit a parse tree produced by the {@code SequenceExpression}
+     * labeled alternative in {@link AggregationParser#comparison_expr}.
+     * @param ctx the parse tree
+     */
+    void exitSequenceExpression(AggregationParser.SequenceExpressionContext ctx);
+    /**
+     * Enter a parse tree produced by {@link AggregationParser#sequence_operator}.
+     * @param ctx the parse tree
+     */
+    void enterSequence_operator(AggregationParser.Sequence_operatorContext ctx);
+    /**
+     * Exit a parse tree produced by {@link AggregationParser#sequence_operator}.
+     * @param ctx the parse tree
+     */
+    void exitSequence_operator(AggregationParser.Sequence_operatorContext ctx);
+    /**
+     * Enter a parse tree produced by {@link AggregationParser#selection_list}.
+     * @param ctx the parse tree
+     */
+    void enterSelection_list(AggregationParser.Selection_listContext ctx);
+    /**
+     * Exit a parse tree produced by {@link AggregationParser#selection_list}.
+     * @param ctx the parse tree
+     */
+    void exitSelection_list(AggregationParser.Selection_listContext ctx);
     /**
      * Enter a parse tree produced by {@link AggregationParser#comparison_operand}.
      * @param ctx the parse tree
@@ -53,6 +85,16 @@ public interface AggregationListener extends ParseTreeListener {
      * @param ctx the parse tree
      */
     void exitAgg_operator(AggregationParser.Agg_operatorContext ctx);
+    /**
+     * Enter a parse tree produced by {@link AggregationParser#agg_parameter}.
+     * @param ctx the parse tree
+     */
+    void enterAgg_parameter(AggregationParser.Agg_parameterContext ctx);
+    /**
+     * Exit a parse tree produced by {@link AggregationParser#agg_parameter}.
+     * @param ctx the parse tree
+     */
+    void exitAgg_parameter(AggregationParser.Agg_parameterContext ctx);
     /**
      * Enter a parse tree produced by {@link AggregationParser#groupby_expr}.
      * @param ctx the parse tree
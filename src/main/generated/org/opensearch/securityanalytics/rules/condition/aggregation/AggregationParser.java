@@ -21,15 +21,18 @@ public class AggregationParser extends Parser {
     protected static final PredictionContextCache _sharedContextCache =
         new PredictionContextCache();
     public static final int
-        GT=1, GE=2, LT=3, LE=4, EQ=5, COUNT=6, SUM=7, MIN=8, MAX=9, AVG=10, BY=11,
-        LPAREN=12, RPAREN=13, DECIMAL=14, IDENTIFIER=15, WS=16;
+        GT=1, GE=2, LT=3, LE=4, EQ=5, COUNT=6, SUM=7, MIN=8, MAX=9, AVG=10, CARDINALITY=11,
+        PERCENTILES=12, NEAR=13, FOLLOWED_BY=14, AND=15, BY=16, LPAREN=17, RPAREN=18,
+        COMMA=19, DECIMAL=20, IDENTIFIER=21, WS=22;
     public static final int
-        RULE_comparison_expr = 0, RULE_comparison_operand = 1, RULE_comp_operator = 2,
-        RULE_agg_operator = 3, RULE_groupby_expr = 4, RULE_agg_expr = 5, RULE_numeric_entity = 6;
+        RULE_comparison_expr = 0, RULE_sequence_operator = 1, RULE_selection_list = 2,
+        RULE_comparison_operand = 3, RULE_comp_operator = 4, RULE_agg_operator = 5,
+        RULE_agg_parameter = 6, RULE_groupby_expr = 7, RULE_agg_expr = 8, RULE_numeric_entity = 9;
     private static String[] makeRuleNames() {
         return new String[] {
-            "comparison_expr", "comparison_operand", "comp_operator", "agg_operator",
-            "groupby_expr", "agg_expr", "numeric_entity"
+            "comparison_expr", "sequence_operator", "selection_list", "comparison_operand",
+            "comp_operator", "agg_operator", "agg_parameter", "groupby_expr", "agg_expr",
+            "numeric_entity"
         };
     }
     public static final String[] ruleNames = makeRuleNames();
@@ -37,14 +40,16 @@ public class AggregationParser extends Parser {
     private static String[] makeLiteralNames() {
         return new String[] {
             null, "'>'", "'>='", "'<'", "'<='", "'=='", "'count'", "'sum'", "'min'",
-            "'max'", "'avg'", "'by'", "'('", "')'"
+            "'max'", "'avg'", "'cardinality'", "'percentiles'", "'near'", "'followed_by'",
+            "'and'", "'by'", "'('", "')'", "','"
         };
     }
     private static final String[] _LITERAL_NAMES = makeLiteralNames();
     private static String[] makeSymbolicNames() {
         return new String[] {
             null, "GT", "GE", "LT", "LE", "EQ", "COUNT", "SUM", "MIN", "MAX", "AVG",
-            "BY", "LPAREN", "RPAREN", "DECIMAL", "IDENTIFIER", "WS"
+            "CARDINALITY", "PERCENTILES", "NEAR", "FOLLOWED_BY", "AND", "BY", "LPAREN",
+            "RPAREN", "COMMA", "DECIMAL", "IDENTIFIER", "WS"
         };
     }
     private static final String[] _SYMBOLIC_NAMES = makeSymbolicNames();
@@ -134,20 +139,204 @@ public class AggregationParser extends Parser {
             else return visitor.visitChildren(this);
         }
     }
+    public static class SequenceExpressionContext extends Comparison_exprContext {
+        public Sequence_operatorContext sequence_operator() {
+            return getRuleContext(Sequence_operatorContext.class,0);
+        }
+        public Selection_listContext selection_list() {
+            return getRuleContext(Selection_listContext.class,0);
+        }
+        public TerminalNode BY() { return getToken(AggregationParser.BY, 0); }
+        public Groupby_exprContext groupby_expr() {
+            return getRuleContext(Groupby_exprContext.class,0);
+        }
+        public SequenceExpressionContext(Comparison_exprContext ctx) { copyFrom(ctx); }
+        @Override
+        public void enterRule(ParseTreeListener listener) {
+            if ( listener instanceof AggregationListener ) ((AggregationListener)listener).enterSequenceExpression(this);
+        }
+        @Override
+        public void exitRule(ParseTreeListener listener) {
+            if ( listener instanceof AggregationListener ) ((AggregationListener)listener).exitSequenceExpression(this);
+        }
+        @Override
+        public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+            if ( visitor instanceof AggregationVisitor ) return ((AggregationVisitor<? extends T>)visitor).visitSequenceExpression(this);
+            else return visitor.visitChildren(this);
+        }
+    }
 
     public final Comparison_exprContext comparison_expr() throws RecognitionException {
         Comparison_exprContext _localctx = new Comparison_exprContext(_ctx, getState());
         enterRule(_localctx, 0, RULE_comparison_expr);
+        int _la;
+        try {
+            setState(30);
+            _errHandler.sync(this);
+            switch (_input.LA(1)) {
+            case COUNT:
+            case SUM:
+            case MIN:
+            case MAX:
+            case AVG:
+            case CARDINALITY:
+            case PERCENTILES:
+            case DECIMAL:
+            case IDENTIFIER:
+                _localctx = new ComparisonExpressionWithOperatorContext(_localctx);
+                enterOuterAlt(_localctx, 1);
+                {
+                setState(20);
+                comparison_operand();
+                setState(21);
+                comp_operator();
+                setState(22);
+                comparison_operand();
+                }
+                break;
+            case NEAR:
+            case FOLLOWED_BY:
+                _localctx = new SequenceExpressionContext(_localctx);
+                enterOuterAlt(_localctx, 2);
+                {
+                setState(24);
+                sequence_operator();
+                setState(25);
+                selection_list();
+                setState(28);
+                _errHandler.sync(this);
+                _la = _input.LA(1);
+                if (_la==BY) {
+                    {
+                    setState(26);
+                    match(BY);
+                    setState(27);
+                    groupby_expr();
+                    }
+                }
+
+                }
+                break;
+            default:
+                throw new NoViableAltException(this);
+            }
+        }
+        catch (RecognitionException re) {
+            _localctx.exception = re;
+            _errHandler.reportError(this, re);
+            _errHandler.recover(this, re);
+        }
+        finally {
+            exitRule();
+        }
+        return _localctx;
+    }
+
+    public static class Sequence_operatorContext extends ParserRuleContext {
+        public TerminalNode NEAR() { return getToken(AggregationParser.NEAR, 0); }
+        public TerminalNode FOLLOWED_BY() { return getToken(AggregationParser.FOLLOWED_BY, 0); }
+        public Sequence_operatorContext(ParserRuleContext parent, int invokingState) {
+            super(parent, invokingState);
+        }
+        @Override public int getRuleIndex() { return RULE_sequence_operator; }
+        @Override
+        public void enterRule(ParseTreeListener listener) {
+            if ( listener instanceof AggregationListener ) ((AggregationListener)listener).enterSequence_operator(this);
+        }
+        @Override
+        public void exitRule(ParseTreeListener listener) {
+            if ( listener instanceof AggregationListener ) ((AggregationListener)listener).exitSequence_operator(this);
+        }
+        @Override
+        public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+            if ( visitor instanceof AggregationVisitor ) return ((AggregationVisitor<? extends T>)visitor).visitSequence_operator(this);
+            else return visitor.visitChildren(this);
+        }
+    }
+
+    public final Sequence_operatorContext sequence_operator() throws RecognitionException {
+        Sequence_operatorContext _localctx = new Sequence_operatorContext(_ctx, getState());
+        enterRule(_localctx, 2, RULE_sequence_operator);
+        int _la;
         try {
-            _localctx = new ComparisonExpressionWithOperatorContext(_localctx);
             enterOuterAlt(_localctx, 1);
             {
-            setState(14);
-            comparison_operand();
-            setState(15);
-            comp_operator();
-            setState(16);
-            comparison_operand();
+            setState(32);
+            _la = _input.LA(1);
+            if ( !(_la==NEAR || _la==FOLLOWED_BY) ) {
+            _errHandler.recoverInline(this);
+            }
+            else {
+                if ( _input.LA(1)==Token.EOF ) matchedEOF = true;
+                _errHandler.reportMatch(this);
+                consume();
+            }
+            }
+        }
+        catch (RecognitionException re) {
+            _localctx.exception = re;
+            _errHandler.reportError(this, re);
+            _errHandler.recover(this, re);
+        }
+        finally {
+            exitRule();
+        }
+        return _localctx;
+    }
+
+    public static class Selection_listContext extends ParserRuleContext {
+        public List<TerminalNode> IDENTIFIER() { return getTokens(AggregationParser.IDENTIFIER); }
+        public TerminalNode IDENTIFIER(int i) {
+            return getToken(AggregationParser.IDENTIFIER, i);
+        }
+        public List<TerminalNode> AND() { return getTokens(AggregationParser.AND); }
+        public TerminalNode AND(int i) {
+            return getToken(AggregationParser.AND, i);
+        }
+        public Selection_listContext(ParserRuleContext parent, int invokingState) {
+            super(parent, invokingState);
+        }
+        @Override public int getRuleIndex() { return RULE_selection_list; }
+        @Override
+        public void enterRule(ParseTreeListener listener) {
+            if ( listener instanceof AggregationListener ) ((AggregationListener)listener).enterSelection_list(this);
+        }
+        @Override
+        public void exitRule(ParseTreeListener listener) {
+            if ( listener instanceof AggregationListener ) ((AggregationListener)listener).exitSelection_list(this);
+        }
+        @Override
+        public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+            if ( visitor instanceof AggregationVisitor ) return ((AggregationVisitor<? extends T>)visitor).visitSelection_list(this);
+            else return visitor.visitChildren(this);
+        }
+    }
+
+    public final Selection_listContext selection_list() throws RecognitionException {
+        Selection_listContext _localctx = new Selection_listContext(_ctx, getState());
+        enterRule(_localctx, 4, RULE_selection_list);
+        int _la;
+        try {
+            enterOuterAlt(_localctx, 1);
+            {
+            setState(34);
+            match(IDENTIFIER);
+            setState(39);
+            _errHandler.sync(this);
+            _la = _input.LA(1);
+            while (_la==AND) {
+                {
+                {
+                setState(35);
+                match(AND);
+                setState(36);
+                match(IDENTIFIER);
+                }
+                }
+                setState(41);
+                _errHandler.sync(this);
+                _la = _input.LA(1);
+            }
             }
         }
         catch (RecognitionException re) {
@@ -186,11 +375,11 @@ public class AggregationParser extends Parser {
 
     public final Comparison_operandContext comparison_operand() throws RecognitionException {
         Comparison_operandContext _localctx = new Comparison_operandContext(_ctx, getState());
-        enterRule(_localctx, 2, RULE_comparison_operand);
+        enterRule(_localctx, 6, RULE_comparison_operand);
         try {
             enterOuterAlt(_localctx, 1);
             {
-            setState(18);
+            setState(42);
             agg_expr();
             }
         }
@@ -232,12 +421,12 @@ public class AggregationParser extends Parser {
 
     public final Comp_operatorContext comp_operator() throws RecognitionException {
         Comp_operatorContext _localctx = new Comp_operatorContext(_ctx, getState());
-        enterRule(_localctx, 4, RULE_comp_operator);
+        enterRule(_localctx, 8, RULE_comp_operator);
         int _la;
         try {
             enterOuterAlt(_localctx, 1);
             {
-            setState(20);
+            setState(44);
             _la = _input.LA(1);
             if ( !((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << GT) | (1L << GE) | (1L << LT) | (1L << LE) | (1L << EQ))) != 0)) ) {
             _errHandler.recoverInline(this);
@@ -266,6 +455,8 @@ public class AggregationParser extends Parser {
         public TerminalNode MIN() { return getToken(AggregationParser.MIN, 0); }
         public TerminalNode MAX() { return getToken(AggregationParser.MAX, 0); }
         public TerminalNode AVG() { return getToken(AggregationParser.AVG, 0); }
+        public TerminalNode CARDINALITY() { return getToken(AggregationParser.CARDINALITY, 0); }
+        public TerminalNode PERCENTILES() { return getToken(AggregationParser.PERCENTILES, 0); }
         public Agg_operatorContext(ParserRuleContext parent, int invokingState) {
             super(parent, invokingState);
         }
@@ -287,14 +478,14 @@ public class AggregationParser extends Parser {
 
     public final Agg_operatorContext agg_operator() throws RecognitionException {
         Agg_operatorContext _localctx = new Agg_operatorContext(_ctx, getState());
-        enterRule(_localctx, 6, RULE_agg_operator);
+        enterRule(_localctx, 10, RULE_agg_operator);
         int _la;
         try {
             enterOuterAlt(_localctx, 1);
             {
-            setState(22);
+            setState(46);
             _la = _input.LA(1);
-            if ( !((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << COUNT) | (1L << SUM) | (1L << MIN) | (1L << MAX) | (1L << AVG))) != 0)) ) {
+            if ( !((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << COUNT) | (1L << SUM) | (1L << MIN) | (1L << MAX) | (1L << AVG) | (1L << CARDINALITY) | (1L << PERCENTILES))) != 0)) ) {
             _errHandler.recoverInline(this);
             }
             else {
@@ -315,6 +506,48 @@ public class AggregationParser extends Parser {
         return _localctx;
     }
 
+    public static class Agg_parameterContext extends ParserRuleContext {
+        public TerminalNode DECIMAL() { return getToken(AggregationParser.DECIMAL, 0); }
+        public Agg_parameterContext(ParserRuleContext parent, int invokingState) {
+            super(parent, invokingState);
+        }
+        @Override public int getRuleIndex() { return RULE_agg_parameter; }
+        @Override
+        public void enterRule(ParseTreeListener listener) {
+            if ( listener instanceof AggregationListener ) ((AggregationListener)listener).enterAgg_parameter(this);
+        }
+        @Override
+        public void exitRule(ParseTreeListener listener) {
+            if ( listener instanceof AggregationListener ) ((AggregationListener)listener).exitAgg_parameter(this);
+        }
+        @Override
+        public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+            if ( visitor instanceof AggregationVisitor ) return ((AggregationVisitor<? extends T>)visitor).visitAgg_parameter(this);
+            else return visitor.visitChildren(this);
+        }
+    }
+
+    public final Agg_parameterContext agg_parameter() throws RecognitionException {
+        Agg_parameterContext _localctx = new Agg_parameterContext(_ctx, getState());
+        enterRule(_localctx, 12, RULE_agg_parameter);
+        try {
+            enterOuterAlt(_localctx, 1);
+            {
+            setState(48);
+            match(DECIMAL);
+            }
+        }
+        catch (RecognitionException re) {
+            _localctx.exception = re;
+            _errHandler.reportError(this, re);
+            _errHandler.recover(this, re);
+        }
+        finally {
+            exitRule();
+        }
+        return _localctx;
+    }
+
     public static class Groupby_exprContext extends ParserRuleContext {
         public TerminalNode IDENTIFIER() { return getToken(AggregationParser.IDENTIFIER, 0); }
         public Groupby_exprContext(ParserRuleContext parent, int invokingState) {
@@ -338,11 +571,11 @@ public class AggregationParser extends Parser {
 
     public final Groupby_exprContext groupby_expr() throws RecognitionException {
         Groupby_exprContext _localctx = new Groupby_exprContext(_ctx, getState());
-        enterRule(_localctx, 8, RULE_groupby_expr);
+        enterRule(_localctx, 14, RULE_groupby_expr);
         try {
             enterOuterAlt(_localctx, 1);
             {
-            setState(24);
+            setState(50);
             match(IDENTIFIER);
             }
         }
@@ -396,6 +629,10 @@ public class AggregationParser extends Parser {
             return getRuleContext(Agg_exprContext.class,0);
         }
         public TerminalNode RPAREN() { return getToken(AggregationParser.RPAREN, 0); }
+        public TerminalNode COMMA() { return getToken(AggregationParser.COMMA, 0); }
+        public Agg_parameterContext agg_parameter() {
+            return getRuleContext(Agg_parameterContext.class,0);
+        }
         public TerminalNode BY() { return getToken(AggregationParser.BY, 0); }
         public Groupby_exprContext groupby_expr() {
             return getRuleContext(Groupby_exprContext.class,0);
@@ -418,10 +655,10 @@ public class AggregationParser extends Parser {
 
     public final Agg_exprContext agg_expr() throws RecognitionException {
         Agg_exprContext _localctx = new Agg_exprContext(_ctx, getState());
-        enterRule(_localctx, 10, RULE_agg_expr);
+        enterRule(_localctx, 16, RULE_agg_expr);
         int _la;
         try {
-            setState(37);
+            setState(67);
             _errHandler.sync(this);
             switch (_input.LA(1)) {
             case COUNT:
@@ -429,33 +666,47 @@ public class AggregationParser extends Parser {
             case MIN:
             case MAX:
             case AVG:
+            case CARDINALITY:
+            case PERCENTILES:
                 _localctx = new AggExpressionParensContext(_localctx);
                 enterOuterAlt(_localctx, 1);
                 {
-                setState(26);
+                setState(52);
                 agg_operator();
-                setState(27);
+                setState(53);
                 match(LPAREN);
-                setState(28);
+                setState(54);
                 agg_expr();
-                setState(29);
+                setState(57);
+                _errHandler.sync(this);
+                _la = _input.LA(1);
+                if (_la==COMMA) {
+                    {
+                    setState(55);
+                    match(COMMA);
+                    setState(56);
+                    agg_parameter();
+                    }
+                }
+
+                setState(59);
                 match(RPAREN);
-                setState(31);
+                setState(61);
                 _errHandler.sync(this);
                 _la = _input.LA(1);
                 if (_la==BY) {
                     {
-                    setState(30);
+                    setState(60);
                     match(BY);
                     }
                 }
 
-                setState(34);
+                setState(64);
                 _errHandler.sync(this);
                 _la = _input.LA(1);
                 if (_la==IDENTIFIER) {
                     {
-                    setState(33);
+                    setState(63);
                     groupby_expr();
                     }
                 }
@@ -467,7 +718,7 @@ public class AggregationParser extends Parser {
                 _localctx = new AggExpressionNumericEntityContext(_localctx);
                 enterOuterAlt(_localctx, 2);
                 {
-                setState(36);
+                setState(66);
                 numeric_entity();
                 }
                 break;
@@ -534,16 +785,16 @@ public class AggregationParser extends Parser {
 
     public final Numeric_entityContext numeric_entity() throws RecognitionException {
         Numeric_entityContext _localctx = new Numeric_entityContext(_ctx, getState());
-        enterRule(_localctx, 12, RULE_numeric_entity);
+        enterRule(_localctx, 18, RULE_numeric_entity);
         try {
-            setState(41);
+            setState(71);
             _errHandler.sync(this);
             switch (_input.LA(1)) {
             case DECIMAL:
                 _localctx = new NumericConstContext(_localctx);
                 enterOuterAlt(_localctx, 1);
                 {
-                setState(39);
+                setState(69);
                 match(DECIMAL);
                 }
                 break;
@@ -551,7 +802,7 @@ public class AggregationParser extends Parser {
                 _localctx = new NumericVariableContext(_localctx);
                 enterOuterAlt(_localctx, 2);
                 {
-                setState(40);
+                setState(70);
                 match(IDENTIFIER);
                 }
                 break;
@@ -571,33 +822,48 @@ public class AggregationParser extends Parser {
     }
 
     public static final String _serializedATN =
-        "\u0004\u0001\u0010,\u0002\u0000\u0007\u0000\u0002\u0001\u0007\u0001\u0002"+
+        "\u0004\u0001\u0016J\u0002\u0000\u0007\u0000\u0002\u0001\u0007\u0001\u0002"+
         "\u0002\u0007\u0002\u0002\u0003\u0007\u0003\u0002\u0004\u0007\u0004\u0002"+
-        "\u0005\u0007\u0005\u0002\u0006\u0007\u0006\u0001\u0000\u0001\u0000\u0001"+
-        "\u0000\u0001\u0000\u0001\u0001\u0001\u0001\u0001\u0002\u0001\u0002\u0001"+
-        "\u0003\u0001\u0003\u0001\u0004\u0001\u0004\u0001\u0005\u0001\u0005\u0001"+
-        "\u0005\u0001\u0005\u0001\u0005\u0003\u0005 \b\u0005\u0001\u0005\u0003"+
-        "\u0005#\b\u0005\u0001\u0005\u0003\u0005&\b\u0005\u0001\u0006\u0001\u0006"+
-        "\u0003\u0006*\b\u0006\u0001\u0006\u0000\u0000\u0007\u0000\u0002\u0004"+
-        "\u0006\b\n\f\u0000\u0002\u0001\u0000\u0001\u0005\u0001\u0000\u0006\n("+
-        "\u0000\u000e\u0001\u0000\u0000\u0000\u0002\u0012\u0001\u0000\u0000\u0000"+
-        "\u0004\u0014\u0001\u0000\u0000\u0000\u0006\u0016\u0001\u0000\u0000\u0000"+
-        "\b\u0018\u0001\u0000\u0000\u0000\n%\u0001\u0000\u0000\u0000\f)\u0001\u0000"+
-        "\u0000\u0000\u000e\u000f\u0003\u0002\u0001\u0000\u000f\u0010\u0003\u0004"+
-        "\u0002\u0000\u0010\u0011\u0003\u0002\u0001\u0000\u0011\u0001\u0001\u0000"+
-        "\u0000\u0000\u0012\u0013\u0003\n\u0005\u0000\u0013\u0003\u0001\u0000\u0000"+
-        "\u0000\u0014\u0015\u0007\u0000\u0000\u0000\u0015\u0005\u0001\u0000\u0000"+
-        "\u0000\u0016\u0017\u0007\u0001\u0000\u0000\u0017\u0007\u0001\u0000\u0000"+
-        "\u0000\u0018\u0019\u0005\u000f\u0000\u0000\u0019\t\u0001\u0000\u0000\u0000"+
-        "\u001a\u001b\u0003\u0006\u0003\u0000\u001b\u001c\u0005\f\u0000\u0000\u001c"+
-        "\u001d\u0003\n\u0005\u0000\u001d\u001f\u0005\r\u0000\u0000\u001e \u0005"+
-        "\u000b\u0000\u0000\u001f\u001e\u0001\u0000\u0000\u0000\u001f \u0001\u0000"+
-        "\u0000\u0000 \"\u0001\u0000\u0000\u0000!#\u0003\b\u0004\u0000\"!\u0001"+
-        "\u0000\u0000\u0000\"#\u0001\u0000\u0000\u0000#&\u0001\u0000\u0000\u0000"+
-        "$&\u0003\f\u0006\u0000%\u001a\u0001\u0000\u0000\u0000%$\u0001\u0000\u0000"+
-        "\u0000&\u000b\u0001\u0000\u0000\u0000\'*\u0005\u000e\u0000\u0000(*\u0005"+
-        "\u000f\u0000\u0000)\'\u0001\u0000\u0000\u0000)(\u0001\u0000\u0000\u0000"+
-        "*\r\u0001\u0000\u0000\u0000\u0004\u001f\"%)";
+        "\u0005\u0007\u0005\u0002\u0006\u0007\u0006\u0002\u0007\u0007\u0007\u0002"+
+        "\b\u0007\b\u0002\t\u0007\t\u0001\u0000\u0001\u0000\u0001\u0000\u0001\u0000"+
+        "\u0001\u0000\u0001\u0000\u0001\u0000\u0001\u0000\u0003\u0000\u001d\b\u0000"+
+        "\u0003\u0000\u001f\b\u0000\u0001\u0001\u0001\u0001\u0001\u0002\u0001\u0002"+
+        "\u0001\u0002\u0005\u0002&\b\u0002\n\u0002\f\u0002)\t\u0002\u0001\u0003"+
+        "\u0001\u0003\u0001\u0004\u0001\u0004\u0001\u0005\u0001\u0005\u0001\u0006"+
+        "\u0001\u0006\u0001\u0007\u0001\u0007\u0001\b\u0001\b\u0001\b\u0001\b\u0001"+
+        "\b\u0003\b:\b\b\u0001\b\u0001\b\u0003\b>\b\b\u0001\b\u0003\bA\b\b\u0001"+
+        "\b\u0003\bD\b\b\u0001\t\u0001\t\u0003\tH\b\t\u0001\t\u0000\u0000\n\u0000"+
+        "\u0002\u0004\u0006\b\n\f\u000e\u0010\u0012\u0000\u0003\u0001\u0000\r\u000e"+
+        "\u0001\u0000\u0001\u0005\u0001\u0000\u0006\fG\u0000\u001e\u0001\u0000"+
+        "\u0000\u0000\u0002 \u0001\u0000\u0000\u0000\u0004\"\u0001\u0000\u0000"+
+        "\u0000\u0006*\u0001\u0000\u0000\u0000\b,\u0001\u0000\u0000\u0000\n.\u0001"+
+        "\u0000\u0000\u0000\f0\u0001\u0000\u0000\u0000\u000e2\u0001\u0000\u0000"+
+        "\u0000\u0010C\u0001\u0000\u0000\u0000\u0012G\u0001\u0000\u0000\u0000\u0014"+
+        "\u0015\u0003\u0006\u0003\u0000\u0015\u0016\u0003\b\u0004\u0000\u0016\u0017"+
+        "\u0003\u0006\u0003\u0000\u0017\u001f\u0001\u0000\u0000\u0000\u0018\u0019"+
+        "\u0003\u0002\u0001\u0000\u0019\u001c\u0003\u0004\u0002\u0000\u001a\u001b"+
+        "\u0005\u0010\u0000\u0000\u001b\u001d\u0003\u000e\u0007\u0000\u001c\u001a"+
+        "\u0001\u0000\u0000\u0000\u001c\u001d\u0001\u0000\u0000\u0000\u001d\u001f"+
+        "\u0001\u0000\u0000\u0000\u001e\u0014\u0001\u0000\u0000\u0000\u001e\u0018"+
+        "\u0001\u0000\u0000\u0000\u001f\u0001\u0001\u0000\u0000\u0000 !\u0007\u0000"+
+        "\u0000\u0000!\u0003\u0001\u0000\u0000\u0000\"\'\u0005\u0015\u0000\u0000"+
+        "#$\u0005\u000f\u0000\u0000$&\u0005\u0015\u0000\u0000%#\u0001\u0000\u0000"+
+        "\u0000&)\u0001\u0000\u0000\u0000\'%\u0001\u0000\u0000\u0000\'(\u0001\u0000"+
+        "\u0000\u0000(\u0005\u0001\u0000\u0000\u0000)\'\u0001\u0000\u0000\u0000"+
+        "*+\u0003\u0010\b\u0000+\u0007\u0001\u0000\u0000\u0000,-\u0007\u0001\u0000"+
+        "\u0000-\t\u0001\u0000\u0000\u0000./\u0007\u0002\u0000\u0000/\u000b\u0001"+
+        "\u0000\u0000\u000001\u0005\u0014\u0000\u00001\r\u0001\u0000\u0000\u0000"+
+        "23\u0005\u0015\u0000\u00003\u000f\u0001\u0000\u0000\u000045\u0003\n\u0005"+
+        "\u000056\u0005\u0011\u0000\u000069\u0003\u0010\b\u000078\u0005\u0013\u0000"+
+        "\u00008:\u0003\f\u0006\u000097\u0001\u0000\u0000\u00009:\u0001\u0000\u0000"+
+        "\u0000:;\u0001\u0000\u0000\u0000;=\u0005\u0012\u0000\u0000<>\u0005\u0010"+
+        "\u0000\u0000=<\u0001\u0000\u0000\u0000=>\u0001\u0000\u0000\u0000>@\u0001"+
+        "\u0000\u0000\u0000?A\u0003\u000e\u0007\u0000@?\u0001\u0000\u0000\u0000"+
+        "@A\u0001\u0000\u0000\u0000AD\u0001\u0000\u0000\u0000BD\u0003\u0012\t\u0000"+
+        "C4\u0001\u0000\u0000\u0000CB\u0001\u0000\u0000\u0000D\u0011\u0001\u0000"+
+        "\u0000\u0000EH\u0005\u0014\u0000\u0000FH\u0005\u0015\u0000\u0000GE\u0001"+
+        "\u0000\u0000\u0000GF\u0001\u0000\u0000\u0000H\u0013\u0001\u0000\u0000"+
+        "\u0000\b\u001c\u001e\'9=@CG";
     public static final ATN _ATN =
         new ATNDeserializer().deserialize(_serializedATN.toCharArray());
     static {
@@ -21,6 +21,25 @@ public interface AggregationVisitor<T> extends ParseTreeVisitor<T> {
      * @return the visitor result
      */
     T visitComparisonExpressionWithOperator(AggregationParser.ComparisonExpressionWithOperatorContext ctx);
+    /**
+     * Visit a parse tree produced by the {@code SequenceExpression}
+     * labeled alternative in {@link AggregationParser#comparison_expr}.
+     * @param ctx the parse tree
+     * @return the visitor result
+     */
+    T visitSequenceExpression(AggregationParser.SequenceExpressionContext ctx);
+    /**
+     * Visit a parse tree produced by {@link AggregationParser#sequence_operator}.
+     * @param ctx the parse tree
+     * @return the visitor result
+     */
+    T visitSequence_operator(AggregationParser.Sequence_operatorContext ctx);
+    /**
+     * Visit a parse tree produced by {@link AggregationParser#selection_list}.
+     * @param ctx the parse tree
+     * @return the visitor result
+     */
+    T visitSelection_list(AggregationParser.Selection_listContext ctx);
     /**
      * Visit a parse tree produced by {@link AggregationParser#comparison_operand}.
      * @param ctx the parse tree
@@ -39,6 +58,12 @@ public interface AggregationVisitor<T> extends ParseTreeVisitor<T> {
      * @return the visitor result
      */
     T visitAgg_operator(AggregationParser.Agg_operatorContext ctx);
+    /**
+     * Visit a parse tree produced by {@link AggregationParser#agg_parameter}.
+     * @param ctx the parse tree
+     * @return the visitor result
+     */
+    T visitAgg_parameter(AggregationParser.Agg_parameterContext ctx);
     /**
      * Visit a parse tree produced by {@link AggregationParser#groupby_expr}.
      * @param ctx the parse tree
@@ -15,9 +15,15 @@ SUM : 'sum' ;
 MIN : 'min' ;
 MAX : 'max' ;
 AVG : 'avg' ;
+CARDINALITY : 'cardinality' ;
+PERCENTILES : 'percentiles' ;
+NEAR : 'near' ;
+FOLLOWED_BY : 'followed_by' ;
+AND : 'and' ;
 BY : 'by' ;
 LPAREN : '(' ;
 RPAREN : ')' ;
+COMMA : ',' ;
 
 DECIMAL : '-'?[0-9]+('.'[0-9]+)? ;
 
@@ -25,8 +31,15 @@ IDENTIFIER : [a-zA-Z*_][a-zA-Z_0-9]* ;
 WS : [ \r\t\u000C\n]+ -> skip ;
 
 comparison_expr : comparison_operand comp_operator comparison_operand   # ComparisonExpressionWithOperator
+                | sequence_operator selection_list (BY groupby_expr)?     # SequenceExpression
                 ;
 
+sequence_operator : NEAR
+                  | FOLLOWED_BY
+                  ;
+
+selection_list : IDENTIFIER (AND IDENTIFIER)* ;
+
 comparison_operand : agg_expr
                    ;
 
@@ -42,12 +55,16 @@ agg_operator : COUNT
              | MIN
              | MAX
              | AVG
+             | CARDINALITY
+             | PERCENTILES
              ;
 
+agg_parameter : DECIMAL ;
+
 groupby_expr : IDENTIFIER ;
 
 agg_expr
- : agg_operator LPAREN agg_expr RPAREN BY? groupby_expr?       # AggExpressionParens
+ : agg_operator LPAREN agg_expr (COMMA agg_parameter)? RPAREN BY? groupby_expr?       # AggExpressionParens
  | numeric_entity                                              # AggExpressionNumericEntity
  ;
 
@@ -31,8 +31,10 @@ import org.opensearch.index.IndexSettings;
 import org.opensearch.index.codec.CodecServiceFactory;
 import org.opensearch.index.engine.EngineFactory;
 import org.opensearch.index.mapper.Mapper;
+import org.opensearch.ingest.Processor;
 import org.opensearch.plugins.ActionPlugin;
 import org.opensearch.plugins.EnginePlugin;
+import org.opensearch.plugins.IngestPlugin;
 import org.opensearch.plugins.MapperPlugin;
 import org.opensearch.plugins.Plugin;
 import org.opensearch.plugins.SearchPlugin;
@@ -45,6 +47,10 @@ import org.opensearch.securityanalytics.correlation.index.codec.CorrelationCodec
 import org.opensearch.securityanalytics.correlation.index.mapper.CorrelationVectorFieldMapper;
 import org.opensearch.securityanalytics.correlation.index.query.CorrelationQueryBuilder;
 import org.opensearch.securityanalytics.indexmanagment.DetectorIndexManagementService;
+import org.opensearch.securityanalytics.ingest.DetectionProcessor;
+import org.opensearch.securityanalytics.ingest.DetectorRulesCache;
+import org.opensearch.securityanalytics.ingest.IngestFindingsWriter;
+import org.opensearch.securityanalytics.mapper.IndexMappingsCache;
 import org.opensearch.securityanalytics.mapper.IndexTemplateManager;
 import org.opensearch.securityanalytics.mapper.MapperService;
 import org.opensearch.securityanalytics.resthandler.*;
@@ -52,16 +58,20 @@ import org.opensearch.securityanalytics.transport.*;
 import org.opensearch.securityanalytics.model.Rule;
 import org.opensearch.securityanalytics.model.Detector;
 import org.opensearch.securityanalytics.model.DetectorInput;
+import org.opensearch.securityanalytics.sequence.SequenceRuleEngine;
 import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
 import org.opensearch.securityanalytics.util.CorrelationIndices;
 import org.opensearch.securityanalytics.util.CorrelationRuleIndices;
 import org.opensearch.securityanalytics.util.DetectorIndices;
+import org.opensearch.securityanalytics.util.DetectorQueryGenerator;
+import org.opensearch.securityanalytics.util.MonitorRequestExecutor;
 import org.opensearch.securityanalytics.util.RuleIndices;
 import org.opensearch.securityanalytics.util.RuleTopicIndices;
+import org.opensearch.securityanalytics.util.SequenceStateIndices;
 import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.watcher.ResourceWatcherService;
 
-public class SecurityAnalyticsPlugin extends Plugin implements ActionPlugin, MapperPlugin, SearchPlugin, EnginePlugin {
+public class SecurityAnalyticsPlugin extends Plugin implements ActionPlugin, MapperPlugin, SearchPlugin, EnginePlugin, IngestPlugin {
 
     public static final String PLUGINS_BASE_URI = "/_plugins/_security_analytics";
     public static final String MAPPER_BASE_URI = PLUGINS_BASE_URI + "/mappings";
@@ -90,6 +100,16 @@ public class SecurityAnalyticsPlugin extends Plugin implements ActionPlugin, Map
 
     private IndexTemplateManager indexTemplateManager;
 
+    private SequenceRuleEngine sequenceRuleEngine;
+
+    private DetectorRulesCache detectorRulesCache;
+
+    private IndexMappingsCache indexMappingsCache;
+
+    private MonitorRequestExecutor monitorRequestExecutor;
+
+    private DetectorQueryGenerator detectorQueryGenerator;
+
     @Override
     public Collection<Object> createComponents(Client client,
                                                ClusterService clusterService,
@@ -109,8 +129,14 @@ public class SecurityAnalyticsPlugin extends Plugin implements ActionPlugin, Map
         mapperService = new MapperService(client, clusterService, indexNameExpressionResolver, indexTemplateManager);
         ruleIndices = new RuleIndices(client, clusterService, threadPool);
         correlationRuleIndices = new CorrelationRuleIndices(client, clusterService);
+        sequenceRuleEngine = new SequenceRuleEngine(client, clusterService, xContentRegistry, new SequenceStateIndices(client, clusterService), threadPool::relativeTimeInMillis);
+        indexMappingsCache = new IndexMappingsCache();
+        monitorRequestExecutor = new MonitorRequestExecutor(client, clusterService, threadPool, namedWriteableRegistry);
+        detectorQueryGenerator = new DetectorQueryGenerator(clusterService, indexNameExpressionResolver, xContentRegistry, indexMappingsCache);
 
-        return List.of(detectorIndices, correlationIndices, correlationRuleIndices, ruleTopicIndices, ruleIndices, mapperService, indexTemplateManager);
+        // the ingest service asks for the processors, which create the rules cache, before the components
+        return List.of(detectorIndices, correlationIndices, correlationRuleIndices, ruleTopicIndices, ruleIndices, mapperService, indexTemplateManager, sequenceRuleEngine, indexMappingsCache,
+                monitorRequestExecutor, detectorQueryGenerator, detectorRulesCache);
     }
 
     @Override
@@ -136,6 +162,8 @@ public class SecurityAnalyticsPlugin extends Plugin implements ActionPlugin, Map
                 new RestSearchDetectorAction(),
                 new RestDeleteDetectorAction(),
                 new RestGetFindingsAction(),
+                new RestGetFindingsPageAction(),
+                new RestGetFindingsSummaryAction(),
                 new RestGetMappingsViewAction(),
                 new RestGetAlertsAction(),
                 new RestIndexRuleAction(),
@@ -147,7 +175,10 @@ public class SecurityAnalyticsPlugin extends Plugin implements ActionPlugin, Map
                 new RestIndexCorrelationRuleAction(),
                 new RestDeleteCorrelationRuleAction(),
                 new RestListCorrelationAction(),
-                new RestSearchCorrelationRuleAction()
+                new RestSearchCorrelationRuleAction(),
+                new RestGetDetectorRuleCostsAction(),
+                new RestDryRunDetectorAction(),
+                new RestBulkIndexDetectorAction()
         );
     }
 
@@ -160,6 +191,15 @@ public class SecurityAnalyticsPlugin extends Plugin implements ActionPlugin, Map
         );
     }
 
+    @Override
+    public Map<String, Processor.Factory> getProcessors(Processor.Parameters parameters) {
+        detectorRulesCache = new DetectorRulesCache(
+                parameters.client, new NamedXContentRegistry(getNamedXContent()), parameters.threadContext, parameters.relativeTimeSupplier,
+                SecurityAnalyticsSettings.REGEX_DETERMINIZE_WORK_LIMIT.get(parameters.env.settings()));
+        IngestFindingsWriter findingsWriter = new IngestFindingsWriter(parameters.client, parameters.threadContext, parameters.scheduler);
+        return Map.of(DetectionProcessor.TYPE, new DetectionProcessor.Factory(detectorRulesCache, findingsWriter, parameters.relativeTimeSupplier));
+    }
+
     @Override
     public Map<String, Mapper.TypeParser> getMappers() {
         return Collections.singletonMap(
@@ -204,7 +244,26 @@ public class SecurityAnalyticsPlugin extends Plugin implements ActionPlugin, Map
                 SecurityAnalyticsSettings.FINDING_HISTORY_ROLLOVER_PERIOD,
                 SecurityAnalyticsSettings.FINDING_HISTORY_RETENTION_PERIOD,
                 SecurityAnalyticsSettings.IS_CORRELATION_INDEX_SETTING,
-                SecurityAnalyticsSettings.CORRELATION_TIME_WINDOW
+                SecurityAnalyticsSettings.CORRELATION_TIME_WINDOW,
+                SecurityAnalyticsSettings.ENABLE_CONDITION_OPTIMIZER,
+                SecurityAnalyticsSettings.QUERY_DSL_ENABLED,
+                SecurityAnalyticsSettings.ACCELERATED_WILDCARD_FIELDS,
+                SecurityAnalyticsSettings.REGEX_DETERMINIZE_WORK_LIMIT,
+                SecurityAnalyticsSettings.REJECT_COMPLEX_REGEX_RULES,
+                SecurityAnalyticsSettings.REWRITE_SIMPLE_REGEX,
+                SecurityAnalyticsSettings.BUCKET_LEVEL_AGGREGATION_MODE,
+                SecurityAnalyticsSettings.COMPOSITE_AGGREGATION_PAGE_SIZE,
+                SecurityAnalyticsSettings.MERGE_BUCKET_LEVEL_MONITORS,
+                SecurityAnalyticsSettings.SEQUENCE_MAX_GROUPS,
+                SecurityAnalyticsSettings.MONITOR_REQUESTS_MAX_IN_FLIGHT,
+                SecurityAnalyticsSettings.MONITOR_REQUESTS_MAX_RETRIES,
+                SecurityAnalyticsSettings.MONITOR_REQUESTS_RETRY_BACKOFF,
+                SecurityAnalyticsSettings.DOC_LEVEL_MONITOR_SHARDS,
+                SecurityAnalyticsSettings.DOC_LEVEL_MONITOR_MAX_SHARD_COST,
+                SecurityAnalyticsSettings.STAGGER_DETECTOR_SCHEDULES,
+                SecurityAnalyticsSettings.BULK_DETECTORS_MAX_IN_FLIGHT,
+                SecurityAnalyticsSettings.FINDINGS_PIT_KEEP_ALIVE,
+                SecurityAnalyticsSettings.FINDINGS_SUMMARY_CACHE_TTL
         );
     }
 
@@ -221,6 +280,8 @@ public class SecurityAnalyticsPlugin extends Plugin implements ActionPlugin, Map
                 new ActionPlugin.ActionHandler<>(GetDetectorAction.INSTANCE, TransportGetDetectorAction.class),
                 new ActionPlugin.ActionHandler<>(SearchDetectorAction.INSTANCE, TransportSearchDetectorAction.class),
                 new ActionPlugin.ActionHandler<>(GetFindingsAction.INSTANCE, TransportGetFindingsAction.class),
+                new ActionPlugin.ActionHandler<>(GetFindingsPageAction.INSTANCE, TransportGetFindingsPageAction.class),
+                new ActionPlugin.ActionHandler<>(GetFindingsSummaryAction.INSTANCE, TransportGetFindingsSummaryAction.class),
                 new ActionPlugin.ActionHandler<>(GetAlertsAction.INSTANCE, TransportGetAlertsAction.class),
                 new ActionPlugin.ActionHandler<>(IndexRuleAction.INSTANCE, TransportIndexRuleAction.class),
                 new ActionPlugin.ActionHandler<>(SearchRuleAction.INSTANCE, TransportSearchRuleAction.class),
@@ -232,7 +293,10 @@ public class SecurityAnalyticsPlugin extends Plugin implements ActionPlugin, Map
                 new ActionPlugin.ActionHandler<>(DeleteCorrelationRuleAction.INSTANCE, TransportDeleteCorrelationRuleAction.class),
                 new ActionPlugin.ActionHandler<>(AlertingActions.SUBSCRIBE_FINDINGS_ACTION_TYPE, TransportCorrelateFindingAction.class),
                 new ActionPlugin.ActionHandler<>(ListCorrelationsAction.INSTANCE, TransportListCorrelationAction.class),
-                new ActionPlugin.ActionHandler<>(SearchCorrelationRuleAction.INSTANCE, TransportSearchCorrelationRuleAction.class)
+                new ActionPlugin.ActionHandler<>(SearchCorrelationRuleAction.INSTANCE, TransportSearchCorrelationRuleAction.class),
+                new ActionPlugin.ActionHandler<>(GetDetectorRuleCostsAction.INSTANCE, TransportGetDetectorRuleCostsAction.class),
+                new ActionPlugin.ActionHandler<>(DryRunDetectorAction.INSTANCE, TransportDryRunDetectorAction.class),
+                new ActionPlugin.ActionHandler<>(BulkIndexDetectorAction.INSTANCE, TransportBulkIndexDetectorAction.class)
         );
     }
 }
\ No newline at end of file
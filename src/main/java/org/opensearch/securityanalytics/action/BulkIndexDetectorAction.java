@@ -0,0 +1,17 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.ActionType;
+
+public class BulkIndexDetectorAction extends ActionType<BulkIndexDetectorResponse> {
+
+    public static final BulkIndexDetectorAction INSTANCE = new BulkIndexDetectorAction();
+    public static final String NAME = "cluster:admin/opensearch/securityanalytics/detector/bulk_write";
+
+    public BulkIndexDetectorAction() {
+        super(NAME, BulkIndexDetectorResponse::new);
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.ActionRequest;
+import org.opensearch.action.ActionRequestValidationException;
+import org.opensearch.action.support.WriteRequest;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.securityanalytics.model.Detector;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+
+import static org.opensearch.action.ValidateActions.addValidationError;
+
+public class BulkIndexDetectorRequest extends ActionRequest {
+
+    public static final String DETECTORS_FIELD = "detectors";
+
+    /**
+     * detectors to create, each one is created as by {@link IndexDetectorAction}
+     */
+    private List<Detector> detectors;
+
+    private WriteRequest.RefreshPolicy refreshPolicy;
+
+    public BulkIndexDetectorRequest(List<Detector> detectors, WriteRequest.RefreshPolicy refreshPolicy) {
+        super();
+        this.detectors = detectors;
+        this.refreshPolicy = refreshPolicy;
+    }
+
+    public BulkIndexDetectorRequest(StreamInput sin) throws IOException {
+        this(sin.readList(Detector::readFrom),
+             WriteRequest.RefreshPolicy.readFrom(sin));
+    }
+
+    @Override
+    public ActionRequestValidationException validate() {
+        ActionRequestValidationException validationException = null;
+        if (detectors.isEmpty()) {
+            validationException = addValidationError(String.format(Locale.getDefault(), "%s must not be empty", DETECTORS_FIELD), validationException);
+        }
+        for (int i = 0; i < detectors.size(); ++i) {
+            if (detectors.get(i).getInputs().isEmpty()) {
+                validationException = addValidationError(String.format(Locale.getDefault(), "detector [%d] has no inputs", i), validationException);
+            }
+        }
+        return validationException;
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeCollection(detectors);
+        refreshPolicy.writeTo(out);
+    }
+
+    public List<Detector> getDetectors() {
+        return detectors;
+    }
+
+    public WriteRequest.RefreshPolicy getRefreshPolicy() {
+        return refreshPolicy;
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.ActionResponse;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.common.io.stream.Writeable;
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.rest.RestStatus;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.opensearch.securityanalytics.util.RestHandlerUtils._ID;
+import static org.opensearch.securityanalytics.util.RestHandlerUtils._VERSION;
+
+public class BulkIndexDetectorResponse extends ActionResponse implements ToXContentObject {
+
+    private static final String TOOK_FIELD = "took_in_millis";
+    private static final String ERRORS_FIELD = "errors";
+    private static final String ITEMS_FIELD = "items";
+
+    private long tookInMillis;
+
+    /**
+     * a result per detector of the request, in the same order
+     */
+    private List<Item> items;
+
+    public BulkIndexDetectorResponse(long tookInMillis, List<Item> items) {
+        super();
+        this.tookInMillis = tookInMillis;
+        this.items = items;
+    }
+
+    public BulkIndexDetectorResponse(StreamInput sin) throws IOException {
+        this(sin.readLong(),
+             sin.readList(Item::new));
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeLong(tookInMillis);
+        out.writeList(items);
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject()
+                .field(TOOK_FIELD, tookInMillis)
+                .field(ERRORS_FIELD, hasFailures())
+                .startArray(ITEMS_FIELD);
+        for (Item item: items) {
+            item.toXContent(builder, params);
+        }
+        builder.endArray();
+        return builder.endObject();
+    }
+
+    public long getTookInMillis() {
+        return tookInMillis;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public boolean hasFailures() {
+        return items.stream().anyMatch(Item::isFailed);
+    }
+
+    public static class Item implements Writeable, ToXContentObject {
+
+        private static final String STATUS_FIELD = "status";
+        private static final String FAILURE_FIELD = "failure";
+
+        private final String id;
+
+        private final Long version;
+
+        private final RestStatus status;
+
+        private final String failure;
+
+        public Item(String id, Long version, RestStatus status, String failure) {
+            this.id = id;
+            this.version = version;
+            this.status = status;
+            this.failure = failure;
+        }
+
+        public Item(StreamInput sin) throws IOException {
+            this(sin.readOptionalString(),
+                 sin.readOptionalLong(),
+                 sin.readEnum(RestStatus.class),
+                 sin.readOptionalString());
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            out.writeOptionalString(id);
+            out.writeOptionalLong(version);
+            out.writeEnum(status);
+            out.writeOptionalString(failure);
+        }
+
+        @Override
+        public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+            builder.startObject();
+            if (id != null) {
+                builder.field(_ID, id)
+                        .field(_VERSION, version);
+            }
+            builder.field(STATUS_FIELD, status.getStatus());
+            if (failure != null) {
+                builder.field(FAILURE_FIELD, failure);
+            }
+            return builder.endObject();
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public Long getVersion() {
+            return version;
+        }
+
+        public RestStatus getStatus() {
+            return status;
+        }
+
+        public String getFailure() {
+            return failure;
+        }
+
+        public boolean isFailed() {
+            return failure != null;
+        }
+    }
+}
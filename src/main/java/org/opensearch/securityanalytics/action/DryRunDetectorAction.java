@@ -0,0 +1,17 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.ActionType;
+
+public class DryRunDetectorAction extends ActionType<DryRunDetectorResponse> {
+
+    public static final DryRunDetectorAction INSTANCE = new DryRunDetectorAction();
+    public static final String NAME = "cluster:admin/opensearch/securityanalytics/detector/dry_run";
+
+    public DryRunDetectorAction() {
+        super(NAME, DryRunDetectorResponse::new);
+    }
+}
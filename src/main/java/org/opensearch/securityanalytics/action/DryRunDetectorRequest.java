@@ -0,0 +1,87 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.ActionRequest;
+import org.opensearch.action.ActionRequestValidationException;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.common.unit.TimeValue;
+
+import java.io.IOException;
+import java.util.Locale;
+
+import static org.opensearch.action.ValidateActions.addValidationError;
+
+public class DryRunDetectorRequest extends ActionRequest {
+
+    public static final String WINDOW = "window";
+    public static final String TIMEOUT = "timeout";
+
+    public static final TimeValue DEFAULT_WINDOW = TimeValue.timeValueMinutes(15);
+    public static final TimeValue DEFAULT_TIMEOUT = TimeValue.timeValueSeconds(30);
+
+    /**
+     * detector to run, it is not persisted and no monitor is created for it
+     */
+    private IndexDetectorRequest detectorRequest;
+
+    /**
+     * the rules are run against the documents of the last window of the input indices
+     */
+    private TimeValue window;
+
+    /**
+     * timeout of each search run by the dry run
+     */
+    private TimeValue timeout;
+
+    public DryRunDetectorRequest(IndexDetectorRequest detectorRequest, TimeValue window, TimeValue timeout) {
+        super();
+        this.detectorRequest = detectorRequest;
+        this.window = window;
+        this.timeout = timeout;
+    }
+
+    public DryRunDetectorRequest(StreamInput sin) throws IOException {
+        this(new IndexDetectorRequest(sin),
+             sin.readTimeValue(),
+             sin.readTimeValue());
+    }
+
+    @Override
+    public ActionRequestValidationException validate() {
+        ActionRequestValidationException validationException = null;
+        if (detectorRequest.getDetector().getInputs().isEmpty()) {
+            validationException = addValidationError("detector has no inputs", validationException);
+        }
+        if (window.millis() <= 0) {
+            validationException = addValidationError(String.format(Locale.getDefault(), "%s must be positive", WINDOW), validationException);
+        }
+        if (timeout.millis() <= 0) {
+            validationException = addValidationError(String.format(Locale.getDefault(), "%s must be positive", TIMEOUT), validationException);
+        }
+        return validationException;
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        detectorRequest.writeTo(out);
+        out.writeTimeValue(window);
+        out.writeTimeValue(timeout);
+    }
+
+    public IndexDetectorRequest getDetectorRequest() {
+        return detectorRequest;
+    }
+
+    public TimeValue getWindow() {
+        return window;
+    }
+
+    public TimeValue getTimeout() {
+        return timeout;
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.ActionResponse;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.common.io.stream.Writeable;
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+import java.io.IOException;
+import java.util.List;
+
+public class DryRunDetectorResponse extends ActionResponse implements ToXContentObject {
+
+    private static final String PERIOD_START_FIELD = "period_start";
+    private static final String PERIOD_END_FIELD = "period_end";
+    private static final String TOOK_FIELD = "took_in_millis";
+    private static final String TOTAL_SHARDS_FIELD = "total_shards";
+    private static final String RULES_FIELD = "rules";
+    private static final String LIMITATIONS_FIELD = "limitations";
+
+    /**
+     * How the searches of a dry run differ from the doc level monitors, which percolate every ingested document
+     * against the queries index of the detector type
+     */
+    public static final List<String> LIMITATIONS = List.of(
+            "Doc level queries are searched on the input indices, so text fields are analyzed with the analyzers of the input index mappings instead of the rule analyzer of the queries index",
+            "Hits are the documents of the window as they are stored at the time of the dry run, monitors match each document once when it is ingested"
+    );
+
+    private long periodStart;
+
+    private long periodEnd;
+
+    /**
+     * wall clock time of the dry run, the searches of the rules run in parallel
+     */
+    private long tookInMillis;
+
+    private List<RuleResult> ruleResults;
+
+    public DryRunDetectorResponse(long periodStart, long periodEnd, long tookInMillis, List<RuleResult> ruleResults) {
+        super();
+        this.periodStart = periodStart;
+        this.periodEnd = periodEnd;
+        this.tookInMillis = tookInMillis;
+        this.ruleResults = ruleResults;
+    }
+
+    public DryRunDetectorResponse(StreamInput sin) throws IOException {
+        this(sin.readLong(),
+             sin.readLong(),
+             sin.readLong(),
+             sin.readList(RuleResult::new));
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeLong(periodStart);
+        out.writeLong(periodEnd);
+        out.writeLong(tookInMillis);
+        out.writeList(ruleResults);
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject()
+                .field(PERIOD_START_FIELD, periodStart)
+                .field(PERIOD_END_FIELD, periodEnd)
+                .field(TOOK_FIELD, tookInMillis)
+                .field(TOTAL_SHARDS_FIELD, getTotalShards())
+                .startArray(RULES_FIELD);
+        for (RuleResult ruleResult: ruleResults) {
+            ruleResult.toXContent(builder, params);
+        }
+        builder.endArray();
+        builder.field(LIMITATIONS_FIELD, LIMITATIONS);
+        return builder.endObject();
+    }
+
+    public long getPeriodStart() {
+        return periodStart;
+    }
+
+    public long getPeriodEnd() {
+        return periodEnd;
+    }
+
+    public long getTookInMillis() {
+        return tookInMillis;
+    }
+
+    /**
+     * @return number of shard level searches run for all rules
+     */
+    public long getTotalShards() {
+        return ruleResults.stream().mapToLong(RuleResult::getTotalShards).sum();
+    }
+
+    public List<RuleResult> getRuleResults() {
+        return ruleResults;
+    }
+
+    public static class RuleResult implements Writeable, ToXContentObject {
+
+        private static final String RULE_ID_FIELD = "rule_id";
+        private static final String QUERY_ID_FIELD = "query_id";
+        private static final String MONITOR_TYPE_FIELD = "monitor_type";
+        private static final String HITS_FIELD = "hits";
+        private static final String BUCKETS_FIELD = "buckets";
+        private static final String TOOK_FIELD = "took_in_millis";
+        private static final String TOTAL_SHARDS_FIELD = "total_shards";
+        private static final String TIMED_OUT_FIELD = "timed_out";
+        private static final String FAILURE_FIELD = "failure";
+
+        private final String ruleId;
+
+        /**
+         * id of the doc level query, a sequence rule has a query per step
+         */
+        private final String queryId;
+
+        private final String monitorType;
+
+        private final long hits;
+
+        /**
+         * buckets returned by the aggregation of a bucket level rule
+         */
+        private final Integer buckets;
+
+        private final long tookInMillis;
+
+        private final int totalShards;
+
+        private final boolean timedOut;
+
+        private final String failure;
+
+        public RuleResult(String ruleId, String queryId, String monitorType, long hits, Integer buckets, long tookInMillis, int totalShards, boolean timedOut, String failure) {
+            this.ruleId = ruleId;
+            this.queryId = queryId;
+            this.monitorType = monitorType;
+            this.hits = hits;
+            this.buckets = buckets;
+            this.tookInMillis = tookInMillis;
+            this.totalShards = totalShards;
+            this.timedOut = timedOut;
+            this.failure = failure;
+        }
+
+        public RuleResult(StreamInput sin) throws IOException {
+            this(sin.readString(),
+                 sin.readString(),
+                 sin.readString(),
+                 sin.readLong(),
+                 sin.readOptionalInt(),
+                 sin.readLong(),
+                 sin.readInt(),
+                 sin.readBoolean(),
+                 sin.readOptionalString());
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            out.writeString(ruleId);
+            out.writeString(queryId);
+            out.writeString(monitorType);
+            out.writeLong(hits);
+            out.writeOptionalInt(buckets);
+            out.writeLong(tookInMillis);
+            out.writeInt(totalShards);
+            out.writeBoolean(timedOut);
+            out.writeOptionalString(failure);
+        }
+
+        @Override
+        public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+            builder.startObject()
+                    .field(RULE_ID_FIELD, ruleId)
+                    .field(QUERY_ID_FIELD, queryId)
+                    .field(MONITOR_TYPE_FIELD, monitorType)
+                    .field(HITS_FIELD, hits);
+            if (buckets != null) {
+                builder.field(BUCKETS_FIELD, buckets);
+            }
+            builder.field(TOOK_FIELD, tookInMillis)
+                    .field(TOTAL_SHARDS_FIELD, totalShards)
+                    .field(TIMED_OUT_FIELD, timedOut);
+            if (failure != null) {
+                builder.field(FAILURE_FIELD, failure);
+            }
+            return builder.endObject();
+        }
+
+        public String getRuleId() {
+            return ruleId;
+        }
+
+        public String getQueryId() {
+            return queryId;
+        }
+
+        public String getMonitorType() {
+            return monitorType;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public Integer getBuckets() {
+            return buckets;
+        }
+
+        public long getTookInMillis() {
+            return tookInMillis;
+        }
+
+        public int getTotalShards() {
+            return totalShards;
+        }
+
+        public boolean isTimedOut() {
+            return timedOut;
+        }
+
+        public String getFailure() {
+            return failure;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.ActionType;
+
+public class GetDetectorRuleCostsAction extends ActionType<GetDetectorRuleCostsResponse> {
+
+    public static final GetDetectorRuleCostsAction INSTANCE = new GetDetectorRuleCostsAction();
+    public static final String NAME = "cluster:admin/opensearch/securityanalytics/detector/rules/cost";
+
+    public GetDetectorRuleCostsAction() {
+        super(NAME, GetDetectorRuleCostsResponse::new);
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.ActionRequest;
+import org.opensearch.action.ActionRequestValidationException;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+
+import java.io.IOException;
+import java.util.Locale;
+
+import static org.opensearch.action.ValidateActions.addValidationError;
+
+public class GetDetectorRuleCostsRequest extends ActionRequest {
+
+    private String detectorId;
+
+    /**
+     * optional index the rule queries are profiled against. When null only the static cost estimate is reported.
+     */
+    private String profileIndex;
+
+    public static final String DETECTOR_ID = "detector_id";
+    public static final String PROFILE_INDEX = "profile_index";
+
+    public GetDetectorRuleCostsRequest(String detectorId, String profileIndex) {
+        super();
+        this.detectorId = detectorId;
+        this.profileIndex = profileIndex;
+    }
+
+    public GetDetectorRuleCostsRequest(StreamInput sin) throws IOException {
+        this(sin.readString(),
+             sin.readOptionalString());
+    }
+
+    @Override
+    public ActionRequestValidationException validate() {
+        ActionRequestValidationException validationException = null;
+        if (detectorId == null || detectorId.length() == 0) {
+            validationException = addValidationError(String.format(Locale.getDefault(), "%s is missing", DETECTOR_ID), validationException);
+        }
+        if (profileIndex != null && profileIndex.isEmpty()) {
+            validationException = addValidationError(String.format(Locale.getDefault(), "%s is empty", PROFILE_INDEX), validationException);
+        }
+        return validationException;
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeString(detectorId);
+        out.writeOptionalString(profileIndex);
+    }
+
+    public String getDetectorId() {
+        return detectorId;
+    }
+
+    public String getProfileIndex() {
+        return profileIndex;
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.ActionResponse;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.common.io.stream.Writeable;
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.opensearch.securityanalytics.util.RestHandlerUtils._ID;
+
+public class GetDetectorRuleCostsResponse extends ActionResponse implements ToXContentObject {
+
+    private static final String RULES_FIELD = "rules";
+
+    private String detectorId;
+
+    /**
+     * sorted from the most to the least expensive rule
+     */
+    private List<RuleCost> ruleCosts;
+
+    public GetDetectorRuleCostsResponse(String detectorId, List<RuleCost> ruleCosts) {
+        super();
+        this.detectorId = detectorId;
+        this.ruleCosts = ruleCosts;
+    }
+
+    public GetDetectorRuleCostsResponse(StreamInput sin) throws IOException {
+        this(sin.readString(),
+             sin.readList(RuleCost::new));
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeString(detectorId);
+        out.writeList(ruleCosts);
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject()
+                .field(_ID, detectorId)
+                .startArray(RULES_FIELD);
+        for (RuleCost ruleCost: ruleCosts) {
+            ruleCost.toXContent(builder, params);
+        }
+        builder.endArray();
+        return builder.endObject();
+    }
+
+    public String getDetectorId() {
+        return detectorId;
+    }
+
+    public List<RuleCost> getRuleCosts() {
+        return ruleCosts;
+    }
+
+    public static class RuleCost implements Writeable, ToXContentObject {
+
+        private static final String RULE_ID_FIELD = "rule_id";
+        private static final String TITLE_FIELD = "title";
+        private static final String ESTIMATED_COST_FIELD = "estimated_cost";
+        private static final String PROFILED_TIME_FIELD = "profiled_time_in_nanos";
+
+        private final String ruleId;
+
+        private final String title;
+
+        private final long estimatedCost;
+
+        private Long profiledTimeInNanos;
+
+        public RuleCost(String ruleId, String title, long estimatedCost, Long profiledTimeInNanos) {
+            this.ruleId = ruleId;
+            this.title = title;
+            this.estimatedCost = estimatedCost;
+            this.profiledTimeInNanos = profiledTimeInNanos;
+        }
+
+        public RuleCost(StreamInput sin) throws IOException {
+            this(sin.readString(),
+                 sin.readString(),
+                 sin.readLong(),
+                 sin.readOptionalLong());
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            out.writeString(ruleId);
+            out.writeString(title);
+            out.writeLong(estimatedCost);
+            out.writeOptionalLong(profiledTimeInNanos);
+        }
+
+        @Override
+        public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+            builder.startObject()
+                    .field(RULE_ID_FIELD, ruleId)
+                    .field(TITLE_FIELD, title)
+                    .field(ESTIMATED_COST_FIELD, estimatedCost);
+            if (profiledTimeInNanos != null) {
+                builder.field(PROFILED_TIME_FIELD, profiledTimeInNanos);
+            }
+            return builder.endObject();
+        }
+
+        public String getRuleId() {
+            return ruleId;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public long getEstimatedCost() {
+            return estimatedCost;
+        }
+
+        public Long getProfiledTimeInNanos() {
+            return profiledTimeInNanos;
+        }
+
+        public void setProfiledTimeInNanos(Long profiledTimeInNanos) {
+            this.profiledTimeInNanos = profiledTimeInNanos;
+        }
+    }
+}
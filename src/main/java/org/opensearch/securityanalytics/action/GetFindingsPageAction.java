@@ -0,0 +1,17 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.ActionType;
+
+public class GetFindingsPageAction extends ActionType<GetFindingsPageResponse> {
+
+    public static final GetFindingsPageAction INSTANCE = new GetFindingsPageAction();
+    public static final String NAME = "cluster:admin/opensearch/securityanalytics/findings/page";
+
+    public GetFindingsPageAction() {
+        super(NAME, GetFindingsPageResponse::new);
+    }
+}
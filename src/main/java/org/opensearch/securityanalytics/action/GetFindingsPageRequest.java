@@ -0,0 +1,90 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.ActionRequest;
+import org.opensearch.action.ActionRequestValidationException;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+
+import java.io.IOException;
+import java.util.Locale;
+
+import static org.opensearch.action.ValidateActions.addValidationError;
+
+public class GetFindingsPageRequest extends ActionRequest {
+
+    public static final String DETECTOR_ID = "detector_id";
+    public static final String SIZE = "size";
+    public static final String NEXT_TOKEN = "next_token";
+    public static final String INCLUDE_DOCUMENTS = "include_documents";
+
+    public static final int DEFAULT_SIZE = 100;
+    public static final int MAX_SIZE = 10000;
+
+    private String detectorId;
+
+    private int size;
+
+    /**
+     * continuation token of the previous page, null for the first page
+     */
+    private String nextToken;
+
+    private boolean includeDocuments;
+
+    public GetFindingsPageRequest(String detectorId, int size, String nextToken, boolean includeDocuments) {
+        super();
+        this.detectorId = detectorId;
+        this.size = size;
+        this.nextToken = nextToken;
+        this.includeDocuments = includeDocuments;
+    }
+
+    public GetFindingsPageRequest(StreamInput sin) throws IOException {
+        this(
+            sin.readString(),
+            sin.readInt(),
+            sin.readOptionalString(),
+            sin.readBoolean()
+        );
+    }
+
+    @Override
+    public ActionRequestValidationException validate() {
+        ActionRequestValidationException validationException = null;
+        if (detectorId == null || detectorId.length() == 0) {
+            validationException = addValidationError(String.format(Locale.getDefault(), "%s is missing", DETECTOR_ID), validationException);
+        }
+        if (size < 1 || size > MAX_SIZE) {
+            validationException = addValidationError(String.format(Locale.getDefault(), "%s must be between 1 and %d", SIZE, MAX_SIZE), validationException);
+        }
+        return validationException;
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeString(detectorId);
+        out.writeInt(size);
+        out.writeOptionalString(nextToken);
+        out.writeBoolean(includeDocuments);
+    }
+
+    public String getDetectorId() {
+        return detectorId;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public String getNextToken() {
+        return nextToken;
+    }
+
+    public boolean isIncludeDocuments() {
+        return includeDocuments;
+    }
+}
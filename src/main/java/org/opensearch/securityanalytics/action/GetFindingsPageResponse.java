@@ -0,0 +1,63 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.ActionResponse;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+public class GetFindingsPageResponse extends ActionResponse implements ToXContentObject {
+
+    private static final String FINDINGS_FIELD = "findings";
+    private static final String NEXT_TOKEN_FIELD = "next_token";
+
+    private final List<FindingDto> findings;
+
+    /**
+     * token to request the next page with, null after the last page
+     */
+    private final String nextToken;
+
+    public GetFindingsPageResponse(List<FindingDto> findings, String nextToken) {
+        super();
+        this.findings = findings;
+        this.nextToken = nextToken;
+    }
+
+    public GetFindingsPageResponse(StreamInput sin) throws IOException {
+        this(
+            Collections.unmodifiableList(sin.readList(FindingDto::new)),
+            sin.readOptionalString()
+        );
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeCollection(findings);
+        out.writeOptionalString(nextToken);
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject()
+                .field(FINDINGS_FIELD, findings)
+                .field(NEXT_TOKEN_FIELD, nextToken);
+        return builder.endObject();
+    }
+
+    public List<FindingDto> getFindings() {
+        return findings;
+    }
+
+    public String getNextToken() {
+        return nextToken;
+    }
+}
@@ -0,0 +1,17 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.ActionType;
+
+public class GetFindingsSummaryAction extends ActionType<GetFindingsSummaryResponse> {
+
+    public static final GetFindingsSummaryAction INSTANCE = new GetFindingsSummaryAction();
+    public static final String NAME = "cluster:admin/opensearch/securityanalytics/findings/summary";
+
+    public GetFindingsSummaryAction() {
+        super(NAME, GetFindingsSummaryResponse::new);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.ActionRequest;
+import org.opensearch.action.ActionRequestValidationException;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.securityanalytics.model.Detector;
+
+import java.io.IOException;
+import java.util.Locale;
+
+import static org.opensearch.action.ValidateActions.addValidationError;
+
+public class GetFindingsSummaryRequest extends ActionRequest {
+
+    public static final String DETECTOR_ID = "detector_id";
+    public static final String DETECTOR_TYPE = "detectorType";
+    public static final String START_TIME = "start_time";
+    public static final String END_TIME = "end_time";
+    public static final String INTERVAL = "interval";
+
+    public static final TimeValue DEFAULT_INTERVAL = TimeValue.timeValueHours(1);
+
+    private String detectorId;
+
+    private Detector.DetectorType detectorType;
+
+    /**
+     * lower bound of the finding timestamps in epoch millis, inclusive, null for no bound
+     */
+    private Long startTime;
+
+    /**
+     * upper bound of the finding timestamps in epoch millis, exclusive, null for no bound
+     */
+    private Long endTime;
+
+    /**
+     * width of the buckets of the findings over time
+     */
+    private TimeValue interval;
+
+    public GetFindingsSummaryRequest(String detectorId, Detector.DetectorType detectorType, Long startTime, Long endTime, TimeValue interval) {
+        super();
+        this.detectorId = detectorId;
+        this.detectorType = detectorType;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.interval = interval;
+    }
+
+    public GetFindingsSummaryRequest(StreamInput sin) throws IOException {
+        this(
+            sin.readOptionalString(),
+            sin.readBoolean() ? sin.readEnum(Detector.DetectorType.class) : null,
+            sin.readOptionalLong(),
+            sin.readOptionalLong(),
+            sin.readTimeValue()
+        );
+    }
+
+    @Override
+    public ActionRequestValidationException validate() {
+        ActionRequestValidationException validationException = null;
+        if ((detectorId == null || detectorId.length() == 0) && detectorType == null) {
+            validationException = addValidationError("At least one of detector type or detector id needs to be passed", validationException);
+        }
+        if (startTime != null && endTime != null && startTime >= endTime) {
+            validationException = addValidationError(String.format(Locale.getDefault(), "%s must be before %s", START_TIME, END_TIME), validationException);
+        }
+        if (interval == null || interval.millis() <= 0) {
+            validationException = addValidationError(String.format(Locale.getDefault(), "%s must be positive", INTERVAL), validationException);
+        }
+        return validationException;
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeOptionalString(detectorId);
+        if (detectorType != null) {
+            out.writeBoolean(true);
+            out.writeEnum(detectorType);
+        } else {
+            out.writeBoolean(false);
+        }
+        out.writeOptionalLong(startTime);
+        out.writeOptionalLong(endTime);
+        out.writeTimeValue(interval);
+    }
+
+    public String getDetectorId() {
+        return detectorId;
+    }
+
+    public Detector.DetectorType getDetectorType() {
+        return detectorType;
+    }
+
+    public Long getStartTime() {
+        return startTime;
+    }
+
+    public Long getEndTime() {
+        return endTime;
+    }
+
+    public TimeValue getInterval() {
+        return interval;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.ActionResponse;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class GetFindingsSummaryResponse extends ActionResponse implements ToXContentObject {
+
+    private static final String TOTAL_FINDINGS_FIELD = "total_findings";
+    private static final String BY_DETECTOR_FIELD = "by_detector";
+    private static final String BY_RULE_FIELD = "by_rule";
+    private static final String BY_SEVERITY_FIELD = "by_severity";
+    private static final String OVER_TIME_FIELD = "over_time";
+    private static final String TIMESTAMP_FIELD = "timestamp";
+    private static final String COUNT_FIELD = "count";
+
+    private final long totalFindings;
+
+    private final Map<String, Long> byDetector;
+
+    private final Map<String, Long> byRule;
+
+    private final Map<String, Long> bySeverity;
+
+    /**
+     * number of findings per bucket, keyed by the start of the bucket in epoch millis
+     */
+    private final Map<Long, Long> overTime;
+
+    public GetFindingsSummaryResponse(long totalFindings, Map<String, Long> byDetector, Map<String, Long> byRule,
+                                      Map<String, Long> bySeverity, Map<Long, Long> overTime) {
+        super();
+        this.totalFindings = totalFindings;
+        this.byDetector = byDetector;
+        this.byRule = byRule;
+        this.bySeverity = bySeverity;
+        this.overTime = new TreeMap<>(overTime);
+    }
+
+    public GetFindingsSummaryResponse(StreamInput sin) throws IOException {
+        this(
+            sin.readLong(),
+            sin.readMap(StreamInput::readString, StreamInput::readLong),
+            sin.readMap(StreamInput::readString, StreamInput::readLong),
+            sin.readMap(StreamInput::readString, StreamInput::readLong),
+            sin.readMap(StreamInput::readLong, StreamInput::readLong)
+        );
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeLong(totalFindings);
+        out.writeMap(byDetector, StreamOutput::writeString, StreamOutput::writeLong);
+        out.writeMap(byRule, StreamOutput::writeString, StreamOutput::writeLong);
+        out.writeMap(bySeverity, StreamOutput::writeString, StreamOutput::writeLong);
+        out.writeMap(overTime, StreamOutput::writeLong, StreamOutput::writeLong);
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject()
+                .field(TOTAL_FINDINGS_FIELD, totalFindings)
+                .field(BY_DETECTOR_FIELD, byDetector)
+                .field(BY_RULE_FIELD, byRule)
+                .field(BY_SEVERITY_FIELD, bySeverity)
+                .startArray(OVER_TIME_FIELD);
+        for (Map.Entry<Long, Long> bucket: overTime.entrySet()) {
+            builder.startObject()
+                    .field(TIMESTAMP_FIELD, bucket.getKey())
+                    .field(COUNT_FIELD, bucket.getValue())
+                    .endObject();
+        }
+        builder.endArray();
+        return builder.endObject();
+    }
+
+    public long getTotalFindings() {
+        return totalFindings;
+    }
+
+    public Map<String, Long> getByDetector() {
+        return byDetector;
+    }
+
+    public Map<String, Long> getByRule() {
+        return byRule;
+    }
+
+    public Map<String, Long> getBySeverity() {
+        return bySeverity;
+    }
+
+    public Map<Long, Long> getOverTime() {
+        return overTime;
+    }
+}
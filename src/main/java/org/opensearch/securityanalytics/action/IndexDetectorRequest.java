@@ -11,6 +11,7 @@ import org.opensearch.common.io.stream.StreamInput;
 import org.opensearch.common.io.stream.StreamOutput;
 import org.opensearch.rest.RestRequest;
 import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.util.DetectorProvisioningContext;
 
 import java.io.IOException;
 
@@ -24,6 +25,17 @@ public class IndexDetectorRequest extends ActionRequest {
 
     private Detector detector;
 
+    /**
+     * shared with the other detectors of a bulk request, not serialized
+     */
+    private DetectorProvisioningContext provisioningContext;
+
+    /**
+     * custom rule the detector is refreshed for after an update of the rule, which kept its kind and estimated cost and
+     * with them its place among the monitors of the detector. Only the monitors evaluating it are updated, not serialized
+     */
+    private String refreshedRuleId;
+
     public IndexDetectorRequest(
             String detectorId,
             WriteRequest.RefreshPolicy refreshPolicy,
@@ -71,4 +83,20 @@ public class IndexDetectorRequest extends ActionRequest {
     public WriteRequest.RefreshPolicy getRefreshPolicy() {
         return refreshPolicy;
     }
+
+    public DetectorProvisioningContext getProvisioningContext() {
+        return provisioningContext;
+    }
+
+    public void setProvisioningContext(DetectorProvisioningContext provisioningContext) {
+        this.provisioningContext = provisioningContext;
+    }
+
+    public String getRefreshedRuleId() {
+        return refreshedRuleId;
+    }
+
+    public void setRefreshedRuleId(String refreshedRuleId) {
+        this.refreshedRuleId = refreshedRuleId;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,80 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.findings;
+
+import org.opensearch.OpenSearchStatusException;
+import org.opensearch.common.bytes.BytesReference;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.rest.RestStatus;
+
+import java.io.IOException;
+import java.util.Base64;
+
+/**
+ * Position of a client paging through the findings of a detector: the point in time the pages are read from and the
+ * sort values of the last finding returned. It is handed to the client as an opaque token, bound to the detector it
+ * was created for.
+ */
+public class FindingsCursor {
+
+    private final String detectorId;
+
+    private final String pitId;
+
+    private final long timestamp;
+
+    private final String findingId;
+
+    public FindingsCursor(String detectorId, String pitId, long timestamp, String findingId) {
+        this.detectorId = detectorId;
+        this.pitId = pitId;
+        this.timestamp = timestamp;
+        this.findingId = findingId;
+    }
+
+    public String encode() {
+        try (BytesStreamOutput out = new BytesStreamOutput()) {
+            out.writeString(detectorId);
+            out.writeString(pitId);
+            out.writeLong(timestamp);
+            out.writeString(findingId);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(BytesReference.toBytes(out.bytes()));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @throws OpenSearchStatusException if the token is malformed or was created for another detector
+     */
+    public static FindingsCursor decode(String token, String detectorId) {
+        FindingsCursor cursor;
+        try (StreamInput sin = StreamInput.wrap(Base64.getUrlDecoder().decode(token))) {
+            cursor = new FindingsCursor(sin.readString(), sin.readString(), sin.readLong(), sin.readString());
+        } catch (IOException | IllegalArgumentException e) {
+            throw new OpenSearchStatusException("Invalid findings continuation token", RestStatus.BAD_REQUEST);
+        }
+        if (!cursor.getDetectorId().equals(detectorId)) {
+            throw new OpenSearchStatusException("Findings continuation token belongs to another detector", RestStatus.BAD_REQUEST);
+        }
+        return cursor;
+    }
+
+    public String getDetectorId() {
+        return detectorId;
+    }
+
+    public String getPitId() {
+        return pitId;
+    }
+
+    /**
+     * @return sort values of the last finding returned, to search after
+     */
+    public Object[] getSearchAfter() {
+        return new Object[]{timestamp, findingId};
+    }
+}
@@ -4,30 +4,73 @@
  */
 package org.opensearch.securityanalytics.findings;
 
+import java.io.IOException;
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.opensearch.OpenSearchStatusException;
 import org.opensearch.action.ActionListener;
+import org.opensearch.action.get.MultiGetItemResponse;
+import org.opensearch.action.get.MultiGetRequest;
+import org.opensearch.action.search.CreatePitAction;
+import org.opensearch.action.search.CreatePitRequest;
+import org.opensearch.action.search.DeletePitAction;
+import org.opensearch.action.search.DeletePitRequest;
+import org.opensearch.action.search.SearchContextId;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
 import org.opensearch.client.Client;
 import org.opensearch.client.node.NodeClient;
+import org.opensearch.common.io.stream.NamedWriteableRegistry;
+import org.opensearch.common.regex.Regex;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.common.xcontent.LoggingDeprecationHandler;
+import org.opensearch.common.xcontent.XContentParserUtils;
+import org.opensearch.common.xcontent.XContentType;
 import org.opensearch.commons.alerting.AlertingPluginInterface;
 import org.opensearch.commons.alerting.model.DocLevelQuery;
+import org.opensearch.commons.alerting.model.Finding;
+import org.opensearch.commons.alerting.model.FindingDocument;
 import org.opensearch.commons.alerting.model.FindingWithDocs;
 import org.opensearch.commons.alerting.model.Table;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.index.query.RangeQueryBuilder;
 import org.opensearch.rest.RestStatus;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.aggregations.AggregationBuilders;
+import org.opensearch.search.aggregations.bucket.histogram.DateHistogramInterval;
+import org.opensearch.search.aggregations.bucket.histogram.Histogram;
+import org.opensearch.search.aggregations.bucket.nested.Nested;
+import org.opensearch.search.aggregations.bucket.nested.ReverseNested;
+import org.opensearch.search.aggregations.bucket.terms.IncludeExclude;
+import org.opensearch.search.aggregations.bucket.terms.Terms;
+import org.opensearch.search.builder.PointInTimeBuilder;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.search.sort.SortOrder;
 import org.opensearch.securityanalytics.action.FindingDto;
 import org.opensearch.securityanalytics.action.GetDetectorAction;
 import org.opensearch.securityanalytics.action.GetDetectorRequest;
 import org.opensearch.securityanalytics.action.GetDetectorResponse;
+import org.opensearch.securityanalytics.action.GetFindingsPageResponse;
 import org.opensearch.securityanalytics.action.GetFindingsResponse;
+import org.opensearch.securityanalytics.action.GetFindingsSummaryResponse;
 import org.opensearch.securityanalytics.config.monitors.DetectorMonitorConfig;
 import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.rules.objects.SigmaLevel;
 import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
 
 /**
@@ -35,8 +78,22 @@ import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
  */
 public class FindingsService {
 
+    private static final String FINDINGS_BY_MONITOR_AGG = "by_monitor";
+    private static final String FINDING_QUERIES_AGG = "queries";
+    private static final String FINDINGS_BY_RULE_AGG = "by_rule";
+    private static final String FINDINGS_BY_SEVERITY_AGG = "by_severity";
+    private static final String FINDINGS_OF_QUERY_AGG = "findings";
+    private static final String FINDINGS_OVER_TIME_AGG = "over_time";
+
+    /**
+     * upper bound of the rule buckets of a findings summary
+     */
+    static final int MAX_SUMMARY_RULES = 10000;
+
     private Client client;
 
+    private NamedWriteableRegistry namedWriteableRegistry;
+
     private static final Logger log = LogManager.getLogger(FindingsService.class);
 
 
@@ -46,6 +103,11 @@ public class FindingsService {
         this.client = client;
     }
 
+    public FindingsService(Client client, NamedWriteableRegistry namedWriteableRegistry) {
+        this.client = client;
+        this.namedWriteableRegistry = namedWriteableRegistry;
+    }
+
     /**
      * Searches findings generated by specific Detector
      * @param detectorId id of Detector
@@ -204,14 +266,357 @@ public class FindingsService {
         );
     }
 
+    /**
+     * Reads one page of the findings of all monitors of a Detector, newest first. The pages are read from a point in
+     * time over the findings indices of the detector type, so findings written while paging neither shift nor repeat
+     * pages. The point in time is closed after the last page, an abandoned one expires after the keep alive.
+     * <p>
+     * The findings indices are hidden system indices: once the caller is allowed to get the detector, they are read
+     * as the plugin, only the matched documents are read with the permissions of the caller. A continuation token is
+     * only accepted if its point in time reads nothing but findings indices of the detector type.
+     * @param detectorId id of Detector
+     * @param nextToken continuation token returned with the previous page, null for the first page
+     * @param size number of findings per page
+     * @param includeDocuments whether to fetch the matched documents of the findings
+     * @param keepAlive time the point in time is kept open between two pages
+     * @param listener ActionListener to get notified on response or error
+     */
+    public void getFindingsPage(
+            String detectorId,
+            String nextToken,
+            int size,
+            boolean includeDocuments,
+            TimeValue keepAlive,
+            ActionListener<GetFindingsPageResponse> listener
+    ) {
+        final FindingsCursor cursor;
+        try {
+            cursor = nextToken != null ? FindingsCursor.decode(nextToken, detectorId) : null;
+        } catch (Exception e) {
+            listener.onFailure(e);
+            return;
+        }
+
+        this.client.execute(GetDetectorAction.INSTANCE, new GetDetectorRequest(detectorId, -3L), new ActionListener<>() {
+            @Override
+            public void onResponse(GetDetectorResponse getDetectorResponse) {
+                Detector detector = getDetectorResponse.getDetector();
+                if (detector.getMonitorIds().isEmpty()) {
+                    listener.onResponse(new GetFindingsPageResponse(List.of(), null));
+                    return;
+                }
+
+                String findingsIndicesPattern = DetectorMonitorConfig.getAllFindingsIndicesPattern(detector.getDetectorType());
+                if (cursor != null && !isPitOverIndices(cursor.getPitId(), findingsIndicesPattern)) {
+                    listener.onFailure(new OpenSearchStatusException("Findings continuation token does not read the findings of the detector",
+                            RestStatus.BAD_REQUEST));
+                    return;
+                }
+
+                ThreadContext threadContext = client.threadPool().getThreadContext();
+                Supplier<ThreadContext.StoredContext> userContext = threadContext.newRestorableContext(false);
+                try (ThreadContext.StoredContext ignored = threadContext.stashContext()) {
+                    if (cursor != null) {
+                        searchFindingsPage(detector, cursor.getPitId(), cursor.getSearchAfter(), size, includeDocuments, keepAlive, userContext, listener);
+                        return;
+                    }
+                    CreatePitRequest createPitRequest = new CreatePitRequest(keepAlive, false, findingsIndicesPattern);
+                    client.execute(CreatePitAction.INSTANCE, createPitRequest, ActionListener.wrap(
+                            createPitResponse -> searchFindingsPage(detector, createPitResponse.getId(), null, size, includeDocuments, keepAlive,
+                                    userContext, listener),
+                            e -> onPageFailure(detectorId, e, listener)
+                    ));
+                }
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                listener.onFailure(e);
+            }
+        });
+    }
+
+    private void searchFindingsPage(
+            Detector detector,
+            String pitId,
+            Object[] searchAfter,
+            int size,
+            boolean includeDocuments,
+            TimeValue keepAlive,
+            Supplier<ThreadContext.StoredContext> userContext,
+            ActionListener<GetFindingsPageResponse> listener
+    ) {
+        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder()
+                .pointInTimeBuilder(new PointInTimeBuilder(pitId).setKeepAlive(keepAlive))
+                .query(QueryBuilders.boolQuery().filter(QueryBuilders.termsQuery("monitor_id", detector.getMonitorIds())))
+                .sort("timestamp", SortOrder.DESC)
+                .sort("id", SortOrder.ASC)
+                .trackTotalHits(false)
+                .size(size);
+        if (searchAfter != null) {
+            searchSourceBuilder.searchAfter(searchAfter);
+        }
+
+        client.search(new SearchRequest().source(searchSourceBuilder), new ActionListener<>() {
+            @Override
+            public void onResponse(SearchResponse searchResponse) {
+                List<Finding> findings = new ArrayList<>();
+                SearchHit[] hits = searchResponse.getHits().getHits();
+                try {
+                    for (SearchHit hit: hits) {
+                        XContentParser xcp = XContentType.JSON.xContent().createParser(
+                                NamedXContentRegistry.EMPTY,
+                                LoggingDeprecationHandler.INSTANCE, hit.getSourceAsString()
+                        );
+                        XContentParserUtils.ensureExpectedToken(XContentParser.Token.START_OBJECT, xcp.nextToken(), xcp);
+                        findings.add(Finding.parse(xcp));
+                    }
+                } catch (IOException e) {
+                    onPageFailure(detector.getId(), e, listener);
+                    return;
+                }
+
+                // the id of the point in time may change between searches, the next page has to use the latest one
+                String latestPitId = searchResponse.pitId() != null ? searchResponse.pitId() : pitId;
+                String nextToken = null;
+                if (hits.length == size) {
+                    Object[] sortValues = hits[hits.length - 1].getSortValues();
+                    nextToken = new FindingsCursor(detector.getId(), latestPitId, ((Number) sortValues[0]).longValue(),
+                            sortValues[1].toString()).encode();
+                } else {
+                    deletePit(latestPitId);
+                }
+
+                String token = nextToken;
+                ActionListener<Map<String, FindingDocument>> documentsListener = ActionListener.wrap(
+                        documents -> listener.onResponse(new GetFindingsPageResponse(
+                                findings.stream().map(finding -> mapFindingWithDocsToFindingDto(
+                                        new FindingWithDocs(finding, finding.getRelatedDocIds().stream()
+                                                .map(docId -> documents.get(finding.getIndex() + "|" + docId))
+                                                .filter(Objects::nonNull)
+                                                .collect(Collectors.toList())),
+                                        detector
+                                )).collect(Collectors.toList()),
+                                token
+                        )),
+                        e -> onPageFailure(detector.getId(), e, listener)
+                );
+                if (includeDocuments) {
+                    // the documents are in the indices of the detector input, which the caller has to be allowed to read
+                    try (ThreadContext.StoredContext ignored = userContext.get()) {
+                        getFindingDocuments(findings, documentsListener);
+                    }
+                } else {
+                    documentsListener.onResponse(Map.of());
+                }
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                onPageFailure(detector.getId(), e, listener);
+            }
+        });
+    }
+
+    /**
+     * Fetches the matched documents of all findings of a page with a single multi get.
+     * @param listener notified with the documents found, keyed by index and id
+     */
+    private void getFindingDocuments(List<Finding> findings, ActionListener<Map<String, FindingDocument>> listener) {
+        MultiGetRequest multiGetRequest = new MultiGetRequest();
+        for (Finding finding: findings) {
+            for (String docId: finding.getRelatedDocIds()) {
+                multiGetRequest.add(new MultiGetRequest.Item(finding.getIndex(), docId));
+            }
+        }
+        if (multiGetRequest.getItems().isEmpty()) {
+            listener.onResponse(Map.of());
+            return;
+        }
+
+        client.multiGet(multiGetRequest, ActionListener.wrap(multiGetResponse -> {
+            Map<String, FindingDocument> documents = new HashMap<>();
+            for (MultiGetItemResponse item: multiGetResponse.getResponses()) {
+                if (item.isFailed()) {
+                    continue;
+                }
+                String source = item.getResponse().isExists() ? item.getResponse().getSourceAsString() : null;
+                documents.put(item.getIndex() + "|" + item.getId(),
+                        new FindingDocument(item.getIndex(), item.getId(), item.getResponse().isExists(), source != null ? source : ""));
+            }
+            listener.onResponse(documents);
+        }, listener::onFailure));
+    }
+
+    /**
+     * @return whether the point in time only reads indices matching the pattern, false if its id cannot be decoded
+     */
+    boolean isPitOverIndices(String pitId, String indicesPattern) {
+        try {
+            SearchContextId searchContextId = SearchContextId.decode(namedWriteableRegistry, pitId);
+            return searchContextId.shards().keySet().stream().allMatch(shardId -> Regex.simpleMatch(indicesPattern, shardId.getIndexName()));
+        } catch (Exception e) {
+            log.debug("Failed to decode point in time of findings continuation token", e);
+            return false;
+        }
+    }
+
+    private void deletePit(String pitId) {
+        client.execute(DeletePitAction.INSTANCE, new DeletePitRequest(pitId), ActionListener.wrap(
+                response -> {},
+                e -> log.debug("Failed to delete point in time of findings, it expires after its keep alive", e)
+        ));
+    }
+
+    private void onPageFailure(String detectorId, Exception e, ActionListener<GetFindingsPageResponse> listener) {
+        log.error("Failed to fetch findings page for detector " + detectorId, e);
+        listener.onFailure(SecurityAnalyticsException.wrap(e));
+    }
+
+    /**
+     * Counts the findings of Detectors of one type with a single aggregation query over the findings indices: by
+     * detector, by rule, by severity and over time. Findings of doc level monitors carry their rules as queries, which
+     * are aggregated as nested documents counting each finding once per rule. Findings of bucket level monitors carry
+     * no queries, they are counted for the rules of their monitor and have no severity.
+     * @param detectors Detectors to summarize the findings of
+     * @param detectorType type of the Detectors
+     * @param startTime lower bound of the finding timestamps in epoch millis, inclusive, null for no bound
+     * @param endTime upper bound of the finding timestamps in epoch millis, exclusive, null for no bound
+     * @param interval width of the buckets of the findings over time
+     * @param listener ActionListener to get notified on response or error
+     */
+    public void getFindingsSummary(
+            List<Detector> detectors,
+            String detectorType,
+            Long startTime,
+            Long endTime,
+            TimeValue interval,
+            ActionListener<GetFindingsSummaryResponse> listener
+    ) {
+        Map<String, Detector> monitorToDetectorMapping = new HashMap<>();
+        detectors.forEach(detector -> detector.getMonitorIds().forEach(
+                monitorId -> monitorToDetectorMapping.put(monitorId, detector)
+        ));
+        if (monitorToDetectorMapping.isEmpty()) {
+            listener.onResponse(new GetFindingsSummaryResponse(0L, Map.of(), Map.of(), Map.of(), Map.of()));
+            return;
+        }
+
+        BoolQueryBuilder queryBuilder = QueryBuilders.boolQuery()
+                .filter(QueryBuilders.termsQuery("monitor_id", monitorToDetectorMapping.keySet()));
+        if (startTime != null || endTime != null) {
+            RangeQueryBuilder rangeQueryBuilder = QueryBuilders.rangeQuery("timestamp");
+            if (startTime != null) {
+                rangeQueryBuilder.gte(startTime);
+            }
+            if (endTime != null) {
+                rangeQueryBuilder.lt(endTime);
+            }
+            queryBuilder.filter(rangeQueryBuilder);
+        }
+
+        int ruleBuckets = (int) Math.min(MAX_SUMMARY_RULES, Math.max(10L, detectors.stream()
+                .mapToLong(detector -> detector.getInputs().stream()
+                        .mapToLong(input -> input.getPrePackagedRules().size() + input.getCustomRules().size()).sum())
+                .sum()));
+        String[] severities = Arrays.stream(SigmaLevel.values()).map(SigmaLevel::toString).toArray(String[]::new);
+
+        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder()
+                .query(queryBuilder)
+                .size(0)
+                .trackTotalHits(true)
+                .aggregation(AggregationBuilders.terms(FINDINGS_BY_MONITOR_AGG)
+                        .field("monitor_id")
+                        .size(monitorToDetectorMapping.size()))
+                .aggregation(AggregationBuilders.nested(FINDING_QUERIES_AGG, "queries")
+                        .subAggregation(AggregationBuilders.terms(FINDINGS_BY_RULE_AGG)
+                                .field("queries.id")
+                                .size(ruleBuckets)
+                                .subAggregation(AggregationBuilders.reverseNested(FINDINGS_OF_QUERY_AGG)))
+                        .subAggregation(AggregationBuilders.terms(FINDINGS_BY_SEVERITY_AGG)
+                                .field("queries.tags.keyword")
+                                .includeExclude(new IncludeExclude(severities, null))
+                                .size(severities.length)
+                                .subAggregation(AggregationBuilders.reverseNested(FINDINGS_OF_QUERY_AGG))))
+                .aggregation(AggregationBuilders.dateHistogram(FINDINGS_OVER_TIME_AGG)
+                        .field("timestamp")
+                        .fixedInterval(new DateHistogramInterval(interval.getStringRep())));
+
+        SearchRequest searchRequest = new SearchRequest(DetectorMonitorConfig.getAllFindingsIndicesPattern(detectorType))
+                .source(searchSourceBuilder);
+        client.search(searchRequest, new ActionListener<>() {
+            @Override
+            public void onResponse(SearchResponse searchResponse) {
+                Map<String, Long> byDetector = new HashMap<>();
+                Map<String, Long> byRule = new HashMap<>();
+                Map<String, Long> bySeverity = new HashMap<>();
+                Map<Long, Long> overTime = new TreeMap<>();
+
+                // no aggregations are returned while no findings index exists yet
+                if (searchResponse.getAggregations() != null && searchResponse.getAggregations().get(FINDINGS_BY_MONITOR_AGG) != null) {
+                    Terms byMonitor = searchResponse.getAggregations().get(FINDINGS_BY_MONITOR_AGG);
+                    for (Terms.Bucket bucket: byMonitor.getBuckets()) {
+                        Detector detector = monitorToDetectorMapping.get(bucket.getKeyAsString());
+                        if (detector == null) {
+                            continue;
+                        }
+                        byDetector.merge(detector.getId(), bucket.getDocCount(), Long::sum);
+                        // findings of bucket level monitors do not name their rules
+                        String ruleId = bucketLevelMonitorRule(detector, bucket.getKeyAsString());
+                        if (ruleId != null) {
+                            byRule.merge(ruleId, bucket.getDocCount(), Long::sum);
+                        }
+                    }
+
+                    Nested queries = searchResponse.getAggregations().get(FINDING_QUERIES_AGG);
+                    Terms rules = queries.getAggregations().get(FINDINGS_BY_RULE_AGG);
+                    for (Terms.Bucket bucket: rules.getBuckets()) {
+                        ReverseNested findings = bucket.getAggregations().get(FINDINGS_OF_QUERY_AGG);
+                        byRule.merge(bucket.getKeyAsString(), findings.getDocCount(), Long::sum);
+                    }
+                    Terms severity = queries.getAggregations().get(FINDINGS_BY_SEVERITY_AGG);
+                    for (Terms.Bucket bucket: severity.getBuckets()) {
+                        ReverseNested findings = bucket.getAggregations().get(FINDINGS_OF_QUERY_AGG);
+                        bySeverity.put(bucket.getKeyAsString(), findings.getDocCount());
+                    }
+
+                    Histogram histogram = searchResponse.getAggregations().get(FINDINGS_OVER_TIME_AGG);
+                    for (Histogram.Bucket bucket: histogram.getBuckets()) {
+                        overTime.put(((ZonedDateTime) bucket.getKey()).toInstant().toEpochMilli(), bucket.getDocCount());
+                    }
+                }
+
+                long totalFindings = searchResponse.getHits().getTotalHits() != null ? searchResponse.getHits().getTotalHits().value : 0L;
+                listener.onResponse(new GetFindingsSummaryResponse(totalFindings, byDetector, byRule, bySeverity, overTime));
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                log.error("Failed to summarize findings for detectors: [" +
+                        detectors.stream().map(Detector::getId).collect(Collectors.joining(",")) + "]", e);
+                listener.onFailure(SecurityAnalyticsException.wrap(e));
+            }
+        });
+    }
+
+    /**
+     * @return the rule evaluated by the bucket level monitor, null if the monitor is not one or evaluates several rules.
+     * The findings of a merged bucket level monitor do not tell which of its triggers fired, so they are attributed to
+     * the detector but to none of its rules.
+     */
+    private static String bucketLevelMonitorRule(Detector detector, String monitorId) {
+        List<String> ruleIds = detector.getRuleIdMonitorIdMap().entrySet().stream()
+                .filter(it -> !Detector.isDocLevelMonitorKey(it.getKey()) && it.getValue().equals(monitorId))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        return ruleIds.size() == 1? ruleIds.get(0): null;
+    }
+
     public FindingDto mapFindingWithDocsToFindingDto(FindingWithDocs findingWithDocs, Detector detector) {
         List<DocLevelQuery> docLevelQueries = findingWithDocs.getFinding().getDocLevelQueries();
         if (docLevelQueries.isEmpty()) { // this is finding generated by a bucket level monitor
-            for (Map.Entry<String, String> entry : detector.getRuleIdMonitorIdMap().entrySet()) {
-                if(entry.getValue().equals(findingWithDocs.getFinding().getMonitorId())) {
-                    docLevelQueries = Collections.singletonList(new DocLevelQuery(entry.getKey(),"","",Collections.emptyList()));
-                }
-            }
+            String ruleId = bucketLevelMonitorRule(detector, findingWithDocs.getFinding().getMonitorId());
+            docLevelQueries = ruleId != null? List.of(new DocLevelQuery(ruleId, "", "", Collections.emptyList())): List.of();
         }
         return new FindingDto(
                 detector.getId(),
@@ -0,0 +1,70 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.findings;
+
+import org.opensearch.common.cache.Cache;
+import org.opensearch.common.cache.CacheBuilder;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.securityanalytics.action.GetFindingsSummaryResponse;
+import org.opensearch.securityanalytics.model.Detector;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps findings summaries for a short time, so that dashboards reloading the same overview run the aggregations once
+ * per time to live instead of once per request. Entries are keyed by the monitors summarized, which are resolved with
+ * the permissions of the caller on every request, so a cached summary is only served to callers allowed to see the
+ * same detectors.
+ */
+public class FindingsSummaryCache {
+
+    static final int MAX_ENTRIES = 1000;
+
+    private volatile Cache<String, GetFindingsSummaryResponse> cache;
+
+    public FindingsSummaryCache(TimeValue ttl) {
+        setTtl(ttl);
+    }
+
+    /**
+     * Replaces the cache by one with the given time to live, 0 disables caching.
+     */
+    public void setTtl(TimeValue ttl) {
+        this.cache = ttl.millis() > 0 ?
+                CacheBuilder.<String, GetFindingsSummaryResponse>builder()
+                        .setExpireAfterWrite(ttl)
+                        .setMaximumWeight(MAX_ENTRIES)
+                        .build() :
+                null;
+    }
+
+    /**
+     * @return cached summary, or null if there is none or it expired
+     */
+    public GetFindingsSummaryResponse get(String key) {
+        Cache<String, GetFindingsSummaryResponse> cache = this.cache;
+        return cache != null ? cache.get(key) : null;
+    }
+
+    public void put(String key, GetFindingsSummaryResponse summary) {
+        Cache<String, GetFindingsSummaryResponse> cache = this.cache;
+        if (cache != null) {
+            cache.put(key, summary);
+        }
+    }
+
+    /**
+     * @return key of the summary of the findings of the given detectors within the time range
+     */
+    public static String key(List<Detector> detectors, Long startTime, Long endTime, TimeValue interval) {
+        String monitorIds = detectors.stream()
+                .flatMap(detector -> detector.getMonitorIds().stream())
+                .sorted()
+                .collect(Collectors.joining(","));
+        return String.join("|", monitorIds, Objects.toString(startTime), Objects.toString(endTime), interval.getStringRep());
+    }
+}
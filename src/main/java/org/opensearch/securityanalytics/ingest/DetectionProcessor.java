@@ -0,0 +1,212 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.ingest;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.ingest.AbstractProcessor;
+import org.opensearch.ingest.ConfigurationUtils;
+import org.opensearch.ingest.IngestDocument;
+import org.opensearch.ingest.Processor;
+import org.opensearch.securityanalytics.rules.evaluator.CompiledSigmaRule;
+import org.opensearch.securityanalytics.rules.evaluator.RuleLiteralIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Ingest processor evaluating the rules of a detector against each document while it is indexed.
+ * Matching rule ids are written to {@code tag_field} and, when {@code write_findings} is set, findings are
+ * written asynchronously to the detector's findings index. Findings are only written for documents indexed with an
+ * id, the monitors replace them with their own findings of the documents and find those indexed with generated ids.
+ *
+ * The processor never waits: until the detector's rules are loaded documents pass unchanged, and documents above
+ * {@code max_docs_per_second} skip evaluation so detection cannot stall the pipeline. Skipped documents are indexed
+ * without tags and are not queued for a later evaluation here, they are only detected when the scheduled monitors of
+ * the detector search the index. The processor counts them and logs a warning at most once per minute.
+ */
+public class DetectionProcessor extends AbstractProcessor {
+
+    private static final Logger log = LogManager.getLogger(DetectionProcessor.class);
+
+    public static final String TYPE = "sap_detection";
+
+    public static final String DETECTOR_ID = "detector_id";
+    public static final String TAG_FIELD = "tag_field";
+    public static final String WRITE_FINDINGS = "write_findings";
+    public static final String MAX_DOCS_PER_SECOND = "max_docs_per_second";
+    public static final String REFRESH_INTERVAL = "refresh_interval";
+
+    public static final String DEFAULT_TAG_FIELD = "sap_matched_rules";
+    public static final int DEFAULT_MAX_DOCS_PER_SECOND = 10000;
+    public static final String DEFAULT_REFRESH_INTERVAL = "1m";
+
+    static final long SKIPPED_WARNING_INTERVAL_IN_MILLIS = 60000L;
+
+    private final String detectorId;
+
+    private final String tagField;
+
+    private final IngestFindingsWriter findingsWriter;
+
+    private final DetectorRulesCache detectorRulesCache;
+
+    private final int maxDocsPerSecond;
+
+    private final long refreshIntervalInMillis;
+
+    private final LongSupplier relativeTimeInMillisSupplier;
+
+    private final AtomicLong windowStartInMillis = new AtomicLong();
+
+    private final AtomicInteger windowCount = new AtomicInteger();
+
+    private final AtomicLong skippedCount = new AtomicLong();
+
+    private final AtomicLong lastSkippedWarningInMillis = new AtomicLong(Long.MIN_VALUE);
+
+    DetectionProcessor(String tag, String description, String detectorId, String tagField, IngestFindingsWriter findingsWriter,
+                       DetectorRulesCache detectorRulesCache, int maxDocsPerSecond, long refreshIntervalInMillis,
+                       LongSupplier relativeTimeInMillisSupplier) {
+        super(tag, description);
+        this.detectorId = detectorId;
+        this.tagField = tagField;
+        this.findingsWriter = findingsWriter;
+        this.detectorRulesCache = detectorRulesCache;
+        this.maxDocsPerSecond = maxDocsPerSecond;
+        this.refreshIntervalInMillis = refreshIntervalInMillis;
+        this.relativeTimeInMillisSupplier = relativeTimeInMillisSupplier;
+    }
+
+    @Override
+    public IngestDocument execute(IngestDocument ingestDocument) throws Exception {
+        DetectorRulesCache.CompiledDetector compiledDetector = this.detectorRulesCache.get(this.detectorId, this.refreshIntervalInMillis);
+        if (compiledDetector == null) {
+            return ingestDocument;
+        }
+        if (!this.tryAcquire()) {
+            this.onSkipped();
+            return ingestDocument;
+        }
+
+        Map<String, Object> source = ingestDocument.getSourceAndMetadata();
+        RuleLiteralIndex literalIndex = compiledDetector.getLiteralIndex();
+        Set<String> candidates = literalIndex.matchingRules(source);
+
+        List<String> matchedRuleIds = new ArrayList<>();
+        for (Map.Entry<String, CompiledSigmaRule> rule: compiledDetector.getCompiledRules().entrySet()) {
+            if (literalIndex.requiresLiteralMatch(rule.getKey()) && !candidates.contains(rule.getKey())) {
+                continue;
+            }
+            if (rule.getValue().matches(source)) {
+                matchedRuleIds.add(rule.getKey());
+            }
+        }
+        if (matchedRuleIds.isEmpty()) {
+            return ingestDocument;
+        }
+
+        if (this.tagField != null) {
+            ingestDocument.setFieldValue(this.tagField, matchedRuleIds);
+        }
+        String docId = ingestDocument.getFieldValue(IngestDocument.Metadata.ID.getFieldName(), String.class, true);
+        if (this.findingsWriter != null && docId != null) {
+            String index = ingestDocument.getFieldValue(IngestDocument.Metadata.INDEX.getFieldName(), String.class);
+            for (String ruleId: matchedRuleIds) {
+                this.findingsWriter.addFinding(compiledDetector.getDetector(), compiledDetector.getDocLevelMonitorId(ruleId, index), index, docId,
+                        compiledDetector.getRules().get(ruleId));
+            }
+        }
+        return ingestDocument;
+    }
+
+    /**
+     * Fixed one second window limiter, cheap enough to be called for every document.
+     */
+    private boolean tryAcquire() {
+        long now = this.relativeTimeInMillisSupplier.getAsLong();
+        long windowStart = this.windowStartInMillis.get();
+        if (now - windowStart >= 1000L && this.windowStartInMillis.compareAndSet(windowStart, now)) {
+            this.windowCount.set(0);
+        }
+        return this.windowCount.incrementAndGet() <= this.maxDocsPerSecond;
+    }
+
+    private void onSkipped() {
+        long skipped = this.skippedCount.incrementAndGet();
+        long now = this.relativeTimeInMillisSupplier.getAsLong();
+        long lastWarning = this.lastSkippedWarningInMillis.get();
+        if ((lastWarning == Long.MIN_VALUE || now - lastWarning >= SKIPPED_WARNING_INTERVAL_IN_MILLIS)
+                && this.lastSkippedWarningInMillis.compareAndSet(lastWarning, now)) {
+            log.warn("Ingest detection of detector [{}] skipped {} documents above {} [{}], they are only evaluated by the monitors of the detector",
+                    this.detectorId, skipped, MAX_DOCS_PER_SECOND, this.maxDocsPerSecond);
+        }
+    }
+
+    @Override
+    public String getType() {
+        return TYPE;
+    }
+
+    public String getDetectorId() {
+        return detectorId;
+    }
+
+    /**
+     * @return number of documents which skipped evaluation since the processor was created
+     */
+    public long getSkippedCount() {
+        return skippedCount.get();
+    }
+
+    public static final class Factory implements Processor.Factory {
+
+        private final DetectorRulesCache detectorRulesCache;
+
+        private final IngestFindingsWriter findingsWriter;
+
+        private final LongSupplier relativeTimeInMillisSupplier;
+
+        public Factory(DetectorRulesCache detectorRulesCache, IngestFindingsWriter findingsWriter, LongSupplier relativeTimeInMillisSupplier) {
+            this.detectorRulesCache = detectorRulesCache;
+            this.findingsWriter = findingsWriter;
+            this.relativeTimeInMillisSupplier = relativeTimeInMillisSupplier;
+        }
+
+        @Override
+        public DetectionProcessor create(Map<String, Processor.Factory> processorFactories, String tag, String description, Map<String, Object> config) throws Exception {
+            String detectorId = ConfigurationUtils.readStringProperty(TYPE, tag, config, DETECTOR_ID);
+            String tagField = ConfigurationUtils.readStringProperty(TYPE, tag, config, TAG_FIELD, DEFAULT_TAG_FIELD);
+            boolean writeFindings = ConfigurationUtils.readBooleanProperty(TYPE, tag, config, WRITE_FINDINGS, false);
+            int maxDocsPerSecond = ConfigurationUtils.readIntProperty(TYPE, tag, config, MAX_DOCS_PER_SECOND, DEFAULT_MAX_DOCS_PER_SECOND);
+            String refreshInterval = ConfigurationUtils.readStringProperty(TYPE, tag, config, REFRESH_INTERVAL, DEFAULT_REFRESH_INTERVAL);
+
+            if (maxDocsPerSecond <= 0) {
+                throw ConfigurationUtils.newConfigurationException(TYPE, tag, MAX_DOCS_PER_SECOND, "must be greater than 0");
+            }
+            if (tagField.isEmpty() && !writeFindings) {
+                throw ConfigurationUtils.newConfigurationException(TYPE, tag, TAG_FIELD, "must be set unless write_findings is enabled");
+            }
+
+            return new DetectionProcessor(
+                    tag,
+                    description,
+                    detectorId,
+                    tagField.isEmpty()? null: tagField,
+                    writeFindings? this.findingsWriter: null,
+                    this.detectorRulesCache,
+                    maxDocsPerSecond,
+                    TimeValue.parseTimeValue(refreshInterval, REFRESH_INTERVAL).millis(),
+                    this.relativeTimeInMillisSupplier
+            );
+        }
+    }
+}
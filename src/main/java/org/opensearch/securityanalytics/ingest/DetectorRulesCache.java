@@ -0,0 +1,321 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.ingest;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.get.GetRequest;
+import org.opensearch.action.get.GetResponse;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.support.IndicesOptions;
+import org.opensearch.client.Client;
+import org.opensearch.common.regex.Regex;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.common.xcontent.LoggingDeprecationHandler;
+import org.opensearch.common.xcontent.XContentHelper;
+import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.commons.alerting.model.ScheduledJob;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.model.DetectorInput;
+import org.opensearch.securityanalytics.model.DetectorRule;
+import org.opensearch.securityanalytics.model.Rule;
+import org.opensearch.securityanalytics.rules.evaluator.CompiledSigmaRule;
+import org.opensearch.securityanalytics.rules.evaluator.RuleLiteralIndex;
+import org.opensearch.securityanalytics.rules.evaluator.SigmaRuleEvaluator;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
+import org.opensearch.securityanalytics.rules.objects.SigmaRule;
+import org.opensearch.securityanalytics.sequence.SequenceRule;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Node-level cache of detectors with their rules compiled for in-process evaluation. Lookups never block: a detector
+ * which is missing or older than the requested refresh interval is (re)loaded in the background and the previous
+ * snapshot, if any, is served meanwhile.
+ */
+public class DetectorRulesCache {
+
+    private static final Logger log = LogManager.getLogger(DetectorRulesCache.class);
+
+    public static class CompiledDetector {
+
+        private final Detector detector;
+
+        private final Map<String, Rule> rules;
+
+        private final Map<String, CompiledSigmaRule> compiledRules;
+
+        private final RuleLiteralIndex literalIndex;
+
+        private final Map<String, List<Pair<List<String>, String>>> ruleMonitors;
+
+        private final long loadTimeInMillis;
+
+        CompiledDetector(Detector detector, Map<String, Rule> rules, Map<String, CompiledSigmaRule> compiledRules, RuleLiteralIndex literalIndex, long loadTimeInMillis) {
+            this(detector, rules, compiledRules, literalIndex, Map.of(), loadTimeInMillis);
+        }
+
+        /**
+         * @param ruleMonitors input indices and ids of the doc level monitors evaluating each rule
+         */
+        CompiledDetector(Detector detector, Map<String, Rule> rules, Map<String, CompiledSigmaRule> compiledRules, RuleLiteralIndex literalIndex,
+                         Map<String, List<Pair<List<String>, String>>> ruleMonitors, long loadTimeInMillis) {
+            this.detector = detector;
+            this.rules = rules;
+            this.compiledRules = compiledRules;
+            this.literalIndex = literalIndex;
+            this.ruleMonitors = ruleMonitors;
+            this.loadTimeInMillis = loadTimeInMillis;
+        }
+
+        public Detector getDetector() {
+            return detector;
+        }
+
+        public Map<String, Rule> getRules() {
+            return rules;
+        }
+
+        public Map<String, CompiledSigmaRule> getCompiledRules() {
+            return compiledRules;
+        }
+
+        public RuleLiteralIndex getLiteralIndex() {
+            return literalIndex;
+        }
+
+        /**
+         * @return id of the doc level monitor evaluating the rule on the index, which the findings of the rule are
+         * attributed to. Falls back to the first doc level monitor of the detector if the monitors could not be read.
+         */
+        public String getDocLevelMonitorId(String ruleId, String index) {
+            List<Pair<List<String>, String>> monitors = ruleMonitors.getOrDefault(ruleId, List.of());
+            for (Pair<List<String>, String> monitor: monitors) {
+                if (index != null && Regex.simpleMatch(monitor.getLeft(), index)) {
+                    return monitor.getRight();
+                }
+            }
+            if (!monitors.isEmpty()) {
+                return monitors.get(0).getRight();
+            }
+            return detector.getDocLevelMonitorId() != null? detector.getDocLevelMonitorId(): "";
+        }
+    }
+
+    private final Client client;
+
+    private final NamedXContentRegistry xContentRegistry;
+
+    private final ThreadContext threadContext;
+
+    private final LongSupplier relativeTimeInMillisSupplier;
+
+    private final int regexDeterminizeWorkLimit;
+
+    private final Map<String, CompiledDetector> detectors = new ConcurrentHashMap<>();
+
+    private final Set<String> loading = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param regexDeterminizeWorkLimit effort allowed to compile each regular expression, rules exceeding it are left to
+     *                                  the monitors of the detector
+     */
+    public DetectorRulesCache(Client client, NamedXContentRegistry xContentRegistry, ThreadContext threadContext, LongSupplier relativeTimeInMillisSupplier,
+                              int regexDeterminizeWorkLimit) {
+        this.client = client;
+        this.xContentRegistry = xContentRegistry;
+        this.threadContext = threadContext;
+        this.relativeTimeInMillisSupplier = relativeTimeInMillisSupplier;
+        this.regexDeterminizeWorkLimit = regexDeterminizeWorkLimit;
+    }
+
+    /**
+     * @return the last loaded snapshot of the detector, or null if it has not been loaded yet
+     */
+    public CompiledDetector get(String detectorId, long refreshIntervalInMillis) {
+        CompiledDetector compiledDetector = this.detectors.get(detectorId);
+        if (compiledDetector == null || this.relativeTimeInMillisSupplier.getAsLong() - compiledDetector.loadTimeInMillis >= refreshIntervalInMillis) {
+            this.load(detectorId);
+        }
+        return compiledDetector;
+    }
+
+    /**
+     * Drops the snapshot of the detector on this node, which is reloaded by the next lookup. Other nodes reload it once
+     * their refresh interval passes.
+     */
+    public void invalidate(String detectorId) {
+        this.detectors.remove(detectorId);
+    }
+
+    private void load(String detectorId) {
+        if (!this.loading.add(detectorId)) {
+            return;
+        }
+        try (ThreadContext.StoredContext ignored = this.threadContext.stashContext()) {
+            this.client.get(new GetRequest(Detector.DETECTORS_INDEX, detectorId), new ActionListener<>() {
+                @Override
+                public void onResponse(GetResponse response) {
+                    try {
+                        if (!response.isExists() || response.isSourceEmpty()) {
+                            detectors.remove(detectorId);
+                            loading.remove(detectorId);
+                            return;
+                        }
+                        XContentParser xcp = XContentHelper.createParser(
+                                xContentRegistry, LoggingDeprecationHandler.INSTANCE,
+                                response.getSourceAsBytesRef(), XContentType.JSON
+                        );
+                        loadDocLevelMonitors(Detector.docParse(xcp, response.getId(), response.getVersion()));
+                    } catch (Exception e) {
+                        onFailure(e);
+                    }
+                }
+
+                @Override
+                public void onFailure(Exception e) {
+                    log.warn("Failed to load detector {} for ingest detection", detectorId, e);
+                    loading.remove(detectorId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Reads the rules of each doc level monitor of the detector, which split the doc level rules among them by index
+     * group and cost.
+     */
+    private void loadDocLevelMonitors(Detector detector) {
+        List<String> monitorIds = detector.getDocLevelMonitorIds();
+        if (monitorIds.isEmpty()) {
+            loadRules(detector, Map.of());
+            return;
+        }
+
+        SearchRequest searchRequest = new SearchRequest(ScheduledJob.SCHEDULED_JOBS_INDEX)
+                .source(new SearchSourceBuilder()
+                        .query(QueryBuilders.idsQuery().addIds(monitorIds.toArray(new String[]{})))
+                        .fetchSource(new String[]{ "monitor.inputs" }, null)
+                        .size(monitorIds.size()));
+
+        this.client.search(searchRequest, new ActionListener<>() {
+            @Override
+            public void onResponse(SearchResponse response) {
+                Map<String, List<Pair<List<String>, String>>> ruleMonitors = new HashMap<>();
+                for (SearchHit hit: response.getHits()) {
+                    addMonitorRules(ruleMonitors, hit.getId(), hit.getSourceAsMap());
+                }
+                loadRules(detector, ruleMonitors);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                log.warn("Failed to read the doc level monitors of detector {}, ingest findings are attributed to its first one", detector.getId(), e);
+                loadRules(detector, Map.of());
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    static void addMonitorRules(Map<String, List<Pair<List<String>, String>>> ruleMonitors, String monitorId, Map<String, Object> source) {
+        Map<String, Object> monitor = (Map<String, Object>) source.getOrDefault("monitor", Map.of());
+        for (Map<String, Object> input: (List<Map<String, Object>>) monitor.getOrDefault("inputs", List.of())) {
+            Map<String, Object> docLevelInput = (Map<String, Object>) input.get("doc_level_input");
+            if (docLevelInput == null) {
+                continue;
+            }
+            List<String> indices = (List<String>) docLevelInput.getOrDefault("indices", List.of());
+            for (Map<String, Object> query: (List<Map<String, Object>>) docLevelInput.getOrDefault("queries", List.of())) {
+                ruleMonitors.computeIfAbsent((String) query.get("id"), it -> new ArrayList<>()).add(Pair.of(indices, monitorId));
+            }
+        }
+    }
+
+    private void loadRules(Detector detector, Map<String, List<Pair<List<String>, String>>> ruleMonitors) {
+        Set<String> ruleIds = new HashSet<>();
+        for (DetectorInput input: detector.getInputs()) {
+            input.getPrePackagedRules().stream().map(DetectorRule::getId).forEach(ruleIds::add);
+            input.getCustomRules().stream().map(DetectorRule::getId).forEach(ruleIds::add);
+        }
+
+        SearchRequest searchRequest = new SearchRequest(Rule.PRE_PACKAGED_RULES_INDEX, Rule.CUSTOM_RULES_INDEX)
+                .indicesOptions(IndicesOptions.lenientExpandOpen())
+                .source(new SearchSourceBuilder()
+                        .version(true)
+                        .query(QueryBuilders.termsQuery("_id", ruleIds.toArray(new String[]{})))
+                        .size(10000));
+
+        this.client.search(searchRequest, new ActionListener<>() {
+            @Override
+            public void onResponse(SearchResponse response) {
+                try {
+                    Map<String, SigmaRuleEvaluator> evaluators = new HashMap<>();
+                    Map<String, Rule> rules = new HashMap<>();
+                    Map<String, CompiledSigmaRule> compiledRules = new HashMap<>();
+                    RuleLiteralIndex literalIndex = new RuleLiteralIndex();
+                    for (SearchHit hit: response.getHits()) {
+                        XContentParser xcp = XContentType.JSON.xContent().createParser(
+                                xContentRegistry,
+                                LoggingDeprecationHandler.INSTANCE, hit.getSourceAsString()
+                        );
+                        Rule rule = Rule.docParse(xcp, hit.getId(), hit.getVersion());
+                        if (rule.isAggregationRule()) {
+                            // aggregations span many documents and stay with the bucket level monitors
+                            continue;
+                        }
+                        if (SequenceRule.fromRule(rule) != null) {
+                            // sequences are evaluated over the findings of their steps
+                            continue;
+                        }
+                        SigmaRuleEvaluator evaluator = evaluators.get(rule.getCategory());
+                        if (evaluator == null) {
+                            evaluator = new SigmaRuleEvaluator(rule.getCategory(), true, regexDeterminizeWorkLimit);
+                            evaluators.put(rule.getCategory(), evaluator);
+                        }
+                        SigmaRule sigmaRule = SigmaRule.fromYaml(rule.getRule(), true);
+                        CompiledSigmaRule compiledRule;
+                        try {
+                            compiledRule = evaluator.compile(sigmaRule);
+                        } catch (SigmaError e) {
+                            // e.g. a regular expression too complex to compile, the monitors still evaluate the rule
+                            log.warn("Rule {} of detector {} is not evaluated at ingest: {}", rule.getId(), detector.getId(), e.getMessage());
+                            continue;
+                        }
+                        rules.put(rule.getId(), rule);
+                        compiledRules.put(rule.getId(), compiledRule);
+                        literalIndex.addRule(rule.getId(), rule.getCategory(), sigmaRule);
+                    }
+                    detectors.put(detector.getId(), new CompiledDetector(detector, Collections.unmodifiableMap(rules),
+                            Collections.unmodifiableMap(compiledRules), literalIndex, ruleMonitors, relativeTimeInMillisSupplier.getAsLong()));
+                    loading.remove(detector.getId());
+                } catch (Exception e) {
+                    onFailure(e);
+                }
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                log.warn("Failed to load rules of detector {} for ingest detection", detector.getId(), e);
+                loading.remove(detector.getId());
+            }
+        });
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.ingest;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.action.delete.DeleteRequest;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.client.Client;
+import org.opensearch.common.hash.MessageDigests;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.commons.alerting.model.DocLevelQuery;
+import org.opensearch.commons.alerting.model.Finding;
+import org.opensearch.core.xcontent.ToXContent;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.model.Rule;
+import org.opensearch.securityanalytics.model.Value;
+import org.opensearch.threadpool.Scheduler;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Buffers findings produced during ingest and writes them to the detectors' findings indices with bulk requests.
+ * A batch is sent once it is full or when the flush interval passes after its first finding. The buffer is bounded;
+ * findings arriving while it is full are dropped and counted rather than holding up the ingest thread.
+ *
+ * The doc level monitors of the detector later find the same documents. Each ingest finding therefore covers one rule
+ * matching one document and has an id derived from both, so that it is deleted once the monitor publishes its finding
+ * of the document, see {@link #supersededFindings}.
+ */
+public class IngestFindingsWriter {
+
+    private static final Logger log = LogManager.getLogger(IngestFindingsWriter.class);
+
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    public static final long DEFAULT_FLUSH_INTERVAL_IN_MILLIS = 1000L;
+
+    public static final int DEFAULT_MAX_PENDING = 10000;
+
+    private final Client client;
+
+    private final ThreadContext threadContext;
+
+    private final BiFunction<Long, Runnable, Scheduler.ScheduledCancellable> scheduler;
+
+    private final int batchSize;
+
+    private final long flushIntervalInMillis;
+
+    private final int maxPending;
+
+    private final Queue<IndexRequest> pending = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    public IngestFindingsWriter(Client client, ThreadContext threadContext, BiFunction<Long, Runnable, Scheduler.ScheduledCancellable> scheduler) {
+        this(client, threadContext, scheduler, DEFAULT_BATCH_SIZE, DEFAULT_FLUSH_INTERVAL_IN_MILLIS, DEFAULT_MAX_PENDING);
+    }
+
+    public IngestFindingsWriter(Client client, ThreadContext threadContext, BiFunction<Long, Runnable, Scheduler.ScheduledCancellable> scheduler,
+                                int batchSize, long flushIntervalInMillis, int maxPending) {
+        this.client = client;
+        this.threadContext = threadContext;
+        this.scheduler = scheduler;
+        this.batchSize = batchSize;
+        this.flushIntervalInMillis = flushIntervalInMillis;
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * @param monitorId id of the doc level monitor evaluating the rule on the index
+     */
+    public void addFinding(Detector detector, String monitorId, String index, String docId, Rule rule) throws IOException {
+        if (this.pendingCount.incrementAndGet() > this.maxPending) {
+            this.pendingCount.decrementAndGet();
+            this.droppedCount.incrementAndGet();
+            return;
+        }
+
+        List<String> tags = new ArrayList<>();
+        tags.add(rule.getLevel());
+        tags.add(rule.getCategory());
+        tags.addAll(rule.getTags().stream().map(Value::getValue).collect(Collectors.toList()));
+        DocLevelQuery docLevelQuery = new DocLevelQuery(rule.getId(), rule.getId(), rule.getQueries().isEmpty()? "": rule.getQueries().get(0).getValue(), tags);
+        Finding finding = new Finding(
+                findingId(detector.getId(), index, docId, rule.getId()),
+                List.of(docId),
+                List.of(docId),
+                monitorId,
+                detector.getName(),
+                index,
+                List.of(docLevelQuery),
+                Instant.now()
+        );
+        this.pending.add(new IndexRequest(detector.getFindingsIndex())
+                .id(finding.getId())
+                .source(finding.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS)));
+
+        if (this.pendingCount.get() >= this.batchSize) {
+            this.flush();
+        } else if (this.flushScheduled.compareAndSet(false, true)) {
+            this.scheduler.apply(this.flushIntervalInMillis, () -> {
+                this.flushScheduled.set(false);
+                this.flush();
+            });
+        }
+    }
+
+    public void flush() {
+        BulkRequest bulkRequest = new BulkRequest();
+        IndexRequest indexRequest;
+        int count = 0;
+        while (count < this.batchSize && (indexRequest = this.pending.poll()) != null) {
+            bulkRequest.add(indexRequest);
+            ++count;
+        }
+        if (count == 0) {
+            return;
+        }
+        this.pendingCount.addAndGet(-count);
+
+        try (ThreadContext.StoredContext ignored = this.threadContext.stashContext()) {
+            this.client.bulk(bulkRequest, new ActionListener<>() {
+                @Override
+                public void onResponse(BulkResponse response) {
+                    if (response.hasFailures()) {
+                        log.warn("Failed to write ingest findings: {}", response.buildFailureMessage());
+                    }
+                }
+
+                @Override
+                public void onFailure(Exception e) {
+                    log.warn("Failed to write ingest findings", e);
+                }
+            });
+        }
+    }
+
+    public long getDroppedCount() {
+        return this.droppedCount.get();
+    }
+
+    /**
+     * @return id of the ingest finding of the rule matching the document
+     */
+    public static String findingId(String detectorId, String index, String docId, String ruleId) {
+        String key = String.join("/", detectorId, index, ruleId, docId);
+        return MessageDigests.toHexString(MessageDigests.sha256().digest(key.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * @return deletes of the ingest findings covered by the finding of a doc level monitor of the detector, null if it
+     * covers none
+     */
+    public static BulkRequest supersededFindings(Detector detector, Finding finding) {
+        if (finding.getDocLevelQueries().isEmpty() || finding.getRelatedDocIds().isEmpty()) {
+            return null;
+        }
+        BulkRequest bulkRequest = new BulkRequest();
+        for (String docId: finding.getRelatedDocIds()) {
+            for (DocLevelQuery query: finding.getDocLevelQueries()) {
+                bulkRequest.add(new DeleteRequest(detector.getFindingsIndex(), findingId(detector.getId(), finding.getIndex(), docId, query.getId())));
+            }
+        }
+        return bulkRequest;
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.securityanalytics.mapper;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.tuple.Pair;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.metadata.MappingMetadata;
+
+/**
+ * Mappings of concrete indices read from the local cluster state, together with the lookups derived from them when
+ * detectors are created or updated. An entry is reused until the mapping version of its index changes, so the
+ * mappings are traversed once per mapping update instead of once per rule.
+ */
+public class IndexMappingsCache {
+
+    static final int MAX_ENTRIES = 1000;
+
+    public static class IndexMappings {
+
+        private final String indexUUID;
+
+        private final long mappingVersion;
+
+        private final MappingMetadata mappingMetadata;
+
+        private volatile List<Pair<String, String>> aliasPathPairs;
+
+        private volatile Map<String, String> fieldTypes;
+
+        private volatile Map<String, String> acceleratedFields;
+
+        private volatile Set<String> queryFieldNames;
+
+        private volatile Boolean dynamic;
+
+        IndexMappings(String indexUUID, long mappingVersion, MappingMetadata mappingMetadata) {
+            this.indexUUID = indexUUID;
+            this.mappingVersion = mappingVersion;
+            this.mappingMetadata = mappingMetadata;
+        }
+
+        public MappingMetadata getMappingMetadata() {
+            return mappingMetadata;
+        }
+
+        public long getMappingVersion() {
+            return mappingVersion;
+        }
+
+        public List<Pair<String, String>> getAliasPathPairs() throws IOException {
+            if (aliasPathPairs == null) {
+                aliasPathPairs = MapperUtils.getAllAliasPathPairs(mappingMetadata);
+            }
+            return aliasPathPairs;
+        }
+
+        public boolean hasAlias(String alias) throws IOException {
+            return getAliasPathPairs().stream().anyMatch(it -> alias.equals(it.getLeft()) || alias.equals(it.getRight()));
+        }
+
+        public Map<String, String> getFieldTypes() {
+            if (fieldTypes == null) {
+                fieldTypes = MapperUtils.getFieldTypes(mappingMetadata);
+            }
+            return fieldTypes;
+        }
+
+        public Map<String, String> getAcceleratedFields() {
+            if (acceleratedFields == null) {
+                acceleratedFields = MapperUtils.getAcceleratedFields(mappingMetadata);
+            }
+            return acceleratedFields;
+        }
+
+        /**
+         * @return names of the mapped fields and aliases as used in rule queries, which replace the dots of a path by
+         * underscores
+         */
+        public Set<String> getQueryFieldNames() {
+            if (queryFieldNames == null) {
+                queryFieldNames = getFieldTypes().keySet().stream().map(it -> it.replace(".", "_")).collect(Collectors.toSet());
+            }
+            return queryFieldNames;
+        }
+
+        /**
+         * @return whether documents can add fields to the mappings, i.e. dynamic mapping is not disabled or strict
+         * at the root of the mappings
+         */
+        public boolean isDynamic() {
+            if (dynamic == null) {
+                Object value = mappingMetadata.sourceAsMap().get("dynamic");
+                dynamic = value == null || !("false".equals(value.toString()) || "strict".equals(value.toString()));
+            }
+            return dynamic;
+        }
+
+        /**
+         * @return signature of the mappings, equal for indices whose mappings give the same queries for any rule
+         */
+        public List<Map<String, String>> getSignature() {
+            return List.of(getFieldTypes(), getAcceleratedFields(), Map.of("dynamic", String.valueOf(isDynamic())));
+        }
+
+        private boolean isCurrent(IndexMetadata indexMetadata) {
+            return indexUUID.equals(indexMetadata.getIndexUUID()) && mappingVersion == indexMetadata.getMappingVersion();
+        }
+    }
+
+    private final Map<String, IndexMappings> mappings = new ConcurrentHashMap<>();
+
+    /**
+     * @return mappings of the concrete index in the given cluster state, or null if the index does not exist or has no
+     * mappings
+     */
+    public IndexMappings get(ClusterState state, String concreteIndex) {
+        IndexMetadata indexMetadata = state.metadata().index(concreteIndex);
+        if (indexMetadata == null || indexMetadata.mapping() == null) {
+            mappings.remove(concreteIndex);
+            return null;
+        }
+
+        IndexMappings indexMappings = mappings.get(concreteIndex);
+        if (indexMappings != null && indexMappings.isCurrent(indexMetadata)) {
+            return indexMappings;
+        }
+
+        if (mappings.size() >= MAX_ENTRIES) {
+            // drop entries of deleted indices first, then start over if the cluster holds that many input indices
+            mappings.keySet().removeIf(index -> !state.metadata().hasIndex(index));
+            if (mappings.size() >= MAX_ENTRIES) {
+                mappings.clear();
+            }
+        }
+        indexMappings = new IndexMappings(indexMetadata.getIndexUUID(), indexMetadata.getMappingVersion(), indexMetadata.mapping());
+        mappings.put(concreteIndex, indexMappings);
+        return indexMappings;
+    }
+}
@@ -35,8 +35,10 @@ import org.opensearch.cluster.metadata.Template;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.compress.CompressedXContent;
 import org.opensearch.common.regex.Regex;
+import org.opensearch.common.settings.Settings;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
 import org.opensearch.securityanalytics.model.CreateMappingResult;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
 import org.opensearch.securityanalytics.util.DetectorUtils;
 import org.opensearch.securityanalytics.util.IndexUtils;
 import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
@@ -44,6 +46,7 @@ import org.opensearch.securityanalytics.util.XContentUtils;
 
 
 import static org.opensearch.securityanalytics.mapper.IndexTemplateUtils.computeComponentTemplateName;
+import static org.opensearch.securityanalytics.mapper.MapperUtils.PROPERTIES;
 import static org.opensearch.securityanalytics.mapper.IndexTemplateUtils.computeIndexTemplateName;
 import static org.opensearch.securityanalytics.mapper.IndexTemplateUtils.copyTemplate;
 import static org.opensearch.securityanalytics.mapper.IndexTemplateUtils.normalizeIndexName;
@@ -270,6 +273,7 @@ public class IndexTemplateManager {
         });
     }
 
+    @SuppressWarnings("unchecked")
     private void upsertComponentTemplate(
             String componentName,
             boolean create,
@@ -279,10 +283,21 @@ public class IndexTemplateManager {
     ) {
         try {
 
+            // Opt-in: accelerated subfields need analyzers which can only be defined when an index is created,
+            // so they're added to the component template and picked up by new backing indices
+            Settings settings = null;
+            List<String> acceleratedFields = clusterService.getClusterSettings().get(SecurityAnalyticsSettings.ACCELERATED_WILDCARD_FIELDS);
+            if (acceleratedFields.isEmpty() == false && mappings.get(PROPERTIES) instanceof Map) {
+                Map<String, Object> acceleratedMappings = new HashMap<>(mappings);
+                acceleratedMappings.put(PROPERTIES, MapperUtils.addAcceleratedSubfields((Map<String, Object>) mappings.get(PROPERTIES), acceleratedFields));
+                mappings = acceleratedMappings;
+                settings = MapperUtils.getAcceleratedFieldsAnalysisSettings();
+            }
+
             String mappingsJson = XContentUtils.parseMapToJsonString(mappings);
 
             ComponentTemplate componentTemplate = new ComponentTemplate(
-                    new Template(null, new CompressedXContent(mappingsJson), null),
+                    new Template(settings, new CompressedXContent(mappingsJson), null),
                     0L,
                     null
             );
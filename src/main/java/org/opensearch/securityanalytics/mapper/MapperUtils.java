@@ -8,12 +8,14 @@ package org.opensearch.securityanalytics.mapper;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import org.apache.commons.lang3.tuple.Pair;
 import org.opensearch.cluster.metadata.MappingMetadata;
+import org.opensearch.common.settings.Settings;
 import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
 
 public class MapperUtils {
@@ -23,6 +25,15 @@ public class MapperUtils {
     public static final String TYPE = "type";
     public static final String ALIAS = "alias";
     public static final String NESTED = "nested";
+    public static final String FIELDS = "fields";
+    public static final String ANALYZER = "analyzer";
+    public static final String KEYWORD = "keyword";
+
+    public static final String NGRAM_SUBFIELD = "sap_ngram";
+    public static final String REVERSE_SUBFIELD = "sap_reverse";
+    public static final String NGRAM_ANALYZER = "sap_ngram_analyzer";
+    public static final String REVERSE_ANALYZER = "sap_reverse_analyzer";
+    public static final int NGRAM_SIZE = 3;
 
     public static List<String> getAllAliases(String aliasMappingsJson) throws IOException {
         MappingsTraverser mappingsTraverser = new MappingsTraverser(aliasMappingsJson, Set.of());
@@ -249,4 +260,131 @@ public class MapperUtils {
 
         return presentPathsMappings;
     }
+
+    /**
+     * Analysis settings backing the accelerated subfields: a fixed-size n-gram analyzer used for contains
+     * and a reversing keyword analyzer used for endswith.
+     */
+    public static Settings getAcceleratedFieldsAnalysisSettings() {
+        return Settings.builder()
+                .put("index.analysis.tokenizer.sap_ngram_tokenizer.type", "ngram")
+                .put("index.analysis.tokenizer.sap_ngram_tokenizer.min_gram", NGRAM_SIZE)
+                .put("index.analysis.tokenizer.sap_ngram_tokenizer.max_gram", NGRAM_SIZE)
+                .put("index.analysis.analyzer." + NGRAM_ANALYZER + ".type", "custom")
+                .put("index.analysis.analyzer." + NGRAM_ANALYZER + ".tokenizer", "sap_ngram_tokenizer")
+                .put("index.analysis.analyzer." + REVERSE_ANALYZER + ".type", "custom")
+                .put("index.analysis.analyzer." + REVERSE_ANALYZER + ".tokenizer", KEYWORD)
+                .putList("index.analysis.analyzer." + REVERSE_ANALYZER + ".filter", "reverse")
+                .build();
+    }
+
+    /**
+     * Adds n-gram and reverse subfields to keyword fields of flat field mappings.
+     * @param flatFieldMappings field path to field mapping
+     * @param fieldPaths paths of the fields to accelerate, fields which are not present or are not keywords are skipped
+     * @return copy of the mappings with subfields added
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> addAcceleratedSubfields(Map<String, Object> flatFieldMappings, List<String> fieldPaths) {
+        Map<String, Object> result = new HashMap<>(flatFieldMappings);
+        for (String fieldPath: fieldPaths) {
+            Object fieldMapping = flatFieldMappings.get(fieldPath);
+            if (!(fieldMapping instanceof Map) || !KEYWORD.equals(((Map<String, Object>) fieldMapping).get(TYPE))) {
+                continue;
+            }
+
+            Map<String, Object> acceleratedMapping = new HashMap<>((Map<String, Object>) fieldMapping);
+            Map<String, Object> subfields = acceleratedMapping.containsKey(FIELDS) ?
+                    new HashMap<>((Map<String, Object>) acceleratedMapping.get(FIELDS)) : new HashMap<>();
+            subfields.put(NGRAM_SUBFIELD, Map.of(TYPE, "text", ANALYZER, NGRAM_ANALYZER));
+            subfields.put(REVERSE_SUBFIELD, Map.of(TYPE, "text", ANALYZER, REVERSE_ANALYZER));
+            acceleratedMapping.put(FIELDS, subfields);
+            result.put(fieldPath, acceleratedMapping);
+        }
+        return result;
+    }
+
+    /**
+     * Finds fields which have both accelerated subfields.
+     * @param mappingMetadata index mappings
+     * @return map of queryable field name (field path or alias pointing to it) to the field path carrying the subfields
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, String> getAcceleratedFields(MappingMetadata mappingMetadata) {
+        Set<String> acceleratedPaths = new HashSet<>();
+        List<Pair<String, String>> aliasPathPairs = new ArrayList<>();
+
+        MappingsTraverser mappingsTraverser = new MappingsTraverser(mappingMetadata);
+        mappingsTraverser.addListener(new MappingsTraverser.MappingsTraverserListener() {
+            @Override
+            public void onLeafVisited(MappingsTraverser.Node node) {
+                Map<String, Object> properties = node.getProperties();
+                if (node.isAlias() && properties.containsKey(PATH)) {
+                    aliasPathPairs.add(Pair.of(node.currentPath, (String) properties.get(PATH)));
+                } else if (properties.get(FIELDS) instanceof Map) {
+                    Map<String, Object> subfields = (Map<String, Object>) properties.get(FIELDS);
+                    if (subfields.containsKey(NGRAM_SUBFIELD) && subfields.containsKey(REVERSE_SUBFIELD)) {
+                        acceleratedPaths.add(node.currentPath);
+                    }
+                }
+            }
+
+            @Override
+            public void onError(String error) {
+                throw SecurityAnalyticsException.wrap(
+                        new IllegalArgumentException("Failed traversing index mappings: [" + error + "]")
+                );
+            }
+        });
+        mappingsTraverser.traverse();
+
+        Map<String, String> acceleratedFields = new HashMap<>();
+        for (String path: acceleratedPaths) {
+            acceleratedFields.put(path, path);
+        }
+        for (Pair<String, String> aliasPathPair: aliasPathPairs) {
+            if (acceleratedPaths.contains(aliasPathPair.getRight())) {
+                acceleratedFields.put(aliasPathPair.getLeft(), aliasPathPair.getRight());
+            }
+        }
+        return acceleratedFields;
+    }
+
+    /**
+     * Collects the mapping type of every leaf field.
+     * @param mappingMetadata index mappings
+     * @return map of queryable field name (field path or alias pointing to it) to the type of the field
+     */
+    public static Map<String, String> getFieldTypes(MappingMetadata mappingMetadata) {
+        Map<String, String> fieldTypes = new HashMap<>();
+        List<Pair<String, String>> aliasPathPairs = new ArrayList<>();
+
+        MappingsTraverser mappingsTraverser = new MappingsTraverser(mappingMetadata);
+        mappingsTraverser.addListener(new MappingsTraverser.MappingsTraverserListener() {
+            @Override
+            public void onLeafVisited(MappingsTraverser.Node node) {
+                Map<String, Object> properties = node.getProperties();
+                if (node.isAlias() && properties.containsKey(PATH)) {
+                    aliasPathPairs.add(Pair.of(node.currentPath, (String) properties.get(PATH)));
+                } else if (properties.get(TYPE) instanceof String) {
+                    fieldTypes.put(node.currentPath, (String) properties.get(TYPE));
+                }
+            }
+
+            @Override
+            public void onError(String error) {
+                throw SecurityAnalyticsException.wrap(
+                        new IllegalArgumentException("Failed traversing index mappings: [" + error + "]")
+                );
+            }
+        });
+        mappingsTraverser.traverse();
+
+        for (Pair<String, String> aliasPathPair: aliasPathPairs) {
+            if (fieldTypes.containsKey(aliasPathPair.getRight())) {
+                fieldTypes.put(aliasPathPair.getLeft(), fieldTypes.get(aliasPathPair.getRight()));
+            }
+        }
+        return fieldTypes;
+    }
 }
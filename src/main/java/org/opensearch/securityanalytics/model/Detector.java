@@ -27,6 +27,7 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
@@ -53,6 +54,9 @@ public class Detector implements Writeable, ToXContentObject {
     public static final String ALERTING_MONITOR_ID = "monitor_id";
 
     public static final String BUCKET_MONITOR_ID_RULE_ID = "bucket_monitor_id_rule_id";
+
+    // Ids of the custom rules of all inputs, only stored in the detectors index to find the detectors using a rule
+    public static final String CUSTOM_RULE_IDS_FIELD = "custom_rule_ids";
     private static final String RULE_TOPIC_INDEX = "rule_topic_index";
 
     private static final String ALERTS_INDEX = "alert_index";
@@ -66,6 +70,9 @@ public class Detector implements Writeable, ToXContentObject {
     // Used as a key in rule-monitor map for the purpose of easy detection of the doc level monitor
     public static final String DOC_LEVEL_MONITOR = "-1";
 
+    // Doc level monitors after the first one of a detector whose rules are split across several monitors
+    private static final String DOC_LEVEL_MONITOR_SHARD_SEPARATOR = "_";
+
     public static final NamedXContentRegistry.Entry XCONTENT_REGISTRY = new NamedXContentRegistry.Entry(
             Detector.class,
             new ParseField(DETECTOR_TYPE),
@@ -303,6 +310,7 @@ public class Detector implements Writeable, ToXContentObject {
 
 
         if (params.paramAsBoolean("with_type", false)) {
+            builder.field(CUSTOM_RULE_IDS_FIELD, getCustomRuleIds());
             builder.endObject();
         }
         return builder.endObject();
@@ -605,10 +613,48 @@ public class Detector implements Writeable, ToXContentObject {
         this.ruleIdMonitorIdMap = ruleIdMonitorIdMap;
     }
 
+    /**
+     * @return distinct ids of the custom rules used by any input of the detector
+     */
+    public List<String> getCustomRuleIds() {
+        return inputs.stream()
+                .flatMap(it -> it.getCustomRules().stream())
+                .map(DetectorRule::getId)
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
     public String getDocLevelMonitorId() {
         return ruleIdMonitorIdMap.get(DOC_LEVEL_MONITOR);
     }
 
+    /**
+     * @return ids of all doc level monitors of the detector ordered by shard, the first one being
+     * {@link #getDocLevelMonitorId()}
+     */
+    public List<String> getDocLevelMonitorIds() {
+        return ruleIdMonitorIdMap.entrySet().stream()
+                .filter(it -> isDocLevelMonitorKey(it.getKey()))
+                .sorted(Comparator.comparingInt(it -> docLevelMonitorShard(it.getKey())))
+                .map(Map.Entry::getValue)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return key of the doc level monitor evaluating the given shard of the doc level rules in the rule-monitor map
+     */
+    public static String docLevelMonitorKey(int shard) {
+        return shard == 0? DOC_LEVEL_MONITOR: DOC_LEVEL_MONITOR + DOC_LEVEL_MONITOR_SHARD_SEPARATOR + shard;
+    }
+
+    public static boolean isDocLevelMonitorKey(String key) {
+        return DOC_LEVEL_MONITOR.equals(key) || key.startsWith(DOC_LEVEL_MONITOR + DOC_LEVEL_MONITOR_SHARD_SEPARATOR);
+    }
+
+    private static int docLevelMonitorShard(String key) {
+        return DOC_LEVEL_MONITOR.equals(key)? 0: Integer.parseInt(key.substring(DOC_LEVEL_MONITOR.length() + DOC_LEVEL_MONITOR_SHARD_SEPARATOR.length()));
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -63,6 +63,9 @@ public class Rule implements Writeable, ToXContentObject {
     public static final String PRE_PACKAGED_RULES_INDEX = ".opensearch-sap-pre-packaged-rules-config";
     public static final String CUSTOM_RULES_INDEX = ".opensearch-sap-custom-rules-config";
     public static final String AGGREGATION_QUERIES = "aggregationQueries";
+    public static final String QUERY_DSL = "query_dsl";
+    public static final String ESTIMATED_COST = "estimated_cost";
+    public static final String REGEX_AUTOMATON_STATES = "regex_automaton_states";
 
     public static final NamedXContentRegistry.Entry XCONTENT_REGISTRY = new NamedXContentRegistry.Entry(
             Rule.class,
@@ -104,10 +107,25 @@ public class Rule implements Writeable, ToXContentObject {
 
     private List<Value> aggregationQueries;
 
+    private List<Value> queryDsl;
+
+    private Long estimatedCost;
+
+    private Long regexAutomatonStates;
+
     public Rule(String id, Long version, String title, String category, String logSource,
                 String description, List<Value> references, List<Value> tags, String level,
                 List<Value> falsePositives, String author, String status, Instant date,
                 List<Value> queries, List<Value> queryFieldNames, String rule, List<Value> aggregationQueries) {
+        this(id, version, title, category, logSource, description, references, tags, level, falsePositives, author, status, date,
+                queries, queryFieldNames, rule, aggregationQueries, new ArrayList<>());
+    }
+
+    public Rule(String id, Long version, String title, String category, String logSource,
+                String description, List<Value> references, List<Value> tags, String level,
+                List<Value> falsePositives, String author, String status, Instant date,
+                List<Value> queries, List<Value> queryFieldNames, String rule, List<Value> aggregationQueries,
+                List<Value> queryDsl) {
         this.id = id != null? id: NO_ID;
         this.version = version != null? version: NO_VERSION;
 
@@ -131,10 +149,20 @@ public class Rule implements Writeable, ToXContentObject {
         this.queryFieldNames = queryFieldNames;
         this.rule = rule;
         this.aggregationQueries = aggregationQueries;
+        this.queryDsl = queryDsl != null? queryDsl: new ArrayList<>();
     }
 
     public Rule(String id, Long version, SigmaRule rule, String category,
                 List<Object> queries, List<String> queryFieldNames, String original) {
+        this(id, version, rule, category, queries, queryFieldNames, original, new ArrayList<>());
+    }
+
+    /**
+     * @param queryDsl output of {@link org.opensearch.securityanalytics.rules.backend.OSQueryBuilderBackend} for the same rule,
+     *                 stored as serialized query DSL next to the query_string form.
+     */
+    public Rule(String id, Long version, SigmaRule rule, String category,
+                List<Object> queries, List<String> queryFieldNames, String original, List<Object> queryDsl) {
         this(
                 id,
                 version,
@@ -155,7 +183,8 @@ public class Rule implements Writeable, ToXContentObject {
                 queryFieldNames.stream().map(Value::new).collect(Collectors.toList()),
                 original,
                 // If one of the queries is AggregationQuery -> the whole rule can be considered as Agg
-                queries.stream().filter(query -> query instanceof AggregationQueries).map(it -> new Value(it.toString())).collect(Collectors.toList()));
+                queries.stream().filter(query -> query instanceof AggregationQueries).map(it -> new Value(it.toString())).collect(Collectors.toList()),
+                queryDsl.stream().filter(query -> !(query instanceof AggregationQueries)).map(query -> new Value(query.toString())).collect(Collectors.toList()));
     }
 
     public Rule(StreamInput sin) throws IOException {
@@ -176,8 +205,11 @@ public class Rule implements Writeable, ToXContentObject {
                 sin.readList(Value::readFrom),
                 sin.readList(Value::readFrom),
                 sin.readString(),
+                sin.readList(Value::readFrom),
                 sin.readList(Value::readFrom)
         );
+        this.estimatedCost = sin.readOptionalLong();
+        this.regexAutomatonStates = sin.readOptionalLong();
     }
 
     @Override
@@ -205,6 +237,9 @@ public class Rule implements Writeable, ToXContentObject {
 
         out.writeString(rule);
         out.writeCollection(aggregationQueries);
+        out.writeCollection(queryDsl);
+        out.writeOptionalLong(estimatedCost);
+        out.writeOptionalLong(regexAutomatonStates);
     }
 
     @Override
@@ -252,6 +287,17 @@ public class Rule implements Writeable, ToXContentObject {
         aggregationsArray = aggregationQueries.toArray(aggregationsArray);
         builder.field(AGGREGATION_QUERIES, aggregationsArray);
 
+        Value[] queryDslArray = new Value[]{};
+        queryDslArray = queryDsl.toArray(queryDslArray);
+        builder.field(QUERY_DSL, queryDslArray);
+
+        if (estimatedCost != null) {
+            builder.field(ESTIMATED_COST, estimatedCost);
+        }
+        if (regexAutomatonStates != null) {
+            builder.field(REGEX_AUTOMATON_STATES, regexAutomatonStates);
+        }
+
         builder.field(RULE, rule);
         if (params.paramAsBoolean("with_type", false)) {
             builder.endObject();
@@ -298,6 +344,9 @@ public class Rule implements Writeable, ToXContentObject {
         List<Value> queryFields = new ArrayList<>();
         String original = null;
         List<Value> aggregationQueries = new ArrayList<>();
+        List<Value> queryDsl = new ArrayList<>();
+        Long estimatedCost = null;
+        Long regexAutomatonStates = null;
 
         XContentParserUtils.ensureExpectedToken(XContentParser.Token.START_OBJECT, xcp.currentToken(), xcp);
         while (xcp.nextToken() != XContentParser.Token.END_OBJECT) {
@@ -367,12 +416,25 @@ public class Rule implements Writeable, ToXContentObject {
                     while (xcp.nextToken() != XContentParser.Token.END_ARRAY) {
                         aggregationQueries.add(Value.parse(xcp));
                     }
+                    break;
+                case QUERY_DSL:
+                    XContentParserUtils.ensureExpectedToken(XContentParser.Token.START_ARRAY, xcp.currentToken(), xcp);
+                    while (xcp.nextToken() != XContentParser.Token.END_ARRAY) {
+                        queryDsl.add(Value.parse(xcp));
+                    }
+                    break;
+                case ESTIMATED_COST:
+                    estimatedCost = xcp.currentToken() == XContentParser.Token.VALUE_NULL? null: xcp.longValue();
+                    break;
+                case REGEX_AUTOMATON_STATES:
+                    regexAutomatonStates = xcp.currentToken() == XContentParser.Token.VALUE_NULL? null: xcp.longValue();
+                    break;
                 default:
                     xcp.skipChildren();
             }
         }
 
-        return new Rule(
+        Rule rule = new Rule(
                 id,
                 version,
                 Objects.requireNonNull(title, "Rule Title is null"),
@@ -389,8 +451,12 @@ public class Rule implements Writeable, ToXContentObject {
                 queries,
                 queryFields,
                 Objects.requireNonNull(original, "Rule String is null"),
-                aggregationQueries
+                aggregationQueries,
+                queryDsl
         );
+        rule.setEstimatedCost(estimatedCost);
+        rule.setRegexAutomatonStates(regexAutomatonStates);
+        return rule;
     }
 
     public static Rule readFrom(StreamInput sin) throws IOException {
@@ -471,6 +537,30 @@ public class Rule implements Writeable, ToXContentObject {
 
     public List<Value> getAggregationQueries() { return aggregationQueries; }
 
+    public List<Value> getQueryDsl() {
+        return queryDsl;
+    }
+
+    public boolean hasQueryDsl() {
+        return queryDsl != null && !queryDsl.isEmpty();
+    }
+
+    public Long getEstimatedCost() {
+        return estimatedCost;
+    }
+
+    public void setEstimatedCost(Long estimatedCost) {
+        this.estimatedCost = estimatedCost;
+    }
+
+    public Long getRegexAutomatonStates() {
+        return regexAutomatonStates;
+    }
+
+    public void setRegexAutomatonStates(Long regexAutomatonStates) {
+        this.regexAutomatonStates = regexAutomatonStates;
+    }
+
     public boolean isAggregationRule() {
         return aggregationQueries != null && !aggregationQueries.isEmpty();
     }
@@ -0,0 +1,76 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.resthandler;
+
+import org.opensearch.action.support.WriteRequest;
+import org.opensearch.client.node.NodeClient;
+import org.opensearch.common.xcontent.XContentParserUtils;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.rest.BaseRestHandler;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.rest.action.RestToXContentListener;
+import org.opensearch.securityanalytics.SecurityAnalyticsPlugin;
+import org.opensearch.securityanalytics.action.BulkIndexDetectorAction;
+import org.opensearch.securityanalytics.action.BulkIndexDetectorRequest;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.util.RestHandlerUtils;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.opensearch.rest.RestRequest.Method.POST;
+
+public class RestBulkIndexDetectorAction extends BaseRestHandler {
+
+    @Override
+    public String getName() {
+        return "bulk_index_detector_action";
+    }
+
+    @Override
+    public List<Route> routes() {
+        return List.of(new Route(POST, String.format(Locale.getDefault(), "%s/_bulk", SecurityAnalyticsPlugin.DETECTOR_BASE_URI)));
+    }
+
+    @Override
+    protected RestChannelConsumer prepareRequest(RestRequest request, NodeClient client) throws IOException {
+        WriteRequest.RefreshPolicy refreshPolicy = WriteRequest.RefreshPolicy.IMMEDIATE;
+        if (request.hasParam(RestHandlerUtils.REFRESH)) {
+            refreshPolicy = WriteRequest.RefreshPolicy.parse(request.param(RestHandlerUtils.REFRESH));
+        }
+
+        List<Detector> detectors = new ArrayList<>();
+        Instant now = Instant.now();
+
+        XContentParser xcp = request.contentParser();
+        XContentParserUtils.ensureExpectedToken(XContentParser.Token.START_OBJECT, xcp.nextToken(), xcp);
+        while (xcp.nextToken() != XContentParser.Token.END_OBJECT) {
+            String fieldName = xcp.currentName();
+            xcp.nextToken();
+
+            if (BulkIndexDetectorRequest.DETECTORS_FIELD.equals(fieldName)) {
+                XContentParserUtils.ensureExpectedToken(XContentParser.Token.START_ARRAY, xcp.currentToken(), xcp);
+                while (xcp.nextToken() != XContentParser.Token.END_ARRAY) {
+                    XContentParserUtils.ensureExpectedToken(XContentParser.Token.START_OBJECT, xcp.currentToken(), xcp);
+                    Detector detector = Detector.parse(xcp, Detector.NO_ID, null);
+                    detector.setLastUpdateTime(now);
+                    detectors.add(detector);
+                }
+            } else {
+                xcp.skipChildren();
+            }
+        }
+
+        BulkIndexDetectorRequest bulkIndexDetectorRequest = new BulkIndexDetectorRequest(detectors, refreshPolicy);
+        return channel -> client.execute(
+                BulkIndexDetectorAction.INSTANCE,
+                bulkIndexDetectorRequest,
+                new RestToXContentListener<>(channel)
+        );
+    }
+}
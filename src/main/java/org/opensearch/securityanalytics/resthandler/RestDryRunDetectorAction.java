@@ -0,0 +1,58 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.resthandler;
+
+import org.opensearch.action.support.WriteRequest;
+import org.opensearch.client.node.NodeClient;
+import org.opensearch.common.xcontent.XContentParserUtils;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.rest.BaseRestHandler;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.rest.action.RestToXContentListener;
+import org.opensearch.securityanalytics.SecurityAnalyticsPlugin;
+import org.opensearch.securityanalytics.action.DryRunDetectorAction;
+import org.opensearch.securityanalytics.action.DryRunDetectorRequest;
+import org.opensearch.securityanalytics.action.IndexDetectorRequest;
+import org.opensearch.securityanalytics.model.Detector;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+
+import static org.opensearch.rest.RestRequest.Method.POST;
+
+public class RestDryRunDetectorAction extends BaseRestHandler {
+
+    @Override
+    public String getName() {
+        return "dry_run_detector_action";
+    }
+
+    @Override
+    public List<Route> routes() {
+        return List.of(new Route(POST, String.format(Locale.getDefault(), "%s/_dry_run", SecurityAnalyticsPlugin.DETECTOR_BASE_URI)));
+    }
+
+    @Override
+    protected RestChannelConsumer prepareRequest(RestRequest request, NodeClient client) throws IOException {
+        XContentParser xcp = request.contentParser();
+        XContentParserUtils.ensureExpectedToken(XContentParser.Token.START_OBJECT, xcp.nextToken(), xcp);
+
+        Detector detector = Detector.parse(xcp, Detector.NO_ID, null);
+        detector.setLastUpdateTime(Instant.now());
+
+        IndexDetectorRequest indexDetectorRequest = new IndexDetectorRequest(Detector.NO_ID, WriteRequest.RefreshPolicy.NONE, request.method(), detector);
+        DryRunDetectorRequest req = new DryRunDetectorRequest(indexDetectorRequest,
+                request.paramAsTime(DryRunDetectorRequest.WINDOW, DryRunDetectorRequest.DEFAULT_WINDOW),
+                request.paramAsTime(DryRunDetectorRequest.TIMEOUT, DryRunDetectorRequest.DEFAULT_TIMEOUT));
+
+        return channel -> client.execute(
+                DryRunDetectorAction.INSTANCE,
+                req,
+                new RestToXContentListener<>(channel)
+        );
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.resthandler;
+
+import org.opensearch.client.node.NodeClient;
+import org.opensearch.rest.BaseRestHandler;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.rest.action.RestToXContentListener;
+import org.opensearch.securityanalytics.SecurityAnalyticsPlugin;
+import org.opensearch.securityanalytics.action.GetDetectorRuleCostsAction;
+import org.opensearch.securityanalytics.action.GetDetectorRuleCostsRequest;
+import org.opensearch.securityanalytics.model.Detector;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+
+import static org.opensearch.rest.RestRequest.Method.GET;
+
+public class RestGetDetectorRuleCostsAction extends BaseRestHandler {
+
+    @Override
+    public String getName() {
+        return "get_detector_rule_costs_action";
+    }
+
+    @Override
+    public List<Route> routes() {
+        return List.of(new Route(GET, String.format(Locale.getDefault(), "%s/{%s}/rules/cost", SecurityAnalyticsPlugin.DETECTOR_BASE_URI, GetDetectorRuleCostsRequest.DETECTOR_ID)));
+    }
+
+    @Override
+    protected RestChannelConsumer prepareRequest(RestRequest request, NodeClient client) throws IOException {
+        String detectorId = request.param(GetDetectorRuleCostsRequest.DETECTOR_ID, Detector.NO_ID);
+
+        if (detectorId == null || detectorId.isEmpty()) {
+            throw new IllegalArgumentException("missing id");
+        }
+
+        GetDetectorRuleCostsRequest req = new GetDetectorRuleCostsRequest(detectorId, request.param(GetDetectorRuleCostsRequest.PROFILE_INDEX));
+
+        return channel -> client.execute(
+                GetDetectorRuleCostsAction.INSTANCE,
+                req,
+                new RestToXContentListener<>(channel)
+        );
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.resthandler;
+
+import org.opensearch.client.node.NodeClient;
+import org.opensearch.rest.BaseRestHandler;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.rest.action.RestToXContentListener;
+import org.opensearch.securityanalytics.SecurityAnalyticsPlugin;
+import org.opensearch.securityanalytics.action.GetFindingsPageAction;
+import org.opensearch.securityanalytics.action.GetFindingsPageRequest;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.opensearch.rest.RestRequest.Method.GET;
+
+public class RestGetFindingsPageAction extends BaseRestHandler {
+
+    @Override
+    public String getName() {
+        return "get_findings_page_action_sa";
+    }
+
+    @Override
+    public List<Route> routes() {
+        return List.of(new Route(GET, SecurityAnalyticsPlugin.FINDINGS_BASE_URI + "/_page"));
+    }
+
+    @Override
+    protected RestChannelConsumer prepareRequest(RestRequest request, NodeClient client) throws IOException {
+        GetFindingsPageRequest req = new GetFindingsPageRequest(
+                request.param(GetFindingsPageRequest.DETECTOR_ID),
+                request.paramAsInt(GetFindingsPageRequest.SIZE, GetFindingsPageRequest.DEFAULT_SIZE),
+                request.param(GetFindingsPageRequest.NEXT_TOKEN),
+                request.paramAsBoolean(GetFindingsPageRequest.INCLUDE_DOCUMENTS, true)
+        );
+
+        return channel -> client.execute(
+                GetFindingsPageAction.INSTANCE,
+                req,
+                new RestToXContentListener<>(channel)
+        );
+    }
+}
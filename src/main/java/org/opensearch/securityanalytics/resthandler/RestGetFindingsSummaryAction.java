@@ -0,0 +1,54 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.resthandler;
+
+import org.opensearch.client.node.NodeClient;
+import org.opensearch.rest.BaseRestHandler;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.rest.action.RestToXContentListener;
+import org.opensearch.securityanalytics.SecurityAnalyticsPlugin;
+import org.opensearch.securityanalytics.action.GetFindingsSummaryAction;
+import org.opensearch.securityanalytics.action.GetFindingsSummaryRequest;
+import org.opensearch.securityanalytics.model.Detector;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+
+import static org.opensearch.rest.RestRequest.Method.GET;
+
+public class RestGetFindingsSummaryAction extends BaseRestHandler {
+
+    @Override
+    public String getName() {
+        return "get_findings_summary_action_sa";
+    }
+
+    @Override
+    public List<Route> routes() {
+        return List.of(new Route(GET, SecurityAnalyticsPlugin.FINDINGS_BASE_URI + "/_summary"));
+    }
+
+    @Override
+    protected RestChannelConsumer prepareRequest(RestRequest request, NodeClient client) throws IOException {
+        String detectorType = request.param(GetFindingsSummaryRequest.DETECTOR_TYPE);
+        String startTime = request.param(GetFindingsSummaryRequest.START_TIME);
+        String endTime = request.param(GetFindingsSummaryRequest.END_TIME);
+
+        GetFindingsSummaryRequest req = new GetFindingsSummaryRequest(
+                request.param(GetFindingsSummaryRequest.DETECTOR_ID),
+                detectorType != null ? Detector.DetectorType.valueOf(detectorType.toUpperCase(Locale.ROOT)) : null,
+                startTime != null ? Long.valueOf(startTime) : null,
+                endTime != null ? Long.valueOf(endTime) : null,
+                request.paramAsTime(GetFindingsSummaryRequest.INTERVAL, GetFindingsSummaryRequest.DEFAULT_INTERVAL)
+        );
+
+        return channel -> client.execute(
+                GetFindingsSummaryAction.INSTANCE,
+                req,
+                new RestToXContentListener<>(channel)
+        );
+    }
+}
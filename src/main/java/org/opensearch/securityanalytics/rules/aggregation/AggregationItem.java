@@ -5,21 +5,37 @@
 package org.opensearch.securityanalytics.rules.aggregation;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 
 public class AggregationItem implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
+    /**
+     * Temporal condition matching when all selections occur within the timeframe, in any order
+     */
+    public static final String NEAR = "near";
+
+    /**
+     * Temporal condition matching when the selections occur in the given order within the timeframe
+     */
+    public static final String FOLLOWED_BY = "followed_by";
+
     private String aggFunction;
 
     private String aggField;
 
+    private Double aggParameter;
+
     private String groupByField;
 
     private String compOperator;
 
     private Double threshold;
 
+    private final List<String> sequenceSelections = new ArrayList<>();
+
     public void setAggFunction(String aggFunction) {
         this.aggFunction = aggFunction;
     }
@@ -36,6 +52,18 @@ public class AggregationItem implements Serializable {
         return aggField;
     }
 
+    public void setAggParameter(Double aggParameter) {
+        this.aggParameter = aggParameter;
+    }
+
+    /**
+     * @return the optional second argument of the aggregation function, the precision threshold of cardinality or
+     * the percent of percentiles
+     */
+    public Double getAggParameter() {
+        return aggParameter;
+    }
+
     public void setGroupByField(String groupByField) {
         this.groupByField = groupByField;
     }
@@ -59,4 +87,20 @@ public class AggregationItem implements Serializable {
     public Double getThreshold() {
         return threshold;
     }
-}
\ No newline at end of file
+
+    public void addSequenceSelection(String sequenceSelection) {
+        this.sequenceSelections.add(sequenceSelection);
+    }
+
+    /**
+     * @return the selections following the condition of a temporal condition, e.g. sel_b and sel_c of
+     * "sel_a | followed_by sel_b and sel_c by host"
+     */
+    public List<String> getSequenceSelections() {
+        return sequenceSelections;
+    }
+
+    public boolean isSequence() {
+        return NEAR.equals(aggFunction) || FOLLOWED_BY.equals(aggFunction);
+    }
+}
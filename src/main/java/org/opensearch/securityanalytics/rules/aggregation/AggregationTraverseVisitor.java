@@ -23,6 +23,20 @@ public class AggregationTraverseVisitor extends AggregationBaseVisitor<Aggregati
         return super.visitComparisonExpressionWithOperator(ctx);
     }
 
+    @Override
+    public AggregationItem visitSequenceExpression(AggregationParser.SequenceExpressionContext ctx) {
+        if (ctx.sequence_operator() != null) {
+            this.aggregationItem.setAggFunction(ctx.sequence_operator().getText());
+        }
+        return super.visitSequenceExpression(ctx);
+    }
+
+    @Override
+    public AggregationItem visitSelection_list(AggregationParser.Selection_listContext ctx) {
+        ctx.IDENTIFIER().forEach(identifier -> this.aggregationItem.addSequenceSelection(identifier.getText()));
+        return super.visitSelection_list(ctx);
+    }
+
     @Override
     public AggregationItem visitAggExpressionParens(AggregationParser.AggExpressionParensContext ctx) {
         if (ctx.agg_operator() != null) {
@@ -31,6 +45,14 @@ public class AggregationTraverseVisitor extends AggregationBaseVisitor<Aggregati
         return super.visitAggExpressionParens(ctx);
     }
 
+    @Override
+    public AggregationItem visitAgg_parameter(AggregationParser.Agg_parameterContext ctx) {
+        if (ctx.DECIMAL() != null) {
+            this.aggregationItem.setAggParameter(Double.valueOf(ctx.DECIMAL().getText()));
+        }
+        return super.visitAgg_parameter(ctx);
+    }
+
     @Override
     public AggregationItem visitNumericConst(AggregationParser.NumericConstContext ctx) {
         if (ctx.DECIMAL() != null) {
@@ -9,27 +9,59 @@ import org.apache.commons.lang3.NotImplementedException;
 import org.opensearch.search.aggregations.AggregationBuilder;
 import org.opensearch.search.aggregations.bucket.terms.TermsAggregationBuilder;
 import org.opensearch.search.aggregations.metrics.AvgAggregationBuilder;
+import org.opensearch.search.aggregations.metrics.CardinalityAggregationBuilder;
 import org.opensearch.search.aggregations.metrics.MaxAggregationBuilder;
 import org.opensearch.search.aggregations.metrics.MedianAbsoluteDeviationAggregationBuilder;
 import org.opensearch.search.aggregations.metrics.MinAggregationBuilder;
+import org.opensearch.search.aggregations.metrics.PercentilesAggregationBuilder;
 import org.opensearch.search.aggregations.metrics.SumAggregationBuilder;
 import org.opensearch.search.aggregations.metrics.ValueCountAggregationBuilder;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaAggregationParameterError;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaConditionError;
 
 public final class AggregationBuilders {
 
+    /**
+     * Percent computed by percentiles when the rule does not give one
+     */
+    public static final double DEFAULT_PERCENT = 50.0;
+
     /**
      * Finds the builder aggregation based on the forwarded function
      *
      * @param aggregationFunction Aggregation function
      * @param name                Name of the aggregation
      * @return Aggregation builder
+     * @throws SigmaConditionError if the function takes a parameter which is missing
      */
-    public static AggregationBuilder getAggregationBuilderByFunction(String aggregationFunction, String name) {
+    public static AggregationBuilder getAggregationBuilderByFunction(String aggregationFunction, String name) throws SigmaConditionError {
+        return getAggregationBuilderByFunction(aggregationFunction, name, null);
+    }
+
+    /**
+     * Finds the builder aggregation based on the forwarded function
+     *
+     * @param aggregationFunction Aggregation function
+     * @param name                Name of the aggregation
+     * @param parameter           Precision threshold of cardinality or percent of percentiles, may be null
+     * @return Aggregation builder
+     * @throws SigmaAggregationParameterError if the parameter is not valid for the function
+     */
+    public static AggregationBuilder getAggregationBuilderByFunction(String aggregationFunction, String name, Double parameter) throws SigmaConditionError {
+        validateParameter(aggregationFunction, parameter);
         AggregationBuilder aggregationBuilder;
         switch (aggregationFunction.toLowerCase(Locale.ROOT)) {
             case AvgAggregationBuilder.NAME:
                 aggregationBuilder = new AvgAggregationBuilder(name).field(name);
                 break;
+            case CardinalityAggregationBuilder.NAME:
+                // HyperLogLog++ counts are exact below the precision threshold and use fixed memory above it
+                CardinalityAggregationBuilder cardinalityAggregationBuilder = new CardinalityAggregationBuilder(name).field(name);
+                if (parameter != null) {
+                    cardinalityAggregationBuilder.precisionThreshold(parameter.longValue());
+                }
+                aggregationBuilder = cardinalityAggregationBuilder;
+                break;
             case MaxAggregationBuilder.NAME:
                 aggregationBuilder = new MaxAggregationBuilder(name).field(name);
                 break;
@@ -39,6 +71,10 @@ public final class AggregationBuilders {
             case MinAggregationBuilder.NAME:
                 aggregationBuilder = new MinAggregationBuilder(name).field(name);
                 break;
+            case PercentilesAggregationBuilder.NAME:
+                aggregationBuilder = new PercentilesAggregationBuilder(name).field(name)
+                        .percentiles(parameter != null? parameter: DEFAULT_PERCENT);
+                break;
             case SumAggregationBuilder.NAME:
                 aggregationBuilder = new SumAggregationBuilder(name).field(name);
                 break;
@@ -53,4 +89,32 @@ public final class AggregationBuilders {
         }
         return aggregationBuilder;
     }
+
+    /**
+     * Checks the optional parameter of an aggregation function: a percent between 0 and 100 for percentiles and a
+     * positive integer precision threshold for cardinality. Other functions take no parameter.
+     *
+     * @param aggregationFunction Aggregation function
+     * @param parameter           Parameter of the function, may be null
+     * @throws SigmaAggregationParameterError if the parameter is not valid for the function
+     */
+    public static void validateParameter(String aggregationFunction, Double parameter) throws SigmaAggregationParameterError {
+        if (parameter == null) {
+            return;
+        }
+        switch (aggregationFunction.toLowerCase(Locale.ROOT)) {
+            case PercentilesAggregationBuilder.NAME:
+                if (parameter < 0.0 || parameter > 100.0) {
+                    throw new SigmaAggregationParameterError(String.format(Locale.getDefault(), "Percent of %s must be between 0 and 100, got %s", aggregationFunction, parameter));
+                }
+                break;
+            case CardinalityAggregationBuilder.NAME:
+                if (parameter <= 0.0 || parameter != Math.rint(parameter) || parameter > Long.MAX_VALUE) {
+                    throw new SigmaAggregationParameterError(String.format(Locale.getDefault(), "Precision threshold of %s must be a positive integer, got %s", aggregationFunction, parameter));
+                }
+                break;
+            default:
+                throw new SigmaAggregationParameterError(String.format(Locale.getDefault(), "Aggregation %s does not take a parameter", aggregationFunction));
+        }
+    }
 }
@@ -19,7 +19,12 @@ import org.opensearch.core.xcontent.XContentParser;
 import org.opensearch.commons.alerting.aggregation.bucketselectorext.BucketSelectorExtAggregationBuilder;
 import org.opensearch.script.Script;
 import org.opensearch.search.aggregations.AggregationBuilder;
+import org.opensearch.search.aggregations.bucket.composite.CompositeAggregationBuilder;
+import org.opensearch.search.aggregations.bucket.composite.CompositeValuesSourceBuilder;
+import org.opensearch.search.aggregations.bucket.composite.TermsValuesSourceBuilder;
 import org.opensearch.search.aggregations.bucket.terms.TermsAggregationBuilder;
+import org.opensearch.search.aggregations.metrics.CardinalityAggregationBuilder;
+import org.opensearch.search.aggregations.metrics.PercentilesAggregationBuilder;
 import org.opensearch.securityanalytics.rules.aggregation.AggregationItem;
 import org.opensearch.securityanalytics.rules.condition.ConditionAND;
 import org.opensearch.securityanalytics.rules.condition.ConditionFieldEqualsValueExpression;
@@ -28,6 +33,7 @@ import org.opensearch.securityanalytics.rules.condition.ConditionNOT;
 import org.opensearch.securityanalytics.rules.condition.ConditionOR;
 import org.opensearch.securityanalytics.rules.condition.ConditionValueExpression;
 import org.opensearch.securityanalytics.rules.condition.ConditionType;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
 import org.opensearch.securityanalytics.rules.exceptions.SigmaValueError;
 import org.opensearch.securityanalytics.rules.types.SigmaBool;
 import org.opensearch.securityanalytics.rules.types.SigmaCIDRExpression;
@@ -41,6 +47,7 @@ import org.opensearch.securityanalytics.rules.utils.Either;
 import org.apache.commons.lang3.NotImplementedException;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -67,6 +74,8 @@ public class OSQueryBackend extends QueryBackend {
 
     private String addReserved;
 
+    private SigmaString.EscapeTable escapeTable;
+
     private String eqToken;
 
     private String strQuote;
@@ -81,6 +90,8 @@ public class OSQueryBackend extends QueryBackend {
 
     private String cidrExpression;
 
+    private String fieldInListExpression;
+
     private String fieldNullExpression;
 
     private String unboundValueStrExpression;
@@ -95,8 +106,12 @@ public class OSQueryBackend extends QueryBackend {
 
     private int valExpCount;
 
+    private int compositeAggregationPageSize;
+
     private String aggQuery;
 
+    private String aggParameterQuery;
+
     private String aggCountQuery;
 
     private String bucketTriggerQuery;
@@ -114,7 +129,11 @@ public class OSQueryBackend extends QueryBackend {
     private static final List<Class<?>> precedence = Arrays.asList(ConditionNOT.class, ConditionAND.class, ConditionOR.class);
 
     public OSQueryBackend(String ruleCategory, boolean collectErrors, boolean enableFieldMappings) throws IOException {
-        super(ruleCategory, true, enableFieldMappings, true, collectErrors);
+        this(ruleCategory, collectErrors, enableFieldMappings, false);
+    }
+
+    public OSQueryBackend(String ruleCategory, boolean collectErrors, boolean enableFieldMappings, boolean optimizeConditions) throws IOException {
+        super(ruleCategory, true, enableFieldMappings, true, collectErrors, optimizeConditions);
         this.tokenSeparator = " ";
         this.orToken = "OR";
         this.andToken = "AND";
@@ -124,6 +143,7 @@ public class OSQueryBackend extends QueryBackend {
         this.wildcardSingle = "?";
         this.addEscaped = "/:\\+-=><!(){}[]^\"~*?";
         this.addReserved = "&& ||";
+        this.escapeTable = new SigmaString.EscapeTable(this.escapeChar, this.wildcardMulti, this.wildcardSingle, this.addEscaped, this.addReserved, "");
         this.eqToken = ":";
         this.strQuote = "\"";
         this.reQuote = "";
@@ -131,6 +151,7 @@ public class OSQueryBackend extends QueryBackend {
         this.reEscapeChar = "\\";
         this.reExpression = "%s: /%s/";
         this.cidrExpression = "%s: \"%s\"";
+        this.fieldInListExpression = "%s: (%s)";
         this.fieldNullExpression = "%s: null";
         this.unboundValueStrExpression = "%s: \"%s\"";
         this.unboundValueNumExpression = "%s: %s";
@@ -139,17 +160,48 @@ public class OSQueryBackend extends QueryBackend {
         this.compareOpExpression = "\"%s\" \"%s\" %s";
         this.valExpCount = 0;
         this.aggQuery = "{\"%s\":{\"terms\":{\"field\":\"%s\"},\"aggs\":{\"%s\":{\"%s\":{\"field\":\"%s\"}}}}}";
+        this.aggParameterQuery = "{\"%s\":{\"terms\":{\"field\":\"%s\"},\"aggs\":{\"%s\":{\"%s\":{\"field\":\"%s\",\"%s\":%s}}}}}";
         this.aggCountQuery = "{\"%s\":{\"terms\":{\"field\":\"%s\"}}}";
         this.bucketTriggerQuery = "{\"buckets_path\":{\"%s\":\"%s\"},\"parent_bucket_path\":\"%s\",\"script\":{\"source\":\"params.%s %s %s\",\"lang\":\"painless\"}}";
         this.bucketTriggerScript = "params.%s %s %s";
     }
 
+    /**
+     * Converts an OR of values on one field into a single field group, e.g. {@code field: ("a" OR "b")}, when the
+     * conditions are optimized. Without the optimizer the conditions keep their original form, so the produced
+     * queries stay unchanged for callers that do not opt in.
+     */
     @Override
     public Object convertConditionAsInExpression(Either<ConditionAND, ConditionOR> condition) {
         if (condition.isLeft()) {
             return this.convertConditionAnd(condition.getLeft());
         }
-        return this.convertConditionOr(condition.get());
+        if (!this.optimizeConditions) {
+            return this.convertConditionOr(condition.get());
+        }
+
+        try {
+            String field = null;
+            List<String> values = new ArrayList<>();
+            for (Either<AnyOneOf<ConditionItem, ConditionFieldEqualsValueExpression, ConditionValueExpression>, String> arg: condition.get().getArgs()) {
+                ConditionFieldEqualsValueExpression expression = arg.getLeft().getMiddle();
+                field = getFinalField(expression.getField());
+                if (expression.getValue() instanceof SigmaNumber) {
+                    SigmaNumber number = (SigmaNumber) expression.getValue();
+                    ruleQueryFields.put(field, number.getNumOpt().isLeft()? Collections.singletonMap("type", "integer"): Collections.singletonMap("type", "float"));
+                    values.add(number.toString());
+                } else {
+                    SigmaString value = (SigmaString) expression.getValue();
+                    String quote = value.containsWildcard()? this.reQuote: this.strQuote;
+                    ruleQueryFields.put(field, Map.of("type", "text", "analyzer", "rule_analyzer"));
+                    values.add(quote + this.convertValueStr(value) + quote);
+                }
+            }
+            return formatExpression(this.fieldInListExpression, field,
+                    String.join(this.tokenSeparator + this.orToken + this.tokenSeparator, values));
+        } catch (Exception ex) {
+            throw new NotImplementedException("Operator 'or' not supported by the backend");
+        }
     }
 
     @Override
@@ -247,13 +299,13 @@ public class OSQueryBackend extends QueryBackend {
                     ConditionType argType = arg.getLeft().getLeft().getClass().equals(ConditionAND.class) ? new ConditionType(Either.left(AnyOneOf.leftVal((ConditionAND) arg.getLeft().getLeft()))) :
                             (arg.getLeft().getLeft().getClass().equals(ConditionOR.class) ? new ConditionType(Either.left(AnyOneOf.middleVal((ConditionOR) arg.getLeft().getLeft()))) :
                                     new ConditionType(Either.left(AnyOneOf.rightVal((ConditionNOT) arg.getLeft().getLeft()))));
-                    return String.format(Locale.getDefault(), groupExpression, this.notToken + this.tokenSeparator + this.convertConditionGroup(argType));
+                    return formatExpression(groupExpression, this.notToken + this.tokenSeparator + this.convertConditionGroup(argType));
                 } else if (arg.getLeft().isMiddle()) {
                     ConditionType argType = new ConditionType(Either.right(Either.left(arg.getLeft().getMiddle())));
-                    return String.format(Locale.getDefault(), groupExpression, this.notToken + this.tokenSeparator + this.convertCondition(argType).toString());
+                    return formatExpression(groupExpression, this.notToken + this.tokenSeparator + this.convertCondition(argType).toString());
                 } else {
                     ConditionType argType = new ConditionType(Either.right(Either.right(arg.getLeft().get())));
-                    return String.format(Locale.getDefault(), groupExpression, this.notToken + this.tokenSeparator + this.convertCondition(argType).toString());
+                    return formatExpression(groupExpression, this.notToken + this.tokenSeparator + this.convertCondition(argType).toString());
                 }
             }
         } catch (Exception ex) {
@@ -265,12 +317,11 @@ public class OSQueryBackend extends QueryBackend {
     @Override
     public Object convertConditionFieldEqValStr(ConditionFieldEqualsValueExpression condition) throws SigmaValueError {
         SigmaString value = (SigmaString) condition.getValue();
-        boolean containsWildcard = value.containsWildcard();
-        String expr = "%s" + this.eqToken + " " + (containsWildcard? this.reQuote: this.strQuote) + "%s" + (containsWildcard? this.reQuote: this.strQuote);
+        String quote = value.containsWildcard()? this.reQuote: this.strQuote;
 
         String field = getFinalField(condition.getField());
         ruleQueryFields.put(field, Map.of("type", "text", "analyzer", "rule_analyzer"));
-        return String.format(Locale.getDefault(), expr, field, this.convertValueStr(value));
+        return field + this.eqToken + " " + quote + this.convertValueStr(value) + quote;
     }
 
     @Override
@@ -294,26 +345,40 @@ public class OSQueryBackend extends QueryBackend {
     public Object convertConditionFieldEqValNull(ConditionFieldEqualsValueExpression condition) {
         String field = getFinalField(condition.getField());
         ruleQueryFields.put(field, Map.of("type", "text", "analyzer", "rule_analyzer"));
-        return String.format(Locale.getDefault(), this.fieldNullExpression, field);
+        return formatExpression(this.fieldNullExpression, field);
     }
 
     @Override
     public Object convertConditionFieldEqValRe(ConditionFieldEqualsValueExpression condition) {
         String field = getFinalField(condition.getField());
         ruleQueryFields.put(field, Map.of("type", "text", "analyzer", "rule_analyzer"));
-        return String.format(Locale.getDefault(), this.reExpression, field, convertValueRe((SigmaRegularExpression) condition.getValue()));
+        return formatExpression(this.reExpression, field, convertValueRe((SigmaRegularExpression) condition.getValue()));
     }
 
     @Override
     public Object convertConditionFieldEqValCidr(ConditionFieldEqualsValueExpression condition) {
+        SigmaCIDRExpression cidr = (SigmaCIDRExpression) condition.getValue();
         String field = getFinalField(condition.getField());
         ruleQueryFields.put(field, Map.of("type", "text", "analyzer", "rule_analyzer"));
-        return String.format(Locale.getDefault(), this.cidrExpression, field, convertValueCidr((SigmaCIDRExpression) condition.getValue()));
+
+        // ip fields take the CIDR as is and match it against the indexed points
+        List<String> patterns = this.isNonIpField(this.getMappedField(condition.getField()))? cidr.expandToWildcards(): null;
+        if (patterns == null) {
+            return formatExpression(this.cidrExpression, field, convertValueCidr(cidr));
+        }
+
+        List<String> expressions = new ArrayList<>();
+        for (String pattern: patterns) {
+            expressions.add(pattern.endsWith(this.wildcardMulti)? field + this.eqToken + " " + pattern:
+                    formatExpression(this.cidrExpression, field, pattern));
+        }
+        return expressions.size() == 1? expressions.get(0):
+                formatExpression(groupExpression, String.join(this.tokenSeparator + this.orToken + this.tokenSeparator, expressions));
     }
 
     @Override
     public Object convertConditionFieldEqValOpVal(ConditionFieldEqualsValueExpression condition) {
-        return String.format(Locale.getDefault(), this.compareOpExpression, this.getMappedField(condition.getField()),
+        return formatExpression(this.compareOpExpression, this.getMappedField(condition.getField()),
                 compareOperators.get(((SigmaCompareExpression) condition.getValue()).getOp()), ((SigmaCompareExpression) condition.getValue()).getNumber().toString());
     }
 
@@ -336,7 +401,7 @@ public class OSQueryBackend extends QueryBackend {
         String field = getFinalValueField();
         ruleQueryFields.put(field, Map.of("type", "text", "analyzer", "rule_analyzer"));
         boolean containsWildcard = value.containsWildcard();
-        return String.format(Locale.getDefault(), (containsWildcard? this.unboundWildcardExpression: this.unboundValueStrExpression), field, this.convertValueStr((SigmaString) condition.getValue()));
+        return formatExpression((containsWildcard? this.unboundWildcardExpression: this.unboundValueStrExpression), field, this.convertValueStr((SigmaString) condition.getValue()));
     }
 
     @Override
@@ -346,14 +411,14 @@ public class OSQueryBackend extends QueryBackend {
         SigmaNumber number = (SigmaNumber) condition.getValue();
         ruleQueryFields.put(field, number.getNumOpt().isLeft()? Collections.singletonMap("type", "integer"): Collections.singletonMap("type", "float"));
 
-        return String.format(Locale.getDefault(), this.unboundValueNumExpression, field, condition.getValue().toString());
+        return formatExpression(this.unboundValueNumExpression, field, condition.getValue().toString());
     }
 
     @Override
     public Object convertConditionValRe(ConditionValueExpression condition) {
         String field = getFinalValueField();
         ruleQueryFields.put(field, Map.of("type", "text", "analyzer", "rule_analyzer"));
-        return String.format(Locale.getDefault(), this.unboundReExpression, field, convertValueRe((SigmaRegularExpression) condition.getValue()));
+        return formatExpression(this.unboundReExpression, field, convertValueRe((SigmaRegularExpression) condition.getValue()));
     }
 
 // TODO: below methods will be supported when Sigma Expand Modifier is supported.
@@ -364,10 +429,13 @@ public class OSQueryBackend extends QueryBackend {
     }*/
 
     @Override
-    public AggregationQueries convertAggregation(AggregationItem aggregation) {
+    public AggregationQueries convertAggregation(AggregationItem aggregation) throws SigmaError {
+        AggregationBuilders.validateParameter(aggregation.getAggFunction(), aggregation.getAggParameter());
+
         String fmtAggQuery;
         String fmtBucketTriggerQuery;
-        TermsAggregationBuilder aggBuilder = new TermsAggregationBuilder("result_agg");
+        String groupByField = null;
+        AggregationBuilder subAgg = null;
         BucketSelectorExtAggregationBuilder condition;
         String bucketTriggerSelectorId = UUIDs.base64UUID();
 
@@ -380,34 +448,77 @@ public class OSQueryBackend extends QueryBackend {
                 fieldName = aggregation.getGroupByField();
                 fmtAggQuery = String.format(Locale.getDefault(), aggCountQuery, "result_agg", aggregation.getGroupByField());
             }
-            aggBuilder.field(fieldName);
+            groupByField = fieldName;
             fmtBucketTriggerQuery = String.format(Locale.getDefault(), bucketTriggerQuery, "_cnt", "_cnt", "result_agg", "_cnt", aggregation.getCompOperator(), aggregation.getThreshold());
 
             Script script = new Script(String.format(Locale.getDefault(), bucketTriggerScript, "_cnt", aggregation.getCompOperator(), aggregation.getThreshold()));
             condition = new BucketSelectorExtAggregationBuilder(bucketTriggerSelectorId, Collections.singletonMap("_cnt", "_cnt"), script, "result_agg", null);
         } else {
-            fmtAggQuery = String.format(Locale.getDefault(), aggQuery, "result_agg", aggregation.getGroupByField(), aggregation.getAggField(), aggregation.getAggFunction(), aggregation.getAggField());
-            fmtBucketTriggerQuery = String.format(Locale.getDefault(), bucketTriggerQuery, aggregation.getAggField(), aggregation.getAggField(), "result_agg", aggregation.getAggField(), aggregation.getCompOperator(), aggregation.getThreshold());
+            // Multi value metrics are selected by key, percentiles by the percent they compute
+            String bucketsPath = aggregation.getAggField();
+            if (aggregation.getAggFunction().equals(PercentilesAggregationBuilder.NAME)) {
+                double percent = aggregation.getAggParameter() != null? aggregation.getAggParameter(): AggregationBuilders.DEFAULT_PERCENT;
+                fmtAggQuery = String.format(Locale.getDefault(), aggParameterQuery, "result_agg", aggregation.getGroupByField(), aggregation.getAggField(), aggregation.getAggFunction(), aggregation.getAggField(),
+                        "percents", "[" + percent + "]");
+                bucketsPath = aggregation.getAggField() + "[" + percent + "]";
+            } else if (aggregation.getAggFunction().equals(CardinalityAggregationBuilder.NAME) && aggregation.getAggParameter() != null) {
+                fmtAggQuery = String.format(Locale.getDefault(), aggParameterQuery, "result_agg", aggregation.getGroupByField(), aggregation.getAggField(), aggregation.getAggFunction(), aggregation.getAggField(),
+                        "precision_threshold", aggregation.getAggParameter().longValue());
+            } else {
+                fmtAggQuery = String.format(Locale.getDefault(), aggQuery, "result_agg", aggregation.getGroupByField(), aggregation.getAggField(), aggregation.getAggFunction(), aggregation.getAggField());
+            }
+            fmtBucketTriggerQuery = String.format(Locale.getDefault(), bucketTriggerQuery, aggregation.getAggField(), bucketsPath, "result_agg", aggregation.getAggField(), aggregation.getCompOperator(), aggregation.getThreshold());
 
             // Add subaggregation
-            AggregationBuilder subAgg = AggregationBuilders.getAggregationBuilderByFunction(aggregation.getAggFunction(), aggregation.getAggField());
+            subAgg = AggregationBuilders.getAggregationBuilderByFunction(aggregation.getAggFunction(), aggregation.getAggField(), aggregation.getAggParameter());
             if (subAgg != null) {
-                aggBuilder.field(aggregation.getGroupByField()).subAggregation(subAgg);
+                groupByField = aggregation.getGroupByField();
             }
 
             Script script = new Script(String.format(Locale.getDefault(), bucketTriggerScript, aggregation.getAggField(), aggregation.getCompOperator(), aggregation.getThreshold()));
-            condition = new BucketSelectorExtAggregationBuilder(bucketTriggerSelectorId, Collections.singletonMap(aggregation.getAggField(), aggregation.getAggField()), script, "result_agg", null);
+            condition = new BucketSelectorExtAggregationBuilder(bucketTriggerSelectorId, Collections.singletonMap(aggregation.getAggField(), bucketsPath), script, "result_agg", null);
         }
 
         AggregationQueries aggregationQueries = new AggregationQueries();
         aggregationQueries.setAggQuery(fmtAggQuery);
         aggregationQueries.setBucketTriggerQuery(fmtBucketTriggerQuery);
-        aggregationQueries.setAggBuilder(aggBuilder);
+        aggregationQueries.setAggBuilder(this.buildBucketAggregation("result_agg", groupByField, subAgg));
         aggregationQueries.setCondition(condition);
 
         return aggregationQueries;
     }
 
+    /**
+     * Builds the aggregation grouping the documents into buckets. Composite aggregations return the buckets in pages of
+     * {@link #compositeAggregationPageSize}, which the bucket level monitor walks with the after_key of each page and
+     * evaluates the trigger on page by page, instead of collecting every bucket of a high cardinality field at once.
+     */
+    private AggregationBuilder buildBucketAggregation(String name, String groupByField, AggregationBuilder subAgg) {
+        AggregationBuilder aggBuilder;
+        if (this.compositeAggregationPageSize > 0 && groupByField != null) {
+            List<CompositeValuesSourceBuilder<?>> sources = List.of(new TermsValuesSourceBuilder(groupByField).field(groupByField));
+            aggBuilder = new CompositeAggregationBuilder(name, sources).size(this.compositeAggregationPageSize);
+        } else {
+            TermsAggregationBuilder termsAggBuilder = new TermsAggregationBuilder(name);
+            if (groupByField != null) {
+                termsAggBuilder.field(groupByField);
+            }
+            aggBuilder = termsAggBuilder;
+        }
+        if (subAgg != null) {
+            aggBuilder.subAggregation(subAgg);
+        }
+        return aggBuilder;
+    }
+
+    /**
+     * @param compositeAggregationPageSize page size of composite aggregations to group buckets with, or 0 to use
+     *                                     a terms aggregation
+     */
+    public void setCompositeAggregationPageSize(int compositeAggregationPageSize) {
+        this.compositeAggregationPageSize = compositeAggregationPageSize;
+    }
+
     private boolean comparePrecedence(ConditionType outer, ConditionType inner) {
         Class<?> outerClass = outer.getClazz();
 
@@ -422,11 +533,26 @@ public class OSQueryBackend extends QueryBackend {
     }
 
     private Object convertConditionGroup(ConditionType condition) throws SigmaValueError {
-        return String.format(Locale.getDefault(), groupExpression, this.convertCondition(condition));
+        return formatExpression(groupExpression, this.convertCondition(condition));
     }
 
     private Object convertValueStr(SigmaString s) throws SigmaValueError {
-        return s.convert(escapeChar, wildcardMulti, wildcardSingle, addEscaped, addReserved, "");
+        return s.convert(this.escapeTable);
+    }
+
+    /**
+     * Substitutes the %s placeholders of a query expression in order. Expressions hold no other format specifiers, so
+     * they are not parsed as format strings for every converted condition.
+     */
+    private static String formatExpression(String expression, Object... args) {
+        StringBuilder sb = new StringBuilder(expression.length() + 32);
+        int from = 0;
+        for (Object arg: args) {
+            int idx = expression.indexOf("%s", from);
+            sb.append(expression, from, idx).append(arg);
+            from = idx + 2;
+        }
+        return sb.append(expression, from, expression.length()).toString();
     }
 
     private Object convertValueRe(SigmaRegularExpression re) {
@@ -437,7 +563,7 @@ public class OSQueryBackend extends QueryBackend {
         return ip.convert();
     }
 
-    private String getMappedField(String field) {
+    protected String getMappedField(String field) {
         if (this.enableFieldMappings && this.fieldMappings.containsKey(field)) {
             return this.fieldMappings.get(field);
         }
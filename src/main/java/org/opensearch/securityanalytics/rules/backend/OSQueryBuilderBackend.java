@@ -0,0 +1,383 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.rules.backend;
+
+import org.apache.commons.lang3.NotImplementedException;
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.MultiMatchQueryBuilder;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.index.query.RangeQueryBuilder;
+import org.opensearch.securityanalytics.mapper.MapperUtils;
+import org.opensearch.securityanalytics.rules.condition.ConditionAND;
+import org.opensearch.securityanalytics.rules.condition.ConditionFieldEqualsValueExpression;
+import org.opensearch.securityanalytics.rules.condition.ConditionItem;
+import org.opensearch.securityanalytics.rules.condition.ConditionNOT;
+import org.opensearch.securityanalytics.rules.condition.ConditionOR;
+import org.opensearch.securityanalytics.rules.condition.ConditionType;
+import org.opensearch.securityanalytics.rules.condition.ConditionValueExpression;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaValueError;
+import org.opensearch.securityanalytics.rules.types.Placeholder;
+import org.opensearch.securityanalytics.rules.types.SigmaBool;
+import org.opensearch.securityanalytics.rules.types.SigmaCIDRExpression;
+import org.opensearch.securityanalytics.rules.types.SigmaCompareExpression;
+import org.opensearch.securityanalytics.rules.types.SigmaNumber;
+import org.opensearch.securityanalytics.rules.types.SigmaRegularExpression;
+import org.opensearch.securityanalytics.rules.types.SigmaString;
+import org.opensearch.securityanalytics.rules.types.SigmaType;
+import org.opensearch.securityanalytics.rules.utils.AnyOneOf;
+import org.opensearch.securityanalytics.rules.utils.Either;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Query backend which converts a Sigma rule into a structured {@link QueryBuilder} tree instead of a
+ * query_string text. AND/OR/NOT become bool filter/should/must_not clauses, single-field ORs of numbers
+ * become terms queries, wildcards, regular expressions and comparisons become wildcard, regexp
+ * and range queries respectively.
+ *
+ * Plain strings become match_phrase queries, which match them like the quoted values of the query_string
+ * form: as a phrase on analyzed fields and as a term on the others. Fields the log index is known to map as
+ * keywords (see {@link #setFieldTypes}) get term queries ignoring case instead, as Sigma strings do, and
+ * wildcards ignore case on all fields.
+ *
+ * The produced queries run against the source log indices, so field names keep their original
+ * dotted paths. Aggregations are converted the same way as in {@link OSQueryBackend}.
+ *
+ * When the target index has accelerated subfields (see {@link MapperUtils#getAcceleratedFields}), contains
+ * and endswith wildcards on those fields are rewritten to an n-gram phrase query and a prefix query on the
+ * reversed value, which avoids scanning the whole term dictionary.
+ */
+public class OSQueryBuilderBackend extends OSQueryBackend {
+
+    private static final String QUERY_STRING_RESERVED = "+-=&|><!(){}[]^\"~:\\/ ";
+
+    private final Map<String, String> acceleratedFields;
+
+    public OSQueryBuilderBackend(String ruleCategory, boolean collectErrors, boolean enableFieldMappings) throws IOException {
+        this(ruleCategory, collectErrors, enableFieldMappings, false);
+    }
+
+    public OSQueryBuilderBackend(String ruleCategory, boolean collectErrors, boolean enableFieldMappings, boolean optimizeConditions) throws IOException {
+        this(ruleCategory, collectErrors, enableFieldMappings, optimizeConditions, Collections.emptyMap());
+    }
+
+    /**
+     * @param acceleratedFields queried field name to the field path which carries the accelerated subfields
+     */
+    public OSQueryBuilderBackend(String ruleCategory, boolean collectErrors, boolean enableFieldMappings, boolean optimizeConditions,
+                                 Map<String, String> acceleratedFields) throws IOException {
+        super(ruleCategory, collectErrors, enableFieldMappings, optimizeConditions);
+        this.acceleratedFields = acceleratedFields;
+    }
+
+    @Override
+    public boolean decideConvertConditionAsInExpression(Either<ConditionAND, ConditionOR> condition) {
+        // only an OR of numbers on one field is equivalent to a terms query, which matches strings with their case
+        if (condition.isLeft()) {
+            return false;
+        }
+
+        String field = null;
+        for (Either<AnyOneOf<ConditionItem, ConditionFieldEqualsValueExpression, ConditionValueExpression>, String> arg: condition.get().getArgs()) {
+            if (!arg.isLeft() || !arg.getLeft().isMiddle()) {
+                return false;
+            }
+
+            ConditionFieldEqualsValueExpression expression = arg.getLeft().getMiddle();
+            if (field != null && !field.equals(expression.getField())) {
+                return false;
+            }
+            field = expression.getField();
+
+            if (!(expression.getValue() instanceof SigmaNumber)) {
+                return false;
+            }
+        }
+        return field != null;
+    }
+
+    @Override
+    public Object convertConditionAsInExpression(Either<ConditionAND, ConditionOR> condition) {
+        if (condition.isLeft()) {
+            return this.convertConditionAnd(condition.getLeft());
+        }
+
+        String field = null;
+        List<Object> values = new ArrayList<>();
+        for (Either<AnyOneOf<ConditionItem, ConditionFieldEqualsValueExpression, ConditionValueExpression>, String> arg: condition.get().getArgs()) {
+            ConditionFieldEqualsValueExpression expression = arg.getLeft().getMiddle();
+            field = this.getMappedField(expression.getField());
+            values.add(numberValue((SigmaNumber) expression.getValue()));
+            this.addQueryField(field, expression.getValue());
+        }
+        return QueryBuilders.termsQuery(field, values);
+    }
+
+    @Override
+    public Object convertConditionAnd(ConditionAND condition) {
+        try {
+            BoolQueryBuilder queryBuilder = QueryBuilders.boolQuery();
+            for (QueryBuilder converted: this.convertArgs(condition)) {
+                queryBuilder.filter(converted);
+            }
+            return queryBuilder;
+        } catch (Exception ex) {
+            throw new NotImplementedException("Operator 'and' not supported by the backend", ex);
+        }
+    }
+
+    @Override
+    public Object convertConditionOr(ConditionOR condition) {
+        try {
+            BoolQueryBuilder queryBuilder = QueryBuilders.boolQuery();
+            for (QueryBuilder converted: this.convertArgs(condition)) {
+                queryBuilder.should(converted);
+            }
+            return queryBuilder.minimumShouldMatch(1);
+        } catch (Exception ex) {
+            throw new NotImplementedException("Operator 'or' not supported by the backend", ex);
+        }
+    }
+
+    @Override
+    public Object convertConditionNot(ConditionNOT condition) {
+        try {
+            List<QueryBuilder> converted = this.convertArgs(condition);
+            if (converted.isEmpty()) {
+                return null;
+            }
+            return QueryBuilders.boolQuery().mustNot(converted.get(0));
+        } catch (Exception ex) {
+            throw new NotImplementedException("Operator 'not' not supported by the backend", ex);
+        }
+    }
+
+    @Override
+    public Object convertConditionFieldEqValStr(ConditionFieldEqualsValueExpression condition) throws SigmaValueError {
+        SigmaString value = (SigmaString) condition.getValue();
+        String field = this.getMappedField(condition.getField());
+        this.addQueryField(field, value);
+
+        if (value.containsWildcard()) {
+            QueryBuilder accelerated = this.acceleratedWildcard(field, value);
+            return accelerated != null? accelerated: QueryBuilders.wildcardQuery(field, wildcardValue(value)).caseInsensitive(true);
+        }
+        if (this.isKeywordField(field)) {
+            return QueryBuilders.termQuery(field, plainValue(value)).caseInsensitive(true);
+        }
+        return QueryBuilders.matchPhraseQuery(field, plainValue(value));
+    }
+
+    @Override
+    public Object convertConditionFieldEqValNum(ConditionFieldEqualsValueExpression condition) {
+        SigmaNumber value = (SigmaNumber) condition.getValue();
+        String field = this.getMappedField(condition.getField());
+        this.addQueryField(field, value);
+
+        return QueryBuilders.termQuery(field, numberValue(value));
+    }
+
+    @Override
+    public Object convertConditionFieldEqValBool(ConditionFieldEqualsValueExpression condition) {
+        String field = this.getMappedField(condition.getField());
+        this.addQueryField(field, condition.getValue());
+
+        return QueryBuilders.termQuery(field, ((SigmaBool) condition.getValue()).isaBoolean());
+    }
+
+    @Override
+    public Object convertConditionFieldEqValNull(ConditionFieldEqualsValueExpression condition) {
+        String field = this.getMappedField(condition.getField());
+        this.addQueryField(field, condition.getValue());
+
+        return QueryBuilders.boolQuery().mustNot(QueryBuilders.existsQuery(field));
+    }
+
+    @Override
+    public Object convertConditionFieldEqValRe(ConditionFieldEqualsValueExpression condition) {
+        String field = this.getMappedField(condition.getField());
+        this.addQueryField(field, condition.getValue());
+
+        return QueryBuilders.regexpQuery(field, ((SigmaRegularExpression) condition.getValue()).getRegexp());
+    }
+
+    @Override
+    public Object convertConditionFieldEqValCidr(ConditionFieldEqualsValueExpression condition) {
+        String field = this.getMappedField(condition.getField());
+        this.addQueryField(field, condition.getValue());
+
+        // a term query on an ip field accepts CIDR notation and runs as a range over the indexed points
+        SigmaCIDRExpression cidr = (SigmaCIDRExpression) condition.getValue();
+        List<String> patterns = this.isNonIpField(field)? cidr.expandToWildcards(): null;
+        if (patterns == null) {
+            return QueryBuilders.termQuery(field, cidr.convert());
+        }
+
+        BoolQueryBuilder queryBuilder = QueryBuilders.boolQuery();
+        for (String pattern: patterns) {
+            if (pattern.equals("*")) {
+                queryBuilder.should(QueryBuilders.existsQuery(field));
+            } else if (pattern.endsWith("*")) {
+                queryBuilder.should(QueryBuilders.prefixQuery(field, pattern.substring(0, pattern.length() - 1)));
+            } else {
+                queryBuilder.should(QueryBuilders.termQuery(field, pattern));
+            }
+        }
+        return queryBuilder.should().size() == 1? queryBuilder.should().get(0): queryBuilder;
+    }
+
+    @Override
+    public Object convertConditionFieldEqValOpVal(ConditionFieldEqualsValueExpression condition) {
+        SigmaCompareExpression value = (SigmaCompareExpression) condition.getValue();
+        String field = this.getMappedField(condition.getField());
+        this.addQueryField(field, value.getNumber());
+
+        RangeQueryBuilder queryBuilder = QueryBuilders.rangeQuery(field);
+        Object number = numberValue(value.getNumber());
+        switch (value.getOp()) {
+            case SigmaCompareExpression.CompareOperators.LT:
+                return queryBuilder.lt(number);
+            case SigmaCompareExpression.CompareOperators.LTE:
+                return queryBuilder.lte(number);
+            case SigmaCompareExpression.CompareOperators.GT:
+                return queryBuilder.gt(number);
+            case SigmaCompareExpression.CompareOperators.GTE:
+                return queryBuilder.gte(number);
+            default:
+                throw new IllegalArgumentException("Unexpected compare operator in condition parse tree: " + value.getOp());
+        }
+    }
+
+    @Override
+    public Object convertConditionValStr(ConditionValueExpression condition) throws SigmaValueError {
+        SigmaString value = (SigmaString) condition.getValue();
+        if (value.containsWildcard()) {
+            return QueryBuilders.queryStringQuery(queryStringValue(value)).analyzeWildcard(true).lenient(true);
+        }
+        return QueryBuilders.multiMatchQuery(plainValue(value)).type(MultiMatchQueryBuilder.Type.PHRASE).lenient(true);
+    }
+
+    @Override
+    public Object convertConditionValNum(ConditionValueExpression condition) {
+        return QueryBuilders.multiMatchQuery(numberValue((SigmaNumber) condition.getValue())).lenient(true);
+    }
+
+    @Override
+    public Object convertConditionValRe(ConditionValueExpression condition) {
+        String regexp = ((SigmaRegularExpression) condition.getValue()).getRegexp();
+        return QueryBuilders.queryStringQuery("/" + regexp.replace("/", "\\/") + "/").lenient(true);
+    }
+
+    /**
+     * Rewrites *value* and *value to queries on the accelerated subfields, or returns null if the field
+     * isn't accelerated or the value has any other shape.
+     */
+    private QueryBuilder acceleratedWildcard(String field, SigmaString value) {
+        String path = this.acceleratedFields.get(field);
+        List<AnyOneOf<String, Character, Placeholder>> parts = value.getsOpt();
+        if (path == null || parts.size() < 2 || !isMultiWildcard(parts.get(0)) || !parts.get(1).isLeft()) {
+            return null;
+        }
+
+        String literal = parts.get(1).getLeft();
+        if (parts.size() == 3 && isMultiWildcard(parts.get(2)) && literal.length() >= MapperUtils.NGRAM_SIZE) {
+            return QueryBuilders.matchPhraseQuery(path + "." + MapperUtils.NGRAM_SUBFIELD, literal);
+        } else if (parts.size() == 2) {
+            return QueryBuilders.prefixQuery(path + "." + MapperUtils.REVERSE_SUBFIELD, new StringBuilder(literal).reverse().toString());
+        }
+        return null;
+    }
+
+    private static boolean isMultiWildcard(AnyOneOf<String, Character, Placeholder> part) {
+        return part.isMiddle() && part.getMiddle() == SigmaString.SpecialChars.WILDCARD_MULTI;
+    }
+
+    private List<QueryBuilder> convertArgs(ConditionItem condition) throws SigmaValueError {
+        List<QueryBuilder> converted = new ArrayList<>();
+        for (Either<AnyOneOf<ConditionItem, ConditionFieldEqualsValueExpression, ConditionValueExpression>, String> arg: condition.getArgs()) {
+            if (!arg.isLeft()) {
+                continue;
+            }
+
+            ConditionType argType;
+            if (arg.getLeft().isLeft()) {
+                ConditionItem item = arg.getLeft().getLeft();
+                argType = item.getClass().equals(ConditionAND.class)? new ConditionType(Either.left(AnyOneOf.leftVal((ConditionAND) item))):
+                        (item.getClass().equals(ConditionOR.class)? new ConditionType(Either.left(AnyOneOf.middleVal((ConditionOR) item))):
+                                new ConditionType(Either.left(AnyOneOf.rightVal((ConditionNOT) item))));
+            } else if (arg.getLeft().isMiddle()) {
+                argType = new ConditionType(Either.right(Either.left(arg.getLeft().getMiddle())));
+            } else {
+                argType = new ConditionType(Either.right(Either.right(arg.getLeft().get())));
+            }
+
+            Object query = this.convertCondition(argType);
+            if (query != null) {
+                converted.add((QueryBuilder) query);
+            }
+        }
+        return converted;
+    }
+
+    private void addQueryField(String field, SigmaType value) {
+        if (value instanceof SigmaNumber) {
+            ruleQueryFields.put(field, ((SigmaNumber) value).getNumOpt().isLeft()? Collections.singletonMap("type", "integer"): Collections.singletonMap("type", "float"));
+        } else if (value instanceof SigmaBool) {
+            ruleQueryFields.put(field, Collections.singletonMap("type", "boolean"));
+        } else {
+            ruleQueryFields.put(field, Map.of("type", "text", "analyzer", "rule_analyzer"));
+        }
+    }
+
+    private static Object numberValue(SigmaNumber number) {
+        return number.getNumOpt().isLeft()? number.getNumOpt().getLeft(): number.getNumOpt().get();
+    }
+
+    private static String plainValue(SigmaString s) throws SigmaValueError {
+        StringBuilder sb = new StringBuilder();
+        for (AnyOneOf<String, Character, Placeholder> sOptElem: s.getsOpt()) {
+            if (sOptElem.isLeft()) {
+                sb.append(sOptElem.getLeft());
+            } else if (sOptElem.isMiddle()) {
+                sb.append(sOptElem.getMiddle());
+            } else {
+                throw new SigmaValueError("Placeholder " + sOptElem.get().getName() + " was not replaced before conversion");
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String wildcardValue(SigmaString s) throws SigmaValueError {
+        return escapeValue(s, "*?\\");
+    }
+
+    private static String queryStringValue(SigmaString s) throws SigmaValueError {
+        return escapeValue(s, "*?" + QUERY_STRING_RESERVED);
+    }
+
+    private static String escapeValue(SigmaString s, String escaped) throws SigmaValueError {
+        StringBuilder sb = new StringBuilder();
+        for (AnyOneOf<String, Character, Placeholder> sOptElem: s.getsOpt()) {
+            if (sOptElem.isLeft()) {
+                for (char c: sOptElem.getLeft().toCharArray()) {
+                    if (escaped.indexOf(c) >= 0) {
+                        sb.append(SigmaString.SpecialChars.ESCAPE_CHAR);
+                    }
+                    sb.append(c);
+                }
+            } else if (sOptElem.isMiddle()) {
+                sb.append(sOptElem.getMiddle());
+            } else {
+                throw new SigmaValueError("Placeholder " + sOptElem.get().getName() + " was not replaced before conversion");
+            }
+        }
+        return sb.toString();
+    }
+}
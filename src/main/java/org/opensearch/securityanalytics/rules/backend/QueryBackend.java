@@ -4,6 +4,8 @@
  */
 package org.opensearch.securityanalytics.rules.backend;
 
+import org.opensearch.OpenSearchParseException;
+import org.opensearch.common.unit.TimeValue;
 import org.opensearch.commons.alerting.aggregation.bucketselectorext.BucketSelectorExtAggregationBuilder;
 import org.opensearch.search.aggregations.AggregationBuilder;
 import org.opensearch.securityanalytics.rules.aggregation.AggregationItem;
@@ -13,8 +15,10 @@ import org.opensearch.securityanalytics.rules.condition.ConditionFieldEqualsValu
 import org.opensearch.securityanalytics.rules.condition.ConditionItem;
 import org.opensearch.securityanalytics.rules.condition.ConditionNOT;
 import org.opensearch.securityanalytics.rules.condition.ConditionOR;
+import org.opensearch.securityanalytics.rules.condition.ConditionOptimizer;
 import org.opensearch.securityanalytics.rules.condition.ConditionType;
 import org.opensearch.securityanalytics.rules.condition.ConditionValueExpression;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaConditionError;
 import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
 import org.opensearch.securityanalytics.rules.exceptions.SigmaValueError;
 import org.opensearch.securityanalytics.rules.objects.SigmaCondition;
@@ -39,6 +43,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.HashMap;
@@ -51,18 +56,26 @@ public abstract class QueryBackend {
     private boolean convertOrAsIn;
     private boolean convertAndAsIn;
     private boolean collectErrors;
+    protected boolean optimizeConditions;
+    private boolean rewriteSimpleRegex;
     protected boolean enableFieldMappings;
     private List<Pair<SigmaRule, SigmaError>> errors;
     protected Map<String, String> fieldMappings;
+    private Map<String, String> fieldTypes = Collections.emptyMap();
 
     private Map<String, Object> queryFields;
     protected Map<String, Object> ruleQueryFields;
 
-    @SuppressWarnings("unchecked")
     public QueryBackend(String ruleCategory, boolean convertAndAsIn, boolean enableFieldMappings, boolean convertOrAsIn, boolean collectErrors) throws IOException {
+        this(ruleCategory, convertAndAsIn, enableFieldMappings, convertOrAsIn, collectErrors, false);
+    }
+
+    @SuppressWarnings("unchecked")
+    public QueryBackend(String ruleCategory, boolean convertAndAsIn, boolean enableFieldMappings, boolean convertOrAsIn, boolean collectErrors, boolean optimizeConditions) throws IOException {
         this.convertAndAsIn = convertAndAsIn;
         this.convertOrAsIn = convertOrAsIn;
         this.collectErrors = collectErrors;
+        this.optimizeConditions = optimizeConditions;
         this.enableFieldMappings = enableFieldMappings;
         this.errors = new ArrayList<>();
         this.queryFields = new HashMap<>();
@@ -91,20 +104,14 @@ public abstract class QueryBackend {
                 ConditionItem conditionItem = parsedItems.getLeft();
                 AggregationItem aggItem = parsedItems.getRight();
 
-                Object query;
-                if (conditionItem instanceof ConditionAND) {
-                    query = this.convertCondition(new ConditionType(Either.left(AnyOneOf.leftVal((ConditionAND) conditionItem))));
-                } else if (conditionItem instanceof ConditionOR) {
-                    query = this.convertCondition(new ConditionType(Either.left(AnyOneOf.middleVal((ConditionOR) conditionItem))));
-                } else if (conditionItem instanceof ConditionNOT) {
-                    query = this.convertCondition(new ConditionType(Either.left(AnyOneOf.rightVal((ConditionNOT) conditionItem))));
-                } else if (conditionItem instanceof ConditionFieldEqualsValueExpression) {
-                    query = this.convertCondition(new ConditionType(Either.right(Either.left((ConditionFieldEqualsValueExpression) conditionItem))));
-                } else {
-                    query = this.convertCondition(new ConditionType(Either.right(Either.right((ConditionValueExpression) conditionItem))));
-                }
-                queries.add(query);
-                if (aggItem != null) {
+                queries.add(this.convertConditionItem(conditionItem));
+                if (aggItem != null && aggItem.isSequence()) {
+                    // temporal conditions are evaluated over the matches of a query per step, in the order of the condition
+                    validateSequence(rule, aggItem);
+                    for (String selection: aggItem.getSequenceSelections()) {
+                        queries.add(this.convertConditionItem(new SigmaCondition(selection, rule.getDetection()).parsed().getLeft()));
+                    }
+                } else if (aggItem != null) {
                     queries.add(convertAggregation(aggItem));
                 }
             }
@@ -120,6 +127,38 @@ public abstract class QueryBackend {
         return queries;
     }
 
+    private void validateSequence(SigmaRule rule, AggregationItem aggItem) throws SigmaConditionError {
+        if (rule.getDetection().getParsedCondition().size() > 1) {
+            throw new SigmaConditionError("Temporal condition " + aggItem.getAggFunction() + " cannot be combined with other conditions");
+        }
+        if (rule.getDetection().getTimeframe() == null) {
+            throw new SigmaConditionError("Temporal condition " + aggItem.getAggFunction() + " requires a timeframe");
+        }
+        try {
+            TimeValue.parseTimeValue(rule.getDetection().getTimeframe(), "timeframe");
+        } catch (OpenSearchParseException | IllegalArgumentException ex) {
+            throw new SigmaConditionError("Invalid timeframe " + rule.getDetection().getTimeframe());
+        }
+    }
+
+    private Object convertConditionItem(ConditionItem conditionItem) throws SigmaValueError {
+        if (this.optimizeConditions) {
+            conditionItem = new ConditionOptimizer().optimize(conditionItem);
+        }
+
+        if (conditionItem instanceof ConditionAND) {
+            return this.convertCondition(new ConditionType(Either.left(AnyOneOf.leftVal((ConditionAND) conditionItem))));
+        } else if (conditionItem instanceof ConditionOR) {
+            return this.convertCondition(new ConditionType(Either.left(AnyOneOf.middleVal((ConditionOR) conditionItem))));
+        } else if (conditionItem instanceof ConditionNOT) {
+            return this.convertCondition(new ConditionType(Either.left(AnyOneOf.rightVal((ConditionNOT) conditionItem))));
+        } else if (conditionItem instanceof ConditionFieldEqualsValueExpression) {
+            return this.convertCondition(new ConditionType(Either.right(Either.left((ConditionFieldEqualsValueExpression) conditionItem))));
+        } else {
+            return this.convertCondition(new ConditionType(Either.right(Either.right((ConditionValueExpression) conditionItem))));
+        }
+    }
+
     public Object convertCondition(ConditionType conditionType) throws SigmaValueError {
         if (conditionType.isConditionOR()) {
             if (this.decideConvertConditionAsInExpression(Either.right(conditionType.getConditionOR()))) {
@@ -152,7 +191,7 @@ public abstract class QueryBackend {
         ConditionItem cond = condition.isLeft()? condition.getLeft(): condition.get();
 
         for (Either<AnyOneOf<ConditionItem, ConditionFieldEqualsValueExpression, ConditionValueExpression>, String> arg: cond.getArgs()) {
-            if (arg.isLeft() || !arg.getLeft().isMiddle()) {
+            if (!arg.isLeft() || !arg.getLeft().isMiddle()) {
                 return false;
             }
         }
@@ -181,6 +220,43 @@ public abstract class QueryBackend {
         return queryFields;
     }
 
+    /**
+     * @return rules which could not be converted with their error, if errors are collected instead of thrown
+     */
+    public List<Pair<SigmaRule, SigmaError>> getErrors() {
+        return errors;
+    }
+
+    /**
+     * Converts regular expressions which are a literal or a literal prefix as plain or wildcard values instead.
+     */
+    public void setRewriteSimpleRegex(boolean rewriteSimpleRegex) {
+        this.rewriteSimpleRegex = rewriteSimpleRegex;
+    }
+
+    /**
+     * @param fieldTypes field path to the mapping type of the field in the log index, used to pick queries which fit
+     *                   the field. Fields which are not present are assumed to have the type the rule value implies.
+     */
+    public void setFieldTypes(Map<String, String> fieldTypes) {
+        this.fieldTypes = fieldTypes;
+    }
+
+    /**
+     * @return true if the log index maps the field with a type other than ip, e.g. as a keyword
+     */
+    protected boolean isNonIpField(String field) {
+        String type = this.fieldTypes.get(field);
+        return type != null && !"ip".equals(type);
+    }
+
+    /**
+     * @return true if the log index maps the field as a keyword
+     */
+    protected boolean isKeywordField(String field) {
+        return "keyword".equals(this.fieldTypes.get(field));
+    }
+
     public void resetQueryFields() {
         queryFields.clear();
         if (ruleQueryFields != null) {
@@ -204,6 +280,10 @@ public abstract class QueryBackend {
         } else if (condition.getValue() instanceof SigmaBool) {
             return this.convertConditionFieldEqValBool(condition);
         } else if (condition.getValue() instanceof SigmaRegularExpression) {
+            SigmaString value = this.rewriteSimpleRegex? ((SigmaRegularExpression) condition.getValue()).toPrefixOrTerm(): null;
+            if (value != null) {
+                return this.convertConditionFieldEqValStr(new ConditionFieldEqualsValueExpression(condition.getField(), value));
+            }
             return this.convertConditionFieldEqValRe(condition);
         } else if (condition.getValue() instanceof SigmaCIDRExpression) {
             return this.convertConditionFieldEqValCidr(condition);
@@ -255,6 +335,10 @@ public abstract class QueryBackend {
         } else if (condition.getValue() instanceof SigmaBool) {
             throw new SigmaValueError("Boolean values can't appear as standalone value without a field name.");
         } else if (condition.getValue() instanceof SigmaRegularExpression) {
+            SigmaString value = this.rewriteSimpleRegex? ((SigmaRegularExpression) condition.getValue()).toPrefixOrTerm(): null;
+            if (value != null) {
+                return this.convertConditionValStr(new ConditionValueExpression(value));
+            }
             return this.convertConditionValRe(condition);
         }/* else if (condition.getValue() instanceof SigmaCIDRExpression) {
             throw new SigmaValueError("CIDR values can't appear as standalone value without a field name.");
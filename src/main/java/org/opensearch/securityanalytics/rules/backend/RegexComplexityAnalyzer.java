@@ -0,0 +1,95 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.rules.backend;
+
+import org.apache.lucene.util.automaton.Automaton;
+import org.apache.lucene.util.automaton.RegExp;
+import org.apache.lucene.util.automaton.TooComplexToDeterminizeException;
+import org.opensearch.securityanalytics.rules.condition.ConditionFieldEqualsValueExpression;
+import org.opensearch.securityanalytics.rules.condition.ConditionItem;
+import org.opensearch.securityanalytics.rules.condition.ConditionValueExpression;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaRegularExpressionError;
+import org.opensearch.securityanalytics.rules.objects.SigmaCondition;
+import org.opensearch.securityanalytics.rules.objects.SigmaRule;
+import org.opensearch.securityanalytics.rules.types.SigmaExpansion;
+import org.opensearch.securityanalytics.rules.types.SigmaRegularExpression;
+import org.opensearch.securityanalytics.rules.types.SigmaType;
+import org.opensearch.securityanalytics.rules.utils.AnyOneOf;
+import org.opensearch.securityanalytics.rules.utils.Either;
+
+/**
+ * Compiles the regular expressions of a rule the way the shards will, with Lucene's {@link RegExp}, and bounds the
+ * effort spent determinizing them. Rules are checked once when they are indexed, so a pathological expression is
+ * caught before every shard has to determinize it on every monitor run.
+ */
+public class RegexComplexityAnalyzer {
+
+    /**
+     * Recorded as the state count of rules whose regular expressions could not be compiled within the budget.
+     */
+    public static final long TOO_COMPLEX = -1L;
+
+    private final int determinizeWorkLimit;
+
+    public RegexComplexityAnalyzer(int determinizeWorkLimit) {
+        this.determinizeWorkLimit = determinizeWorkLimit;
+    }
+
+    /**
+     * @return the largest number of automaton states over the regular expressions of the rule, 0 if it has none
+     * @throws SigmaRegularExpressionError if an expression is not valid Lucene syntax or exceeds the determinization budget
+     */
+    public long analyze(SigmaRule rule) throws SigmaError {
+        long states = 0L;
+        for (SigmaCondition condition: rule.getDetection().getParsedCondition()) {
+            states = Math.max(states, this.analyze(condition.parsed().getLeft()));
+        }
+        return states;
+    }
+
+    private long analyze(ConditionItem item) throws SigmaRegularExpressionError {
+        if (item instanceof ConditionFieldEqualsValueExpression) {
+            return this.analyze(((ConditionFieldEqualsValueExpression) item).getValue());
+        } else if (item instanceof ConditionValueExpression) {
+            return this.analyze(((ConditionValueExpression) item).getValue());
+        }
+
+        long states = 0L;
+        for (Either<AnyOneOf<ConditionItem, ConditionFieldEqualsValueExpression, ConditionValueExpression>, String> arg: item.getArgs()) {
+            if (!arg.isLeft()) {
+                continue;
+            }
+            AnyOneOf<ConditionItem, ConditionFieldEqualsValueExpression, ConditionValueExpression> child = arg.getLeft();
+            states = Math.max(states, this.analyze(child.isLeft()? child.getLeft(): (child.isMiddle()? child.getMiddle(): child.get())));
+        }
+        return states;
+    }
+
+    private long analyze(SigmaType value) throws SigmaRegularExpressionError {
+        if (value instanceof SigmaRegularExpression) {
+            return this.states(((SigmaRegularExpression) value).getRegexp());
+        } else if (value instanceof SigmaExpansion) {
+            long states = 0L;
+            for (SigmaType expanded: ((SigmaExpansion) value).getValues()) {
+                states = Math.max(states, this.analyze(expanded));
+            }
+            return states;
+        }
+        return 0L;
+    }
+
+    long states(String regexp) throws SigmaRegularExpressionError {
+        try {
+            Automaton automaton = new RegExp(regexp).toAutomaton(this.determinizeWorkLimit);
+            return automaton.getNumStates();
+        } catch (TooComplexToDeterminizeException ex) {
+            throw new SigmaRegularExpressionError("Regular expression '" + regexp + "' is too complex: determinizing it exceeds the work limit of "
+                    + this.determinizeWorkLimit);
+        } catch (IllegalArgumentException ex) {
+            throw new SigmaRegularExpressionError("Regular expression '" + regexp + "' is invalid: " + ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.rules.backend;
+
+import org.opensearch.securityanalytics.rules.condition.ConditionFieldEqualsValueExpression;
+import org.opensearch.securityanalytics.rules.condition.ConditionItem;
+import org.opensearch.securityanalytics.rules.condition.ConditionOR;
+import org.opensearch.securityanalytics.rules.condition.ConditionValueExpression;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
+import org.opensearch.securityanalytics.rules.objects.SigmaCondition;
+import org.opensearch.securityanalytics.rules.objects.SigmaRule;
+import org.opensearch.securityanalytics.rules.types.Placeholder;
+import org.opensearch.securityanalytics.rules.types.SigmaCIDRExpression;
+import org.opensearch.securityanalytics.rules.types.SigmaCompareExpression;
+import org.opensearch.securityanalytics.rules.types.SigmaExpansion;
+import org.opensearch.securityanalytics.rules.types.SigmaRegularExpression;
+import org.opensearch.securityanalytics.rules.types.SigmaString;
+import org.opensearch.securityanalytics.rules.types.SigmaType;
+import org.opensearch.securityanalytics.rules.utils.AnyOneOf;
+import org.opensearch.securityanalytics.rules.utils.Either;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Static cost model for converted rules. The score is unit-less and only meant to rank rules against each other:
+ * exact term lookups are cheap, while leading wildcards, regular expressions, wide ORs, expanded values
+ * (e.g. base64offset) and unbound keyword searches are expensive because they enumerate terms or fields.
+ */
+public class RuleCostEstimator {
+
+    static final long TERM_COST = 1L;
+    static final long WILDCARD_COST = 3L;
+    static final long LEADING_WILDCARD_COST = 20L;
+    static final long REGEX_COST = 25L;
+    static final long RANGE_COST = 2L;
+    static final long UNBOUND_VALUE_COST = 30L;
+    static final long FIELD_COST = 1L;
+
+    public long estimate(SigmaRule rule) throws SigmaError {
+        long cost = 0L;
+        for (SigmaCondition condition: rule.getDetection().getParsedCondition()) {
+            Set<String> fields = new HashSet<>();
+            cost += this.estimate(condition.parsed().getLeft(), fields);
+            cost += fields.size() * FIELD_COST;
+        }
+        return cost;
+    }
+
+    private long estimate(ConditionItem item, Set<String> fields) {
+        if (item instanceof ConditionFieldEqualsValueExpression) {
+            ConditionFieldEqualsValueExpression expression = (ConditionFieldEqualsValueExpression) item;
+            fields.add(expression.getField());
+            return valueCost(expression.getValue());
+        } else if (item instanceof ConditionValueExpression) {
+            return UNBOUND_VALUE_COST + valueCost(((ConditionValueExpression) item).getValue());
+        }
+
+        long cost = 0L;
+        int fanOut = 0;
+        for (Either<AnyOneOf<ConditionItem, ConditionFieldEqualsValueExpression, ConditionValueExpression>, String> arg: item.getArgs()) {
+            if (!arg.isLeft()) {
+                continue;
+            }
+            AnyOneOf<ConditionItem, ConditionFieldEqualsValueExpression, ConditionValueExpression> child = arg.getLeft();
+            cost += this.estimate(child.isLeft()? child.getLeft(): (child.isMiddle()? child.getMiddle(): child.get()), fields);
+            ++fanOut;
+        }
+        // every OR branch is a separate clause that has to be evaluated
+        return item instanceof ConditionOR? cost + fanOut: cost;
+    }
+
+    static long valueCost(SigmaType value) {
+        if (value instanceof SigmaString) {
+            return stringCost((SigmaString) value);
+        } else if (value instanceof SigmaRegularExpression) {
+            return regexCost(((SigmaRegularExpression) value).getRegexp());
+        } else if (value instanceof SigmaExpansion) {
+            List<SigmaType> values = ((SigmaExpansion) value).getValues();
+            long cost = values.size();
+            for (SigmaType expanded: values) {
+                cost += valueCost(expanded);
+            }
+            return cost;
+        } else if (value instanceof SigmaCIDRExpression || value instanceof SigmaCompareExpression) {
+            return RANGE_COST;
+        }
+        return TERM_COST;
+    }
+
+    static long stringCost(SigmaString value) {
+        List<AnyOneOf<String, Character, Placeholder>> parts = value.getsOpt();
+        long cost = TERM_COST;
+        for (int i = 0; i < parts.size(); ++i) {
+            if (parts.get(i).isMiddle()) {
+                cost += i == 0? LEADING_WILDCARD_COST: WILDCARD_COST;
+            }
+        }
+        return cost;
+    }
+
+    static long regexCost(String regexp) {
+        long cost = REGEX_COST;
+        if (!regexp.startsWith("^") && !regexp.isEmpty() && !Character.isLetterOrDigit(regexp.charAt(0))) {
+            // no literal prefix to seek to in the term dictionary
+            cost += LEADING_WILDCARD_COST;
+        }
+        boolean escaped = false;
+        for (char c: regexp.toCharArray()) {
+            if (escaped) {
+                escaped = false;
+                continue;
+            }
+            switch (c) {
+                case '\\':
+                    escaped = true;
+                    break;
+                case '*':
+                case '+':
+                case '?':
+                case '{':
+                case '|':
+                case '[':
+                    cost += WILDCARD_COST;
+                    break;
+                default:
+                    break;
+            }
+        }
+        return cost;
+    }
+}
@@ -0,0 +1,326 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.rules.condition;
+
+import org.opensearch.securityanalytics.rules.types.Placeholder;
+import org.opensearch.securityanalytics.rules.types.SigmaBool;
+import org.opensearch.securityanalytics.rules.types.SigmaCIDRExpression;
+import org.opensearch.securityanalytics.rules.types.SigmaCompareExpression;
+import org.opensearch.securityanalytics.rules.types.SigmaExpansion;
+import org.opensearch.securityanalytics.rules.types.SigmaNull;
+import org.opensearch.securityanalytics.rules.types.SigmaNumber;
+import org.opensearch.securityanalytics.rules.types.SigmaRegularExpression;
+import org.opensearch.securityanalytics.rules.types.SigmaString;
+import org.opensearch.securityanalytics.rules.types.SigmaType;
+import org.opensearch.securityanalytics.rules.utils.AnyOneOf;
+import org.opensearch.securityanalytics.rules.utils.Either;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Rewrites a parsed condition tree into an equivalent but smaller one before it is handed to a query backend.
+ *
+ * The following rewrites are applied bottom-up:
+ * 1. double negations are removed and NOTs are pushed through AND/OR using De Morgan's laws
+ * 2. nested ANDs inside ANDs and ORs inside ORs are flattened
+ * 3. structurally identical siblings are removed
+ * 4. same-field string/number equals under an OR (or negated equals under an AND) are grouped, so
+ *    the backend can convert them as a single IN expression
+ * 5. siblings are ordered by estimated evaluation cost, cheapest first
+ */
+public class ConditionOptimizer {
+
+    public ConditionItem optimize(ConditionItem item) {
+        if (item instanceof ConditionNOT) {
+            return optimizeNot((ConditionNOT) item);
+        } else if (item instanceof ConditionAND || item instanceof ConditionOR) {
+            return optimizeGroup(item);
+        }
+        return item;
+    }
+
+    private ConditionItem optimizeNot(ConditionNOT condition) {
+        List<ConditionItem> children = children(condition);
+        if (children == null || children.size() != 1) {
+            return condition;
+        }
+
+        ConditionItem child = optimize(children.get(0));
+        if (child instanceof ConditionNOT) {
+            List<ConditionItem> grandChildren = children(child);
+            return grandChildren != null && grandChildren.size() == 1? grandChildren.get(0): child;
+        } else if ((child instanceof ConditionAND || child instanceof ConditionOR) && children(child) != null) {
+            List<ConditionItem> negated = new ArrayList<>();
+            for (ConditionItem grandChild: children(child)) {
+                negated.add(negate(grandChild));
+            }
+            return optimize(child instanceof ConditionAND? or(negated): and(negated));
+        }
+        return negate(child);
+    }
+
+    private ConditionItem optimizeGroup(ConditionItem condition) {
+        List<ConditionItem> children = children(condition);
+        if (children == null) {
+            return condition;
+        }
+        boolean isAnd = condition instanceof ConditionAND;
+
+        List<ConditionItem> flattened = new ArrayList<>();
+        for (ConditionItem child: children) {
+            ConditionItem optimized = optimize(child);
+            if (optimized.getClass().equals(condition.getClass()) && children(optimized) != null) {
+                flattened.addAll(children(optimized));
+            } else {
+                flattened.add(optimized);
+            }
+        }
+
+        List<ConditionItem> unique = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (ConditionItem child: flattened) {
+            String key = key(child);
+            if (key == null || seen.add(key)) {
+                unique.add(child);
+            }
+        }
+
+        List<ConditionItem> folded = isAnd? foldNegatedEquals(unique): foldEquals(unique);
+        folded.sort(Comparator.comparingInt(ConditionOptimizer::cost));
+
+        if (folded.size() == 1) {
+            return folded.get(0);
+        }
+        return isAnd? and(folded): or(folded);
+    }
+
+    /**
+     * Groups same-field equals of an OR into a nested OR which is convertible as an IN expression.
+     */
+    private List<ConditionItem> foldEquals(List<ConditionItem> children) {
+        Map<String, List<ConditionFieldEqualsValueExpression>> byField = new LinkedHashMap<>();
+        for (ConditionItem child: children) {
+            if (isInValue(child)) {
+                ConditionFieldEqualsValueExpression expression = (ConditionFieldEqualsValueExpression) child;
+                byField.computeIfAbsent(expression.getField(), k -> new ArrayList<>()).add(expression);
+            }
+        }
+
+        if (byField.size() == 1 && byField.values().iterator().next().size() == children.size()) {
+            // the OR is already a single IN expression
+            return new ArrayList<>(children);
+        }
+
+        List<ConditionItem> result = new ArrayList<>();
+        Set<String> emitted = new HashSet<>();
+        for (ConditionItem child: children) {
+            if (isInValue(child)) {
+                String field = ((ConditionFieldEqualsValueExpression) child).getField();
+                List<ConditionFieldEqualsValueExpression> group = byField.get(field);
+                if (group.size() > 1) {
+                    if (emitted.add(field)) {
+                        result.add(or(new ArrayList<>(group)));
+                    }
+                    continue;
+                }
+            }
+            result.add(child);
+        }
+        return result;
+    }
+
+    /**
+     * Groups same-field negated equals of an AND into a single negated IN expression, i.e.
+     * (NOT f = a) AND (NOT f = b) becomes NOT (f = a OR f = b).
+     */
+    private List<ConditionItem> foldNegatedEquals(List<ConditionItem> children) {
+        Map<String, List<ConditionFieldEqualsValueExpression>> byField = new LinkedHashMap<>();
+        for (ConditionItem child: children) {
+            ConditionFieldEqualsValueExpression negated = negatedInValue(child);
+            if (negated != null) {
+                byField.computeIfAbsent(negated.getField(), k -> new ArrayList<>()).add(negated);
+            }
+        }
+
+        List<ConditionItem> result = new ArrayList<>();
+        Set<String> emitted = new HashSet<>();
+        for (ConditionItem child: children) {
+            ConditionFieldEqualsValueExpression negated = negatedInValue(child);
+            if (negated != null) {
+                List<ConditionFieldEqualsValueExpression> group = byField.get(negated.getField());
+                if (group.size() > 1) {
+                    if (emitted.add(negated.getField())) {
+                        result.add(negate(or(new ArrayList<>(group))));
+                    }
+                    continue;
+                }
+            }
+            result.add(child);
+        }
+        return result;
+    }
+
+    private static boolean isInValue(ConditionItem item) {
+        if (!(item instanceof ConditionFieldEqualsValueExpression)) {
+            return false;
+        }
+        SigmaType value = ((ConditionFieldEqualsValueExpression) item).getValue();
+        return value instanceof SigmaString || value instanceof SigmaNumber;
+    }
+
+    private static ConditionFieldEqualsValueExpression negatedInValue(ConditionItem item) {
+        if (item instanceof ConditionNOT) {
+            List<ConditionItem> children = children(item);
+            if (children != null && children.size() == 1 && isInValue(children.get(0))) {
+                return (ConditionFieldEqualsValueExpression) children.get(0);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Rough relative evaluation cost of a condition, used only to order siblings.
+     */
+    static int cost(ConditionItem item) {
+        if (item instanceof ConditionFieldEqualsValueExpression) {
+            return valueCost(((ConditionFieldEqualsValueExpression) item).getValue());
+        } else if (item instanceof ConditionValueExpression) {
+            // unbound values are matched against every field
+            return valueCost(((ConditionValueExpression) item).getValue()) + 4;
+        }
+
+        List<ConditionItem> children = children(item);
+        int sum = 1;
+        if (children != null) {
+            for (ConditionItem child: children) {
+                sum += cost(child);
+            }
+        }
+        return sum;
+    }
+
+    private static int valueCost(SigmaType value) {
+        if (value instanceof SigmaString) {
+            SigmaString s = (SigmaString) value;
+            if (!s.containsWildcard()) {
+                return 1;
+            }
+            List<AnyOneOf<String, Character, Placeholder>> parts = s.getsOpt();
+            return !parts.isEmpty() && parts.get(0).isMiddle()? 8: 3;
+        } else if (value instanceof SigmaRegularExpression) {
+            return 10;
+        } else if (value instanceof SigmaExpansion) {
+            int sum = 0;
+            for (SigmaType expanded: ((SigmaExpansion) value).getValues()) {
+                sum += valueCost(expanded);
+            }
+            return sum;
+        } else if (value instanceof SigmaCIDRExpression || value instanceof SigmaCompareExpression) {
+            return 2;
+        }
+        return 1;
+    }
+
+    /**
+     * Structural identity of a condition, or null if it contains values that cannot be compared safely.
+     */
+    private static String key(ConditionItem item) {
+        if (item instanceof ConditionFieldEqualsValueExpression) {
+            ConditionFieldEqualsValueExpression expression = (ConditionFieldEqualsValueExpression) item;
+            String valueKey = valueKey(expression.getValue());
+            return valueKey == null? null: "eq(" + expression.getField() + "," + valueKey + ")";
+        } else if (item instanceof ConditionValueExpression) {
+            String valueKey = valueKey(((ConditionValueExpression) item).getValue());
+            return valueKey == null? null: "val(" + valueKey + ")";
+        }
+
+        List<ConditionItem> children = children(item);
+        if (children == null) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder(item.getClass().getSimpleName()).append('(');
+        for (ConditionItem child: children) {
+            String childKey = key(child);
+            if (childKey == null) {
+                return null;
+            }
+            sb.append(childKey).append(',');
+        }
+        return sb.append(')').toString();
+    }
+
+    private static String valueKey(SigmaType value) {
+        if (value instanceof SigmaString) {
+            StringBuilder sb = new StringBuilder("s:");
+            for (AnyOneOf<String, Character, Placeholder> part: ((SigmaString) value).getsOpt()) {
+                if (part.isLeft()) {
+                    sb.append('l').append(part.getLeft().length()).append(':').append(part.getLeft());
+                } else if (part.isMiddle()) {
+                    sb.append('w').append(part.getMiddle());
+                } else {
+                    sb.append('p').append(part.get().getName().length()).append(':').append(part.get().getName());
+                }
+            }
+            return sb.toString();
+        } else if (value instanceof SigmaNumber || value instanceof SigmaBool) {
+            return value.getClass().getSimpleName() + ":" + value;
+        } else if (value instanceof SigmaRegularExpression) {
+            return "re:" + ((SigmaRegularExpression) value).getRegexp();
+        } else if (value instanceof SigmaCIDRExpression) {
+            return "cidr:" + ((SigmaCIDRExpression) value).getCidr();
+        } else if (value instanceof SigmaCompareExpression) {
+            SigmaCompareExpression compare = (SigmaCompareExpression) value;
+            return "cmp:" + compare.getOp() + compare.getNumber();
+        } else if (value instanceof SigmaNull) {
+            return "null";
+        }
+        return null;
+    }
+
+    private static List<ConditionItem> children(ConditionItem item) {
+        List<ConditionItem> children = new ArrayList<>();
+        for (Either<AnyOneOf<ConditionItem, ConditionFieldEqualsValueExpression, ConditionValueExpression>, String> arg: item.getArgs()) {
+            if (!arg.isLeft()) {
+                // unresolved identifier, leave this subtree untouched
+                return null;
+            }
+            AnyOneOf<ConditionItem, ConditionFieldEqualsValueExpression, ConditionValueExpression> val = arg.getLeft();
+            children.add(val.isLeft()? val.getLeft(): (val.isMiddle()? val.getMiddle(): val.get()));
+        }
+        return children;
+    }
+
+    private static List<Either<AnyOneOf<ConditionItem, ConditionFieldEqualsValueExpression, ConditionValueExpression>, String>> args(List<? extends ConditionItem> items) {
+        List<Either<AnyOneOf<ConditionItem, ConditionFieldEqualsValueExpression, ConditionValueExpression>, String>> args = new ArrayList<>();
+        for (ConditionItem item: items) {
+            if (item instanceof ConditionFieldEqualsValueExpression) {
+                args.add(Either.left(AnyOneOf.middleVal((ConditionFieldEqualsValueExpression) item)));
+            } else if (item instanceof ConditionValueExpression) {
+                args.add(Either.left(AnyOneOf.rightVal((ConditionValueExpression) item)));
+            } else {
+                args.add(Either.left(AnyOneOf.leftVal(item)));
+            }
+        }
+        return args;
+    }
+
+    private static ConditionAND and(List<? extends ConditionItem> items) {
+        return new ConditionAND(false, args(items));
+    }
+
+    private static ConditionOR or(List<? extends ConditionItem> items) {
+        return new ConditionOR(false, args(items));
+    }
+
+    private static ConditionNOT negate(ConditionItem item) {
+        return new ConditionNOT(false, args(List.of(item)));
+    }
+}
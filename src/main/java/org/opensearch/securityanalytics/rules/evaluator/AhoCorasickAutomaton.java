@@ -0,0 +1,143 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.rules.evaluator;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Case-insensitive Aho-Corasick automaton over a fixed set of literals. A single pass over the input reports every
+ * occurrence of every literal. The automaton is immutable once built and searching it does not allocate.
+ */
+public class AhoCorasickAutomaton {
+
+    @FunctionalInterface
+    public interface MatchConsumer {
+        /**
+         * @param patternId index of the literal in the list the automaton was built from
+         * @param start offset of the first matched char
+         * @param end offset after the last matched char
+         */
+        void onMatch(int patternId, int start, int end);
+    }
+
+    private static final int[] NO_OUTPUTS = new int[0];
+
+    // per state, sorted transition chars and their target states
+    private final char[][] transitionChars;
+    private final int[][] transitionTargets;
+
+    private final int[] failure;
+
+    // patterns ending at a state and the closest state on the failure chain which has outputs
+    private final int[][] outputs;
+    private final int[] outputLink;
+
+    private final int[] patternLengths;
+
+    public AhoCorasickAutomaton(List<String> patterns) {
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        List<List<Integer>> trieOutputs = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        trieOutputs.add(new ArrayList<>());
+
+        this.patternLengths = new int[patterns.size()];
+        for (int patternId = 0; patternId < patterns.size(); ++patternId) {
+            String pattern = patterns.get(patternId);
+            patternLengths[patternId] = pattern.length();
+
+            int state = 0;
+            for (int i = 0; i < pattern.length(); ++i) {
+                char c = Character.toLowerCase(pattern.charAt(i));
+                Integer next = trie.get(state).get(c);
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new TreeMap<>());
+                    trieOutputs.add(new ArrayList<>());
+                    trie.get(state).put(c, next);
+                }
+                state = next;
+            }
+            trieOutputs.get(state).add(patternId);
+        }
+
+        int size = trie.size();
+        this.transitionChars = new char[size][];
+        this.transitionTargets = new int[size][];
+        this.outputs = new int[size][];
+        for (int state = 0; state < size; ++state) {
+            TreeMap<Character, Integer> transitions = trie.get(state);
+            transitionChars[state] = new char[transitions.size()];
+            transitionTargets[state] = new int[transitions.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> transition: transitions.entrySet()) {
+                transitionChars[state][i] = transition.getKey();
+                transitionTargets[state][i] = transition.getValue();
+                ++i;
+            }
+            List<Integer> stateOutputs = trieOutputs.get(state);
+            outputs[state] = stateOutputs.isEmpty()? NO_OUTPUTS: stateOutputs.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        this.failure = new int[size];
+        this.outputLink = new int[size];
+        Arrays.fill(outputLink, -1);
+
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int target: transitionTargets[0]) {
+            failure[target] = 0;
+            queue.add(target);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int i = 0; i < transitionChars[state].length; ++i) {
+                char c = transitionChars[state][i];
+                int target = transitionTargets[state][i];
+
+                int fallback = failure[state];
+                while (fallback != 0 && next(fallback, c) < 0) {
+                    fallback = failure[fallback];
+                }
+                int fallbackTarget = next(fallback, c);
+                failure[target] = fallbackTarget >= 0 && fallbackTarget != target? fallbackTarget: 0;
+                outputLink[target] = outputs[failure[target]].length > 0? failure[target]: outputLink[failure[target]];
+                queue.add(target);
+            }
+        }
+    }
+
+    public void search(CharSequence text, MatchConsumer consumer) {
+        int state = 0;
+        for (int i = 0; i < text.length(); ++i) {
+            char c = Character.toLowerCase(text.charAt(i));
+            int target = next(state, c);
+            while (target < 0 && state != 0) {
+                state = failure[state];
+                target = next(state, c);
+            }
+            state = target < 0? 0: target;
+
+            for (int output = state; output > 0; output = outputLink[output]) {
+                for (int patternId: outputs[output]) {
+                    consumer.onMatch(patternId, i + 1 - patternLengths[patternId], i + 1);
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return patternLengths.length;
+    }
+
+    private int next(int state, char c) {
+        int index = Arrays.binarySearch(transitionChars[state], c);
+        return index >= 0? transitionTargets[state][index]: -1;
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.rules.evaluator;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Predicate tree of a Sigma rule produced by {@link SigmaRuleEvaluator}. A document matches when any of the rule's
+ * conditions matches.
+ */
+public class CompiledSigmaRule {
+
+    private final String ruleId;
+
+    private final Predicate<Map<String, Object>>[] conditions;
+
+    private final boolean aggregationRule;
+
+    @SuppressWarnings("unchecked")
+    CompiledSigmaRule(String ruleId, List<Predicate<Map<String, Object>>> conditions, boolean aggregationRule) {
+        this.ruleId = ruleId;
+        this.conditions = conditions.toArray(new Predicate[0]);
+        this.aggregationRule = aggregationRule;
+    }
+
+    public boolean matches(Map<String, Object> doc) {
+        for (Predicate<Map<String, Object>> condition: conditions) {
+            if (condition.test(doc)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public String getRuleId() {
+        return ruleId;
+    }
+
+    /**
+     * @return true if the rule has an aggregation condition, which the evaluator does not apply.
+     */
+    public boolean isAggregationRule() {
+        return aggregationRule;
+    }
+}
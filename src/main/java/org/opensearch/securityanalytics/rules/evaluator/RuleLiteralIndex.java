@@ -0,0 +1,323 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.rules.evaluator;
+
+import org.opensearch.securityanalytics.rules.condition.ConditionAND;
+import org.opensearch.securityanalytics.rules.condition.ConditionFieldEqualsValueExpression;
+import org.opensearch.securityanalytics.rules.condition.ConditionItem;
+import org.opensearch.securityanalytics.rules.condition.ConditionNOT;
+import org.opensearch.securityanalytics.rules.condition.ConditionValueExpression;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
+import org.opensearch.securityanalytics.rules.objects.SigmaCondition;
+import org.opensearch.securityanalytics.rules.objects.SigmaRule;
+import org.opensearch.securityanalytics.rules.types.Placeholder;
+import org.opensearch.securityanalytics.rules.types.SigmaExpansion;
+import org.opensearch.securityanalytics.rules.types.SigmaString;
+import org.opensearch.securityanalytics.rules.types.SigmaType;
+import org.opensearch.securityanalytics.rules.utils.AnyOneOf;
+import org.opensearch.securityanalytics.rules.utils.Either;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of the plain literals (exact, startswith, endswith and contains values) a set of rules checks on each field,
+ * e.g. the rules of a detector evaluated at ingest. Every field gets one {@link AhoCorasickAutomaton} over the literals
+ * of all rules, so a single pass over a field value reports every rule with a matching literal on that field.
+ *
+ * Literals below a NOT are skipped, their presence in a value never makes a rule match. A rule reported here is a
+ * candidate and still has to be evaluated in full, e.g. with {@link SigmaRuleEvaluator}.
+ *
+ * Rules whose conditions cannot match without one of their literals matching are reported by
+ * {@link #requiresLiteralMatch(String)}, such rules can be skipped when they are not among the candidates.
+ *
+ * Rules are added and removed one at a time, and only the automata of the fields they touch are rebuilt.
+ * Readers use an immutable snapshot and never block on updates.
+ */
+public class RuleLiteralIndex {
+
+    public enum MatchType {
+        EXACT, PREFIX, SUFFIX, CONTAINS
+    }
+
+    static class Literal {
+        private final String ruleId;
+        private final String field;
+        private final String value;
+        private final MatchType matchType;
+
+        Literal(String ruleId, String field, String value, MatchType matchType) {
+            this.ruleId = ruleId;
+            this.field = field;
+            this.value = value;
+            this.matchType = matchType;
+        }
+
+        boolean accepts(int start, int end, int length) {
+            switch (matchType) {
+                case EXACT:
+                    return start == 0 && end == length;
+                case PREFIX:
+                    return start == 0;
+                case SUFFIX:
+                    return end == length;
+                default:
+                    return true;
+            }
+        }
+    }
+
+    static class FieldMatcher {
+        private final SigmaRuleEvaluator.FieldPath path;
+        private final AhoCorasickAutomaton automaton;
+        private final Literal[] literals;
+
+        FieldMatcher(String field, List<Literal> literals) {
+            this.path = new SigmaRuleEvaluator.FieldPath(field);
+            this.literals = literals.toArray(new Literal[0]);
+            List<String> patterns = new ArrayList<>(literals.size());
+            for (Literal literal: literals) {
+                patterns.add(literal.value);
+            }
+            this.automaton = new AhoCorasickAutomaton(patterns);
+        }
+    }
+
+    private final Map<String, SigmaRuleEvaluator> evaluatorsByCategory = new ConcurrentHashMap<>();
+
+    // guarded by this
+    private final Map<String, List<Literal>> literalsByRule = new HashMap<>();
+    private final Map<String, Map<String, List<Literal>>> literalsByField = new HashMap<>();
+
+    private volatile Map<String, FieldMatcher> matchers = Collections.emptyMap();
+
+    private volatile Set<String> literalGatedRules = Collections.emptySet();
+
+    /**
+     * Adds the rule's literals, replacing the literals of a previous version of the same rule.
+     */
+    public void addRule(String ruleId, String category, SigmaRule rule) throws IOException, SigmaError {
+        List<Literal> literals = new ArrayList<>();
+        SigmaRuleEvaluator evaluator = this.getEvaluator(category);
+        boolean literalGated = true;
+        for (SigmaCondition condition: rule.getDetection().getParsedCondition()) {
+            ConditionItem conditionItem = condition.parsed().getLeft();
+            collectLiterals(ruleId, evaluator, conditionItem, literals);
+            literalGated &= requiresLiteral(conditionItem);
+        }
+        this.update(ruleId, literals, literalGated);
+    }
+
+    public void removeRule(String ruleId) {
+        this.update(ruleId, List.of(), false);
+    }
+
+    /**
+     * @return true if the rule can only match a document for which it is returned by {@link #matchingRules(Map)}
+     */
+    public boolean requiresLiteralMatch(String ruleId) {
+        return this.literalGatedRules.contains(ruleId);
+    }
+
+    /**
+     * @return ids of the rules which check a literal on the given field that occurs in the value
+     */
+    public Set<String> matchingRules(String field, String value) {
+        FieldMatcher matcher = this.matchers.get(field);
+        if (matcher == null || value == null) {
+            return Set.of();
+        }
+        Set<String> ruleIds = new HashSet<>();
+        collectMatches(matcher, value, ruleIds);
+        return ruleIds;
+    }
+
+    /**
+     * @return ids of the rules which have a matching literal on any field of the document
+     */
+    public Set<String> matchingRules(Map<String, Object> doc) {
+        Set<String> ruleIds = new HashSet<>();
+        for (FieldMatcher matcher: this.matchers.values()) {
+            matcher.path.anyValue(doc, value -> {
+                if (value != null) {
+                    collectMatches(matcher, value.toString(), ruleIds);
+                }
+                // visit every value of multi-valued fields
+                return false;
+            });
+        }
+        return ruleIds;
+    }
+
+    public Set<String> getFields() {
+        return this.matchers.keySet();
+    }
+
+    private static void collectMatches(FieldMatcher matcher, String value, Set<String> ruleIds) {
+        int length = value.length();
+        matcher.automaton.search(value, (patternId, start, end) -> {
+            Literal literal = matcher.literals[patternId];
+            if (literal.accepts(start, end, length)) {
+                ruleIds.add(literal.ruleId);
+            }
+        });
+    }
+
+    private synchronized void update(String ruleId, List<Literal> literals, boolean literalGated) {
+        if (literalGated != this.literalGatedRules.contains(ruleId)) {
+            Set<String> newLiteralGatedRules = new HashSet<>(this.literalGatedRules);
+            if (literalGated) {
+                newLiteralGatedRules.add(ruleId);
+            } else {
+                newLiteralGatedRules.remove(ruleId);
+            }
+            this.literalGatedRules = Collections.unmodifiableSet(newLiteralGatedRules);
+        }
+
+        Set<String> affectedFields = new HashSet<>();
+        List<Literal> previous = literals.isEmpty()? this.literalsByRule.remove(ruleId): this.literalsByRule.put(ruleId, literals);
+        if (previous != null) {
+            for (Literal literal: previous) {
+                affectedFields.add(literal.field);
+                Map<String, List<Literal>> fieldLiterals = this.literalsByField.get(literal.field);
+                if (fieldLiterals == null) {
+                    continue;
+                }
+                fieldLiterals.remove(ruleId);
+                if (fieldLiterals.isEmpty()) {
+                    this.literalsByField.remove(literal.field);
+                }
+            }
+        }
+        for (Literal literal: literals) {
+            affectedFields.add(literal.field);
+            this.literalsByField.computeIfAbsent(literal.field, field -> new HashMap<>())
+                    .computeIfAbsent(ruleId, id -> new ArrayList<>())
+                    .add(literal);
+        }
+        if (affectedFields.isEmpty()) {
+            return;
+        }
+
+        Map<String, FieldMatcher> newMatchers = new HashMap<>(this.matchers);
+        for (String field: affectedFields) {
+            Map<String, List<Literal>> fieldLiterals = this.literalsByField.get(field);
+            if (fieldLiterals == null) {
+                newMatchers.remove(field);
+            } else {
+                List<Literal> all = new ArrayList<>();
+                fieldLiterals.values().forEach(all::addAll);
+                newMatchers.put(field, new FieldMatcher(field, all));
+            }
+        }
+        this.matchers = Collections.unmodifiableMap(newMatchers);
+    }
+
+    private SigmaRuleEvaluator getEvaluator(String category) throws IOException {
+        SigmaRuleEvaluator evaluator = this.evaluatorsByCategory.get(category);
+        if (evaluator == null) {
+            evaluator = new SigmaRuleEvaluator(category, true);
+            this.evaluatorsByCategory.putIfAbsent(category, evaluator);
+        }
+        return evaluator;
+    }
+
+    private static void collectLiterals(String ruleId, SigmaRuleEvaluator evaluator, ConditionItem item, List<Literal> literals) {
+        if (item instanceof ConditionFieldEqualsValueExpression) {
+            ConditionFieldEqualsValueExpression expression = (ConditionFieldEqualsValueExpression) item;
+            String field = evaluator.getMappedField(expression.getField());
+            addLiterals(ruleId, field, expression.getValue(), literals);
+            return;
+        } else if (item instanceof ConditionValueExpression || item instanceof ConditionNOT) {
+            return;
+        }
+
+        for (Either<AnyOneOf<ConditionItem, ConditionFieldEqualsValueExpression, ConditionValueExpression>, String> arg: item.getArgs()) {
+            if (!arg.isLeft()) {
+                continue;
+            }
+            AnyOneOf<ConditionItem, ConditionFieldEqualsValueExpression, ConditionValueExpression> child = arg.getLeft();
+            collectLiterals(ruleId, evaluator, child.isLeft()? child.getLeft(): (child.isMiddle()? child.getMiddle(): child.get()), literals);
+        }
+    }
+
+    private static boolean requiresLiteral(ConditionItem item) {
+        if (item instanceof ConditionFieldEqualsValueExpression) {
+            List<Literal> literals = new ArrayList<>();
+            SigmaType value = ((ConditionFieldEqualsValueExpression) item).getValue();
+            List<SigmaType> values = value instanceof SigmaExpansion? ((SigmaExpansion) value).getValues(): List.of(value);
+            for (SigmaType expanded: values) {
+                literals.clear();
+                addLiterals(null, null, expanded, literals);
+                if (literals.isEmpty()) {
+                    return false;
+                }
+            }
+            return !values.isEmpty();
+        } else if (item instanceof ConditionValueExpression || item instanceof ConditionNOT) {
+            return false;
+        }
+
+        boolean and = item instanceof ConditionAND;
+        boolean hasArgs = false;
+        for (Either<AnyOneOf<ConditionItem, ConditionFieldEqualsValueExpression, ConditionValueExpression>, String> arg: item.getArgs()) {
+            if (!arg.isLeft()) {
+                continue;
+            }
+            hasArgs = true;
+            AnyOneOf<ConditionItem, ConditionFieldEqualsValueExpression, ConditionValueExpression> child = arg.getLeft();
+            boolean childRequiresLiteral = requiresLiteral(child.isLeft()? child.getLeft(): (child.isMiddle()? child.getMiddle(): child.get()));
+            // one gated branch is enough for AND, every branch has to be gated for OR
+            if (and && childRequiresLiteral) {
+                return true;
+            } else if (!and && !childRequiresLiteral) {
+                return false;
+            }
+        }
+        return !and && hasArgs;
+    }
+
+    private static void addLiterals(String ruleId, String field, SigmaType value, List<Literal> literals) {
+        if (value instanceof SigmaExpansion) {
+            for (SigmaType expanded: ((SigmaExpansion) value).getValues()) {
+                addLiterals(ruleId, field, expanded, literals);
+            }
+            return;
+        }
+        if (!(value instanceof SigmaString)) {
+            return;
+        }
+
+        List<AnyOneOf<String, Character, Placeholder>> parts = ((SigmaString) value).getsOpt();
+        int first = 0;
+        int last = parts.size();
+        boolean leading = !parts.isEmpty() && isMultiWildcard(parts.get(0));
+        boolean trailing = parts.size() > 1 && isMultiWildcard(parts.get(parts.size() - 1));
+        if (leading) {
+            ++first;
+        }
+        if (trailing) {
+            --last;
+        }
+        if (last - first != 1 || !parts.get(first).isLeft() || parts.get(first).getLeft().isEmpty()) {
+            // inner wildcards or placeholders, not a plain literal
+            return;
+        }
+
+        MatchType matchType = leading && trailing? MatchType.CONTAINS: (leading? MatchType.SUFFIX: (trailing? MatchType.PREFIX: MatchType.EXACT));
+        literals.add(new Literal(ruleId, field, parts.get(first).getLeft(), matchType));
+    }
+
+    private static boolean isMultiWildcard(AnyOneOf<String, Character, Placeholder> part) {
+        return part.isMiddle() && part.getMiddle() == SigmaString.SpecialChars.WILDCARD_MULTI;
+    }
+}
@@ -0,0 +1,434 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.rules.evaluator;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.lucene.util.automaton.Automata;
+import org.apache.lucene.util.automaton.Automaton;
+import org.apache.lucene.util.automaton.CharacterRunAutomaton;
+import org.apache.lucene.util.automaton.Operations;
+import org.apache.lucene.util.automaton.RegExp;
+import org.apache.lucene.util.automaton.TooComplexToDeterminizeException;
+import org.opensearch.common.collect.Tuple;
+import org.opensearch.common.network.InetAddresses;
+import org.opensearch.securityanalytics.rules.aggregation.AggregationItem;
+import org.opensearch.securityanalytics.rules.condition.ConditionAND;
+import org.opensearch.securityanalytics.rules.condition.ConditionFieldEqualsValueExpression;
+import org.opensearch.securityanalytics.rules.condition.ConditionItem;
+import org.opensearch.securityanalytics.rules.condition.ConditionNOT;
+import org.opensearch.securityanalytics.rules.condition.ConditionOR;
+import org.opensearch.securityanalytics.rules.condition.ConditionValueExpression;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaValueError;
+import org.opensearch.securityanalytics.rules.objects.SigmaCondition;
+import org.opensearch.securityanalytics.rules.objects.SigmaRule;
+import org.opensearch.securityanalytics.rules.types.Placeholder;
+import org.opensearch.securityanalytics.rules.types.SigmaBool;
+import org.opensearch.securityanalytics.rules.types.SigmaCIDRExpression;
+import org.opensearch.securityanalytics.rules.types.SigmaCompareExpression;
+import org.opensearch.securityanalytics.rules.types.SigmaExpansion;
+import org.opensearch.securityanalytics.rules.types.SigmaNull;
+import org.opensearch.securityanalytics.rules.types.SigmaNumber;
+import org.opensearch.securityanalytics.rules.types.SigmaRegularExpression;
+import org.opensearch.securityanalytics.rules.types.SigmaString;
+import org.opensearch.securityanalytics.rules.types.SigmaType;
+import org.opensearch.securityanalytics.rules.utils.AnyOneOf;
+import org.opensearch.securityanalytics.rules.utils.Either;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles Sigma rules into predicate trees which are evaluated in-process against parsed documents, without an index
+ * or a monitor. Field names are translated with the same per-category field mappings the query backends use.
+ *
+ * Matching follows Sigma semantics: string values match case-insensitively, wildcards cover the whole value and
+ * regular expressions match anywhere in the value. Regular expressions have the Lucene syntax the shards evaluate
+ * them with and are compiled into deterministic automata, so matching takes linear time in the length of the value,
+ * and the work spent compiling them is bounded. Aggregation conditions are not evaluated, a compiled aggregation
+ * rule reports which documents would enter the aggregation.
+ *
+ * A {@link CompiledSigmaRule} is immutable and can be shared between threads.
+ */
+public class SigmaRuleEvaluator {
+
+    private final Map<String, String> fieldMappings;
+
+    private final boolean enableFieldMappings;
+
+    private final int regexDeterminizeWorkLimit;
+
+    public SigmaRuleEvaluator(String ruleCategory, boolean enableFieldMappings) throws IOException {
+        this(ruleCategory, enableFieldMappings, Operations.DEFAULT_DETERMINIZE_WORK_LIMIT);
+    }
+
+    /**
+     * @param regexDeterminizeWorkLimit effort allowed to compile each regular expression of a rule
+     */
+    public SigmaRuleEvaluator(String ruleCategory, boolean enableFieldMappings, int regexDeterminizeWorkLimit) throws IOException {
+        this.enableFieldMappings = enableFieldMappings;
+        this.fieldMappings = enableFieldMappings? loadFieldMappings(ruleCategory): new HashMap<>();
+        this.regexDeterminizeWorkLimit = regexDeterminizeWorkLimit;
+    }
+
+    public CompiledSigmaRule compile(SigmaRule rule) throws SigmaError {
+        List<Predicate<Map<String, Object>>> conditions = new ArrayList<>();
+        boolean aggregation = false;
+        for (SigmaCondition condition: rule.getDetection().getParsedCondition()) {
+            Pair<ConditionItem, AggregationItem> parsedItems = condition.parsed();
+            conditions.add(this.compileCondition(parsedItems.getLeft()));
+            aggregation |= parsedItems.getRight() != null;
+        }
+        return new CompiledSigmaRule(rule.getId() != null? rule.getId().toString(): null, conditions, aggregation);
+    }
+
+    private Predicate<Map<String, Object>> compileCondition(ConditionItem item) throws SigmaValueError {
+        if (item instanceof ConditionFieldEqualsValueExpression) {
+            ConditionFieldEqualsValueExpression expression = (ConditionFieldEqualsValueExpression) item;
+            FieldPath path = new FieldPath(this.getMappedField(expression.getField()));
+            if (expression.getValue() instanceof SigmaNull) {
+                return doc -> !path.anyValue(doc, value -> value != null);
+            }
+            Predicate<Object> matcher = this.compileValue(expression.getValue());
+            return doc -> path.anyValue(doc, matcher);
+        } else if (item instanceof ConditionValueExpression) {
+            Predicate<Object> matcher = this.compileValue(((ConditionValueExpression) item).getValue());
+            return doc -> anyLeafValue(doc, matcher);
+        }
+
+        List<Predicate<Map<String, Object>>> children = new ArrayList<>();
+        for (Either<AnyOneOf<ConditionItem, ConditionFieldEqualsValueExpression, ConditionValueExpression>, String> arg: item.getArgs()) {
+            if (!arg.isLeft()) {
+                continue;
+            }
+            AnyOneOf<ConditionItem, ConditionFieldEqualsValueExpression, ConditionValueExpression> child = arg.getLeft();
+            children.add(this.compileCondition(child.isLeft()? child.getLeft(): (child.isMiddle()? child.getMiddle(): child.get())));
+        }
+        @SuppressWarnings("unchecked")
+        Predicate<Map<String, Object>>[] args = children.toArray(new Predicate[0]);
+
+        if (item instanceof ConditionAND) {
+            return doc -> {
+                for (Predicate<Map<String, Object>> arg: args) {
+                    if (!arg.test(doc)) {
+                        return false;
+                    }
+                }
+                return true;
+            };
+        } else if (item instanceof ConditionOR) {
+            return doc -> {
+                for (Predicate<Map<String, Object>> arg: args) {
+                    if (arg.test(doc)) {
+                        return true;
+                    }
+                }
+                return false;
+            };
+        } else if (item instanceof ConditionNOT) {
+            if (args.length != 1) {
+                throw new SigmaValueError("NOT condition must have exactly one argument");
+            }
+            return args[0].negate();
+        }
+        throw new SigmaValueError("Unexpected condition item " + item.getClass().getSimpleName());
+    }
+
+    Predicate<Object> compileValue(SigmaType value) throws SigmaValueError {
+        if (value instanceof SigmaString) {
+            return compileString((SigmaString) value);
+        } else if (value instanceof SigmaNumber) {
+            SigmaNumber number = (SigmaNumber) value;
+            double expected = number.getNumOpt().isLeft()? number.getNumOpt().getLeft(): number.getNumOpt().get();
+            return docValue -> {
+                Double actual = toDouble(docValue);
+                return actual != null && Double.compare(actual, expected) == 0;
+            };
+        } else if (value instanceof SigmaBool) {
+            boolean expected = ((SigmaBool) value).isaBoolean();
+            return docValue -> docValue instanceof Boolean? (Boolean) docValue == expected:
+                    docValue instanceof String && Boolean.toString(expected).equalsIgnoreCase((String) docValue);
+        } else if (value instanceof SigmaRegularExpression) {
+            CharacterRunAutomaton automaton = this.compileRegularExpression(
+                    ((SigmaRegularExpression) value).getRegexp().replace(SigmaString.WHITESPACE_REPLACEMENT, " "));
+            return docValue -> docValue != null && automaton.run(docValue.toString());
+        } else if (value instanceof SigmaCompareExpression) {
+            return compileCompare((SigmaCompareExpression) value);
+        } else if (value instanceof SigmaCIDRExpression) {
+            return compileCidr(((SigmaCIDRExpression) value).getCidr());
+        } else if (value instanceof SigmaExpansion) {
+            List<Predicate<Object>> values = new ArrayList<>();
+            for (SigmaType expanded: ((SigmaExpansion) value).getValues()) {
+                values.add(this.compileValue(expanded));
+            }
+            @SuppressWarnings("unchecked")
+            Predicate<Object>[] matchers = values.toArray(new Predicate[0]);
+            return docValue -> {
+                for (Predicate<Object> matcher: matchers) {
+                    if (matcher.test(docValue)) {
+                        return true;
+                    }
+                }
+                return false;
+            };
+        } else if (value instanceof SigmaNull) {
+            return docValue -> docValue == null;
+        }
+        throw new SigmaValueError("Value type " + value.getClass().getSimpleName() + " cannot be evaluated");
+    }
+
+    /**
+     * @return automaton accepting the values the regular expression matches anywhere in
+     * @throws SigmaValueError if the expression is not valid Lucene syntax or exceeds the determinize work limit
+     */
+    private CharacterRunAutomaton compileRegularExpression(String regexp) throws SigmaValueError {
+        try {
+            Automaton automaton = Operations.concatenate(List.of(
+                    Automata.makeAnyString(), new RegExp(regexp).toAutomaton(this.regexDeterminizeWorkLimit), Automata.makeAnyString()));
+            return new CharacterRunAutomaton(Operations.determinize(automaton, this.regexDeterminizeWorkLimit));
+        } catch (TooComplexToDeterminizeException ex) {
+            throw new SigmaValueError("Regular expression '" + regexp + "' is too complex: determinizing it exceeds the work limit of "
+                    + this.regexDeterminizeWorkLimit);
+        } catch (IllegalArgumentException ex) {
+            throw new SigmaValueError("Regular expression '" + regexp + "' is invalid: " + ex.getMessage());
+        }
+    }
+
+    static Predicate<Object> compileString(SigmaString value) throws SigmaValueError {
+        List<AnyOneOf<String, Character, Placeholder>> parts = value.getsOpt();
+        boolean leadingWildcard = false;
+        boolean trailingWildcard = false;
+        StringBuilder literal = new StringBuilder();
+        StringBuilder regex = new StringBuilder();
+        boolean simple = true;
+        for (int i = 0; i < parts.size(); ++i) {
+            AnyOneOf<String, Character, Placeholder> part = parts.get(i);
+            if (part.isLeft()) {
+                literal.append(part.getLeft());
+                regex.append(Pattern.quote(part.getLeft()));
+            } else if (part.isMiddle()) {
+                boolean multi = part.getMiddle() == SigmaString.SpecialChars.WILDCARD_MULTI;
+                regex.append(multi? ".*": ".");
+                if (multi && i == 0) {
+                    leadingWildcard = true;
+                } else if (multi && i == parts.size() - 1) {
+                    trailingWildcard = true;
+                } else {
+                    simple = false;
+                }
+            } else {
+                throw new SigmaValueError("Placeholder " + part.get().getName() + " must be expanded before evaluation");
+            }
+        }
+
+        if (!simple) {
+            Pattern pattern = Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE | Pattern.DOTALL);
+            return docValue -> docValue != null && pattern.matcher(docValue.toString()).matches();
+        }
+
+        String expected = literal.toString();
+        int length = expected.length();
+        if (leadingWildcard && trailingWildcard) {
+            return docValue -> {
+                if (docValue == null) {
+                    return false;
+                }
+                String actual = docValue.toString();
+                for (int i = 0, last = actual.length() - length; i <= last; ++i) {
+                    if (actual.regionMatches(true, i, expected, 0, length)) {
+                        return true;
+                    }
+                }
+                return false;
+            };
+        } else if (leadingWildcard) {
+            return docValue -> {
+                if (docValue == null) {
+                    return false;
+                }
+                String actual = docValue.toString();
+                return actual.length() >= length && actual.regionMatches(true, actual.length() - length, expected, 0, length);
+            };
+        } else if (trailingWildcard) {
+            return docValue -> docValue != null && docValue.toString().regionMatches(true, 0, expected, 0, length);
+        }
+        return docValue -> docValue != null && expected.equalsIgnoreCase(docValue.toString());
+    }
+
+    private static Predicate<Object> compileCompare(SigmaCompareExpression value) throws SigmaValueError {
+        SigmaNumber number = value.getNumber();
+        double expected = number.getNumOpt().isLeft()? number.getNumOpt().getLeft(): number.getNumOpt().get();
+        switch (value.getOp()) {
+            case SigmaCompareExpression.CompareOperators.LT:
+                return docValue -> {
+                    Double actual = toDouble(docValue);
+                    return actual != null && actual < expected;
+                };
+            case SigmaCompareExpression.CompareOperators.LTE:
+                return docValue -> {
+                    Double actual = toDouble(docValue);
+                    return actual != null && actual <= expected;
+                };
+            case SigmaCompareExpression.CompareOperators.GT:
+                return docValue -> {
+                    Double actual = toDouble(docValue);
+                    return actual != null && actual > expected;
+                };
+            case SigmaCompareExpression.CompareOperators.GTE:
+                return docValue -> {
+                    Double actual = toDouble(docValue);
+                    return actual != null && actual >= expected;
+                };
+            default:
+                throw new SigmaValueError("Unknown compare operator " + value.getOp());
+        }
+    }
+
+    private static Predicate<Object> compileCidr(String cidr) throws SigmaValueError {
+        Tuple<InetAddress, Integer> parsed;
+        try {
+            parsed = cidr.contains("/")? InetAddresses.parseCidr(cidr): new Tuple<>(InetAddresses.forString(cidr), -1);
+        } catch (IllegalArgumentException ex) {
+            throw new SigmaValueError("Invalid CIDR expression " + cidr);
+        }
+        byte[] network = parsed.v1().getAddress();
+        int prefixLength = parsed.v2() < 0? network.length * 8: parsed.v2();
+        return docValue -> {
+            if (!(docValue instanceof String) || !InetAddresses.isInetAddress((String) docValue)) {
+                return false;
+            }
+            byte[] address = InetAddresses.forString((String) docValue).getAddress();
+            if (address.length != network.length) {
+                return false;
+            }
+            int fullBytes = prefixLength / 8;
+            for (int i = 0; i < fullBytes; ++i) {
+                if (address[i] != network[i]) {
+                    return false;
+                }
+            }
+            int remainingBits = prefixLength % 8;
+            if (remainingBits == 0) {
+                return true;
+            }
+            int mask = (0xFF << (8 - remainingBits)) & 0xFF;
+            return (address[fullBytes] & mask) == (network[fullBytes] & mask);
+        };
+    }
+
+    private static Double toDouble(Object docValue) {
+        if (docValue instanceof Number) {
+            return ((Number) docValue).doubleValue();
+        } else if (docValue instanceof String) {
+            try {
+                return Double.parseDouble((String) docValue);
+            } catch (NumberFormatException ex) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static boolean anyLeafValue(Object node, Predicate<Object> matcher) {
+        if (node instanceof Map) {
+            for (Object value: ((Map<String, Object>) node).values()) {
+                if (anyLeafValue(value, matcher)) {
+                    return true;
+                }
+            }
+            return false;
+        } else if (node instanceof List) {
+            for (Object value: (List<Object>) node) {
+                if (anyLeafValue(value, matcher)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return node != null && matcher.test(node);
+    }
+
+    String getMappedField(String field) {
+        if (this.enableFieldMappings && this.fieldMappings.containsKey(field)) {
+            return this.fieldMappings.get(field);
+        }
+        return field;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, String> loadFieldMappings(String ruleCategory) throws IOException {
+        try (InputStream is = this.getClass().getClassLoader().getResourceAsStream(String.format(Locale.getDefault(), "OSMapping/%s/fieldmappings.yml", ruleCategory))) {
+            if (is == null) {
+                return new HashMap<>();
+            }
+            String content = new String(is.readAllBytes(), Charset.defaultCharset());
+
+            Yaml yaml = new Yaml(new SafeConstructor(new LoaderOptions()));
+            Map<String, Object> fieldMappingsObj = yaml.load(content);
+            return (Map<String, String>) fieldMappingsObj.get("fieldmappings");
+        }
+    }
+
+    /**
+     * Dotted field path resolved against both nested objects and flattened keys, e.g. {@code a.b.c} matches
+     * {@code {"a": {"b": {"c": 1}}}} as well as {@code {"a.b.c": 1}} and {@code {"a": {"b.c": 1}}}.
+     */
+    static class FieldPath {
+
+        private final String[] segments;
+
+        private final String[] suffixes;
+
+        FieldPath(String field) {
+            this.segments = field.split("\\.");
+            this.suffixes = new String[segments.length];
+            String suffix = null;
+            for (int i = segments.length - 1; i >= 0; --i) {
+                suffix = suffix == null? segments[i]: segments[i] + "." + suffix;
+                suffixes[i] = suffix;
+            }
+        }
+
+        boolean anyValue(Map<String, Object> doc, Predicate<Object> matcher) {
+            return anyValue(doc, 0, matcher);
+        }
+
+        @SuppressWarnings("unchecked")
+        private boolean anyValue(Object node, int index, Predicate<Object> matcher) {
+            if (node instanceof List) {
+                for (Object value: (List<Object>) node) {
+                    if (anyValue(value, index, matcher)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            if (index == segments.length) {
+                return matcher.test(node);
+            }
+            if (!(node instanceof Map)) {
+                return false;
+            }
+            Map<String, Object> map = (Map<String, Object>) node;
+            if (index < segments.length - 1 && map.containsKey(suffixes[index]) && anyValue(map.get(suffixes[index]), segments.length, matcher)) {
+                return true;
+            }
+            return map.containsKey(segments[index]) && anyValue(map.get(segments[index]), index + 1, matcher);
+        }
+    }
+}
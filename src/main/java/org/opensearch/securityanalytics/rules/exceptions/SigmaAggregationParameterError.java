@@ -0,0 +1,15 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.rules.exceptions;
+
+/**
+ * Parameter of an aggregation function which the function does not take or whose value is out of range.
+ */
+public class SigmaAggregationParameterError extends SigmaConditionError {
+
+    public SigmaAggregationParameterError(String message) {
+        super(message);
+    }
+}
@@ -4,9 +4,18 @@
  */
 package org.opensearch.securityanalytics.rules.objects;
 
+import org.antlr.v4.runtime.BailErrorStrategy;
 import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.ConsoleErrorListener;
+import org.antlr.v4.runtime.DefaultErrorStrategy;
+import org.antlr.v4.runtime.Parser;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+import org.antlr.v4.runtime.tree.ParseTree;
 import org.apache.commons.lang3.tuple.Pair;
+import org.opensearch.common.cache.Cache;
+import org.opensearch.common.cache.CacheBuilder;
 import org.opensearch.securityanalytics.rules.aggregation.AggregationItem;
 import org.opensearch.securityanalytics.rules.aggregation.AggregationTraverseVisitor;
 import org.opensearch.securityanalytics.rules.condition.ConditionFieldEqualsValueExpression;
@@ -28,9 +37,23 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
 
 public class SigmaCondition {
 
+    private static final int PARSE_CACHE_SIZE = 4096;
+
+    /**
+     * Parse trees keyed by normalized condition text. Trees are only read by the visitors, so they can be shared
+     * between rules; the ConditionItems built from them are bound to the rule detections and are always created fresh.
+     */
+    private static final Cache<String, ConditionParser.StartContext> conditionParseCache =
+            CacheBuilder.<String, ConditionParser.StartContext>builder().setMaximumWeight(PARSE_CACHE_SIZE).build();
+
+    private static final Cache<String, AggregationParser.Comparison_exprContext> aggregationParseCache =
+            CacheBuilder.<String, AggregationParser.Comparison_exprContext>builder().setMaximumWeight(PARSE_CACHE_SIZE).build();
+
     private final String identifier = "[a-zA-Z0-9-_]+";
 
     private final List<String> quantifier = List.of("1", "any", "all");
@@ -47,14 +70,8 @@ public class SigmaCondition {
 
     private SigmaDetections detections;
 
-    private ConditionParser parser;
-
-    private AggregationParser aggParser;
-
     private ConditionTraverseVisitor conditionVisitor;
 
-    private AggregationTraverseVisitor aggVisitor;
-
     public SigmaCondition(String condition, SigmaDetections detections) {
         if (condition.contains(" | ")) {
             this.condition = condition.split(" \\| ")[0];
@@ -65,19 +82,12 @@ public class SigmaCondition {
         }
 
         this.detections = detections;
-
-        ConditionLexer lexer = new ConditionLexer(CharStreams.fromString(this.condition));
-        this.parser = new ConditionParser(new CommonTokenStream(lexer));
         this.conditionVisitor = new ConditionTraverseVisitor(this);
-
-        AggregationLexer aggLexer = new AggregationLexer(CharStreams.fromString(this.aggregation));
-        this.aggParser = new AggregationParser(new CommonTokenStream(aggLexer));
-        this.aggVisitor = new AggregationTraverseVisitor();
     }
 
     public Pair<ConditionItem, AggregationItem> parsed() throws SigmaConditionError {
         ConditionItem parsedConditionItem;
-        Either<ConditionItem, String> itemOrCondition = conditionVisitor.visit(parser.start());
+        Either<ConditionItem, String> itemOrCondition = conditionVisitor.visit(parseCondition(this.condition));
         if (itemOrCondition.isLeft()) {
             parsedConditionItem = itemOrCondition.getLeft();
         } else {
@@ -88,7 +98,9 @@ public class SigmaCondition {
 
         AggregationItem parsedAggItem = null;
         if (!this.aggregation.isEmpty()) {
-            aggVisitor.visit(aggParser.comparison_expr());
+            // the visitor collects into one item, a fresh one keeps repeated calls from accumulating sequence selections
+            AggregationTraverseVisitor aggVisitor = new AggregationTraverseVisitor();
+            aggVisitor.visit(parseAggregation(this.aggregation));
             parsedAggItem = aggVisitor.getAggregationItem();
         }
         return Pair.of(parsedConditionItem, parsedAggItem);
@@ -127,4 +139,52 @@ public class SigmaCondition {
         }
         return null;
     }
-}
\ No newline at end of file
+
+    private static ConditionParser.StartContext parseCondition(String condition) {
+        String key = normalize(condition);
+        try {
+            return conditionParseCache.computeIfAbsent(key, k -> {
+                ConditionParser parser = new ConditionParser(new CommonTokenStream(new ConditionLexer(CharStreams.fromString(k))));
+                return parseTwoStage(parser, ConditionParser::start);
+            });
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Failed to parse condition '" + condition + "'", ex.getCause());
+        }
+    }
+
+    private static AggregationParser.Comparison_exprContext parseAggregation(String aggregation) {
+        String key = normalize(aggregation);
+        try {
+            return aggregationParseCache.computeIfAbsent(key, k -> {
+                AggregationParser parser = new AggregationParser(new CommonTokenStream(new AggregationLexer(CharStreams.fromString(k))));
+                return parseTwoStage(parser, AggregationParser::comparison_expr);
+            });
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Failed to parse aggregation '" + aggregation + "'", ex.getCause());
+        }
+    }
+
+    /**
+     * Parses with the cheaper SLL prediction first and only falls back to full LL prediction, with the default
+     * error reporting and recovery, when SLL cannot decide. Both grammars are small enough that SLL almost never fails.
+     */
+    private static <P extends Parser, T extends ParseTree> T parseTwoStage(P parser, Function<P, T> rule) {
+        parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+        parser.removeErrorListeners();
+        parser.setErrorHandler(new BailErrorStrategy());
+        try {
+            return rule.apply(parser);
+        } catch (ParseCancellationException ex) {
+            parser.getTokenStream().seek(0);
+            parser.reset();
+            parser.addErrorListener(ConsoleErrorListener.INSTANCE);
+            parser.setErrorHandler(new DefaultErrorStrategy());
+            parser.getInterpreter().setPredictionMode(PredictionMode.LL);
+            return rule.apply(parser);
+        }
+    }
+
+    private static String normalize(String text) {
+        return String.join(" ", text.trim().split("\\s+"));
+    }
+}
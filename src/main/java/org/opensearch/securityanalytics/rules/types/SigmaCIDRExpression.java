@@ -4,48 +4,96 @@
  */
 package org.opensearch.securityanalytics.rules.types;
 
+import org.opensearch.common.collect.Tuple;
+import org.opensearch.common.network.InetAddresses;
 import org.opensearch.securityanalytics.rules.exceptions.SigmaTypeError;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
 
 public class SigmaCIDRExpression implements SigmaType {
     private String cidr;
 
+    private InetAddress address;
+
+    private int prefixLength;
+
     public SigmaCIDRExpression(String cidr) throws SigmaTypeError {
         this.cidr = cidr;
 
-        if (!isIPv4AddressValid(this.cidr)) {
-            throw new SigmaTypeError("Invalid IPv4 CIDR expression");
+        Tuple<InetAddress, Integer> parsed = parse(this.cidr);
+        if (parsed == null) {
+            throw new SigmaTypeError("Invalid CIDR expression");
         }
+        this.address = parsed.v1();
+        this.prefixLength = parsed.v2();
     }
 
     public String convert() {
         return this.cidr;
     }
 
-    private static boolean isIPv4AddressValid(String cidr) {
-        if (cidr == null) {
-            return false;
+    /**
+     * Expands an IPv4 CIDR into the octet aligned prefixes of its textual representation, e.g. 10.0.0.0/15 into
+     * 10.0.* and 10.1.*, for fields which hold addresses as strings. Prefixes which end within the last octet expand
+     * into the addresses themselves.
+     *
+     * @return the patterns, or null for IPv6 addresses whose textual representation is not unique
+     */
+    public List<String> expandToWildcards() {
+        byte[] bytes = this.address.getAddress();
+        if (bytes.length != 4) {
+            return null;
+        }
+
+        int fullOctets = this.prefixLength / 8;
+        int remainingBits = this.prefixLength % 8;
+
+        StringBuilder base = new StringBuilder();
+        for (int i = 0; i < fullOctets; ++i) {
+            base.append(i > 0? ".": "").append(bytes[i] & 0xff);
+        }
+
+        List<String> patterns = new ArrayList<>();
+        if (remainingBits == 0) {
+            patterns.add(fullOctets == 4? base.toString(): (fullOctets == 0? "*": base + ".*"));
+            return patterns;
         }
 
-        String[] values = cidr.split("/");
-        Pattern ipv4Pattern = Pattern
-                .compile("(([01]?\\d\\d?|2[0-4]\\d|25[0-5])\\.){3}([01]?\\d\\d?|2[0-4]\\d|25[0-5])");
-        Matcher mm = ipv4Pattern.matcher(values[0]);
-        if (!mm.matches()) {
-            return false;
+        int first = (bytes[fullOctets] & 0xff) & (0xff << (8 - remainingBits));
+        for (int octet = first; octet < first + (1 << (8 - remainingBits)); ++octet) {
+            String pattern = (fullOctets > 0? base + ".": "") + octet;
+            patterns.add(fullOctets == 3? pattern: pattern + ".*");
         }
-        if (values.length >= 2) {
-            int prefix = Integer.parseInt(values[1]);
-            if ((prefix < 0) || (prefix > 32)) {
-                return false;
+        return patterns;
+    }
+
+    public boolean isIPv6() {
+        return this.address.getAddress().length == 16;
+    }
+
+    /**
+     * @return the network address and the prefix length, which is the full address length if no prefix is given,
+     * or null if the expression is invalid
+     */
+    private static Tuple<InetAddress, Integer> parse(String cidr) {
+        if (cidr == null) {
+            return null;
+        }
+
+        try {
+            if (!cidr.contains("/")) {
+                InetAddress address = InetAddresses.forString(cidr);
+                return new Tuple<>(address, address.getAddress().length * 8);
             }
+            return InetAddresses.parseCidr(cidr);
+        } catch (IllegalArgumentException ex) {
+            return null;
         }
-        return true;
     }
 
     public String getCidr() {
         return cidr;
     }
-}
\ No newline at end of file
+}
@@ -5,6 +5,7 @@
 package org.opensearch.securityanalytics.rules.types;
 
 import org.opensearch.securityanalytics.rules.exceptions.SigmaRegularExpressionError;
+import org.opensearch.securityanalytics.rules.utils.AnyOneOf;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -13,6 +14,9 @@ import java.util.regex.Pattern;
 
 public class SigmaRegularExpression implements SigmaType {
 
+    // operators of both the Java and the Lucene regular expression syntax
+    private static final String REGEX_OPERATORS = ".?+*|{}[]()\"#@&<>~^$";
+
     private String regexp;
 
     public SigmaRegularExpression(String regexp) throws SigmaRegularExpressionError {
@@ -58,6 +62,46 @@ public class SigmaRegularExpression implements SigmaType {
         return String.join(escapeChar, ranges);
     }
 
+    /**
+     * Returns the equivalent plain value if the expression is a literal, optionally followed by {@code .*}, so it can be
+     * queried as a term or prefix instead of a regular expression. Regular expressions are matched against whole terms,
+     * so {@code foo} is the term {@code foo} and {@code foo.*} is the prefix {@code foo}.
+     *
+     * @return the literal with a trailing {@link SigmaString.SpecialChars#WILDCARD_MULTI} for prefixes, or null if the
+     * expression uses any other operator
+     */
+    public SigmaString toPrefixOrTerm() {
+        String regexp = this.regexp.replace("_ws_", " ");
+        boolean prefix = regexp.endsWith(".*") && !regexp.endsWith("\\.*");
+        int end = prefix? regexp.length() - 2: regexp.length();
+
+        StringBuilder literal = new StringBuilder();
+        for (int i = 0; i < end; ++i) {
+            char c = regexp.charAt(i);
+            if (c == '\\') {
+                if (i + 1 >= end || Character.isLetterOrDigit(regexp.charAt(i + 1))) {
+                    // character classes like \d or \w
+                    return null;
+                }
+                literal.append(regexp.charAt(++i));
+            } else if (REGEX_OPERATORS.indexOf(c) >= 0) {
+                return null;
+            } else {
+                literal.append(c);
+            }
+        }
+        if (literal.length() == 0) {
+            return null;
+        }
+
+        SigmaString value = new SigmaString(null);
+        value.append(AnyOneOf.leftVal(literal.toString()));
+        if (prefix) {
+            value.append(AnyOneOf.middleVal(SigmaString.SpecialChars.WILDCARD_MULTI));
+        }
+        return value;
+    }
+
     public String getRegexp() {
         return regexp;
     }
@@ -26,6 +26,76 @@ public class SigmaString implements SigmaType {
         public static final char ESCAPE_CHAR = '\\';
     }
 
+    public static final String WHITESPACE_REPLACEMENT = "_ws_";
+
+    /**
+     * Characters and words escaped or filtered by a conversion, precomputed once per backend instead of per string.
+     * ASCII characters are looked up in tables, others fall back to the given strings.
+     */
+    public static final class EscapeTable {
+
+        private final String escapeChar;
+
+        private final String wildcardMulti;
+
+        private final String wildcardSingle;
+
+        private final boolean[] escaped = new boolean[128];
+
+        private final boolean[] filtered = new boolean[128];
+
+        private final String nonAsciiEscaped;
+
+        private final String nonAsciiFiltered;
+
+        private final Set<String> reserved;
+
+        public EscapeTable(String escapeChar, String wildcardMulti, String wildcardSingle, String addEscaped, String addReserved, String filterChars) {
+            this.escapeChar = escapeChar;
+            this.wildcardMulti = wildcardMulti;
+            this.wildcardSingle = wildcardSingle;
+
+            StringBuilder nonAsciiEscaped = new StringBuilder();
+            for (String chars: new String[] { wildcardMulti, wildcardSingle, addEscaped }) {
+                if (chars != null) {
+                    mark(chars, this.escaped, nonAsciiEscaped);
+                }
+            }
+            this.nonAsciiEscaped = nonAsciiEscaped.toString();
+
+            StringBuilder nonAsciiFiltered = new StringBuilder();
+            if (filterChars != null) {
+                mark(filterChars, this.filtered, nonAsciiFiltered);
+            }
+            this.nonAsciiFiltered = nonAsciiFiltered.toString();
+
+            this.reserved = addReserved != null? new HashSet<>(Arrays.asList(addReserved.split(" "))): Set.of();
+        }
+
+        private static void mark(String chars, boolean[] table, StringBuilder nonAscii) {
+            for (int i = 0; i < chars.length(); ++i) {
+                char c = chars.charAt(i);
+                if (c < table.length) {
+                    table[c] = true;
+                } else {
+                    nonAscii.append(c);
+                }
+            }
+        }
+
+        boolean isEscaped(char c) {
+            return c < this.escaped.length? this.escaped[c]: this.nonAsciiEscaped.indexOf(c) >= 0;
+        }
+
+        boolean isFiltered(char c) {
+            return c < this.filtered.length? this.filtered[c]: this.nonAsciiFiltered.indexOf(c) >= 0;
+        }
+
+        boolean isReserved(String s) {
+            return this.reserved.contains(s);
+        }
+    }
+
     private String original;
 
     private List<AnyOneOf<String, Character, Placeholder>> sOpt;
@@ -167,59 +237,75 @@ public class SigmaString implements SigmaType {
     }
 
     public String convert(String escapeChar, String wildcardMulti, String wildcardSingle, String addEscaped, String addReserved, String filterChars) throws SigmaValueError {
-        StringBuilder s = new StringBuilder();
-        Set<Character> escapedChars = new HashSet<>();
+        return this.convert(new EscapeTable(escapeChar, wildcardMulti, wildcardSingle, addEscaped, addReserved, filterChars));
+    }
 
-        if (wildcardMulti != null) {
-            for (Character c: wildcardMulti.toCharArray()) {
-                escapedChars.add(c);
-            }
-        }
-        if (wildcardSingle != null) {
-            for (Character c: wildcardSingle.toCharArray()) {
-                escapedChars.add(c);
-            }
-        }
-        if (addEscaped != null) {
-            for (Character c: addEscaped.toCharArray()) {
-                escapedChars.add(c);
-            }
-        }
+    public String convert(EscapeTable table) throws SigmaValueError {
+        StringBuilder sb = new StringBuilder(this.length() + 8);
+        this.convert(table, sb);
+        return sb.toString();
+    }
 
+    /**
+     * Appends the converted string to the builder, escaping the characters and reserved words of the table, dropping
+     * its filtered characters and replacing whitespaces by "_ws_".
+     */
+    public void convert(EscapeTable table, StringBuilder sb) throws SigmaValueError {
         for (AnyOneOf<String, Character, Placeholder> sOptElem: sOpt) {
             if (sOptElem.isLeft()) {
-                if (Arrays.stream(addReserved.split(" ")).anyMatch(s1 -> s1.equals(sOptElem.getLeft()))) {
-                    s.append(escapeChar);
-                    s.append(sOptElem.getLeft());
+                String elem = sOptElem.getLeft();
+                if (table.isReserved(elem)) {
+                    appendWhitespaceReplaced(sb, table.escapeChar);
+                    appendWhitespaceReplaced(sb, elem);
                 } else {
-                    for (Character c : sOptElem.getLeft().toCharArray()) {
-                        if (filterChars.contains(String.valueOf(c))) {
+                    int length = elem.length();
+                    for (int i = 0; i < length; ++i) {
+                        char c = elem.charAt(i);
+                        if (table.isFiltered(c)) {
                             continue;
                         }
-                        if (escapedChars.contains(c)) {
-                            s.append(escapeChar);
+                        if (table.isEscaped(c)) {
+                            appendWhitespaceReplaced(sb, table.escapeChar);
                         }
-                        s.append(c);
+                        appendWhitespaceReplaced(sb, c);
                     }
                 }
             } else if (sOptElem.getMiddle() != null) {
-                Character c = sOptElem.getMiddle();
+                char c = sOptElem.getMiddle();
                 if (c == SpecialChars.WILDCARD_MULTI) {
-                    if (wildcardMulti != null) {
-                        s.append(wildcardMulti);
+                    if (table.wildcardMulti != null) {
+                        appendWhitespaceReplaced(sb, table.wildcardMulti);
                     } else {
                         throw new SigmaValueError("Multi-character wildcard not specified for conversion");
                     }
                 } else if (c == SpecialChars.WILDCARD_SINGLE) {
-                    if (wildcardSingle != null) {
-                        s.append(wildcardSingle);
+                    if (table.wildcardSingle != null) {
+                        appendWhitespaceReplaced(sb, table.wildcardSingle);
                     } else {
                         throw new SigmaValueError("Single-character wildcard not specified for conversion");
                     }
                 }
             }
         }
-        return s.toString().replace(" ", "_ws_");
+    }
+
+    private static void appendWhitespaceReplaced(StringBuilder sb, char c) {
+        if (c == ' ') {
+            sb.append(WHITESPACE_REPLACEMENT);
+        } else {
+            sb.append(c);
+        }
+    }
+
+    private static void appendWhitespaceReplaced(StringBuilder sb, String s) {
+        if (s.indexOf(' ') < 0) {
+            sb.append(s);
+            return;
+        }
+        int length = s.length();
+        for (int i = 0; i < length; ++i) {
+            appendWhitespaceReplaced(sb, s.charAt(i));
+        }
     }
 
     public SigmaString replaceWithPlaceholder(Pattern regex, String placeholderName) {
@@ -358,14 +444,14 @@ public class SigmaString implements SigmaType {
 
     @Override
     public String toString() {
-        StringBuilder sb = new StringBuilder();
+        StringBuilder sb = new StringBuilder(this.length() + 8);
         for (AnyOneOf<String, Character, Placeholder> sOptElem: sOpt) {
             if (sOptElem.isLeft()) {
-                sb.append(sOptElem.getLeft());
+                appendWhitespaceReplaced(sb, sOptElem.getLeft());
             } else if (sOptElem.isMiddle()) {
-                sb.append(sOptElem.getMiddle());
+                appendWhitespaceReplaced(sb, sOptElem.getMiddle());
             }
         }
-        return sb.toString().replace(" ", "_ws_");
+        return sb.toString();
     }
 }
@@ -0,0 +1,132 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.sequence;
+
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.commons.alerting.model.DocLevelQuery;
+import org.opensearch.securityanalytics.model.Rule;
+import org.opensearch.securityanalytics.model.Value;
+import org.opensearch.securityanalytics.rules.aggregation.AggregationItem;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
+import org.opensearch.securityanalytics.rules.objects.SigmaCondition;
+import org.opensearch.securityanalytics.rules.objects.SigmaRule;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Rule with a temporal condition, e.g. "sel_a | followed_by sel_b by host" with a timeframe of 5m. Every step of the
+ * sequence is matched by its own doc level query, and the matches are combined per group by a {@link SequenceStateMachine}.
+ */
+public class SequenceRule {
+
+    /**
+     * Tag of the doc level queries matching the steps of sequence rules. The queries carry no other tags, so detector
+     * triggers on severity or tags do not fire for single steps.
+     */
+    public static final String SEQUENCE_STEP_TAG = "sequence_step";
+
+    private static final String STEP_QUERY_ID_SEPARATOR = "_step_";
+
+    private final String ruleId;
+
+    private final int steps;
+
+    private final boolean ordered;
+
+    private final long timeframeInMillis;
+
+    private final String groupByField;
+
+    private final List<String> tags;
+
+    public SequenceRule(String ruleId, int steps, boolean ordered, long timeframeInMillis, String groupByField, List<String> tags) {
+        this.ruleId = ruleId;
+        this.steps = steps;
+        this.ordered = ordered;
+        this.timeframeInMillis = timeframeInMillis;
+        this.groupByField = groupByField;
+        this.tags = tags;
+    }
+
+    /**
+     * @return the sequence defined by the rule, or null if the rule has no temporal condition
+     */
+    public static SequenceRule fromRule(Rule rule) throws SigmaError {
+        // the steps of a sequence are converted to separate queries, other rules have one query per condition
+        if (rule.getQueries().size() < 2) {
+            return null;
+        }
+
+        SigmaRule sigmaRule = SigmaRule.fromYaml(rule.getRule(), true);
+        for (SigmaCondition condition: sigmaRule.getDetection().getParsedCondition()) {
+            AggregationItem aggItem = condition.parsed().getRight();
+            if (aggItem != null && aggItem.isSequence()) {
+                List<String> tags = new ArrayList<>();
+                tags.add(rule.getLevel());
+                tags.add(rule.getCategory());
+                tags.addAll(rule.getTags().stream().map(Value::getValue).collect(Collectors.toList()));
+
+                return new SequenceRule(
+                        rule.getId(),
+                        aggItem.getSequenceSelections().size() + 1,
+                        AggregationItem.FOLLOWED_BY.equals(aggItem.getAggFunction()),
+                        TimeValue.parseTimeValue(sigmaRule.getDetection().getTimeframe(), "timeframe").millis(),
+                        aggItem.getGroupByField(),
+                        tags
+                );
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the doc level queries matching the steps of the sequence, one per query of the rule
+     */
+    public List<DocLevelQuery> stepQueries(List<String> queries) {
+        List<DocLevelQuery> docLevelQueries = new ArrayList<>();
+        for (int step = 0; step < queries.size(); ++step) {
+            docLevelQueries.add(new DocLevelQuery(this.ruleId + STEP_QUERY_ID_SEPARATOR + step, this.ruleId, queries.get(step), List.of(SEQUENCE_STEP_TAG)));
+        }
+        return docLevelQueries;
+    }
+
+    public static boolean isStepQuery(DocLevelQuery docLevelQuery) {
+        return docLevelQuery.getTags().contains(SEQUENCE_STEP_TAG) && docLevelQuery.getId().contains(STEP_QUERY_ID_SEPARATOR);
+    }
+
+    /**
+     * @return the index of the step matched by a query created by {@link #stepQueries(List)}
+     */
+    public static int step(DocLevelQuery docLevelQuery) {
+        String id = docLevelQuery.getId();
+        return Integer.parseInt(id.substring(id.lastIndexOf(STEP_QUERY_ID_SEPARATOR) + STEP_QUERY_ID_SEPARATOR.length()));
+    }
+
+    public String getRuleId() {
+        return ruleId;
+    }
+
+    public int getSteps() {
+        return steps;
+    }
+
+    public boolean isOrdered() {
+        return ordered;
+    }
+
+    public long getTimeframeInMillis() {
+        return timeframeInMillis;
+    }
+
+    public String getGroupByField() {
+        return groupByField;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+}
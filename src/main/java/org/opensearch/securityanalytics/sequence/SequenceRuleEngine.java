@@ -0,0 +1,531 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.sequence;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.ExceptionsHelper;
+import org.opensearch.ResourceAlreadyExistsException;
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.DocWriteRequest;
+import org.opensearch.action.delete.DeleteRequest;
+import org.opensearch.action.get.GetRequest;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.support.IndicesOptions;
+import org.opensearch.client.Client;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.UUIDs;
+import org.opensearch.common.document.DocumentField;
+import org.opensearch.common.hash.MessageDigests;
+import org.opensearch.common.xcontent.LoggingDeprecationHandler;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.common.xcontent.support.XContentMapValues;
+import org.opensearch.commons.alerting.model.DocLevelQuery;
+import org.opensearch.commons.alerting.model.Finding;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.core.xcontent.ToXContent;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.index.engine.VersionConflictEngineException;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.index.reindex.DeleteByQueryAction;
+import org.opensearch.index.reindex.DeleteByQueryRequestBuilder;
+import org.opensearch.index.seqno.SequenceNumbers;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.model.Rule;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.securityanalytics.transport.TransportIndexDetectorAction;
+import org.opensearch.securityanalytics.util.SequenceStateIndices;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Evaluates sequence rules over the findings published after each doc level monitor execution. The steps of a sequence
+ * rule are matched by separate doc level queries; every document matching a step advances the state machine of its
+ * group. States are kept in a bounded node level cache and checkpointed to {@link SequenceStateIndices#SEQUENCE_STATE_INDEX},
+ * so sequences spanning several monitor executions, or evicted from the cache, are still completed. A completed
+ * sequence is written as a finding of the rule with the documents of all its steps.
+ *
+ * The updates of a group are applied one at a time and in the order the findings are published. Checkpoints are
+ * written with the sequence number of the checkpoint the state was loaded from, so when findings of a group are
+ * evaluated on several nodes a stale cached state fails to be written and is reloaded, instead of overwriting the
+ * checkpoint of another node. Checkpoints of groups whose sequences can no longer complete are deleted periodically.
+ */
+public class SequenceRuleEngine {
+
+    private static final Logger log = LogManager.getLogger(SequenceRuleEngine.class);
+
+    static final long RULE_CACHE_EXPIRY_IN_MILLIS = 60000L;
+
+    static final int MAX_CONFLICT_RETRIES = 3;
+
+    static final long STATE_CLEANUP_INTERVAL_IN_MILLIS = 300000L;
+
+    private static final long NEVER = Long.MIN_VALUE;
+
+    static class Event {
+
+        private final String docId;
+
+        private final long timestamp;
+
+        private final Map<String, Object> source;
+
+        Event(String docId, long timestamp, Map<String, Object> source) {
+            this.docId = docId;
+            this.timestamp = timestamp;
+            this.source = source;
+        }
+    }
+
+    private static class CachedRule {
+
+        private final SequenceRule rule;
+
+        private final long loadTimeInMillis;
+
+        private CachedRule(SequenceRule rule, long loadTimeInMillis) {
+            this.rule = rule;
+            this.loadTimeInMillis = loadTimeInMillis;
+        }
+    }
+
+    /**
+     * State of a group with the sequence number and primary term of its checkpoint, unassigned if it has none.
+     */
+    private static class CachedState {
+
+        private final SequenceStateMachine stateMachine;
+
+        private final long seqNo;
+
+        private final long primaryTerm;
+
+        private CachedState(SequenceStateMachine stateMachine, long seqNo, long primaryTerm) {
+            this.stateMachine = stateMachine;
+            this.seqNo = seqNo;
+            this.primaryTerm = primaryTerm;
+        }
+
+        private boolean hasCheckpoint() {
+            return this.seqNo != SequenceNumbers.UNASSIGNED_SEQ_NO;
+        }
+    }
+
+    private final Client client;
+
+    private final NamedXContentRegistry xContentRegistry;
+
+    private final SequenceStateIndices sequenceStateIndices;
+
+    private final LongSupplier relativeTimeInMillisSupplier;
+
+    private final Map<String, CachedRule> rules = new ConcurrentHashMap<>();
+
+    private final Map<String, CachedState> states;
+
+    private final Map<String, Deque<Consumer<Runnable>>> pendingUpdates = new HashMap<>();
+
+    private final AtomicLong lastStateCleanupTimeInMillis = new AtomicLong(NEVER);
+
+    private volatile int maxGroups;
+
+    public SequenceRuleEngine(Client client, ClusterService clusterService, NamedXContentRegistry xContentRegistry,
+                              SequenceStateIndices sequenceStateIndices, LongSupplier relativeTimeInMillisSupplier) {
+        this.client = client;
+        this.xContentRegistry = xContentRegistry;
+        this.sequenceStateIndices = sequenceStateIndices;
+        this.relativeTimeInMillisSupplier = relativeTimeInMillisSupplier;
+        this.maxGroups = SecurityAnalyticsSettings.SEQUENCE_MAX_GROUPS.get(clusterService.getSettings());
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.SEQUENCE_MAX_GROUPS, it -> maxGroups = it);
+
+        // least recently used groups are evicted first, their state is reloaded from the last checkpoint when needed
+        this.states = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedState> eldest) {
+                return size() > maxGroups;
+            }
+        });
+    }
+
+    /**
+     * Advances the sequences of the detector with the step matches of a published finding. Findings without step
+     * matches are ignored.
+     */
+    public void onFinding(Detector detector, Finding finding) {
+        Map<String, List<Integer>> stepsByRule = new HashMap<>();
+        for (DocLevelQuery docLevelQuery: finding.getDocLevelQueries()) {
+            if (SequenceRule.isStepQuery(docLevelQuery)) {
+                stepsByRule.computeIfAbsent(docLevelQuery.getName(), it -> new ArrayList<>()).add(SequenceRule.step(docLevelQuery));
+            }
+        }
+        if (stepsByRule.isEmpty() || finding.getRelatedDocIds().isEmpty()) {
+            return;
+        }
+        deleteExpiredStates();
+
+        getRules(stepsByRule.keySet(), ActionListener.wrap(
+                sequenceRules -> getEvents(finding, sequenceRules.values(), ActionListener.wrap(
+                        events -> {
+                            for (Map.Entry<String, List<Integer>> ruleSteps: stepsByRule.entrySet()) {
+                                SequenceRule rule = sequenceRules.get(ruleSteps.getKey());
+                                if (rule == null) {
+                                    continue;
+                                }
+                                // a document matching several steps advances them from the last to the first
+                                List<Integer> steps = new ArrayList<>(ruleSteps.getValue());
+                                steps.sort(Collections.reverseOrder());
+                                update(detector, finding, rule, steps, events);
+                            }
+                        },
+                        this::onFailure
+                )),
+                this::onFailure
+        ));
+    }
+
+    /**
+     * Advances the groups of the events, given in time order, with the steps they match.
+     */
+    void update(Detector detector, Finding finding, SequenceRule rule, List<Integer> steps, List<Event> events) {
+        Map<String, List<Event>> eventsByGroup = new LinkedHashMap<>();
+        for (Event event: events) {
+            String group = group(rule, event);
+            if (group != null) {
+                eventsByGroup.computeIfAbsent(group, it -> new ArrayList<>()).add(event);
+            }
+        }
+
+        for (Map.Entry<String, List<Event>> groupEvents: eventsByGroup.entrySet()) {
+            String group = groupEvents.getKey();
+            String stateId = stateId(detector.getId(), rule.getRuleId(), group);
+            enqueueUpdate(stateId, done -> advance(detector, finding, rule, group, stateId, steps, groupEvents.getValue(), 0, done));
+        }
+    }
+
+    /**
+     * Runs the update once the updates of the group enqueued before it are done. An update signals it is done by
+     * running the given callback exactly once.
+     */
+    private void enqueueUpdate(String stateId, Consumer<Runnable> update) {
+        synchronized (this.pendingUpdates) {
+            Deque<Consumer<Runnable>> updates = this.pendingUpdates.computeIfAbsent(stateId, it -> new ArrayDeque<>());
+            updates.add(update);
+            if (updates.size() > 1) {
+                return;
+            }
+        }
+        update.accept(() -> onUpdateDone(stateId));
+    }
+
+    private void onUpdateDone(String stateId) {
+        Consumer<Runnable> next;
+        synchronized (this.pendingUpdates) {
+            Deque<Consumer<Runnable>> updates = this.pendingUpdates.get(stateId);
+            updates.poll();
+            next = updates.peek();
+            if (next == null) {
+                this.pendingUpdates.remove(stateId);
+            }
+        }
+        if (next != null) {
+            next.accept(() -> onUpdateDone(stateId));
+        }
+    }
+
+    private void advance(Detector detector, Finding finding, SequenceRule rule, String group, String stateId, List<Integer> steps,
+                         List<Event> events, int retry, Runnable done) {
+        getState(stateId, rule, ActionListener.wrap(
+                state -> {
+                    List<List<String>> completed = new ArrayList<>();
+                    try {
+                        for (Event event: events) {
+                            for (int step: steps) {
+                                List<String> docIds = state.stateMachine.advance(step, event.timestamp, event.docId);
+                                if (docIds != null) {
+                                    completed.add(docIds);
+                                }
+                            }
+                        }
+                    } catch (RuntimeException e) {
+                        this.states.remove(stateId);
+                        onFailure(e);
+                        done.run();
+                        return;
+                    }
+
+                    checkpoint(detector.getId(), rule.getRuleId(), group, stateId, state, ActionListener.wrap(
+                            checkpointed -> {
+                                this.states.put(stateId, checkpointed);
+                                done.run();
+                                // sequences are only reported once the state they completed from is checkpointed
+                                try {
+                                    for (List<String> docIds: completed) {
+                                        writeFinding(detector, finding, rule, docIds);
+                                    }
+                                } catch (Exception e) {
+                                    onFailure(e);
+                                }
+                            },
+                            e -> {
+                                // the cached state has been advanced by the events, it is reloaded from its checkpoint
+                                this.states.remove(stateId);
+                                if (ExceptionsHelper.unwrapCause(e) instanceof VersionConflictEngineException && retry < MAX_CONFLICT_RETRIES) {
+                                    // the group was checkpointed by another node since it was loaded
+                                    advance(detector, finding, rule, group, stateId, steps, events, retry + 1, done);
+                                    return;
+                                }
+                                onFailure(e);
+                                done.run();
+                            }
+                    ));
+                },
+                e -> {
+                    onFailure(e);
+                    done.run();
+                }
+        ));
+    }
+
+    private void getRules(Set<String> ruleIds, ActionListener<Map<String, SequenceRule>> listener) {
+        Map<String, SequenceRule> sequenceRules = new HashMap<>();
+        List<String> missingRuleIds = new ArrayList<>();
+        long now = this.relativeTimeInMillisSupplier.getAsLong();
+        for (String ruleId: ruleIds) {
+            CachedRule cachedRule = this.rules.get(ruleId);
+            if (cachedRule != null && now - cachedRule.loadTimeInMillis < RULE_CACHE_EXPIRY_IN_MILLIS) {
+                sequenceRules.put(ruleId, cachedRule.rule);
+            } else {
+                missingRuleIds.add(ruleId);
+            }
+        }
+        if (missingRuleIds.isEmpty()) {
+            listener.onResponse(sequenceRules);
+            return;
+        }
+
+        SearchRequest searchRequest = new SearchRequest(Rule.PRE_PACKAGED_RULES_INDEX, Rule.CUSTOM_RULES_INDEX)
+                .indicesOptions(IndicesOptions.lenientExpandOpen())
+                .source(new SearchSourceBuilder()
+                        .version(true)
+                        .query(QueryBuilders.termsQuery("_id", missingRuleIds.toArray(new String[]{})))
+                        .size(missingRuleIds.size()));
+
+        this.client.search(searchRequest, ActionListener.wrap(
+                response -> {
+                    for (SearchHit hit: response.getHits()) {
+                        XContentParser xcp = XContentType.JSON.xContent().createParser(
+                                xContentRegistry,
+                                LoggingDeprecationHandler.INSTANCE, hit.getSourceAsString()
+                        );
+                        SequenceRule sequenceRule = SequenceRule.fromRule(Rule.docParse(xcp, hit.getId(), hit.getVersion()));
+                        if (sequenceRule != null) {
+                            this.rules.put(hit.getId(), new CachedRule(sequenceRule, now));
+                            sequenceRules.put(hit.getId(), sequenceRule);
+                        }
+                    }
+                    listener.onResponse(sequenceRules);
+                },
+                listener::onFailure
+        ));
+    }
+
+    private void getEvents(Finding finding, Iterable<SequenceRule> sequenceRules, ActionListener<List<Event>> listener) {
+        List<String> groupByFields = new ArrayList<>();
+        for (SequenceRule rule: sequenceRules) {
+            if (rule.getGroupByField() != null) {
+                groupByFields.add(rule.getGroupByField());
+            }
+        }
+
+        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder()
+                .query(QueryBuilders.idsQuery().addIds(finding.getRelatedDocIds().toArray(new String[]{})))
+                .fetchSource(groupByFields.toArray(new String[]{}), null)
+                .docValueField(TransportIndexDetectorAction.TIMESTAMP_FIELD_ALIAS, "epoch_millis")
+                .size(finding.getRelatedDocIds().size());
+
+        this.client.search(new SearchRequest(finding.getIndex()).source(searchSourceBuilder), ActionListener.wrap(
+                response -> {
+                    List<Event> events = new ArrayList<>();
+                    for (SearchHit hit: response.getHits()) {
+                        // documents without the timestamp alias are placed at the time of the finding
+                        long timestamp = finding.getTimestamp().toEpochMilli();
+                        DocumentField timestampField = hit.field(TransportIndexDetectorAction.TIMESTAMP_FIELD_ALIAS);
+                        if (timestampField != null && timestampField.getValue() != null) {
+                            timestamp = (long) Double.parseDouble(timestampField.getValue().toString());
+                        }
+                        events.add(new Event(hit.getId(), timestamp, hit.getSourceAsMap()));
+                    }
+                    events.sort((left, right) -> Long.compare(left.timestamp, right.timestamp));
+                    listener.onResponse(events);
+                },
+                listener::onFailure
+        ));
+    }
+
+    private void getState(String stateId, SequenceRule rule, ActionListener<CachedState> listener) {
+        CachedState state = this.states.get(stateId);
+        if (state != null) {
+            listener.onResponse(state);
+            return;
+        }
+        if (!this.sequenceStateIndices.sequenceStateIndexExists()) {
+            listener.onResponse(new CachedState(new SequenceStateMachine(rule), SequenceNumbers.UNASSIGNED_SEQ_NO, SequenceNumbers.UNASSIGNED_PRIMARY_TERM));
+            return;
+        }
+
+        this.client.get(new GetRequest(SequenceStateIndices.SEQUENCE_STATE_INDEX, stateId), ActionListener.wrap(
+                response -> {
+                    if (response.isExists() && response.getSourceAsMap().get("state") instanceof Map) {
+                        @SuppressWarnings("unchecked")
+                        Map<String, Object> checkpoint = (Map<String, Object>) response.getSourceAsMap().get("state");
+                        listener.onResponse(new CachedState(SequenceStateMachine.fromMap(rule, checkpoint), response.getSeqNo(), response.getPrimaryTerm()));
+                    } else {
+                        listener.onResponse(new CachedState(new SequenceStateMachine(rule), SequenceNumbers.UNASSIGNED_SEQ_NO, SequenceNumbers.UNASSIGNED_PRIMARY_TERM));
+                    }
+                },
+                listener::onFailure
+        ));
+    }
+
+    /**
+     * Writes the state if it changed the checkpoint it was loaded from, or deletes its checkpoint if it is empty. Fails
+     * with a {@link VersionConflictEngineException} if the checkpoint was written or deleted since the state was loaded.
+     */
+    private void checkpoint(String detectorId, String ruleId, String group, String stateId, CachedState state, ActionListener<CachedState> listener) {
+        SequenceStateMachine stateMachine = state.stateMachine;
+        if (stateMachine.isEmpty()) {
+            if (!state.hasCheckpoint()) {
+                listener.onResponse(state);
+                return;
+            }
+            DeleteRequest deleteRequest = new DeleteRequest(SequenceStateIndices.SEQUENCE_STATE_INDEX, stateId)
+                    .setIfSeqNo(state.seqNo)
+                    .setIfPrimaryTerm(state.primaryTerm);
+            this.client.delete(deleteRequest, ActionListener.wrap(
+                    response -> listener.onResponse(new CachedState(stateMachine, SequenceNumbers.UNASSIGNED_SEQ_NO, SequenceNumbers.UNASSIGNED_PRIMARY_TERM)),
+                    listener::onFailure
+            ));
+            return;
+        }
+
+        if (this.sequenceStateIndices.sequenceStateIndexExists()) {
+            writeState(detectorId, ruleId, group, stateId, state, listener);
+            return;
+        }
+        try {
+            this.sequenceStateIndices.initSequenceStateIndex(ActionListener.wrap(
+                    response -> writeState(detectorId, ruleId, group, stateId, state, listener),
+                    e -> {
+                        if (ExceptionsHelper.unwrapCause(e) instanceof ResourceAlreadyExistsException) {
+                            writeState(detectorId, ruleId, group, stateId, state, listener);
+                        } else {
+                            listener.onFailure(e);
+                        }
+                    }
+            ));
+        } catch (Exception e) {
+            listener.onFailure(e);
+        }
+    }
+
+    private void writeState(String detectorId, String ruleId, String group, String stateId, CachedState state, ActionListener<CachedState> listener) {
+        SequenceStateMachine stateMachine = state.stateMachine;
+        Map<String, Object> source = new HashMap<>();
+        source.put("detector_id", detectorId);
+        source.put("rule_id", ruleId);
+        source.put("group", group);
+        source.put("expire_time", stateMachine.getExpireTime());
+        source.put("state", stateMachine.toMap());
+
+        IndexRequest indexRequest = new IndexRequest(SequenceStateIndices.SEQUENCE_STATE_INDEX).id(stateId).source(source);
+        if (state.hasCheckpoint()) {
+            indexRequest.setIfSeqNo(state.seqNo).setIfPrimaryTerm(state.primaryTerm);
+        } else {
+            indexRequest.opType(DocWriteRequest.OpType.CREATE);
+        }
+        this.client.index(indexRequest, ActionListener.wrap(
+                response -> listener.onResponse(new CachedState(stateMachine, response.getSeqNo(), response.getPrimaryTerm())),
+                listener::onFailure
+        ));
+    }
+
+    /**
+     * Deletes, at most once per {@link #STATE_CLEANUP_INTERVAL_IN_MILLIS} on a node, the checkpoints of groups whose
+     * sequences can no longer complete, e.g. of hosts which are gone.
+     */
+    private void deleteExpiredStates() {
+        long now = this.relativeTimeInMillisSupplier.getAsLong();
+        long lastCleanupTime = this.lastStateCleanupTimeInMillis.get();
+        if (lastCleanupTime != NEVER && now - lastCleanupTime < STATE_CLEANUP_INTERVAL_IN_MILLIS) {
+            return;
+        }
+        if (!this.lastStateCleanupTimeInMillis.compareAndSet(lastCleanupTime, now) || !this.sequenceStateIndices.sequenceStateIndexExists()) {
+            return;
+        }
+
+        // a group advanced concurrently fails to checkpoint and is reloaded from scratch
+        new DeleteByQueryRequestBuilder(this.client, DeleteByQueryAction.INSTANCE)
+                .source(SequenceStateIndices.SEQUENCE_STATE_INDEX)
+                .filter(QueryBuilders.rangeQuery("expire_time").lt(Instant.now().toEpochMilli()))
+                .abortOnVersionConflict(false)
+                .execute(ActionListener.wrap(response -> {}, this::onFailure));
+    }
+
+    private void writeFinding(Detector detector, Finding stepFinding, SequenceRule rule, List<String> docIds) throws Exception {
+        Finding finding = new Finding(
+                UUIDs.base64UUID(),
+                docIds,
+                docIds,
+                stepFinding.getMonitorId(),
+                detector.getName(),
+                stepFinding.getIndex(),
+                List.of(new DocLevelQuery(rule.getRuleId(), rule.getRuleId(), "", rule.getTags())),
+                Instant.now()
+        );
+        IndexRequest indexRequest = new IndexRequest(detector.getFindingsIndex())
+                .id(finding.getId())
+                .source(finding.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS));
+        this.client.index(indexRequest, ActionListener.wrap(response -> {}, this::onFailure));
+    }
+
+    /**
+     * @return the value of the group by field of the event, an empty group if the rule does not group, or null if the
+     * event has no value to be grouped by
+     */
+    private static String group(SequenceRule rule, Event event) {
+        if (rule.getGroupByField() == null) {
+            return "";
+        }
+        Object value = XContentMapValues.extractValue(rule.getGroupByField(), event.source);
+        return value != null? value.toString(): null;
+    }
+
+    static String stateId(String detectorId, String ruleId, String group) {
+        String key = detectorId + '\u0000' + ruleId + '\u0000' + group;
+        return MessageDigests.toHexString(MessageDigests.sha256().digest(key.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private void onFailure(Exception e) {
+        log.warn("Failed to evaluate sequence rules", e);
+    }
+}
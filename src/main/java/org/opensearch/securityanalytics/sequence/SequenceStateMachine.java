@@ -0,0 +1,202 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.sequence;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * State of a sequence rule for one group, advanced by the step matches of the group as they are published.
+ *
+ * For ordered sequences the state keeps, per step, the partial sequence ending with that step which started latest,
+ * as it is the one most likely to complete within the timeframe. For unordered sequences it keeps the latest match of
+ * every step. Either way the state holds at most one partial match per step, so memory per group is bounded by the
+ * number of steps.
+ */
+public class SequenceStateMachine {
+
+    private static final String STEPS_FIELD = "steps";
+    private static final String STEP_FIELD = "step";
+    private static final String START_FIELD = "start";
+    private static final String LAST_FIELD = "last";
+    private static final String DOC_IDS_FIELD = "doc_ids";
+
+    private static class Partial {
+
+        private final long start;
+
+        private final long last;
+
+        private final List<String> docIds;
+
+        private Partial(long start, long last, List<String> docIds) {
+            this.start = start;
+            this.last = last;
+            this.docIds = docIds;
+        }
+    }
+
+    private final SequenceRule rule;
+
+    private final Partial[] partials;
+
+    public SequenceStateMachine(SequenceRule rule) {
+        this.rule = rule;
+        this.partials = new Partial[rule.getSteps()];
+    }
+
+    /**
+     * Advances the state with a match of a step. Matches of several steps by one document are to be passed from the
+     * last step to the first, so that one document does not complete consecutive steps of an ordered sequence.
+     *
+     * @return the ids of the documents completing the sequence in step order, or null if it is not complete
+     */
+    public List<String> advance(int step, long timestamp, String docId) {
+        this.expire(timestamp);
+        return this.rule.isOrdered()? this.advanceOrdered(step, timestamp, docId): this.advanceUnordered(step, timestamp, docId);
+    }
+
+    private List<String> advanceOrdered(int step, long timestamp, String docId) {
+        Partial candidate;
+        if (step == 0) {
+            candidate = new Partial(timestamp, timestamp, List.of(docId));
+        } else {
+            Partial previous = this.partials[step - 1];
+            if (previous == null || previous.last > timestamp || timestamp - previous.start > this.rule.getTimeframeInMillis()) {
+                return null;
+            }
+            List<String> docIds = new ArrayList<>(previous.docIds);
+            docIds.add(docId);
+            candidate = new Partial(previous.start, timestamp, docIds);
+        }
+
+        if (step == this.partials.length - 1) {
+            this.reset();
+            return candidate.docIds;
+        }
+        if (this.partials[step] == null || candidate.start >= this.partials[step].start) {
+            this.partials[step] = candidate;
+        }
+        return null;
+    }
+
+    private List<String> advanceUnordered(int step, long timestamp, String docId) {
+        if (this.partials[step] == null || timestamp >= this.partials[step].last) {
+            this.partials[step] = new Partial(timestamp, timestamp, List.of(docId));
+        }
+
+        long first = Long.MAX_VALUE;
+        long last = Long.MIN_VALUE;
+        for (Partial partial: this.partials) {
+            if (partial == null) {
+                return null;
+            }
+            first = Math.min(first, partial.last);
+            last = Math.max(last, partial.last);
+        }
+        if (last - first > this.rule.getTimeframeInMillis()) {
+            return null;
+        }
+
+        List<String> docIds = new ArrayList<>();
+        for (Partial partial: this.partials) {
+            docIds.addAll(partial.docIds);
+        }
+        this.reset();
+        return docIds;
+    }
+
+    /**
+     * Drops partial matches which can no longer complete within the timeframe of an event at the given time.
+     */
+    public void expire(long timestamp) {
+        for (int step = 0; step < this.partials.length; ++step) {
+            Partial partial = this.partials[step];
+            // ordered sequences have to complete within the timeframe from their first step
+            if (partial != null && timestamp - (this.rule.isOrdered()? partial.start: partial.last) > this.rule.getTimeframeInMillis()) {
+                this.partials[step] = null;
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        for (Partial partial: this.partials) {
+            if (partial != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return time of the latest match held by the state, or 0 if it is empty
+     */
+    public long getLastEventTime() {
+        long last = 0L;
+        for (Partial partial: this.partials) {
+            if (partial != null) {
+                last = Math.max(last, partial.last);
+            }
+        }
+        return last;
+    }
+
+    /**
+     * @return time after which no partial match held by the state can complete anymore, or 0 if it is empty
+     */
+    public long getExpireTime() {
+        long expireTime = 0L;
+        for (Partial partial: this.partials) {
+            if (partial != null) {
+                expireTime = Math.max(expireTime, (this.rule.isOrdered()? partial.start: partial.last) + this.rule.getTimeframeInMillis());
+            }
+        }
+        return expireTime;
+    }
+
+    private void reset() {
+        for (int step = 0; step < this.partials.length; ++step) {
+            this.partials[step] = null;
+        }
+    }
+
+    public Map<String, Object> toMap() {
+        List<Map<String, Object>> steps = new ArrayList<>();
+        for (int step = 0; step < this.partials.length; ++step) {
+            Partial partial = this.partials[step];
+            if (partial != null) {
+                Map<String, Object> stepMap = new HashMap<>();
+                stepMap.put(STEP_FIELD, step);
+                stepMap.put(START_FIELD, partial.start);
+                stepMap.put(LAST_FIELD, partial.last);
+                stepMap.put(DOC_IDS_FIELD, partial.docIds);
+                steps.add(stepMap);
+            }
+        }
+        return Map.of(STEPS_FIELD, steps);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static SequenceStateMachine fromMap(SequenceRule rule, Map<String, Object> map) {
+        SequenceStateMachine stateMachine = new SequenceStateMachine(rule);
+        Object steps = map.get(STEPS_FIELD);
+        if (steps instanceof List) {
+            for (Map<String, Object> stepMap: (List<Map<String, Object>>) steps) {
+                int step = ((Number) stepMap.get(STEP_FIELD)).intValue();
+                // the rule may have been updated with fewer steps since the state was written
+                if (step < stateMachine.partials.length) {
+                    stateMachine.partials[step] = new Partial(
+                            ((Number) stepMap.get(START_FIELD)).longValue(),
+                            ((Number) stepMap.get(LAST_FIELD)).longValue(),
+                            List.copyOf((List<String>) stepMap.get(DOC_IDS_FIELD))
+                    );
+                }
+            }
+        }
+        return stateMachine;
+    }
+}
@@ -4,7 +4,11 @@
  */
 package org.opensearch.securityanalytics.settings;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.apache.lucene.util.automaton.Operations;
 import org.opensearch.common.settings.Setting;
 import org.opensearch.common.unit.TimeValue;
 
@@ -104,4 +108,137 @@ public class SecurityAnalyticsSettings {
             new TimeValue(5, TimeUnit.MINUTES),
             Setting.Property.NodeScope, Setting.Property.Dynamic
     );
-}
\ No newline at end of file
+
+    public static final Setting<Boolean> ENABLE_CONDITION_OPTIMIZER = Setting.boolSetting(
+            "plugins.security_analytics.condition_optimizer_enabled",
+            true,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    public static final Setting<Boolean> QUERY_DSL_ENABLED = Setting.boolSetting(
+            "plugins.security_analytics.query_dsl_enabled",
+            false,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    public static final Setting<List<String>> ACCELERATED_WILDCARD_FIELDS = Setting.listSetting(
+            "plugins.security_analytics.accelerated_wildcard_fields",
+            Collections.emptyList(),
+            Function.identity(),
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    public static final Setting<Integer> REGEX_DETERMINIZE_WORK_LIMIT = Setting.intSetting(
+            "plugins.security_analytics.regex_determinize_work_limit",
+            Operations.DEFAULT_DETERMINIZE_WORK_LIMIT,
+            1,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    public static final Setting<Boolean> REJECT_COMPLEX_REGEX_RULES = Setting.boolSetting(
+            "plugins.security_analytics.reject_complex_regex_rules",
+            true,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    public static final Setting<Boolean> REWRITE_SIMPLE_REGEX = Setting.boolSetting(
+            "plugins.security_analytics.rewrite_simple_regex",
+            false,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    public static final String TERMS_AGGREGATION_MODE = "terms";
+    public static final String COMPOSITE_AGGREGATION_MODE = "composite";
+
+    public static final Setting<String> BUCKET_LEVEL_AGGREGATION_MODE = new Setting<>(
+            "plugins.security_analytics.bucket_level_aggregation_mode",
+            TERMS_AGGREGATION_MODE,
+            (mode) -> {
+                if (!TERMS_AGGREGATION_MODE.equals(mode) && !COMPOSITE_AGGREGATION_MODE.equals(mode)) {
+                    throw new IllegalArgumentException("Aggregation mode must be one of [" + TERMS_AGGREGATION_MODE + ", " + COMPOSITE_AGGREGATION_MODE + "]");
+                }
+                return mode;
+            },
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    public static final Setting<Integer> COMPOSITE_AGGREGATION_PAGE_SIZE = Setting.intSetting(
+            "plugins.security_analytics.composite_aggregation_page_size",
+            1000,
+            1,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    public static final Setting<Boolean> MERGE_BUCKET_LEVEL_MONITORS = Setting.boolSetting(
+            "plugins.security_analytics.merge_bucket_level_monitors",
+            false,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    public static final Setting<Integer> SEQUENCE_MAX_GROUPS = Setting.intSetting(
+            "plugins.security_analytics.sequence_max_groups",
+            10000,
+            1,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    public static final Setting<Integer> MONITOR_REQUESTS_MAX_IN_FLIGHT = Setting.intSetting(
+            "plugins.security_analytics.monitor_requests_max_in_flight",
+            8,
+            1,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    public static final Setting<Integer> MONITOR_REQUESTS_MAX_RETRIES = Setting.intSetting(
+            "plugins.security_analytics.monitor_requests_max_retries",
+            3,
+            0,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    public static final Setting<TimeValue> MONITOR_REQUESTS_RETRY_BACKOFF = Setting.positiveTimeSetting(
+            "plugins.security_analytics.monitor_requests_retry_backoff",
+            TimeValue.timeValueMillis(100),
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    public static final Setting<Integer> DOC_LEVEL_MONITOR_SHARDS = Setting.intSetting(
+            "plugins.security_analytics.doc_level_monitor_shards",
+            1,
+            1,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    public static final Setting<Long> DOC_LEVEL_MONITOR_MAX_SHARD_COST = Setting.longSetting(
+            "plugins.security_analytics.doc_level_monitor_max_shard_cost",
+            0L,
+            0L,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    public static final Setting<Boolean> STAGGER_DETECTOR_SCHEDULES = Setting.boolSetting(
+            "plugins.security_analytics.stagger_detector_schedules",
+            false,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    public static final Setting<Integer> BULK_DETECTORS_MAX_IN_FLIGHT = Setting.intSetting(
+            "plugins.security_analytics.bulk_detectors_max_in_flight",
+            4,
+            1,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    public static final Setting<TimeValue> FINDINGS_PIT_KEEP_ALIVE = Setting.positiveTimeSetting(
+            "plugins.security_analytics.findings_pit_keep_alive",
+            TimeValue.timeValueMinutes(1),
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    public static final Setting<TimeValue> FINDINGS_SUMMARY_CACHE_TTL = Setting.timeSetting(
+            "plugins.security_analytics.findings_summary_cache_ttl",
+            TimeValue.timeValueSeconds(30),
+            TimeValue.ZERO,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.transport;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.ExceptionsHelper;
+import org.opensearch.OpenSearchStatusException;
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.HandledTransportAction;
+import org.opensearch.client.Client;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.commons.authuser.User;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.rest.RestStatus;
+import org.opensearch.securityanalytics.action.BulkIndexDetectorAction;
+import org.opensearch.securityanalytics.action.BulkIndexDetectorRequest;
+import org.opensearch.securityanalytics.action.BulkIndexDetectorResponse;
+import org.opensearch.securityanalytics.action.BulkIndexDetectorResponse.Item;
+import org.opensearch.securityanalytics.action.IndexDetectorAction;
+import org.opensearch.securityanalytics.action.IndexDetectorRequest;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.securityanalytics.util.DetectorIndices;
+import org.opensearch.securityanalytics.util.DetectorProvisioningContext;
+import org.opensearch.securityanalytics.util.MonitorRequestExecutor;
+import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
+import org.opensearch.tasks.Task;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.TransportService;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Creates the detectors of a bulk request, each one as by {@link IndexDetectorAction}. The detectors share a
+ * {@link DetectorProvisioningContext}, so the rule indices are prepared, the rules of a category looked up and the
+ * read access to an index checked once for all of them. At most
+ * {@link SecurityAnalyticsSettings#BULK_DETECTORS_MAX_IN_FLIGHT} detectors are created at a time, and a failed
+ * detector does not stop the others.
+ */
+public class TransportBulkIndexDetectorAction extends HandledTransportAction<BulkIndexDetectorRequest, BulkIndexDetectorResponse> implements SecureTransportAction {
+
+    private static final Logger log = LogManager.getLogger(TransportBulkIndexDetectorAction.class);
+
+    private final Client client;
+
+    private final MonitorRequestExecutor monitorRequestExecutor;
+
+    private final ClusterService clusterService;
+
+    private final Settings settings;
+
+    private final ThreadPool threadPool;
+
+    private volatile Boolean filterByEnabled;
+
+    private volatile Integer maxInFlight;
+
+    @Inject
+    public TransportBulkIndexDetectorAction(TransportService transportService, ActionFilters actionFilters, Client client, DetectorIndices detectorIndices,
+                                            MonitorRequestExecutor monitorRequestExecutor, ClusterService clusterService, Settings settings) {
+        super(BulkIndexDetectorAction.NAME, transportService, actionFilters, BulkIndexDetectorRequest::new);
+        this.client = client;
+        this.monitorRequestExecutor = monitorRequestExecutor;
+        this.clusterService = clusterService;
+        this.settings = settings;
+        this.threadPool = detectorIndices.getThreadPool();
+        this.filterByEnabled = SecurityAnalyticsSettings.FILTER_BY_BACKEND_ROLES.get(this.settings);
+        this.maxInFlight = SecurityAnalyticsSettings.BULK_DETECTORS_MAX_IN_FLIGHT.get(this.settings);
+
+        this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.FILTER_BY_BACKEND_ROLES, this::setFilterByEnabled);
+        this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.BULK_DETECTORS_MAX_IN_FLIGHT, this::setMaxInFlight);
+    }
+
+    @Override
+    protected void doExecute(Task task, BulkIndexDetectorRequest request, ActionListener<BulkIndexDetectorResponse> listener) {
+        User user = readUserFromThreadContext(this.threadPool);
+
+        String validateBackendRoleMessage = validateUserBackendRoles(user, this.filterByEnabled);
+        if (!"".equals(validateBackendRoleMessage)) {
+            listener.onFailure(SecurityAnalyticsException.wrap(new OpenSearchStatusException(validateBackendRoleMessage, RestStatus.FORBIDDEN)));
+            return;
+        }
+
+        long startTime = System.currentTimeMillis();
+        List<Detector> detectors = request.getDetectors();
+        DetectorProvisioningContext provisioningContext = new DetectorProvisioningContext(detectors);
+
+        // the detectors are created as the user, also when the next one is sent from the response of another one
+        Supplier<ThreadContext.StoredContext> userContext = threadPool.getThreadContext().newRestorableContext(false);
+        BiConsumer<Integer, ActionListener<Item>> createDetector = (position, itemListener) -> {
+            IndexDetectorRequest indexDetectorRequest = new IndexDetectorRequest(Detector.NO_ID, request.getRefreshPolicy(), RestRequest.Method.POST, detectors.get(position));
+            indexDetectorRequest.setProvisioningContext(provisioningContext);
+            try (ThreadContext.StoredContext ignored = userContext.get()) {
+                client.execute(IndexDetectorAction.INSTANCE, indexDetectorRequest, ActionListener.wrap(
+                        response -> itemListener.onResponse(new Item(response.getId(), response.getVersion(), response.getStatus(), null)),
+                        e -> {
+                            log.debug("Failed to create detector [{}] of bulk request", position);
+                            itemListener.onResponse(new Item(null, null, ExceptionsHelper.status(e), e.getMessage()));
+                        }
+                ));
+            }
+        };
+
+        // alerting creates the queries index of a detector type with its first doc level monitor and concurrent
+        // creations fail, so the first detector of each type is created before the others of the type
+        List<Integer> firstOfType = new ArrayList<>();
+        List<Integer> others = new ArrayList<>();
+        Set<String> detectorTypes = new HashSet<>();
+        for (int i = 0; i < detectors.size(); ++i) {
+            (detectorTypes.add(detectors.get(i).getDetectorType()) ? firstOfType : others).add(i);
+        }
+
+        // detector creations are not idempotent, but they report failures as items and are never retried
+        monitorRequestExecutor.execute(firstOfType, createDetector, position -> false, false, maxInFlight, (firstItems, firstFailure) ->
+                monitorRequestExecutor.execute(others, createDetector, position -> false, false, maxInFlight, (otherItems, otherFailure) -> {
+                    Item[] items = new Item[detectors.size()];
+                    for (int i = 0; i < firstOfType.size(); ++i) {
+                        items[firstOfType.get(i)] = firstItems.get(i);
+                    }
+                    for (int i = 0; i < others.size(); ++i) {
+                        items[others.get(i)] = otherItems.get(i);
+                    }
+                    listener.onResponse(new BulkIndexDetectorResponse(System.currentTimeMillis() - startTime, List.of(items)));
+                }));
+    }
+
+    private void setFilterByEnabled(boolean filterByEnabled) {
+        this.filterByEnabled = filterByEnabled;
+    }
+
+    private void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+}
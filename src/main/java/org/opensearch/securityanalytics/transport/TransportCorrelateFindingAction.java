@@ -12,6 +12,7 @@ import org.opensearch.action.ActionListener;
 import org.opensearch.action.ActionRequest;
 import org.opensearch.action.ActionRunnable;
 import org.opensearch.action.admin.indices.create.CreateIndexResponse;
+import org.opensearch.action.bulk.BulkRequest;
 import org.opensearch.action.bulk.BulkResponse;
 import org.opensearch.action.index.IndexRequest;
 import org.opensearch.action.index.IndexResponse;
@@ -47,7 +48,9 @@ import org.opensearch.search.SearchHits;
 import org.opensearch.search.builder.SearchSourceBuilder;
 import org.opensearch.securityanalytics.correlation.JoinEngine;
 import org.opensearch.securityanalytics.correlation.VectorEmbeddingsEngine;
+import org.opensearch.securityanalytics.ingest.IngestFindingsWriter;
 import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.sequence.SequenceRuleEngine;
 import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
 import org.opensearch.securityanalytics.util.CorrelationIndices;
 import org.opensearch.securityanalytics.util.DetectorIndices;
@@ -84,6 +87,8 @@ public class TransportCorrelateFindingAction extends HandledTransportAction<Acti
 
     private final ThreadPool threadPool;
 
+    private final SequenceRuleEngine sequenceRuleEngine;
+
     private volatile TimeValue indexTimeout;
 
     private volatile long corrTimeWindow;
@@ -97,6 +102,7 @@ public class TransportCorrelateFindingAction extends HandledTransportAction<Acti
                                            DetectorIndices detectorIndices,
                                            CorrelationIndices correlationIndices,
                                            ClusterService clusterService,
+                                           SequenceRuleEngine sequenceRuleEngine,
                                            Settings settings,
                                            ActionFilters actionFilters) {
         super(AlertingActions.SUBSCRIBE_FINDINGS_ACTION_NAME, transportService, actionFilters, PublishFindingsRequest::new);
@@ -105,6 +111,7 @@ public class TransportCorrelateFindingAction extends HandledTransportAction<Acti
         this.detectorIndices = detectorIndices;
         this.correlationIndices = correlationIndices;
         this.clusterService = clusterService;
+        this.sequenceRuleEngine = sequenceRuleEngine;
         this.settings = settings;
         this.threadPool = this.detectorIndices.getThreadPool();
 
@@ -231,6 +238,8 @@ public class TransportCorrelateFindingAction extends HandledTransportAction<Acti
                                         LoggingDeprecationHandler.INSTANCE, hit.getSourceAsString()
                                 );
                                 Detector detector = Detector.docParse(xcp, hit.getId(), hit.getVersion());
+                                deleteIngestFindings(detector, finding);
+                                sequenceRuleEngine.onFinding(detector, finding);
                                 joinEngine.onSearchDetectorResponse(detector, finding);
                             } catch (IOException e) {
                                 onFailures(e);
@@ -250,6 +259,29 @@ public class TransportCorrelateFindingAction extends HandledTransportAction<Acti
             }
         }
 
+        /**
+         * Deletes the findings the ingest detection of the detector wrote for the documents of the monitor finding.
+         */
+        private void deleteIngestFindings(Detector detector, Finding finding) {
+            BulkRequest bulkRequest = IngestFindingsWriter.supersededFindings(detector, finding);
+            if (bulkRequest == null) {
+                return;
+            }
+            client.bulk(bulkRequest, new ActionListener<>() {
+                @Override
+                public void onResponse(BulkResponse response) {
+                    if (response.hasFailures()) {
+                        log.debug("Failed to delete ingest findings of detector {}: {}", detector.getId(), response.buildFailureMessage());
+                    }
+                }
+
+                @Override
+                public void onFailure(Exception e) {
+                    log.debug("Failed to delete ingest findings of detector {}", detector.getId(), e);
+                }
+            });
+        }
+
         public void initCorrelationIndex(String detectorType, Map<String, List<String>> correlatedFindings, List<String> correlationRules) {
             try {
                 log.info("hit here6");
@@ -38,6 +38,7 @@ import org.opensearch.securityanalytics.action.DeleteRuleResponse;
 import org.opensearch.securityanalytics.action.IndexDetectorAction;
 import org.opensearch.securityanalytics.action.IndexDetectorRequest;
 import org.opensearch.securityanalytics.action.IndexDetectorResponse;
+import org.opensearch.securityanalytics.ingest.DetectorRulesCache;
 import org.opensearch.securityanalytics.model.Detector;
 import org.opensearch.securityanalytics.model.DetectorRule;
 import org.opensearch.securityanalytics.model.Rule;
@@ -65,15 +66,19 @@ public class TransportDeleteRuleAction extends HandledTransportAction<DeleteRule
 
     private final DetectorIndices detectorIndices;
 
+    private final DetectorRulesCache detectorRulesCache;
+
     private final NamedXContentRegistry xContentRegistry;
 
     private final ThreadPool threadPool;
 
     @Inject
-    public TransportDeleteRuleAction(TransportService transportService, Client client, DetectorIndices detectorIndices, ActionFilters actionFilters, NamedXContentRegistry xContentRegistry) {
+    public TransportDeleteRuleAction(TransportService transportService, Client client, DetectorIndices detectorIndices, DetectorRulesCache detectorRulesCache,
+                                     ActionFilters actionFilters, NamedXContentRegistry xContentRegistry) {
         super(DeleteRuleAction.NAME, transportService, actionFilters, DeleteRuleRequest::new);
         this.client = client;
         this.detectorIndices = detectorIndices;
+        this.detectorRulesCache = detectorRulesCache;
         this.xContentRegistry = xContentRegistry;
         this.threadPool = client.threadPool();
     }
@@ -201,6 +206,8 @@ public class TransportDeleteRuleAction extends HandledTransportAction<DeleteRule
                     new ActionListener<>() {
                         @Override
                         public void onResponse(IndexDetectorResponse response) {
+                            // ingest detection stops evaluating the deleted rule
+                            detectorRulesCache.invalidate(detector.getId());
                             if (response.getStatus() != RestStatus.OK) {
                                 onFailures(new OpenSearchStatusException(String.format(Locale.getDefault(), "Rule with id %s cannot be deleted", request.getRuleId()), RestStatus.INTERNAL_SERVER_ERROR));
                             }
@@ -0,0 +1,315 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.transport;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.ExceptionsHelper;
+import org.opensearch.OpenSearchStatusException;
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.search.MultiSearchRequest;
+import org.opensearch.action.search.MultiSearchResponse;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.HandledTransportAction;
+import org.opensearch.action.support.IndicesOptions;
+import org.opensearch.client.Client;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.xcontent.LoggingDeprecationHandler;
+import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.commons.alerting.model.DocLevelQuery;
+import org.opensearch.commons.authuser.User;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.index.IndexNotFoundException;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.rest.RestStatus;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.aggregations.Aggregation;
+import org.opensearch.search.aggregations.bucket.MultiBucketsAggregation;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.securityanalytics.action.DryRunDetectorAction;
+import org.opensearch.securityanalytics.action.DryRunDetectorRequest;
+import org.opensearch.securityanalytics.action.DryRunDetectorResponse;
+import org.opensearch.securityanalytics.action.DryRunDetectorResponse.RuleResult;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.model.DetectorInput;
+import org.opensearch.securityanalytics.model.DetectorRule;
+import org.opensearch.securityanalytics.model.Rule;
+import org.opensearch.securityanalytics.rules.backend.QueryBackend;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
+import org.opensearch.securityanalytics.rules.types.SigmaString;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.securityanalytics.util.DetectorIndices;
+import org.opensearch.securityanalytics.util.DetectorQueryGenerator;
+import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
+import org.opensearch.tasks.Task;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.TransportService;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import static org.opensearch.securityanalytics.transport.TransportIndexDetectorAction.TIMESTAMP_FIELD_ALIAS;
+
+/**
+ * Runs the rules of a detector against the last window of its input indices without persisting the detector or
+ * creating monitors, to estimate the finding rate and the query cost before the detector is enabled. The queries
+ * are generated by {@link DetectorQueryGenerator} like the monitor queries; every doc level query and aggregation
+ * rule is searched separately, so that hits and cost are reported per rule, and all searches run in parallel.
+ */
+public class TransportDryRunDetectorAction extends HandledTransportAction<DryRunDetectorRequest, DryRunDetectorResponse> implements SecureTransportAction {
+
+    private static final String DOC_LEVEL_MONITOR = "doc_level_monitor";
+
+    private static final String BUCKET_LEVEL_MONITOR = "bucket_level_monitor";
+
+    private final Client client;
+
+    private final NamedXContentRegistry xContentRegistry;
+
+    private final DetectorIndices detectorIndices;
+
+    private final DetectorQueryGenerator detectorQueryGenerator;
+
+    private final ClusterService clusterService;
+
+    private final Settings settings;
+
+    private final ThreadPool threadPool;
+
+    private volatile Boolean filterByEnabled;
+
+    private static final Logger log = LogManager.getLogger(TransportDryRunDetectorAction.class);
+
+    @Inject
+    public TransportDryRunDetectorAction(TransportService transportService, ActionFilters actionFilters, DetectorIndices detectorIndices, DetectorQueryGenerator detectorQueryGenerator,
+                                         ClusterService clusterService, NamedXContentRegistry xContentRegistry, Client client, Settings settings) {
+        super(DryRunDetectorAction.NAME, transportService, actionFilters, DryRunDetectorRequest::new);
+        this.xContentRegistry = xContentRegistry;
+        this.client = client;
+        this.detectorIndices = detectorIndices;
+        this.detectorQueryGenerator = detectorQueryGenerator;
+        this.clusterService = clusterService;
+        this.threadPool = this.detectorIndices.getThreadPool();
+        this.settings = settings;
+        this.filterByEnabled = SecurityAnalyticsSettings.FILTER_BY_BACKEND_ROLES.get(this.settings);
+
+        this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.FILTER_BY_BACKEND_ROLES, this::setFilterByEnabled);
+    }
+
+    @Override
+    protected void doExecute(Task task, DryRunDetectorRequest request, ActionListener<DryRunDetectorResponse> actionListener) {
+        User user = readUserFromThreadContext(this.threadPool);
+
+        String validateBackendRoleMessage = validateUserBackendRoles(user, this.filterByEnabled);
+        if (!"".equals(validateBackendRoleMessage)) {
+            actionListener.onFailure(SecurityAnalyticsException.wrap(new OpenSearchStatusException(validateBackendRoleMessage, RestStatus.FORBIDDEN)));
+            return;
+        }
+
+        // the user must be able to read the input indices, as the searches of the dry run run with the plugin context
+        Detector detector = request.getDetectorRequest().getDetector();
+        List<String> indices = detector.getInputs().get(0).getIndices();
+        SearchRequest searchRequest = new SearchRequest(indices.toArray(new String[]{}))
+                .source(new SearchSourceBuilder().size(0).query(QueryBuilders.matchAllQuery()));
+        client.search(searchRequest, new ActionListener<>() {
+            @Override
+            public void onResponse(SearchResponse response) {
+                TransportDryRunDetectorAction.this.threadPool.getThreadContext().stashContext();
+                searchRules(detector, request, actionListener);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                if (e instanceof OpenSearchStatusException) {
+                    actionListener.onFailure(SecurityAnalyticsException.wrap(
+                            new OpenSearchStatusException(String.format(Locale.getDefault(), "User doesn't have read permissions for one or more configured index %s", indices), RestStatus.FORBIDDEN)
+                    ));
+                } else if (e instanceof IndexNotFoundException) {
+                    actionListener.onFailure(SecurityAnalyticsException.wrap(
+                            new OpenSearchStatusException(String.format(Locale.getDefault(), "Indices not found %s", String.join(", ", indices)), RestStatus.NOT_FOUND)
+                    ));
+                } else {
+                    actionListener.onFailure(SecurityAnalyticsException.wrap(e));
+                }
+            }
+        });
+    }
+
+    private void searchRules(Detector detector, DryRunDetectorRequest request, ActionListener<DryRunDetectorResponse> actionListener) {
+        Set<String> ruleIds = new HashSet<>();
+        DetectorInput input = detector.getInputs().get(0);
+        input.getPrePackagedRules().stream().map(DetectorRule::getId).forEach(ruleIds::add);
+        input.getCustomRules().stream().map(DetectorRule::getId).forEach(ruleIds::add);
+        if (ruleIds.isEmpty()) {
+            actionListener.onFailure(SecurityAnalyticsException.wrap(new OpenSearchStatusException("Detector has no rules", RestStatus.BAD_REQUEST)));
+            return;
+        }
+
+        SearchRequest searchRequest = new SearchRequest(Rule.PRE_PACKAGED_RULES_INDEX, Rule.CUSTOM_RULES_INDEX)
+                .indicesOptions(IndicesOptions.lenientExpandOpen())
+                .source(new SearchSourceBuilder()
+                        .version(true)
+                        .query(QueryBuilders.termsQuery("_id", ruleIds.toArray(new String[]{})))
+                        .size(10000));
+
+        client.search(searchRequest, new ActionListener<>() {
+            @Override
+            public void onResponse(SearchResponse response) {
+                try {
+                    List<Pair<String, Rule>> rules = new ArrayList<>();
+                    for (SearchHit hit: response.getHits()) {
+                        XContentParser xcp = XContentType.JSON.xContent().createParser(
+                                xContentRegistry,
+                                LoggingDeprecationHandler.INSTANCE, hit.getSourceAsString()
+                        );
+                        rules.add(Pair.of(hit.getId(), Rule.docParse(xcp, hit.getId(), hit.getVersion())));
+                    }
+                    runRules(detector, rules, request, actionListener);
+                } catch (IOException | SigmaError ex) {
+                    actionListener.onFailure(SecurityAnalyticsException.wrap(ex));
+                }
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                actionListener.onFailure(SecurityAnalyticsException.wrap(e));
+            }
+        });
+    }
+
+    private void runRules(Detector detector, List<Pair<String, Rule>> rules, DryRunDetectorRequest request, ActionListener<DryRunDetectorResponse> actionListener) throws IOException, SigmaError {
+        if (!detectorQueryGenerator.hasTimestampAlias(detector)) {
+            actionListener.onFailure(SecurityAnalyticsException.wrap(new OpenSearchStatusException(
+                    String.format(Locale.getDefault(), "Input index of the detector has no [%s] alias to select the sample window", TIMESTAMP_FIELD_ALIAS), RestStatus.BAD_REQUEST)));
+            return;
+        }
+
+        long periodEnd = System.currentTimeMillis();
+        long periodStart = periodEnd - request.getWindow().millis();
+        String[] indices = detector.getInputs().get(0).getIndices().toArray(new String[]{});
+        TimeValue timeout = request.getTimeout();
+
+        List<Pair<String, Rule>> docLevelRules = new ArrayList<>();
+        List<Rule> bucketLevelRules = new ArrayList<>();
+        for (Pair<String, Rule> rule: rules) {
+            if (!rule.getRight().isAggregationRule()) {
+                docLevelRules.add(rule);
+            } else if (rule.getRight().getAggregationQueries() != null) {
+                bucketLevelRules.add(rule.getRight());
+            }
+        }
+
+        MultiSearchRequest mSearchRequest = new MultiSearchRequest();
+        // rule id, query id and monitor type of each search
+        List<String[]> searches = new ArrayList<>();
+
+        QueryBuilder windowFilter = QueryBuilders.rangeQuery(TIMESTAMP_FIELD_ALIAS)
+                .gt(periodStart)
+                .lte(periodEnd)
+                .format("epoch_millis");
+        for (DocLevelQuery docLevelQuery: detectorQueryGenerator.buildDocLevelQueries(docLevelRules, detector)) {
+            mSearchRequest.add(new SearchRequest(indices)
+                    .source(new SearchSourceBuilder()
+                            .query(QueryBuilders.boolQuery()
+                                    .must(QueryBuilders.queryStringQuery(toSearchQuery(docLevelQuery.getQuery())))
+                                    .filter(windowFilter))
+                            .size(0)
+                            .trackTotalHits(true)
+                            .timeout(timeout)));
+            searches.add(new String[]{docLevelQuery.getName(), docLevelQuery.getId(), DOC_LEVEL_MONITOR});
+        }
+
+        Map<String, QueryBackend> queryBackendMap = new HashMap<>();
+        for (Rule rule: bucketLevelRules) {
+            if (!queryBackendMap.containsKey(rule.getCategory())) {
+                queryBackendMap.put(rule.getCategory(), detectorQueryGenerator.newBucketLevelQueryBackend(rule.getCategory()));
+            }
+            SearchSourceBuilder searchSource = detectorQueryGenerator.buildBucketLevelSearch(List.of(rule), detector, queryBackendMap,
+                    String.valueOf(periodStart), String.valueOf(periodEnd)).getSearchSource();
+            mSearchRequest.add(new SearchRequest(indices)
+                    .source(searchSource
+                            .size(0)
+                            .trackTotalHits(true)
+                            .timeout(timeout)));
+            searches.add(new String[]{rule.getId(), rule.getId(), BUCKET_LEVEL_MONITOR});
+        }
+
+        if (searches.isEmpty()) {
+            actionListener.onResponse(new DryRunDetectorResponse(periodStart, periodEnd, 0L, List.of()));
+            return;
+        }
+
+        long startTime = System.currentTimeMillis();
+        client.multiSearch(mSearchRequest, new ActionListener<>() {
+            @Override
+            public void onResponse(MultiSearchResponse items) {
+                MultiSearchResponse.Item[] responses = items.getResponses();
+                List<RuleResult> ruleResults = new ArrayList<>();
+                for (int i = 0; i < responses.length; ++i) {
+                    String[] search = searches.get(i);
+                    if (responses[i].isFailure()) {
+                        log.debug("Dry run of rule {} failed", search[0]);
+                        ruleResults.add(new RuleResult(search[0], search[1], search[2], 0L, null, 0L, 0, false,
+                                ExceptionsHelper.unwrapCause(responses[i].getFailure()).getMessage()));
+                        continue;
+                    }
+                    SearchResponse response = responses[i].getResponse();
+                    ruleResults.add(new RuleResult(search[0], search[1], search[2],
+                            response.getHits().getTotalHits() != null? response.getHits().getTotalHits().value: 0L,
+                            BUCKET_LEVEL_MONITOR.equals(search[2])? countBuckets(response): null,
+                            response.getTook().millis(),
+                            response.getTotalShards(),
+                            response.isTimedOut(),
+                            null));
+                }
+                actionListener.onResponse(new DryRunDetectorResponse(periodStart, periodEnd, System.currentTimeMillis() - startTime, ruleResults));
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                actionListener.onFailure(SecurityAnalyticsException.wrap(e));
+            }
+        });
+    }
+
+    /**
+     * Rewrites a doc level query for a search of the input indices. Whitespaces of rule values are written as "_ws_",
+     * which the rule analyzer of the queries index turns back into a space; here they are escaped spaces instead, so
+     * the value stays one term.
+     */
+    static String toSearchQuery(String docLevelQuery) {
+        return docLevelQuery.replace(SigmaString.WHITESPACE_REPLACEMENT, "\\ ");
+    }
+
+    private static int countBuckets(SearchResponse response) {
+        int buckets = 0;
+        if (response.getAggregations() != null) {
+            for (Aggregation aggregation: response.getAggregations()) {
+                if (aggregation instanceof MultiBucketsAggregation) {
+                    buckets += ((MultiBucketsAggregation) aggregation).getBuckets().size();
+                }
+            }
+        }
+        return buckets;
+    }
+
+    private void setFilterByEnabled(boolean filterByEnabled) {
+        this.filterByEnabled = filterByEnabled;
+    }
+}
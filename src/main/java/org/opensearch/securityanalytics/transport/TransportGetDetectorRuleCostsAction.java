@@ -0,0 +1,300 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.transport;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.OpenSearchStatusException;
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.get.GetRequest;
+import org.opensearch.action.get.GetResponse;
+import org.opensearch.action.search.MultiSearchRequest;
+import org.opensearch.action.search.MultiSearchResponse;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.HandledTransportAction;
+import org.opensearch.action.support.IndicesOptions;
+import org.opensearch.client.Client;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.xcontent.LoggingDeprecationHandler;
+import org.opensearch.common.xcontent.XContentHelper;
+import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.commons.authuser.User;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.index.IndexNotFoundException;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.rest.RestStatus;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.search.profile.ProfileResult;
+import org.opensearch.search.profile.ProfileShardResult;
+import org.opensearch.search.profile.query.QueryProfileShardResult;
+import org.opensearch.securityanalytics.action.GetDetectorRuleCostsAction;
+import org.opensearch.securityanalytics.action.GetDetectorRuleCostsRequest;
+import org.opensearch.securityanalytics.action.GetDetectorRuleCostsResponse;
+import org.opensearch.securityanalytics.action.GetDetectorRuleCostsResponse.RuleCost;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.model.DetectorInput;
+import org.opensearch.securityanalytics.model.DetectorRule;
+import org.opensearch.securityanalytics.model.Rule;
+import org.opensearch.securityanalytics.rules.backend.RuleCostEstimator;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
+import org.opensearch.securityanalytics.rules.objects.SigmaRule;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.securityanalytics.util.DetectorIndices;
+import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
+import org.opensearch.tasks.Task;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.TransportService;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Reports the rules of a detector ordered by cost, so that the rules dominating monitor run time can be found
+ * and tuned. The static estimate comes from {@link RuleCostEstimator}; when a profile index is given every rule
+ * query is additionally executed once with profiling enabled and the measured query time is reported.
+ * The measured time depends on the data of the profile index and is only reported, it is not stored with the
+ * rule, which is shared by all detectors.
+ */
+public class TransportGetDetectorRuleCostsAction extends HandledTransportAction<GetDetectorRuleCostsRequest, GetDetectorRuleCostsResponse> implements SecureTransportAction {
+
+    private final Client client;
+
+    private final NamedXContentRegistry xContentRegistry;
+
+    private final DetectorIndices detectorIndices;
+
+    private final ClusterService clusterService;
+
+    private final Settings settings;
+
+    private final ThreadPool threadPool;
+
+    private volatile Boolean filterByEnabled;
+
+    private static final Logger log = LogManager.getLogger(TransportGetDetectorRuleCostsAction.class);
+
+    @Inject
+    public TransportGetDetectorRuleCostsAction(TransportService transportService, ActionFilters actionFilters, DetectorIndices detectorIndices, ClusterService clusterService, NamedXContentRegistry xContentRegistry, Client client, Settings settings) {
+        super(GetDetectorRuleCostsAction.NAME, transportService, actionFilters, GetDetectorRuleCostsRequest::new);
+        this.xContentRegistry = xContentRegistry;
+        this.client = client;
+        this.detectorIndices = detectorIndices;
+        this.clusterService = clusterService;
+        this.threadPool = this.detectorIndices.getThreadPool();
+        this.settings = settings;
+        this.filterByEnabled = SecurityAnalyticsSettings.FILTER_BY_BACKEND_ROLES.get(this.settings);
+
+        this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.FILTER_BY_BACKEND_ROLES, this::setFilterByEnabled);
+    }
+
+    @Override
+    protected void doExecute(Task task, GetDetectorRuleCostsRequest request, ActionListener<GetDetectorRuleCostsResponse> actionListener) {
+        User user = readUserFromThreadContext(this.threadPool);
+
+        String validateBackendRoleMessage = validateUserBackendRoles(user, this.filterByEnabled);
+        if (!"".equals(validateBackendRoleMessage)) {
+            actionListener.onFailure(new OpenSearchStatusException("Do not have permissions to resource", RestStatus.FORBIDDEN));
+            return;
+        }
+
+        String profileIndex = request.getProfileIndex();
+        if (profileIndex == null) {
+            this.threadPool.getThreadContext().stashContext();
+            getDetector(user, request, actionListener);
+            return;
+        }
+
+        // the user must be able to read the profile index, as the profiling searches run with the plugin context
+        SearchRequest searchRequest = new SearchRequest(profileIndex)
+                .source(new SearchSourceBuilder().size(0).query(QueryBuilders.matchAllQuery()));
+        client.search(searchRequest, new ActionListener<>() {
+            @Override
+            public void onResponse(SearchResponse response) {
+                TransportGetDetectorRuleCostsAction.this.threadPool.getThreadContext().stashContext();
+                getDetector(user, request, actionListener);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                if (e instanceof OpenSearchStatusException) {
+                    actionListener.onFailure(SecurityAnalyticsException.wrap(
+                            new OpenSearchStatusException(String.format(Locale.getDefault(), "User doesn't have read permissions for profile index %s", profileIndex), RestStatus.FORBIDDEN)
+                    ));
+                } else if (e instanceof IndexNotFoundException) {
+                    actionListener.onFailure(SecurityAnalyticsException.wrap(
+                            new OpenSearchStatusException(String.format(Locale.getDefault(), "Profile index not found %s", profileIndex), RestStatus.NOT_FOUND)
+                    ));
+                } else {
+                    actionListener.onFailure(SecurityAnalyticsException.wrap(e));
+                }
+            }
+        });
+    }
+
+    private void getDetector(User user, GetDetectorRuleCostsRequest request, ActionListener<GetDetectorRuleCostsResponse> actionListener) {
+        client.get(new GetRequest(Detector.DETECTORS_INDEX, request.getDetectorId()), new ActionListener<>() {
+            @Override
+            public void onResponse(GetResponse response) {
+                try {
+                    if (!response.isExists() || response.isSourceEmpty()) {
+                        actionListener.onFailure(SecurityAnalyticsException.wrap(new OpenSearchStatusException("Detector not found.", RestStatus.NOT_FOUND)));
+                        return;
+                    }
+                    XContentParser xcp = XContentHelper.createParser(
+                            xContentRegistry, LoggingDeprecationHandler.INSTANCE,
+                            response.getSourceAsBytesRef(), XContentType.JSON
+                    );
+                    Detector detector = Detector.docParse(xcp, response.getId(), response.getVersion());
+                    if (!checkUserPermissionsWithResource(
+                            user,
+                            detector.getUser(),
+                            "detector",
+                            detector.getId(),
+                            TransportGetDetectorRuleCostsAction.this.filterByEnabled
+                    )
+                    ) {
+                        actionListener.onFailure(new OpenSearchStatusException("Do not have permissions to resource", RestStatus.FORBIDDEN));
+                        return;
+                    }
+                    searchRules(detector, request.getProfileIndex(), actionListener);
+                } catch (IOException ex) {
+                    actionListener.onFailure(ex);
+                }
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                actionListener.onFailure(SecurityAnalyticsException.wrap(e));
+            }
+        });
+    }
+
+    private void searchRules(Detector detector, String profileIndex, ActionListener<GetDetectorRuleCostsResponse> actionListener) {
+        Set<String> ruleIds = new HashSet<>();
+        for (DetectorInput input: detector.getInputs()) {
+            input.getPrePackagedRules().stream().map(DetectorRule::getId).forEach(ruleIds::add);
+            input.getCustomRules().stream().map(DetectorRule::getId).forEach(ruleIds::add);
+        }
+        if (ruleIds.isEmpty()) {
+            actionListener.onResponse(new GetDetectorRuleCostsResponse(detector.getId(), List.of()));
+            return;
+        }
+
+        SearchRequest searchRequest = new SearchRequest(Rule.PRE_PACKAGED_RULES_INDEX, Rule.CUSTOM_RULES_INDEX)
+                .indicesOptions(IndicesOptions.lenientExpandOpen())
+                .source(new SearchSourceBuilder()
+                        .version(true)
+                        .query(QueryBuilders.termsQuery("_id", ruleIds.toArray(new String[]{})))
+                        .size(10000));
+
+        client.search(searchRequest, new ActionListener<>() {
+            @Override
+            public void onResponse(SearchResponse response) {
+                try {
+                    List<Rule> rules = new ArrayList<>();
+                    List<RuleCost> ruleCosts = new ArrayList<>();
+                    RuleCostEstimator costEstimator = new RuleCostEstimator();
+                    for (SearchHit hit: response.getHits()) {
+                        XContentParser xcp = XContentType.JSON.xContent().createParser(
+                                xContentRegistry,
+                                LoggingDeprecationHandler.INSTANCE, hit.getSourceAsString()
+                        );
+                        Rule rule = Rule.docParse(xcp, hit.getId(), hit.getVersion());
+                        // rules indexed before the cost model existed carry no estimate
+                        long cost = rule.getEstimatedCost() != null? rule.getEstimatedCost():
+                                costEstimator.estimate(SigmaRule.fromYaml(rule.getRule(), true));
+                        rules.add(rule);
+                        ruleCosts.add(new RuleCost(rule.getId(), rule.getTitle(), cost, null));
+                    }
+
+                    if (profileIndex == null) {
+                        onRuleCosts(detector, ruleCosts, actionListener);
+                    } else {
+                        profileRules(detector, profileIndex, rules, ruleCosts, actionListener);
+                    }
+                } catch (IOException | SigmaError ex) {
+                    actionListener.onFailure(SecurityAnalyticsException.wrap(ex));
+                }
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                actionListener.onFailure(SecurityAnalyticsException.wrap(e));
+            }
+        });
+    }
+
+    private void profileRules(Detector detector, String profileIndex, List<Rule> rules, List<RuleCost> ruleCosts, ActionListener<GetDetectorRuleCostsResponse> actionListener) {
+        List<RuleCost> profiledCosts = new ArrayList<>();
+        MultiSearchRequest mSearchRequest = new MultiSearchRequest();
+        for (int i = 0; i < rules.size(); ++i) {
+            Rule rule = rules.get(i);
+            if (rule.getQueries().isEmpty()) {
+                continue;
+            }
+            mSearchRequest.add(new SearchRequest(profileIndex)
+                    .source(new SearchSourceBuilder()
+                            .query(QueryBuilders.queryStringQuery(TransportDryRunDetectorAction.toSearchQuery(rule.getQueries().get(0).getValue())))
+                            .size(0)
+                            .profile(true)));
+            profiledCosts.add(ruleCosts.get(i));
+        }
+        if (profiledCosts.isEmpty()) {
+            onRuleCosts(detector, ruleCosts, actionListener);
+            return;
+        }
+
+        client.multiSearch(mSearchRequest, new ActionListener<>() {
+            @Override
+            public void onResponse(MultiSearchResponse items) {
+                MultiSearchResponse.Item[] responses = items.getResponses();
+                for (int i = 0; i < responses.length; ++i) {
+                    if (responses[i].isFailure() || responses[i].getResponse().getProfileResults() == null) {
+                        log.debug("Profiling rule {} failed", profiledCosts.get(i).getRuleId());
+                        continue;
+                    }
+                    long timeInNanos = 0L;
+                    for (ProfileShardResult shardResult: responses[i].getResponse().getProfileResults().values()) {
+                        for (QueryProfileShardResult queryResult: shardResult.getQueryProfileResults()) {
+                            for (ProfileResult profileResult: queryResult.getQueryResults()) {
+                                timeInNanos += profileResult.getTime();
+                            }
+                        }
+                    }
+                    profiledCosts.get(i).setProfiledTimeInNanos(timeInNanos);
+                }
+                onRuleCosts(detector, ruleCosts, actionListener);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                actionListener.onFailure(SecurityAnalyticsException.wrap(e));
+            }
+        });
+    }
+
+    private void onRuleCosts(Detector detector, List<RuleCost> ruleCosts, ActionListener<GetDetectorRuleCostsResponse> actionListener) {
+        // measured time wins over the estimate when it is available
+        ruleCosts.sort(Comparator.comparing((RuleCost ruleCost) -> ruleCost.getProfiledTimeInNanos() != null? ruleCost.getProfiledTimeInNanos(): -1L)
+                .thenComparingLong(RuleCost::getEstimatedCost)
+                .reversed());
+        actionListener.onResponse(new GetDetectorRuleCostsResponse(detector.getId(), ruleCosts));
+    }
+
+    private void setFilterByEnabled(boolean filterByEnabled) {
+        this.filterByEnabled = filterByEnabled;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.transport;
+
+import org.opensearch.OpenSearchStatusException;
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.HandledTransportAction;
+import org.opensearch.client.Client;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.common.io.stream.NamedWriteableRegistry;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.commons.authuser.User;
+import org.opensearch.rest.RestStatus;
+import org.opensearch.securityanalytics.action.GetFindingsPageAction;
+import org.opensearch.securityanalytics.action.GetFindingsPageRequest;
+import org.opensearch.securityanalytics.action.GetFindingsPageResponse;
+import org.opensearch.securityanalytics.findings.FindingsService;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.securityanalytics.util.DetectorIndices;
+import org.opensearch.tasks.Task;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.TransportService;
+
+public class TransportGetFindingsPageAction extends HandledTransportAction<GetFindingsPageRequest, GetFindingsPageResponse> implements SecureTransportAction {
+
+    private final FindingsService findingsService;
+
+    private final ClusterService clusterService;
+
+    private final Settings settings;
+
+    private final ThreadPool threadPool;
+
+    private volatile Boolean filterByEnabled;
+
+    private volatile TimeValue pitKeepAlive;
+
+    @Inject
+    public TransportGetFindingsPageAction(TransportService transportService, ActionFilters actionFilters, ClusterService clusterService, DetectorIndices detectorIndices, Settings settings, Client client,
+                                          NamedWriteableRegistry namedWriteableRegistry) {
+        super(GetFindingsPageAction.NAME, transportService, actionFilters, GetFindingsPageRequest::new);
+        this.clusterService = clusterService;
+        this.threadPool = detectorIndices.getThreadPool();
+        this.settings = settings;
+        this.findingsService = new FindingsService(client, namedWriteableRegistry);
+        this.filterByEnabled = SecurityAnalyticsSettings.FILTER_BY_BACKEND_ROLES.get(this.settings);
+        this.pitKeepAlive = SecurityAnalyticsSettings.FINDINGS_PIT_KEEP_ALIVE.get(this.settings);
+        this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.FILTER_BY_BACKEND_ROLES, this::setFilterByEnabled);
+        this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.FINDINGS_PIT_KEEP_ALIVE, this::setPitKeepAlive);
+    }
+
+    @Override
+    protected void doExecute(Task task, GetFindingsPageRequest request, ActionListener<GetFindingsPageResponse> actionListener) {
+        User user = readUserFromThreadContext(this.threadPool);
+
+        String validateBackendRoleMessage = validateUserBackendRoles(user, this.filterByEnabled);
+        if (!"".equals(validateBackendRoleMessage)) {
+            actionListener.onFailure(new OpenSearchStatusException("Do not have permissions to resource", RestStatus.FORBIDDEN));
+            return;
+        }
+
+        findingsService.getFindingsPage(
+                request.getDetectorId(),
+                request.getNextToken(),
+                request.getSize(),
+                request.isIncludeDocuments(),
+                pitKeepAlive,
+                actionListener
+        );
+    }
+
+    private void setFilterByEnabled(boolean filterByEnabled) {
+        this.filterByEnabled = filterByEnabled;
+    }
+
+    private void setPitKeepAlive(TimeValue pitKeepAlive) {
+        this.pitKeepAlive = pitKeepAlive;
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.transport;
+
+import org.apache.lucene.search.join.ScoreMode;
+import org.opensearch.OpenSearchStatusException;
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.HandledTransportAction;
+import org.opensearch.client.Client;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.commons.authuser.User;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.rest.RestStatus;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.securityanalytics.action.GetDetectorAction;
+import org.opensearch.securityanalytics.action.GetDetectorRequest;
+import org.opensearch.securityanalytics.action.GetFindingsSummaryAction;
+import org.opensearch.securityanalytics.action.GetFindingsSummaryRequest;
+import org.opensearch.securityanalytics.action.GetFindingsSummaryResponse;
+import org.opensearch.securityanalytics.action.SearchDetectorRequest;
+import org.opensearch.securityanalytics.findings.FindingsService;
+import org.opensearch.securityanalytics.findings.FindingsSummaryCache;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.securityanalytics.util.DetectorIndices;
+import org.opensearch.securityanalytics.util.DetectorUtils;
+import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
+import org.opensearch.tasks.Task;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.TransportService;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.opensearch.securityanalytics.util.DetectorUtils.DETECTOR_TYPE_PATH;
+
+public class TransportGetFindingsSummaryAction extends HandledTransportAction<GetFindingsSummaryRequest, GetFindingsSummaryResponse> implements SecureTransportAction {
+
+    private final Client client;
+
+    private final TransportSearchDetectorAction transportSearchDetectorAction;
+
+    private final NamedXContentRegistry xContentRegistry;
+
+    private final FindingsService findingsService;
+
+    private final FindingsSummaryCache summaryCache;
+
+    private final ClusterService clusterService;
+
+    private final Settings settings;
+
+    private final ThreadPool threadPool;
+
+    private volatile Boolean filterByEnabled;
+
+    @Inject
+    public TransportGetFindingsSummaryAction(TransportService transportService, ActionFilters actionFilters, ClusterService clusterService, DetectorIndices detectorIndices, Settings settings, TransportSearchDetectorAction transportSearchDetectorAction, NamedXContentRegistry xContentRegistry, Client client) {
+        super(GetFindingsSummaryAction.NAME, transportService, actionFilters, GetFindingsSummaryRequest::new);
+        this.client = client;
+        this.transportSearchDetectorAction = transportSearchDetectorAction;
+        this.xContentRegistry = xContentRegistry;
+        this.clusterService = clusterService;
+        this.threadPool = detectorIndices.getThreadPool();
+        this.settings = settings;
+        this.findingsService = new FindingsService(client);
+        this.summaryCache = new FindingsSummaryCache(SecurityAnalyticsSettings.FINDINGS_SUMMARY_CACHE_TTL.get(this.settings));
+        this.filterByEnabled = SecurityAnalyticsSettings.FILTER_BY_BACKEND_ROLES.get(this.settings);
+        this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.FILTER_BY_BACKEND_ROLES, this::setFilterByEnabled);
+        this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.FINDINGS_SUMMARY_CACHE_TTL, summaryCache::setTtl);
+    }
+
+    @Override
+    protected void doExecute(Task task, GetFindingsSummaryRequest request, ActionListener<GetFindingsSummaryResponse> actionListener) {
+        User user = readUserFromThreadContext(this.threadPool);
+
+        String validateBackendRoleMessage = validateUserBackendRoles(user, this.filterByEnabled);
+        if (!"".equals(validateBackendRoleMessage)) {
+            actionListener.onFailure(new OpenSearchStatusException("Do not have permissions to resource", RestStatus.FORBIDDEN));
+            return;
+        }
+
+        // detectors are resolved on every request, so the caller has to be allowed to see them before a cached summary is used
+        ActionListener<List<Detector>> detectorsListener = ActionListener.wrap(
+                detectors -> summarize(detectors, request, actionListener),
+                actionListener::onFailure
+        );
+        if (request.getDetectorId() != null && !request.getDetectorId().isEmpty()) {
+            client.execute(GetDetectorAction.INSTANCE, new GetDetectorRequest(request.getDetectorId(), -3L), ActionListener.wrap(
+                    getDetectorResponse -> detectorsListener.onResponse(List.of(getDetectorResponse.getDetector())),
+                    actionListener::onFailure
+            ));
+        } else {
+            searchDetectors(request.getDetectorType(), detectorsListener);
+        }
+    }
+
+    private void summarize(List<Detector> detectors, GetFindingsSummaryRequest request, ActionListener<GetFindingsSummaryResponse> actionListener) {
+        String key = FindingsSummaryCache.key(detectors, request.getStartTime(), request.getEndTime(), request.getInterval());
+        GetFindingsSummaryResponse cached = summaryCache.get(key);
+        if (cached != null) {
+            actionListener.onResponse(cached);
+            return;
+        }
+
+        findingsService.getFindingsSummary(
+                detectors,
+                detectors.get(0).getDetectorType(),
+                request.getStartTime(),
+                request.getEndTime(),
+                request.getInterval(),
+                ActionListener.wrap(summary -> {
+                    summaryCache.put(key, summary);
+                    actionListener.onResponse(summary);
+                }, actionListener::onFailure)
+        );
+    }
+
+    private void searchDetectors(Detector.DetectorType detectorType, ActionListener<List<Detector>> listener) {
+        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder()
+                // "detector" is nested type so we have to use nested query
+                .query(QueryBuilders.nestedQuery(
+                        "detector",
+                        QueryBuilders.boolQuery().must(
+                                QueryBuilders.matchQuery(DETECTOR_TYPE_PATH, detectorType.getDetectorType())
+                        ),
+                        ScoreMode.None
+                ))
+                .fetchSource(true)
+                .size(10000);
+        SearchRequest searchRequest = new SearchRequest(Detector.DETECTORS_INDEX).source(searchSourceBuilder);
+
+        transportSearchDetectorAction.execute(new SearchDetectorRequest(searchRequest), new ActionListener<>() {
+            @Override
+            public void onResponse(SearchResponse searchResponse) {
+                try {
+                    List<Detector> detectors = DetectorUtils.getDetectors(searchResponse, xContentRegistry);
+                    if (detectors.size() == 0) {
+                        listener.onFailure(SecurityAnalyticsException.wrap(
+                                new OpenSearchStatusException("No detectors found for provided type", RestStatus.NOT_FOUND)
+                        ));
+                        return;
+                    }
+                    listener.onResponse(detectors);
+                } catch (IOException e) {
+                    listener.onFailure(e);
+                }
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                listener.onFailure(e);
+            }
+        });
+    }
+
+    private void setFilterByEnabled(boolean filterByEnabled) {
+        this.filterByEnabled = filterByEnabled;
+    }
+}
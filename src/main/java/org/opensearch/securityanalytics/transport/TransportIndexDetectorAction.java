@@ -11,7 +11,6 @@ import org.apache.lucene.search.join.ScoreMode;
 import org.opensearch.OpenSearchStatusException;
 import org.opensearch.action.ActionListener;
 import org.opensearch.action.ActionRunnable;
-import org.opensearch.action.StepListener;
 import org.opensearch.action.admin.indices.create.CreateIndexResponse;
 import org.opensearch.action.bulk.BulkResponse;
 import org.opensearch.action.get.GetRequest;
@@ -21,19 +20,16 @@ import org.opensearch.action.index.IndexResponse;
 import org.opensearch.action.search.SearchRequest;
 import org.opensearch.action.search.SearchResponse;
 import org.opensearch.action.support.ActionFilters;
-import org.opensearch.action.support.GroupedActionListener;
 import org.opensearch.action.support.HandledTransportAction;
 import org.opensearch.action.support.WriteRequest;
 import org.opensearch.action.support.WriteRequest.RefreshPolicy;
 import org.opensearch.action.support.master.AcknowledgedResponse;
 import org.opensearch.client.Client;
-import org.opensearch.client.node.NodeClient;
 import org.opensearch.cluster.metadata.IndexNameExpressionResolver;
-import org.opensearch.cluster.metadata.MappingMetadata;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.SetOnce;
+import org.opensearch.common.UUIDs;
 import org.opensearch.common.inject.Inject;
-import org.opensearch.common.io.stream.NamedWriteableRegistry;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.common.unit.TimeValue;
 import org.opensearch.common.xcontent.LoggingDeprecationHandler;
@@ -41,8 +37,6 @@ import org.opensearch.common.xcontent.XContentFactory;
 import org.opensearch.common.xcontent.XContentHelper;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
 import org.opensearch.common.xcontent.XContentType;
-import org.opensearch.commons.alerting.AlertingPluginInterface;
-import org.opensearch.commons.alerting.action.DeleteMonitorRequest;
 import org.opensearch.commons.alerting.action.DeleteMonitorResponse;
 import org.opensearch.commons.alerting.action.IndexMonitorRequest;
 import org.opensearch.commons.alerting.action.IndexMonitorResponse;
@@ -55,15 +49,14 @@ import org.opensearch.commons.alerting.model.DocumentLevelTrigger;
 import org.opensearch.commons.alerting.model.Monitor;
 import org.opensearch.commons.alerting.model.Monitor.MonitorType;
 import org.opensearch.commons.alerting.model.SearchInput;
+import org.opensearch.commons.alerting.model.Trigger;
 import org.opensearch.commons.alerting.model.action.Action;
 import org.opensearch.commons.authuser.User;
 import org.opensearch.core.xcontent.ToXContent;
 import org.opensearch.core.xcontent.XContentParser;
 import org.opensearch.index.IndexNotFoundException;
-import org.opensearch.index.query.BoolQueryBuilder;
 import org.opensearch.index.query.QueryBuilder;
 import org.opensearch.index.query.QueryBuilders;
-import org.opensearch.index.query.RangeQueryBuilder;
 import org.opensearch.index.reindex.BulkByScrollResponse;
 import org.opensearch.index.seqno.SequenceNumbers;
 import org.opensearch.rest.RestRequest;
@@ -71,32 +64,33 @@ import org.opensearch.rest.RestRequest.Method;
 import org.opensearch.rest.RestStatus;
 import org.opensearch.script.Script;
 import org.opensearch.search.SearchHit;
-import org.opensearch.search.SearchHits;
 import org.opensearch.search.builder.SearchSourceBuilder;
-import org.opensearch.securityanalytics.action.GetIndexMappingsAction;
-import org.opensearch.securityanalytics.action.GetIndexMappingsRequest;
-import org.opensearch.securityanalytics.action.GetIndexMappingsResponse;
 import org.opensearch.securityanalytics.action.IndexDetectorAction;
 import org.opensearch.securityanalytics.action.IndexDetectorRequest;
 import org.opensearch.securityanalytics.action.IndexDetectorResponse;
 import org.opensearch.securityanalytics.config.monitors.DetectorMonitorConfig;
 import org.opensearch.securityanalytics.mapper.MapperService;
-import org.opensearch.securityanalytics.mapper.MapperUtils;
 import org.opensearch.securityanalytics.model.Detector;
 import org.opensearch.securityanalytics.model.DetectorInput;
 import org.opensearch.securityanalytics.model.DetectorRule;
 import org.opensearch.securityanalytics.model.DetectorTrigger;
 import org.opensearch.securityanalytics.model.Rule;
-import org.opensearch.securityanalytics.model.Value;
-import org.opensearch.securityanalytics.rules.backend.OSQueryBackend;
-import org.opensearch.securityanalytics.rules.backend.OSQueryBackend.AggregationQueries;
 import org.opensearch.securityanalytics.rules.backend.QueryBackend;
+import org.opensearch.securityanalytics.rules.backend.RuleCostEstimator;
 import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
+import org.opensearch.securityanalytics.rules.objects.SigmaRule;
 import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
 import org.opensearch.securityanalytics.util.DetectorIndices;
+import org.opensearch.securityanalytics.util.DetectorProvisioningContext;
+import org.opensearch.securityanalytics.util.DetectorQueryGenerator;
+import org.opensearch.securityanalytics.util.DetectorQueryGenerator.IndexGroup;
+import org.opensearch.securityanalytics.util.DetectorUtils;
 import org.opensearch.securityanalytics.util.IndexUtils;
+import org.opensearch.securityanalytics.util.MonitorRequestExecutor;
 import org.opensearch.securityanalytics.util.RuleIndices;
+import org.opensearch.securityanalytics.util.RulePartitioner;
 import org.opensearch.securityanalytics.util.RuleTopicIndices;
+import org.opensearch.securityanalytics.util.ScheduleStagger;
 import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
 import org.opensearch.tasks.Task;
 import org.opensearch.threadpool.ThreadPool;
@@ -105,12 +99,13 @@ import org.opensearch.transport.TransportService;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
@@ -120,6 +115,7 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
     public static final String PLUGIN_OWNER_FIELD = "security_analytics";
     private static final Logger log = LogManager.getLogger(TransportIndexDetectorAction.class);
     public static final String TIMESTAMP_FIELD_ALIAS = "timestamp";
+    public static final String RULE_FILTER_AGGREGATION_PREFIX = "rule_";
 
     private final Client client;
 
@@ -133,6 +129,10 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
 
     private final MapperService mapperService;
 
+    private final DetectorQueryGenerator detectorQueryGenerator;
+
+    private final MonitorRequestExecutor monitorRequestExecutor;
+
     private final ClusterService clusterService;
 
     private final ThreadPool threadPool;
@@ -142,11 +142,18 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
 
     private final Settings settings;
 
-    private final NamedWriteableRegistry namedWriteableRegistry;
-
     private final IndexNameExpressionResolver indexNameExpressionResolver;
 
     private volatile TimeValue indexTimeout;
+
+    private volatile Boolean mergeBucketLevelMonitors;
+
+    private volatile Integer docLevelMonitorShards;
+
+    private volatile Long docLevelMonitorMaxShardCost;
+
+    private volatile Boolean staggerDetectorSchedules;
+
     @Inject
     public TransportIndexDetectorAction(TransportService transportService,
                                         Client client,
@@ -156,9 +163,10 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
                                         RuleTopicIndices ruleTopicIndices,
                                         RuleIndices ruleIndices,
                                         MapperService mapperService,
+                                        DetectorQueryGenerator detectorQueryGenerator,
+                                        MonitorRequestExecutor monitorRequestExecutor,
                                         ClusterService clusterService,
                                         Settings settings,
-                                        NamedWriteableRegistry namedWriteableRegistry,
                                         IndexNameExpressionResolver indexNameExpressionResolver) {
         super(IndexDetectorAction.NAME, transportService, actionFilters, IndexDetectorRequest::new);
         this.client = client;
@@ -167,15 +175,24 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
         this.ruleTopicIndices = ruleTopicIndices;
         this.ruleIndices = ruleIndices;
         this.mapperService = mapperService;
+        this.detectorQueryGenerator = detectorQueryGenerator;
+        this.monitorRequestExecutor = monitorRequestExecutor;
         this.clusterService = clusterService;
         this.settings = settings;
-        this.namedWriteableRegistry = namedWriteableRegistry;
         this.indexNameExpressionResolver = indexNameExpressionResolver;
         this.threadPool = this.detectorIndices.getThreadPool();
         this.indexTimeout = SecurityAnalyticsSettings.INDEX_TIMEOUT.get(this.settings);
         this.filterByEnabled = SecurityAnalyticsSettings.FILTER_BY_BACKEND_ROLES.get(this.settings);
+        this.mergeBucketLevelMonitors = SecurityAnalyticsSettings.MERGE_BUCKET_LEVEL_MONITORS.get(this.settings);
+        this.docLevelMonitorShards = SecurityAnalyticsSettings.DOC_LEVEL_MONITOR_SHARDS.get(this.settings);
+        this.docLevelMonitorMaxShardCost = SecurityAnalyticsSettings.DOC_LEVEL_MONITOR_MAX_SHARD_COST.get(this.settings);
+        this.staggerDetectorSchedules = SecurityAnalyticsSettings.STAGGER_DETECTOR_SCHEDULES.get(this.settings);
 
         this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.FILTER_BY_BACKEND_ROLES, this::setFilterByEnabled);
+        this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.MERGE_BUCKET_LEVEL_MONITORS, this::setMergeBucketLevelMonitors);
+        this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.DOC_LEVEL_MONITOR_SHARDS, this::setDocLevelMonitorShards);
+        this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.DOC_LEVEL_MONITOR_MAX_SHARD_COST, this::setDocLevelMonitorMaxShardCost);
+        this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.STAGGER_DETECTOR_SCHEDULES, this::setStaggerDetectorSchedules);
 
     }
 
@@ -189,6 +206,9 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
             return;
         }
 
+        if (request.getProvisioningContext() == null) {
+            request.setProvisioningContext(new DetectorProvisioningContext(List.of(request.getDetector())));
+        }
         checkIndicesAndExecute(task, request, listener, user);
     }
 
@@ -199,10 +219,16 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
         User user
     ) {
         String [] detectorIndices = request.getDetector().getInputs().stream().flatMap(detectorInput -> detectorInput.getIndices().stream()).toArray(String[]::new);
+        // the user of a bulk request is checked once per index
+        if (request.getProvisioningContext().canReadIndices(Arrays.asList(detectorIndices))) {
+            new AsyncIndexDetectorsAction(user, task, request, listener).start();
+            return;
+        }
         SearchRequest searchRequest =  new SearchRequest(detectorIndices).source(SearchSourceBuilder.searchSource().size(1).query(QueryBuilders.matchAllQuery()));;
         client.search(searchRequest, new ActionListener<>() {
             @Override
             public void onResponse(SearchResponse searchResponse) {
+                request.getProvisioningContext().addReadableIndices(Arrays.asList(detectorIndices));
                 AsyncIndexDetectorsAction asyncAction = new AsyncIndexDetectorsAction(user, task, request, listener);
                 asyncAction.start();
             }
@@ -225,19 +251,24 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
         });
     }
 
-    private void createMonitorFromQueries(String index, List<Pair<String, Rule>> rulesById, Detector detector, ActionListener<List<IndexMonitorResponse>> listener, WriteRequest.RefreshPolicy refreshPolicy) throws SigmaError, IOException {
+    private void createMonitorFromQueries(String index, List<Pair<String, Rule>> rulesById, Detector detector, ActionListener<List<IndexMonitorResponse>> listener, WriteRequest.RefreshPolicy refreshPolicy,
+                                          DetectorProvisioningContext provisioningContext) throws SigmaError, IOException {
+        List<IndexGroup> indexGroups = detectorQueryGenerator.groupIndicesByMappings(detector);
         List<Pair<String, Rule>> docLevelRules = rulesById.stream().filter(it -> !it.getRight().isAggregationRule()).collect(
             Collectors.toList());
-        List<Pair<String, Rule>> bucketLevelRules = rulesById.stream().filter(it -> it.getRight().isAggregationRule()).collect(
+        List<Pair<String, Rule>> bucketLevelRules = rulesById.stream().filter(it -> it.getRight().isAggregationRule() && canMatchAny(indexGroups, it.getRight())).collect(
             Collectors.toList());
 
         List<IndexMonitorRequest> monitorRequests = new ArrayList<>();
 
-        if (!docLevelRules.isEmpty()) {
-            monitorRequests.add(createDocLevelMonitorRequest(docLevelRules, detector, refreshPolicy, Monitor.NO_ID, Method.POST));
+        for (Pair<IndexGroup, List<Pair<String, Rule>>> docLevelRulesShard: docLevelMonitorRules(docLevelRules, indexGroups)) {
+            monitorRequests.add(createDocLevelMonitorRequest(docLevelRulesShard.getRight(), docLevelRulesShard.getLeft(), detector, refreshPolicy, Monitor.NO_ID, Method.POST));
         }
         if (!bucketLevelRules.isEmpty()) {
-            monitorRequests.addAll(buildBucketLevelMonitorRequests(bucketLevelRules, detector, refreshPolicy, Monitor.NO_ID, Method.POST));
+            // the query backends are shared with the other detectors of the request
+            synchronized (provisioningContext) {
+                monitorRequests.addAll(buildBucketLevelMonitorRequests(bucketLevelRules, indexGroups, detector, refreshPolicy, Monitor.NO_ID, Method.POST, provisioningContext));
+            }
         }
         // Do nothing if detector doesn't have any monitor
         if (monitorRequests.isEmpty()){
@@ -245,77 +276,87 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
             return;
         }
 
-        List<IndexMonitorResponse> monitorResponses = new ArrayList<>();
-        StepListener<IndexMonitorResponse> addFirstMonitorStep = new StepListener();
-
-        // Indexing monitors in two steps in order to prevent all shards failed error from alerting
-        // https://github.com/opensearch-project/alerting/issues/646
-        AlertingPluginInterface.INSTANCE.indexMonitor((NodeClient) client, monitorRequests.get(0), namedWriteableRegistry, addFirstMonitorStep);
-        addFirstMonitorStep.whenComplete(addedFirstMonitorResponse -> {
-                monitorResponses.add(addedFirstMonitorResponse);
-                int numberOfUnprocessedResponses = monitorRequests.size() - 1;
-                if (numberOfUnprocessedResponses == 0){
-                    listener.onResponse(monitorResponses);
-                } else {
-                    GroupedActionListener<IndexMonitorResponse> monitorResponseListener = new GroupedActionListener(
-                        new ActionListener<Collection<IndexMonitorResponse>>() {
-                            @Override
-                            public void onResponse(Collection<IndexMonitorResponse> indexMonitorResponse) {
-                                monitorResponses.addAll(indexMonitorResponse.stream().collect(Collectors.toList()));
-                                listener.onResponse(monitorResponses);
-                            }
-                            @Override
-                            public void onFailure(Exception e) {
-                                listener.onFailure(e);
-                            }
-                        }, numberOfUnprocessedResponses);
-
-                    for(int i = 1; i < monitorRequests.size(); i++){
-                        AlertingPluginInterface.INSTANCE.indexMonitor((NodeClient) client, monitorRequests.get(i), namedWriteableRegistry, monitorResponseListener);
-                    }
-                }
-            },
-            listener::onFailure
-        );
+        monitorRequestExecutor.indexMonitors(monitorRequests, listener);
     }
 
-    private void updateMonitorFromQueries(String index, List<Pair<String, Rule>> rulesById, Detector detector, ActionListener<List<IndexMonitorResponse>> listener, WriteRequest.RefreshPolicy refreshPolicy) throws SigmaError, IOException {
+    /**
+     * @param refreshedRuleId custom rule the detector is refreshed for or null. If set and the detector keeps its
+     *                        monitors, only the monitors evaluating the rule are updated and the listener is notified
+     *                        with null, as the monitor ids of the detector stay the same.
+     */
+    private void updateMonitorFromQueries(String index, List<Pair<String, Rule>> rulesById, Detector detector, ActionListener<List<IndexMonitorResponse>> listener, WriteRequest.RefreshPolicy refreshPolicy,
+                                          DetectorProvisioningContext provisioningContext, String refreshedRuleId) throws SigmaError, IOException {
         List<IndexMonitorRequest> monitorsToBeUpdated = new ArrayList<>();
+        List<IndexMonitorRequest> monitorsOfRefreshedRule = new ArrayList<>();
 
-        List<Pair<String, Rule>> bucketLevelRules = rulesById.stream().filter(it -> it.getRight().isAggregationRule()).collect(
+        List<IndexGroup> indexGroups = detectorQueryGenerator.groupIndicesByMappings(detector);
+        List<Pair<String, Rule>> bucketLevelRules = rulesById.stream().filter(it -> it.getRight().isAggregationRule() && canMatchAny(indexGroups, it.getRight())).collect(
             Collectors.toList());
         List<IndexMonitorRequest> monitorsToBeAdded = new ArrayList<>();
         // Process bucket level monitors
-        if (!bucketLevelRules.isEmpty()) {
-            List<String> ruleCategories = bucketLevelRules.stream().map(Pair::getRight).map(Rule::getCategory).distinct().collect(
-                Collectors.toList());
-            Map<String, QueryBackend> queryBackendMap = new HashMap<>();
-            for(String category: ruleCategories){
-                queryBackendMap.put(category, new OSQueryBackend(category, true, true));
-            }
+        // the query backends are shared with the other detectors of the request
+        synchronized (provisioningContext) {
+            if (!bucketLevelRules.isEmpty()) {
+                List<String> ruleCategories = bucketLevelRules.stream().map(Pair::getRight).map(Rule::getCategory).distinct().collect(
+                    Collectors.toList());
+                Map<String, QueryBackend> queryBackendMap = new HashMap<>();
+                for(String category: ruleCategories){
+                    queryBackendMap.put(category, provisioningContext.queryBackend(category, detectorQueryGenerator::newBucketLevelQueryBackend));
+                }
 
-            // Pair of RuleId - MonitorId for existing monitors of the detector
-            Map<String, String> monitorPerRule = detector.getRuleIdMonitorIdMap();
-
-            for (Pair<String, Rule> query: bucketLevelRules) {
-                Rule rule = query.getRight();
-                if (rule.getAggregationQueries() != null){
-                    // Detect if the monitor should be added or updated
-                    if (monitorPerRule.containsKey(rule.getId())) {
-                        String monitorId = monitorPerRule.get(rule.getId());
-                        monitorsToBeUpdated.add(createBucketLevelMonitorRequest(query.getRight(),
-                            detector,
-                            refreshPolicy,
-                            monitorId,
-                            Method.PUT,
-                            queryBackendMap.get(rule.getCategory())));
-                    } else {
-                        monitorsToBeAdded.add(createBucketLevelMonitorRequest(query.getRight(),
-                            detector,
-                            refreshPolicy,
-                            Monitor.NO_ID,
-                            Method.POST,
-                            queryBackendMap.get(rule.getCategory())));
+                // Pair of RuleId - MonitorId for existing monitors of the detector
+                Map<String, String> monitorPerRule = detector.getRuleIdMonitorIdMap();
+
+                if (mergeBucketLevelMonitors) {
+                    List<Rule> aggregationRules = bucketLevelRules.stream().map(Pair::getRight).filter(it -> it.getAggregationQueries() != null).collect(
+                        Collectors.toList());
+                    // Any existing bucket level monitor of the detector is reused for the merged one
+                    String monitorId = monitorPerRule.entrySet().stream()
+                        .filter(it -> !Detector.isDocLevelMonitorKey(it.getKey()))
+                        .map(Map.Entry::getValue)
+                        .findFirst()
+                        .orElse(null);
+                    if (!aggregationRules.isEmpty()) {
+                        if (monitorId != null) {
+                            IndexMonitorRequest monitorRequest = createBucketLevelMonitorRequest(aggregationRules, indexGroups, detector, refreshPolicy, monitorId, Method.PUT, queryBackendMap);
+                            monitorsToBeUpdated.add(monitorRequest);
+                            if (aggregationRules.stream().anyMatch(it -> it.getId().equals(refreshedRuleId))) {
+                                monitorsOfRefreshedRule.add(monitorRequest);
+                            }
+                        } else {
+                            monitorsToBeAdded.add(createBucketLevelMonitorRequest(aggregationRules, indexGroups, detector, refreshPolicy, Monitor.NO_ID, Method.POST, queryBackendMap));
+                        }
+                    }
+                } else {
+                    Set<String> updatedMonitorIds = new HashSet<>();
+                    for (Pair<String, Rule> query: bucketLevelRules) {
+                        Rule rule = query.getRight();
+                        if (rule.getAggregationQueries() != null){
+                            // Detect if the monitor should be added or updated. A monitor previously merged for several
+                            // rules is kept by the first of them only
+                            String monitorId = monitorPerRule.get(rule.getId());
+                            if (monitorId != null && updatedMonitorIds.add(monitorId)) {
+                                IndexMonitorRequest monitorRequest = createBucketLevelMonitorRequest(query.getRight(),
+                                    indexGroups,
+                                    detector,
+                                    refreshPolicy,
+                                    monitorId,
+                                    Method.PUT,
+                                    queryBackendMap.get(rule.getCategory()));
+                                monitorsToBeUpdated.add(monitorRequest);
+                                if (rule.getId().equals(refreshedRuleId)) {
+                                    monitorsOfRefreshedRule.add(monitorRequest);
+                                }
+                            } else {
+                                monitorsToBeAdded.add(createBucketLevelMonitorRequest(query.getRight(),
+                                    indexGroups,
+                                    detector,
+                                    refreshPolicy,
+                                    Monitor.NO_ID,
+                                    Method.POST,
+                                    queryBackendMap.get(rule.getCategory())));
+                            }
+                        }
                     }
                 }
             }
@@ -324,29 +365,43 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
         List<Pair<String, Rule>> docLevelRules = rulesById.stream().filter(it -> !it.getRight().isAggregationRule()).collect(
             Collectors.toList());
 
-        // Process doc level monitors
-        if (!docLevelRules.isEmpty()) {
-            if (detector.getDocLevelMonitorId() == null) {
-                monitorsToBeAdded.add(createDocLevelMonitorRequest(docLevelRules, detector, refreshPolicy, Monitor.NO_ID, Method.POST));
+        // Process doc level monitors, existing ones are reused for the shards of the rules and surplus ones deleted
+        List<String> docLevelMonitorIds = detector.getDocLevelMonitorIds();
+        List<Pair<IndexGroup, List<Pair<String, Rule>>>> docLevelRulesShards = docLevelMonitorRules(docLevelRules, indexGroups);
+        for (int shard = 0; shard < docLevelRulesShards.size(); ++shard) {
+            List<Pair<String, Rule>> docLevelRulesShard = docLevelRulesShards.get(shard).getRight();
+            IndexGroup indexGroup = docLevelRulesShards.get(shard).getLeft();
+            if (shard < docLevelMonitorIds.size()) {
+                IndexMonitorRequest monitorRequest = createDocLevelMonitorRequest(docLevelRulesShard, indexGroup, detector, refreshPolicy, docLevelMonitorIds.get(shard), Method.PUT);
+                monitorsToBeUpdated.add(monitorRequest);
+                if (docLevelRulesShard.stream().anyMatch(it -> it.getLeft().equals(refreshedRuleId))) {
+                    monitorsOfRefreshedRule.add(monitorRequest);
+                }
             } else {
-                monitorsToBeUpdated.add(createDocLevelMonitorRequest(docLevelRules, detector, refreshPolicy, detector.getDocLevelMonitorId(), Method.PUT));
+                monitorsToBeAdded.add(createDocLevelMonitorRequest(docLevelRulesShard, indexGroup, detector, refreshPolicy, Monitor.NO_ID, Method.POST));
             }
         }
 
-        List<String> monitorIdsToBeDeleted = detector.getRuleIdMonitorIdMap().values().stream().collect(Collectors.toList());
+        // Merged bucket level monitors are mapped from several rules
+        List<String> monitorIdsToBeDeleted = detector.getRuleIdMonitorIdMap().values().stream().distinct().collect(Collectors.toList());
         monitorIdsToBeDeleted.removeAll(monitorsToBeUpdated.stream().map(IndexMonitorRequest::getMonitorId).collect(
             Collectors.toList()));
 
+        if (refreshedRuleId != null && monitorsToBeAdded.isEmpty() && monitorIdsToBeDeleted.isEmpty()) {
+            // the rule stays with the same monitors, the monitors evaluating only other rules are left as they are
+            monitorRequestExecutor.indexMonitors(monitorsOfRefreshedRule, ActionListener.wrap(it -> listener.onResponse(null), listener::onFailure));
+            return;
+        }
+
         updateAlertingMonitors(monitorsToBeAdded, monitorsToBeUpdated, monitorIdsToBeDeleted, refreshPolicy, listener);
     }
 
     /**
      *  Update list of monitors for the given detector
      *  Executed in a steps:
-     *  1. Add new monitors;
-     *  2. Update existing monitors;
-     *  3. Delete the monitors omitted from request
-     *  4. Respond with updated list of monitors
+     *  1. Add new monitors and update existing monitors;
+     *  2. Delete the monitors omitted from request, once the others are in place
+     *  3. Respond with updated list of monitors
      * @param monitorsToBeAdded Newly added monitors by the user
      * @param monitorsToBeUpdated Existing monitors that will be updated
      * @param monitorsToBeDeleted Monitors omitted by the user
@@ -360,61 +415,27 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
         RefreshPolicy refreshPolicy,
         ActionListener<List<IndexMonitorResponse>> listener
     ) {
-        List<IndexMonitorResponse> updatedMonitors = new ArrayList<>();
-
-        // Update monitor steps
-        StepListener<List<IndexMonitorResponse>> addNewMonitorsStep = new StepListener();
-        executeMonitorActionRequest(monitorsToBeAdded, addNewMonitorsStep);
-        // 1. Add new alerting monitors (for the rules that didn't exist previously)
-        addNewMonitorsStep.whenComplete(addNewMonitorsResponse -> {
-            if (addNewMonitorsResponse != null && !addNewMonitorsResponse.isEmpty()) {
-                updatedMonitors.addAll(addNewMonitorsResponse);
-            }
-
-            StepListener<List<IndexMonitorResponse>> updateMonitorsStep = new StepListener<>();
-            executeMonitorActionRequest(monitorsToBeUpdated, updateMonitorsStep);
-            // 2. Update existing alerting monitors (based on the common rules)
-            updateMonitorsStep.whenComplete(updateMonitorResponse -> {
-                if (updateMonitorResponse!=null && !updateMonitorResponse.isEmpty()) {
-                    updatedMonitors.addAll(updateMonitorResponse);
-                }
-
-                    StepListener<List<DeleteMonitorResponse>> deleteMonitorStep = new StepListener<>();
-                    deleteAlertingMonitors(monitorsToBeDeleted, refreshPolicy, deleteMonitorStep);
-                    // 3. Delete alerting monitors (rules that are not provided by the user)
-                    deleteMonitorStep.whenComplete(deleteMonitorResponses ->
-                            // Return list of all updated + newly added monitors
-                            listener.onResponse(updatedMonitors),
-                        // Handle delete monitors (step 3)
-                        listener::onFailure);
-                }, // Handle update monitor failed (step 2)
-                listener::onFailure);
-            // Handle add failed (step 1)
-        }, listener::onFailure);
+        List<IndexMonitorRequest> monitorsToBeIndexed = new ArrayList<>(monitorsToBeAdded);
+        monitorsToBeIndexed.addAll(monitorsToBeUpdated);
+
+        // 1. Add new alerting monitors (for the rules that didn't exist previously) and update existing ones (based on the common rules)
+        monitorRequestExecutor.indexMonitors(monitorsToBeIndexed, ActionListener.wrap(
+            updatedMonitors ->
+                // 2. Delete alerting monitors (rules that are not provided by the user)
+                deleteAlertingMonitors(monitorsToBeDeleted, refreshPolicy, ActionListener.wrap(
+                    // Return list of all updated + newly added monitors
+                    deleteMonitorResponses -> listener.onResponse(updatedMonitors),
+                    listener::onFailure
+                )),
+            listener::onFailure
+        ));
     }
 
-    private IndexMonitorRequest createDocLevelMonitorRequest(List<Pair<String, Rule>> queries, Detector detector, WriteRequest.RefreshPolicy refreshPolicy, String monitorId, RestRequest.Method restMethod) {
+    private IndexMonitorRequest createDocLevelMonitorRequest(List<Pair<String, Rule>> queries, IndexGroup indexGroup, Detector detector, WriteRequest.RefreshPolicy refreshPolicy, String monitorId, RestRequest.Method restMethod) throws SigmaError {
         List<DocLevelMonitorInput> docLevelMonitorInputs = new ArrayList<>();
 
-        List<DocLevelQuery> docLevelQueries = new ArrayList<>();
-
-        for (Pair<String, Rule> query: queries) {
-            String id = query.getLeft();
-
-            Rule rule = query.getRight();
-            String name = query.getLeft();
-
-            String actualQuery = rule.getQueries().get(0).getValue();
-
-            List<String> tags = new ArrayList<>();
-            tags.add(rule.getLevel());
-            tags.add(rule.getCategory());
-            tags.addAll(rule.getTags().stream().map(Value::getValue).collect(Collectors.toList()));
-
-            DocLevelQuery docLevelQuery = new DocLevelQuery(id, name, actualQuery, tags);
-            docLevelQueries.add(docLevelQuery);
-        }
-        DocLevelMonitorInput docLevelMonitorInput = new DocLevelMonitorInput(detector.getName(), detector.getInputs().get(0).getIndices(), docLevelQueries);
+        List<DocLevelQuery> docLevelQueries = detectorQueryGenerator.buildDocLevelQueries(queries, detector, indexGroup);
+        DocLevelMonitorInput docLevelMonitorInput = new DocLevelMonitorInput(detector.getName(), indexGroup.getIndices(), docLevelQueries);
         docLevelMonitorInputs.add(docLevelMonitorInput);
 
         List<DocumentLevelTrigger> triggers = new ArrayList<>();
@@ -444,17 +465,70 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
         return new IndexMonitorRequest(monitorId, SequenceNumbers.UNASSIGNED_SEQ_NO, SequenceNumbers.UNASSIGNED_PRIMARY_TERM, refreshPolicy, restMethod, monitor, null);
     }
 
-    private List<IndexMonitorRequest> buildBucketLevelMonitorRequests(List<Pair<String, Rule>> queries, Detector detector, WriteRequest.RefreshPolicy refreshPolicy, String monitorId, RestRequest.Method restMethod) throws IOException, SigmaError {
+    /**
+     * Splits the doc level rules into the shards evaluated by separate doc level monitors, at least
+     * {@link SecurityAnalyticsSettings#DOC_LEVEL_MONITOR_SHARDS} of them and more if the estimated cost of the rules
+     * exceeds {@link SecurityAnalyticsSettings#DOC_LEVEL_MONITOR_MAX_SHARD_COST} per shard.
+     */
+    private List<List<Pair<String, Rule>>> shardDocLevelRules(List<Pair<String, Rule>> docLevelRules) throws SigmaError {
+        if (docLevelRules.isEmpty() || (docLevelMonitorShards <= 1 && docLevelMonitorMaxShardCost <= 0)) {
+            return docLevelRules.isEmpty()? List.of(): List.of(docLevelRules);
+        }
+
+        // rules indexed before the cost model existed carry no estimate
+        RuleCostEstimator costEstimator = new RuleCostEstimator();
+        Map<String, Long> costs = new HashMap<>();
+        for (Pair<String, Rule> rule: docLevelRules) {
+            Long cost = rule.getRight().getEstimatedCost();
+            costs.put(rule.getLeft(), cost != null? cost: costEstimator.estimate(SigmaRule.fromYaml(rule.getRight().getRule(), true)));
+        }
+        return RulePartitioner.partition(docLevelRules, it -> costs.get(it.getLeft()), docLevelMonitorShards, docLevelMonitorMaxShardCost);
+    }
+
+    /**
+     * Splits the doc level rules among the doc level monitors. Each group of input indices sharing mappings is evaluated
+     * by its own monitors, which get the rules that can match the indices of the group, split by
+     * {@link #shardDocLevelRules}. Groups none of the rules can match get no monitor.
+     */
+    private List<Pair<IndexGroup, List<Pair<String, Rule>>>> docLevelMonitorRules(List<Pair<String, Rule>> docLevelRules, List<IndexGroup> indexGroups) throws SigmaError {
+        List<Pair<IndexGroup, List<Pair<String, Rule>>>> monitorRules = new ArrayList<>();
+        for (IndexGroup indexGroup: indexGroups) {
+            List<Pair<String, Rule>> groupRules = docLevelRules.stream().filter(it -> indexGroup.canMatch(it.getRight())).collect(
+                Collectors.toList());
+            for (List<Pair<String, Rule>> docLevelRulesShard: shardDocLevelRules(groupRules)) {
+                monitorRules.add(Pair.of(indexGroup, docLevelRulesShard));
+            }
+        }
+        return monitorRules;
+    }
+
+    private static boolean canMatchAny(List<IndexGroup> indexGroups, Rule rule) {
+        return indexGroups.stream().anyMatch(it -> it.canMatch(rule));
+    }
+
+    private List<IndexMonitorRequest> buildBucketLevelMonitorRequests(List<Pair<String, Rule>> queries, List<IndexGroup> indexGroups, Detector detector, WriteRequest.RefreshPolicy refreshPolicy, String monitorId, RestRequest.Method restMethod,
+                                                                      DetectorProvisioningContext provisioningContext) throws IOException, SigmaError {
         List<String> ruleCategories = queries.stream().map(Pair::getRight).map(Rule::getCategory).distinct().collect(
             Collectors.toList());
         Map<String, QueryBackend> queryBackendMap = new HashMap<>();
 
         for(String category: ruleCategories){
-            queryBackendMap.put(category, new OSQueryBackend(category, true, true));
+            queryBackendMap.put(category, provisioningContext.queryBackend(category, detectorQueryGenerator::newBucketLevelQueryBackend));
         }
 
         List<IndexMonitorRequest> monitorRequests = new ArrayList<>();
 
+        if (mergeBucketLevelMonitors) {
+            // Aggregation rules of a detector share its indices and time range filter, so they are evaluated by one monitor.
+            // Its findings do not name the rule which fired, the monitors stay per rule while the merge is disabled
+            List<Rule> aggregationRules = queries.stream().map(Pair::getRight).filter(it -> it.getAggregationQueries() != null).collect(
+                Collectors.toList());
+            if (!aggregationRules.isEmpty()) {
+                monitorRequests.add(createBucketLevelMonitorRequest(aggregationRules, indexGroups, detector, refreshPolicy, Monitor.NO_ID, Method.POST, queryBackendMap));
+            }
+            return monitorRequests;
+        }
+
         for (Pair<String, Rule> query: queries) {
             Rule rule = query.getRight();
 
@@ -462,6 +536,7 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
             if (rule.getAggregationQueries() != null){
                 monitorRequests.add(createBucketLevelMonitorRequest(
                     query.getRight(),
+                    indexGroups,
                     detector,
                     refreshPolicy,
                     Monitor.NO_ID,
@@ -474,66 +549,43 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
 
     private IndexMonitorRequest createBucketLevelMonitorRequest(
         Rule rule,
+        List<IndexGroup> indexGroups,
         Detector detector,
         WriteRequest.RefreshPolicy refreshPolicy,
         String monitorId,
         RestRequest.Method restMethod,
         QueryBackend queryBackend
-    ) throws SigmaError {
-
-        List<String> indices = detector.getInputs().get(0).getIndices();
-
-        AggregationQueries aggregationQueries = queryBackend.convertAggregation(rule.getAggregationItemsFromRule().get(0));
-
-        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder()
-            .seqNoAndPrimaryTerm(true)
-            .version(true)
-            // Build query string filter
-            .query(QueryBuilders.queryStringQuery(rule.getQueries().get(0).getValue()))
-            .aggregation(aggregationQueries.getAggBuilder());
-        // input index can also be an index pattern or alias so we have to resolve it to concrete index
-        String concreteIndex = IndexUtils.getNewIndexByCreationDate(
-                clusterService.state(),
-                indexNameExpressionResolver,
-                indices.get(0) // taking first one is fine because we expect that all indices in list share same mappings
-        );
-        try {
-            GetIndexMappingsResponse getIndexMappingsResponse = client.execute(
-                    GetIndexMappingsAction.INSTANCE,
-                    new GetIndexMappingsRequest(concreteIndex))
-                    .actionGet();
-            MappingMetadata mappingMetadata = getIndexMappingsResponse.mappings().get(concreteIndex);
-            List<Pair<String, String>> pairs = MapperUtils.getAllAliasPathPairs(mappingMetadata);
-            boolean timeStampAliasPresent = pairs.
-                    stream()
-                    .anyMatch(p ->
-                            TIMESTAMP_FIELD_ALIAS.equals(p.getLeft()) || TIMESTAMP_FIELD_ALIAS.equals(p.getRight()));
-            if(timeStampAliasPresent) {
-                BoolQueryBuilder boolQueryBuilder = searchSourceBuilder.query() == null
-                        ? new BoolQueryBuilder()
-                        : QueryBuilders.boolQuery().must(searchSourceBuilder.query());
-                RangeQueryBuilder timeRangeFilter = QueryBuilders.rangeQuery(TIMESTAMP_FIELD_ALIAS)
-                        .gt("{{period_end}}||-1h")
-                        .lte("{{period_end}}")
-                        .format("epoch_millis");
-                boolQueryBuilder.must(timeRangeFilter);
-                searchSourceBuilder.query(boolQueryBuilder);
-            }
-        } catch (Exception e) {
-            log.error(
-                    String.format(Locale.getDefault(),
-                            "Unable to verify presence of timestamp alias for index [%s] in detector [%s]. Not setting time range filter for bucket level monitor.",
-                    concreteIndex, detector.getName()), e);
-        }
+    ) throws SigmaError, IOException {
+        return createBucketLevelMonitorRequest(List.of(rule), indexGroups, detector, refreshPolicy, monitorId, restMethod, Map.of(rule.getCategory(), queryBackend));
+    }
+
+    /**
+     * Creates one bucket level monitor evaluating the given aggregation rules, see
+     * {@link DetectorQueryGenerator#buildBucketLevelSearch}. The monitor searches the indices any of the rules can
+     * match, each group of them with the queries specialized for its mappings.
+     */
+    private IndexMonitorRequest createBucketLevelMonitorRequest(
+        List<Rule> rules,
+        List<IndexGroup> indexGroups,
+        Detector detector,
+        WriteRequest.RefreshPolicy refreshPolicy,
+        String monitorId,
+        RestRequest.Method restMethod,
+        Map<String, QueryBackend> queryBackendMap
+    ) throws SigmaError, IOException {
+
+        List<IndexGroup> matchedIndexGroups = indexGroups.stream().filter(group -> rules.stream().anyMatch(group::canMatch)).collect(
+            Collectors.toList());
+        List<String> indices = matchedIndexGroups.stream().flatMap(it -> it.getIndices().stream()).collect(Collectors.toList());
+
+        DetectorQueryGenerator.BucketLevelSearch bucketLevelSearch = detectorQueryGenerator.buildBucketLevelSearch(rules, detector, matchedIndexGroups, queryBackendMap,
+                "{{period_end}}||-1h", "{{period_end}}");
+        SearchSourceBuilder searchSourceBuilder = bucketLevelSearch.getSearchSource();
+        List<BucketLevelTrigger> triggers = bucketLevelSearch.getTriggers();
 
         List<SearchInput> bucketLevelMonitorInputs = new ArrayList<>();
         bucketLevelMonitorInputs.add(new SearchInput(indices, searchSourceBuilder));
 
-        List<BucketLevelTrigger> triggers = new ArrayList<>();
-        BucketLevelTrigger bucketLevelTrigger = new BucketLevelTrigger(rule.getId(), rule.getTitle(), rule.getLevel(), aggregationQueries.getCondition(),
-            Collections.emptyList());
-        triggers.add(bucketLevelTrigger);
-
         /** TODO - Think how to use detector trigger
          List<DetectorTrigger> detectorTriggers = detector.getTriggers();
          for (DetectorTrigger detectorTrigger: detectorTriggers) {
@@ -561,39 +613,6 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
         return new IndexMonitorRequest(monitorId, SequenceNumbers.UNASSIGNED_SEQ_NO, SequenceNumbers.UNASSIGNED_PRIMARY_TERM, refreshPolicy, restMethod, monitor, null);
     }
 
-    /**
-     * Executes monitor related requests (PUT/POST) - returns the response once all the executions are completed
-     * @param indexMonitors  Monitors to be updated/added
-     * @param listener actionListener for handling updating/creating monitors
-     */
-    public void executeMonitorActionRequest(
-        List<IndexMonitorRequest> indexMonitors,
-        ActionListener<List<IndexMonitorResponse>> listener) {
-
-        // In the case of not provided monitors, just return empty list
-        if (indexMonitors == null || indexMonitors.isEmpty()) {
-            listener.onResponse(new ArrayList<>());
-            return;
-        }
-
-        GroupedActionListener<IndexMonitorResponse> monitorResponseListener = new GroupedActionListener(
-            new ActionListener<Collection<IndexMonitorResponse>>() {
-                @Override
-                public void onResponse(Collection<IndexMonitorResponse> indexMonitorResponse) {
-                    listener.onResponse(indexMonitorResponse.stream().collect(Collectors.toList()));
-                }
-                @Override
-                public void onFailure(Exception e) {
-                    listener.onFailure(e);
-                }
-            }, indexMonitors.size());
-
-        // Persist monitors sequentially
-        for (IndexMonitorRequest req: indexMonitors) {
-            AlertingPluginInterface.INSTANCE.indexMonitor((NodeClient) client, req, namedWriteableRegistry, monitorResponseListener);
-        }
-    }
-
     /**
      * Deletes the alerting monitors based on the given ids and notifies the listener that will be notified once all monitors have been deleted
      * @param monitorIds monitor ids to be deleted
@@ -605,9 +624,9 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
             listener.onResponse(new ArrayList<>());
             return;
         }
-        ActionListener<DeleteMonitorResponse> deletesListener = new GroupedActionListener<>(new ActionListener<>() {
+        monitorRequestExecutor.deleteMonitors(monitorIds, refreshPolicy, new ActionListener<>() {
             @Override
-            public void onResponse(Collection<DeleteMonitorResponse> responses) {
+            public void onResponse(List<DeleteMonitorResponse> responses) {
                 SetOnce<RestStatus> errorStatusSupplier = new SetOnce<>();
                 if (responses.stream().filter(response -> {
                     if (response.getStatus() != RestStatus.OK) {
@@ -618,22 +637,15 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
                     return false;
                 }).count() > 0) {
                     listener.onFailure(new OpenSearchStatusException("Monitor associated with detected could not be deleted", errorStatusSupplier.get()));
+                    return;
                 }
-                listener.onResponse(responses.stream().collect(Collectors.toList()));
+                listener.onResponse(responses);
             }
             @Override
             public void onFailure(Exception e) {
                 listener.onFailure(e);
             }
-        }, monitorIds.size());
-
-        for (String monitorId : monitorIds) {
-            deleteAlertingMonitor(monitorId, refreshPolicy, deletesListener);
-        }
-    }
-    private void deleteAlertingMonitor(String monitorId, WriteRequest.RefreshPolicy refreshPolicy, ActionListener<DeleteMonitorResponse> listener) {
-        DeleteMonitorRequest request = new DeleteMonitorRequest(monitorId, refreshPolicy);
-        AlertingPluginInterface.INSTANCE.deleteMonitor((NodeClient) client, request, listener);
+        });
     }
 
     private void onCreateMappingsResponse(CreateIndexResponse response) throws IOException {
@@ -675,24 +687,29 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
         }
 
         void start() {
-            try {
-                TransportIndexDetectorAction.this.threadPool.getThreadContext().stashContext();
+            TransportIndexDetectorAction.this.threadPool.getThreadContext().stashContext();
+
+            request.getProvisioningContext().<Void>shared("detector_index", this::initDetectorIndex,
+                    ActionListener.wrap(it -> prepareDetectorIndexing(), this::onFailures));
+        }
 
+        void initDetectorIndex(ActionListener<Void> detectorIndexListener) {
+            try {
                 if (!detectorIndices.detectorIndexExists()) {
                     detectorIndices.initDetectorIndex(new ActionListener<>() {
                         @Override
                         public void onResponse(CreateIndexResponse response) {
                             try {
                                 onCreateMappingsResponse(response);
-                                prepareDetectorIndexing();
+                                detectorIndexListener.onResponse(null);
                             } catch (IOException e) {
-                                onFailures(e);
+                                detectorIndexListener.onFailure(e);
                             }
                         }
 
                         @Override
                         public void onFailure(Exception e) {
-                            onFailures(e);
+                            detectorIndexListener.onFailure(e);
                         }
                     });
                 } else if (!IndexUtils.detectorIndexUpdated) {
@@ -703,30 +720,26 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
                                 @Override
                                 public void onResponse(AcknowledgedResponse response) {
                                     onUpdateMappingsResponse(response);
-                                    try {
-                                        prepareDetectorIndexing();
-                                    } catch (IOException e) {
-                                        onFailures(e);
-                                    }
+                                    detectorIndexListener.onResponse(null);
                                 }
 
                                 @Override
                                 public void onFailure(Exception e) {
-                                    onFailures(e);
+                                    detectorIndexListener.onFailure(e);
                                 }
                             }
                     );
                 } else {
-                    prepareDetectorIndexing();
+                    detectorIndexListener.onResponse(null);
                 }
             } catch (IOException e) {
-                onFailures(e);
+                detectorIndexListener.onFailure(e);
             }
         }
 
         void prepareDetectorIndexing() throws IOException {
             if (request.getMethod() == RestRequest.Method.POST) {
-                createDetector();
+                staggerSchedule(request.getDetector(), this::createDetector);
             } else if (request.getMethod() == RestRequest.Method.PUT) {
                 updateDetector();
             }
@@ -749,38 +762,34 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
 
 
             if (!detector.getInputs().isEmpty()) {
-                try {
-                    ruleTopicIndices.initRuleTopicIndexTemplate(new ActionListener<>() {
-                        @Override
-                        public void onResponse(AcknowledgedResponse acknowledgedResponse) {
+                request.getProvisioningContext().<AcknowledgedResponse>shared("rule_topic_index_template", this::initRuleTopicIndexTemplate, new ActionListener<>() {
+                    @Override
+                    public void onResponse(AcknowledgedResponse acknowledgedResponse) {
 
-                            initRuleIndexAndImportRules(request, new ActionListener<>() {
-                                @Override
-                                public void onResponse(List<IndexMonitorResponse> monitorResponses) {
-                                    request.getDetector().setMonitorIds(getMonitorIds(monitorResponses));
-                                    request.getDetector().setRuleIdMonitorIdMap(mapMonitorIds(monitorResponses));
-                                    try {
-                                        indexDetector();
-                                    } catch (IOException e) {
-                                        onFailures(e);
-                                    }
-                                }
-
-                                @Override
-                                public void onFailure(Exception e) {
+                        initRuleIndexAndImportRules(request, new ActionListener<>() {
+                            @Override
+                            public void onResponse(List<IndexMonitorResponse> monitorResponses) {
+                                request.getDetector().setMonitorIds(getMonitorIds(monitorResponses));
+                                request.getDetector().setRuleIdMonitorIdMap(mapMonitorIds(monitorResponses));
+                                try {
+                                    indexDetector();
+                                } catch (IOException e) {
                                     onFailures(e);
                                 }
-                            });
-                        }
+                            }
 
-                        @Override
-                        public void onFailure(Exception e) {
-                            onFailures(e);
-                        }
-                    });
-                } catch (IOException e) {
-                    onFailures(e);
-                }
+                            @Override
+                            public void onFailure(Exception e) {
+                                onFailures(e);
+                            }
+                        });
+                    }
+
+                    @Override
+                    public void onFailure(Exception e) {
+                        onFailures(e);
+                    }
+                });
             }
         }
 
@@ -820,7 +829,12 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
                             onFailure(SecurityAnalyticsException.wrap(new OpenSearchStatusException("Do not have permissions to resource", RestStatus.FORBIDDEN)));
                             return;
                         }
-                        onGetResponse(detector, detector.getUser());
+                        if (request.getDetector().getEnabled() && detector.getEnabled()) {
+                            // keeps its enabled time and with it the slot its monitors run in
+                            onGetResponse(detector, detector.getUser());
+                        } else {
+                            staggerSchedule(request.getDetector(), () -> onGetResponse(detector, detector.getUser()));
+                        }
                     } catch (IOException e) {
                         onFailures(e);
                     }
@@ -855,41 +869,102 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
             request.getDetector().setUser(user);
 
             if (!detector.getInputs().isEmpty()) {
-                try {
-                    ruleTopicIndices.initRuleTopicIndexTemplate(new ActionListener<>() {
-                        @Override
-                        public void onResponse(AcknowledgedResponse acknowledgedResponse) {
-                            initRuleIndexAndImportRules(request, new ActionListener<>() {
-                                @Override
-                                public void onResponse(List<IndexMonitorResponse> monitorResponses) {
+                request.getProvisioningContext().<AcknowledgedResponse>shared("rule_topic_index_template", this::initRuleTopicIndexTemplate, new ActionListener<>() {
+                    @Override
+                    public void onResponse(AcknowledgedResponse acknowledgedResponse) {
+                        initRuleIndexAndImportRules(request, new ActionListener<>() {
+                            @Override
+                            public void onResponse(List<IndexMonitorResponse> monitorResponses) {
+                                // null if only the monitors of a refreshed rule were updated, keeping those of the current detector
+                                if (monitorResponses != null) {
                                     request.getDetector().setMonitorIds(getMonitorIds(monitorResponses));
                                     request.getDetector().setRuleIdMonitorIdMap(mapMonitorIds(monitorResponses));
-                                    try {
-                                        indexDetector();
-                                    } catch (IOException e) {
-                                        onFailures(e);
-                                    }
                                 }
-
-                                @Override
-                                public void onFailure(Exception e) {
+                                try {
+                                    indexDetector();
+                                } catch (IOException e) {
                                     onFailures(e);
                                 }
-                            });
-                        }
+                            }
 
-                        @Override
-                        public void onFailure(Exception e) {
-                            onFailures(e);
+                            @Override
+                            public void onFailure(Exception e) {
+                                onFailures(e);
+                            }
+                        });
+                    }
+
+                    @Override
+                    public void onFailure(Exception e) {
+                        onFailures(e);
+                    }
+                });
+            }
+        }
+
+        /**
+         * Moves the enabled time of a newly enabled interval scheduled detector into the least used slot of its
+         * interval, so the monitors of detectors enabled together run at different times.
+         */
+        void staggerSchedule(Detector detector, Runnable next) {
+            long intervalMillis = ScheduleStagger.intervalMillis(detector.getSchedule());
+            if (!staggerDetectorSchedules || !detector.getEnabled() || detector.getEnabledTime() == null || intervalMillis <= 0L) {
+                next.run();
+                return;
+            }
+            if (Detector.NO_ID.equals(detector.getId())) {
+                // the slot preferred by a new detector depends on its id, which is therefore chosen before indexing
+                detector.setId(UUIDs.base64UUID());
+            }
+
+            SearchRequest searchRequest = new SearchRequest(Detector.DETECTORS_INDEX)
+                    .source(new SearchSourceBuilder()
+                            .query(QueryBuilders.nestedQuery("detector", QueryBuilders.termQuery("detector.enabled", true), ScoreMode.None))
+                            .size(10000));
+            client.search(searchRequest, new ActionListener<>() {
+                @Override
+                public void onResponse(SearchResponse response) {
+                    try {
+                        int slots = ScheduleStagger.slots(intervalMillis);
+                        List<Integer> usedSlots = new ArrayList<>();
+                        for (Detector other: DetectorUtils.getDetectors(response, xContentRegistry)) {
+                            if (!other.getId().equals(detector.getId()) && other.getEnabledTime() != null &&
+                                    ScheduleStagger.intervalMillis(other.getSchedule()) == intervalMillis) {
+                                usedSlots.add(ScheduleStagger.slotOf(other.getEnabledTime(), intervalMillis, slots));
+                            }
                         }
-                    });
-                } catch (IOException e) {
+
+                        int slot = ScheduleStagger.chooseSlot(detector.getId(), usedSlots, slots);
+                        detector.setEnabledTime(ScheduleStagger.stagger(detector.getEnabledTime(), intervalMillis, slot, slots));
+                        log.debug("detector {} runs in slot {} of {} of its interval", detector.getId(), slot, slots);
+                    } catch (IOException e) {
+                        onFailures(e);
+                        return;
+                    }
+                    next.run();
+                }
+
+                @Override
+                public void onFailure(Exception e) {
                     onFailures(e);
                 }
-            }
+            });
         }
 
         public void initRuleIndexAndImportRules(IndexDetectorRequest request, ActionListener<List<IndexMonitorResponse>> listener) {
+            request.getProvisioningContext().<Void>shared("pre_packaged_rules_index", this::initPrePackagedRulesIndex,
+                    ActionListener.wrap(it -> importRules(request, listener), this::onFailures));
+        }
+
+        void initRuleTopicIndexTemplate(ActionListener<AcknowledgedResponse> ruleTopicIndexListener) {
+            try {
+                ruleTopicIndices.initRuleTopicIndexTemplate(ruleTopicIndexListener);
+            } catch (IOException e) {
+                ruleTopicIndexListener.onFailure(e);
+            }
+        }
+
+        void initPrePackagedRulesIndex(ActionListener<Void> rulesIndexListener) {
             ruleIndices.initPrepackagedRulesIndex(
                     new ActionListener<>() {
                         @Override
@@ -900,22 +975,22 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
                                         @Override
                                         public void onResponse(BulkResponse response) {
                                             if (!response.hasFailures()) {
-                                                importRules(request, listener);
+                                                rulesIndexListener.onResponse(null);
                                             } else {
-                                                onFailures(new OpenSearchStatusException(response.buildFailureMessage(), RestStatus.INTERNAL_SERVER_ERROR));
+                                                rulesIndexListener.onFailure(new OpenSearchStatusException(response.buildFailureMessage(), RestStatus.INTERNAL_SERVER_ERROR));
                                             }
                                         }
 
                                         @Override
                                         public void onFailure(Exception e) {
-                                            onFailures(e);
+                                            rulesIndexListener.onFailure(e);
                                         }
                                     });
                         }
 
                         @Override
                         public void onFailure(Exception e) {
-                            onFailures(e);
+                            rulesIndexListener.onFailure(e);
                         }
                     },
                     new ActionListener<>() {
@@ -930,36 +1005,37 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
                                                 @Override
                                                 public void onResponse(BulkResponse response) {
                                                     if (!response.hasFailures()) {
-                                                        importRules(request, listener);
+                                                        rulesIndexListener.onResponse(null);
                                                     } else {
-                                                        onFailures(new OpenSearchStatusException(response.buildFailureMessage(), RestStatus.INTERNAL_SERVER_ERROR));
+                                                        rulesIndexListener.onFailure(new OpenSearchStatusException(response.buildFailureMessage(), RestStatus.INTERNAL_SERVER_ERROR));
                                                     }
                                                 }
 
                                                 @Override
                                                 public void onFailure(Exception e) {
-                                                    onFailures(e);
+                                                    rulesIndexListener.onFailure(e);
                                                 }
                                             });
                                 }
 
                                 @Override
                                 public void onFailure(Exception e) {
-                                    onFailures(e);
+                                    rulesIndexListener.onFailure(e);
                                 }
                             });
                         }
 
                         @Override
                         public void onFailure(Exception e) {
-                            onFailures(e);
+                            rulesIndexListener.onFailure(e);
                         }
                     },
                     new ActionListener<>() {
                         @Override
                         public void onResponse(SearchResponse response) {
                             if (response.isTimedOut()) {
-                                onFailures(new OpenSearchStatusException(response.toString(), RestStatus.REQUEST_TIMEOUT));
+                                rulesIndexListener.onFailure(new OpenSearchStatusException(response.toString(), RestStatus.REQUEST_TIMEOUT));
+                                return;
                             }
 
                             long count = response.getHits().getTotalHits().value;
@@ -969,38 +1045,87 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
                                             @Override
                                             public void onResponse(BulkResponse response) {
                                                 if (!response.hasFailures()) {
-                                                    importRules(request, listener);
+                                                    rulesIndexListener.onResponse(null);
                                                 } else {
-                                                    onFailures(new OpenSearchStatusException(response.buildFailureMessage(), RestStatus.INTERNAL_SERVER_ERROR));
+                                                    rulesIndexListener.onFailure(new OpenSearchStatusException(response.buildFailureMessage(), RestStatus.INTERNAL_SERVER_ERROR));
                                                 }
                                             }
 
                                             @Override
                                             public void onFailure(Exception e) {
-                                                onFailures(e);
+                                                rulesIndexListener.onFailure(e);
                                             }
                                         });
                             } else {
-                                importRules(request, listener);
+                                rulesIndexListener.onResponse(null);
                             }
                         }
 
                         @Override
                         public void onFailure(Exception e) {
-                            onFailures(e);
+                            rulesIndexListener.onFailure(e);
                         }
                     }
             );
         }
 
-        @SuppressWarnings("unchecked")
         public void importRules(IndexDetectorRequest request, ActionListener<List<IndexMonitorResponse>> listener) {
             final Detector detector = request.getDetector();
             final String ruleTopic = detector.getDetectorType();
             final DetectorInput detectorInput = detector.getInputs().get(0);
-            final String logIndex = detectorInput.getIndices().get(0);
 
-            List<String> ruleIds = detectorInput.getPrePackagedRules().stream().map(DetectorRule::getId).collect(Collectors.toList());
+            request.getProvisioningContext().<Map<String, Rule>>shared("pre_packaged_rules_" + ruleTopic,
+                    rulesListener -> searchPrePackagedRules(ruleTopic, rulesListener),
+                    new ActionListener<>() {
+                        @Override
+                        public void onResponse(Map<String, Rule> rules) {
+                            List<Pair<String, Rule>> queries = selectRules(detectorInput.getPrePackagedRules(), rules);
+
+                            try {
+                                if (ruleIndices.ruleIndexExists(false)) {
+                                    importCustomRules(detector, detectorInput, queries, listener);
+                                } else if (detectorInput.getCustomRules().size() > 0) {
+                                    onFailures(new OpenSearchStatusException("Custom Rule Index not found", RestStatus.NOT_FOUND));
+                                } else {
+                                    createOrUpdateMonitors(detector, detectorInput, queries, listener);
+                                }
+                            } catch (IOException | SigmaError e) {
+                                onFailures(e);
+                            }
+                        }
+
+                        @Override
+                        public void onFailure(Exception e) {
+                            onFailures(e);
+                        }
+                    });
+        }
+
+        public void importCustomRules(Detector detector, DetectorInput detectorInput, List<Pair<String, Rule>> queries, ActionListener<List<IndexMonitorResponse>> listener) {
+            request.getProvisioningContext().<Map<String, Rule>>shared("custom_rules", this::searchCustomRules, new ActionListener<>() {
+                @Override
+                public void onResponse(Map<String, Rule> rules) {
+                    queries.addAll(selectRules(detectorInput.getCustomRules(), rules));
+
+                    try {
+                        createOrUpdateMonitors(detector, detectorInput, queries, listener);
+                    } catch (IOException | SigmaError ex) {
+                        onFailures(ex);
+                    }
+                }
+
+                @Override
+                public void onFailure(Exception e) {
+                    onFailures(e);
+                }
+            });
+        }
+
+        /**
+         * Searches the pre packaged rules of the category used by any detector of the request.
+         */
+        void searchPrePackagedRules(String ruleTopic, ActionListener<Map<String, Rule>> rulesListener) {
+            List<String> ruleIds = new ArrayList<>(request.getProvisioningContext().getPrePackagedRuleIds(ruleTopic));
 
             QueryBuilder queryBuilder =
                     QueryBuilders.nestedQuery("rule",
@@ -1019,56 +1144,14 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
                             .query(queryBuilder)
                             .size(10000));
 
-            client.search(searchRequest, new ActionListener<>() {
-                @Override
-                public void onResponse(SearchResponse response) {
-                    if (response.isTimedOut()) {
-                        onFailures(new OpenSearchStatusException(response.toString(), RestStatus.REQUEST_TIMEOUT));
-                    }
-
-                    SearchHits hits = response.getHits();
-                    List<Pair<String, Rule>> queries = new ArrayList<>();
-
-                    try {
-                        for (SearchHit hit: hits) {
-                            XContentParser xcp = XContentType.JSON.xContent().createParser(
-                                    xContentRegistry,
-                                    LoggingDeprecationHandler.INSTANCE, hit.getSourceAsString()
-                            );
-
-                            Rule rule = Rule.docParse(xcp, hit.getId(), hit.getVersion());
-                            String id = hit.getId();
-
-                            queries.add(Pair.of(id, rule));
-                        }
-
-                        if (ruleIndices.ruleIndexExists(false)) {
-                            importCustomRules(detector, detectorInput, queries, listener);
-                        } else if (detectorInput.getCustomRules().size() > 0) {
-                            onFailures(new OpenSearchStatusException("Custom Rule Index not found", RestStatus.NOT_FOUND));
-                        } else {
-                            if (request.getMethod() == RestRequest.Method.POST) {
-                                createMonitorFromQueries(logIndex, queries, detector, listener, request.getRefreshPolicy());
-                            } else if (request.getMethod() == RestRequest.Method.PUT) {
-                                updateMonitorFromQueries(logIndex, queries, detector, listener, request.getRefreshPolicy());
-                            }
-                        }
-                    } catch (IOException | SigmaError e) {
-                        onFailures(e);
-                    }
-                }
-
-                @Override
-                public void onFailure(Exception e) {
-                    onFailures(e);
-                }
-            });
+            client.search(searchRequest, rulesSearchListener(rulesListener));
         }
 
-        @SuppressWarnings("unchecked")
-        public void importCustomRules(Detector detector, DetectorInput detectorInput, List<Pair<String, Rule>> queries, ActionListener<List<IndexMonitorResponse>> listener) {
-            final String logIndex = detectorInput.getIndices().get(0);
-            List<String> ruleIds = detectorInput.getCustomRules().stream().map(DetectorRule::getId).collect(Collectors.toList());
+        /**
+         * Searches the custom rules used by any detector of the request.
+         */
+        void searchCustomRules(ActionListener<Map<String, Rule>> rulesListener) {
+            List<String> ruleIds = new ArrayList<>(request.getProvisioningContext().getCustomRuleIds());
 
             QueryBuilder queryBuilder = QueryBuilders.termsQuery("_id", ruleIds.toArray(new String[]{}));
             SearchRequest searchRequest = new SearchRequest(Rule.CUSTOM_RULES_INDEX)
@@ -1078,43 +1161,63 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
                             .query(queryBuilder)
                             .size(10000));
 
-            client.search(searchRequest, new ActionListener<>() {
+            client.search(searchRequest, rulesSearchListener(rulesListener));
+        }
+
+        private ActionListener<SearchResponse> rulesSearchListener(ActionListener<Map<String, Rule>> rulesListener) {
+            return new ActionListener<>() {
                 @Override
                 public void onResponse(SearchResponse response) {
                     if (response.isTimedOut()) {
-                        onFailures(new OpenSearchStatusException(response.toString(), RestStatus.REQUEST_TIMEOUT));
+                        rulesListener.onFailure(new OpenSearchStatusException(response.toString(), RestStatus.REQUEST_TIMEOUT));
+                        return;
                     }
 
-                    SearchHits hits = response.getHits();
-
+                    Map<String, Rule> rules = new HashMap<>();
                     try {
-                        for (SearchHit hit : hits) {
+                        for (SearchHit hit: response.getHits()) {
                             XContentParser xcp = XContentType.JSON.xContent().createParser(
                                     xContentRegistry,
                                     LoggingDeprecationHandler.INSTANCE, hit.getSourceAsString()
                             );
 
-                            Rule rule = Rule.docParse(xcp, hit.getId(), hit.getVersion());
-                            String id = hit.getId();
-
-                            queries.add(Pair.of(id, rule));
+                            rules.put(hit.getId(), Rule.docParse(xcp, hit.getId(), hit.getVersion()));
                         }
-
-                        if (request.getMethod() == RestRequest.Method.POST) {
-                            createMonitorFromQueries(logIndex, queries, detector, listener, request.getRefreshPolicy());
-                        } else if (request.getMethod() == RestRequest.Method.PUT) {
-                            updateMonitorFromQueries(logIndex, queries, detector, listener, request.getRefreshPolicy());
-                        }
-                    } catch (IOException | SigmaError ex) {
-                        onFailures(ex);
+                    } catch (IOException e) {
+                        rulesListener.onFailure(e);
+                        return;
                     }
+                    rulesListener.onResponse(rules);
                 }
 
                 @Override
                 public void onFailure(Exception e) {
-                    onFailures(e);
+                    rulesListener.onFailure(e);
                 }
-            });
+            };
+        }
+
+        /**
+         * @return the rules of the detector among the rules looked up for the request, rules not found are skipped
+         */
+        private List<Pair<String, Rule>> selectRules(List<DetectorRule> detectorRules, Map<String, Rule> rules) {
+            List<Pair<String, Rule>> queries = new ArrayList<>();
+            for (String id: detectorRules.stream().map(DetectorRule::getId).distinct().collect(Collectors.toList())) {
+                Rule rule = rules.get(id);
+                if (rule != null) {
+                    queries.add(Pair.of(id, rule));
+                }
+            }
+            return queries;
+        }
+
+        private void createOrUpdateMonitors(Detector detector, DetectorInput detectorInput, List<Pair<String, Rule>> queries, ActionListener<List<IndexMonitorResponse>> listener) throws IOException, SigmaError {
+            final String logIndex = detectorInput.getIndices().get(0);
+            if (request.getMethod() == RestRequest.Method.POST) {
+                createMonitorFromQueries(logIndex, queries, detector, listener, request.getRefreshPolicy(), request.getProvisioningContext());
+            } else if (request.getMethod() == RestRequest.Method.PUT) {
+                updateMonitorFromQueries(logIndex, queries, detector, listener, request.getRefreshPolicy(), request.getProvisioningContext(), request.getRefreshedRuleId());
+            }
         }
 
         public void indexDetector() throws IOException {
@@ -1124,6 +1227,9 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
                         .setRefreshPolicy(request.getRefreshPolicy())
                         .source(request.getDetector().toXContentWithUser(XContentFactory.jsonBuilder(), new ToXContent.MapParams(Map.of("with_type", "true"))))
                         .timeout(indexTimeout);
+                if (!Detector.NO_ID.equals(request.getDetector().getId())) {
+                    indexRequest.id(request.getDetector().getId()).create(true);
+                }
             } else {
                 indexRequest = new IndexRequest(Detector.DETECTORS_INDEX)
                         .setRefreshPolicy(request.getRefreshPolicy())
@@ -1177,32 +1283,49 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
             return monitorResponses.stream().map(IndexMonitorResponse::getId).collect(
                 Collectors.toList());
         }
+    }
 
-        /**
-         * Creates a map of monitor ids. In the case of bucket level monitors pairs are: RuleId - MonitorId
-         * In the case of doc level monitor pair is DOC_LEVEL_MONITOR(value) - MonitorId
-         * @param monitorResponses index monitor responses
-         * @return map of monitor ids
-         */
-        private Map<String, String> mapMonitorIds(List<IndexMonitorResponse> monitorResponses) {
-            return monitorResponses.stream().collect(
-                    Collectors.toMap(
-                        // In the case of bucket level monitors rule id is trigger id
-                        it -> {
-                            if (MonitorType.BUCKET_LEVEL_MONITOR == it.getMonitor().getMonitorType()) {
-                                return it.getMonitor().getTriggers().get(0).getId();
-                            } else {
-                                return Detector.DOC_LEVEL_MONITOR;
-                            }
-                        },
-                        IndexMonitorResponse::getId
-                    )
-                );
+    /**
+     * Creates a map of monitor ids. In the case of bucket level monitors pairs are: RuleId - MonitorId
+     * In the case of doc level monitors pairs are: DOC_LEVEL_MONITOR(value), with a shard suffix after the first one - MonitorId
+     * @param monitorResponses index monitor responses
+     * @return map of monitor ids
+     */
+    static Map<String, String> mapMonitorIds(List<IndexMonitorResponse> monitorResponses) {
+        Map<String, String> monitorIds = new HashMap<>();
+        int docLevelShards = 0;
+        for (IndexMonitorResponse monitorResponse: monitorResponses) {
+            if (MonitorType.BUCKET_LEVEL_MONITOR == monitorResponse.getMonitor().getMonitorType()) {
+                // In the case of bucket level monitors rule id is trigger id, merged monitors have a trigger per rule
+                for (Trigger trigger: monitorResponse.getMonitor().getTriggers()) {
+                    monitorIds.put(trigger.getId(), monitorResponse.getId());
+                }
+            } else {
+                // doc level monitors are keyed by shard, any order of the shards is fine
+                monitorIds.put(Detector.docLevelMonitorKey(docLevelShards++), monitorResponse.getId());
+            }
         }
+        return monitorIds;
     }
 
     private void setFilterByEnabled(boolean filterByEnabled) {
         this.filterByEnabled = filterByEnabled;
     }
 
+    private void setMergeBucketLevelMonitors(boolean mergeBucketLevelMonitors) {
+        this.mergeBucketLevelMonitors = mergeBucketLevelMonitors;
+    }
+
+    private void setDocLevelMonitorShards(int docLevelMonitorShards) {
+        this.docLevelMonitorShards = docLevelMonitorShards;
+    }
+
+    private void setDocLevelMonitorMaxShardCost(long docLevelMonitorMaxShardCost) {
+        this.docLevelMonitorMaxShardCost = docLevelMonitorMaxShardCost;
+    }
+
+    private void setStaggerDetectorSchedules(boolean staggerDetectorSchedules) {
+        this.staggerDetectorSchedules = staggerDetectorSchedules;
+    }
+
 }
\ No newline at end of file
@@ -5,6 +5,7 @@
 package org.opensearch.securityanalytics.transport;
 
 import java.util.Set;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.lucene.search.join.ScoreMode;
@@ -12,6 +13,8 @@ import org.opensearch.OpenSearchStatusException;
 import org.opensearch.action.ActionListener;
 import org.opensearch.action.ActionRunnable;
 import org.opensearch.action.admin.indices.create.CreateIndexResponse;
+import org.opensearch.action.get.GetRequest;
+import org.opensearch.action.get.GetResponse;
 import org.opensearch.action.index.IndexRequest;
 import org.opensearch.action.index.IndexResponse;
 import org.opensearch.action.search.SearchRequest;
@@ -26,6 +29,7 @@ import org.opensearch.common.settings.Settings;
 import org.opensearch.common.unit.TimeValue;
 import org.opensearch.common.xcontent.LoggingDeprecationHandler;
 import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.common.xcontent.XContentHelper;
 import org.opensearch.common.xcontent.XContentType;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
 import org.opensearch.core.xcontent.ToXContent;
@@ -42,15 +46,24 @@ import org.opensearch.securityanalytics.action.IndexDetectorResponse;
 import org.opensearch.securityanalytics.action.IndexRuleAction;
 import org.opensearch.securityanalytics.action.IndexRuleRequest;
 import org.opensearch.securityanalytics.action.IndexRuleResponse;
+import org.opensearch.securityanalytics.ingest.DetectorRulesCache;
 import org.opensearch.securityanalytics.model.Detector;
 import org.opensearch.securityanalytics.model.Rule;
 import org.opensearch.securityanalytics.rules.backend.OSQueryBackend;
+import org.opensearch.securityanalytics.rules.backend.OSQueryBuilderBackend;
 import org.opensearch.securityanalytics.rules.backend.QueryBackend;
+import org.opensearch.securityanalytics.rules.backend.RegexComplexityAnalyzer;
+import org.opensearch.securityanalytics.rules.backend.RuleCostEstimator;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaAggregationParameterError;
 import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaRegularExpressionError;
 import org.opensearch.securityanalytics.rules.objects.SigmaRule;
 import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
 import org.opensearch.securityanalytics.util.DetectorIndices;
+import org.opensearch.securityanalytics.util.DetectorProvisioningContext;
+import org.opensearch.securityanalytics.util.DetectorQueryGenerator;
 import org.opensearch.securityanalytics.util.IndexUtils;
+import org.opensearch.securityanalytics.util.MonitorRequestExecutor;
 import org.opensearch.securityanalytics.util.RuleIndices;
 import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
 import org.opensearch.tasks.Task;
@@ -63,9 +76,10 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
 import static org.opensearch.securityanalytics.model.Detector.NO_ID;
@@ -81,6 +95,10 @@ public class TransportIndexRuleAction extends HandledTransportAction<IndexRuleRe
 
     private final DetectorIndices detectorIndices;
 
+    private final DetectorRulesCache detectorRulesCache;
+
+    private final MonitorRequestExecutor monitorRequestExecutor;
+
     private final ThreadPool threadPool;
 
     private final ClusterService clusterService;
@@ -91,18 +109,42 @@ public class TransportIndexRuleAction extends HandledTransportAction<IndexRuleRe
 
     private volatile TimeValue indexTimeout;
 
+    private volatile Boolean optimizeConditions;
+
+    private volatile Integer regexDeterminizeWorkLimit;
+
+    private volatile Boolean rejectComplexRegexRules;
+
+    private volatile Boolean rewriteSimpleRegex;
+
+    private volatile Integer maxDetectorsInFlight;
+
     @Inject
-    public TransportIndexRuleAction(TransportService transportService, Client client, ActionFilters actionFilters, ClusterService clusterService, DetectorIndices detectorIndices, RuleIndices ruleIndices, NamedXContentRegistry xContentRegistry, Settings settings) {
+    public TransportIndexRuleAction(TransportService transportService, Client client, ActionFilters actionFilters, ClusterService clusterService, DetectorIndices detectorIndices, RuleIndices ruleIndices,
+                                    MonitorRequestExecutor monitorRequestExecutor, DetectorRulesCache detectorRulesCache, NamedXContentRegistry xContentRegistry, Settings settings) {
         super(IndexRuleAction.NAME, transportService, actionFilters, IndexRuleRequest::new);
         this.client = client;
         this.detectorIndices = detectorIndices;
+        this.detectorRulesCache = detectorRulesCache;
         this.ruleIndices = ruleIndices;
+        this.monitorRequestExecutor = monitorRequestExecutor;
         this.threadPool = ruleIndices.getThreadPool();
         this.clusterService = clusterService;
         this.xContentRegistry = xContentRegistry;
         this.settings = settings;
 
         this.indexTimeout = SecurityAnalyticsSettings.INDEX_TIMEOUT.get(this.settings);
+        this.optimizeConditions = SecurityAnalyticsSettings.ENABLE_CONDITION_OPTIMIZER.get(this.settings);
+        this.regexDeterminizeWorkLimit = SecurityAnalyticsSettings.REGEX_DETERMINIZE_WORK_LIMIT.get(this.settings);
+        this.rejectComplexRegexRules = SecurityAnalyticsSettings.REJECT_COMPLEX_REGEX_RULES.get(this.settings);
+        this.rewriteSimpleRegex = SecurityAnalyticsSettings.REWRITE_SIMPLE_REGEX.get(this.settings);
+        this.maxDetectorsInFlight = SecurityAnalyticsSettings.BULK_DETECTORS_MAX_IN_FLIGHT.get(this.settings);
+
+        this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.ENABLE_CONDITION_OPTIMIZER, this::setOptimizeConditions);
+        this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.REGEX_DETERMINIZE_WORK_LIMIT, this::setRegexDeterminizeWorkLimit);
+        this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.REJECT_COMPLEX_REGEX_RULES, this::setRejectComplexRegexRules);
+        this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.REWRITE_SIMPLE_REGEX, this::setRewriteSimpleRegex);
+        this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.BULK_DETECTORS_MAX_IN_FLIGHT, this::setMaxDetectorsInFlight);
     }
 
     @Override
@@ -111,13 +153,21 @@ public class TransportIndexRuleAction extends HandledTransportAction<IndexRuleRe
         asyncAction.start();
     }
 
+    /**
+     * Invalid aggregation parameters reject the rule, as the monitor would fail to run it. Other errors the backend
+     * collects only leave out the parts of the rule it cannot convert, as they always did.
+     */
+    private static SigmaError[] aggregationParameterErrors(QueryBackend backend) {
+        return backend.getErrors().stream().map(Pair::getRight).filter(error -> error instanceof SigmaAggregationParameterError)
+                .toArray(SigmaError[]::new);
+    }
+
     class AsyncIndexRulesAction {
         private final IndexRuleRequest request;
 
         private final ActionListener<IndexRuleResponse> listener;
         private final AtomicReference<Object> response;
         private final AtomicBoolean counter = new AtomicBoolean();
-        private final AtomicInteger checker = new AtomicInteger();
         private final Task task;
 
         AsyncIndexRulesAction(Task task, IndexRuleRequest request, ActionListener<IndexRuleResponse> listener) {
@@ -180,15 +230,45 @@ public class TransportIndexRuleAction extends HandledTransportAction<IndexRuleRe
                     return;
                 }
 
-                final QueryBackend backend = new OSQueryBackend(category, true, true);
+                long regexAutomatonStates;
+                try {
+                    regexAutomatonStates = new RegexComplexityAnalyzer(regexDeterminizeWorkLimit).analyze(parsedRule);
+                } catch (SigmaRegularExpressionError e) {
+                    if (rejectComplexRegexRules) {
+                        onFailures(e);
+                        return;
+                    }
+                    log.warn("Indexing rule with complex regular expression: {}", e.getMessage());
+                    regexAutomatonStates = RegexComplexityAnalyzer.TOO_COMPLEX;
+                }
+
+                final QueryBackend backend = new OSQueryBackend(category, true, true, optimizeConditions);
+                backend.setRewriteSimpleRegex(rewriteSimpleRegex);
                 List<Object> queries = backend.convertRule(parsedRule);
+                SigmaError[] parameterErrors = aggregationParameterErrors(backend);
+                if (parameterErrors.length > 0) {
+                    onFailures(parameterErrors);
+                    return;
+                }
                 Set<String> queryFieldNames = backend.getQueryFields().keySet();
+
+                final QueryBackend queryBuilderBackend = new OSQueryBuilderBackend(category, true, true, optimizeConditions);
+                queryBuilderBackend.setRewriteSimpleRegex(rewriteSimpleRegex);
+                List<Object> queryDsl = queryBuilderBackend.convertRule(parsedRule);
+                parameterErrors = aggregationParameterErrors(queryBuilderBackend);
+                if (parameterErrors.length > 0) {
+                    onFailures(parameterErrors);
+                    return;
+                }
                 Rule ruleDoc = new Rule(
                         NO_ID, NO_VERSION, parsedRule, category,
                         queries,
                         new ArrayList<>(queryFieldNames),
-                        rule
+                        rule,
+                        queryDsl
                 );
+                ruleDoc.setEstimatedCost(new RuleCostEstimator().estimate(parsedRule));
+                ruleDoc.setRegexAutomatonStates(regexAutomatonStates);
                 indexRule(ruleDoc);
             } catch (IOException | SigmaError e) {
                 onFailures(e);
@@ -224,13 +304,13 @@ public class TransportIndexRuleAction extends HandledTransportAction<IndexRuleRe
                                         detectors.add(detector);
                                     }
 
-                                    updateRule(rule, detectors);
+                                    getCurrentRule(rule, detectors);
                                 } catch (IOException ex) {
                                     onFailures(ex);
                                 }
                             } else {
                                 try {
-                                    updateRule(rule, List.of());
+                                    updateRule(rule, List.of(), false);
                                 } catch (IOException ex) {
                                     onFailures(ex);
                                 }
@@ -243,7 +323,7 @@ public class TransportIndexRuleAction extends HandledTransportAction<IndexRuleRe
                         }
                     });
                 } else {
-                    updateRule(rule, List.of());
+                    updateRule(rule, List.of(), false);
                 }
             } else {
                 IndexRequest indexRequest = new IndexRequest(Rule.CUSTOM_RULES_INDEX)
@@ -266,12 +346,25 @@ public class TransportIndexRuleAction extends HandledTransportAction<IndexRuleRe
             }
         }
 
+        /**
+         * Finds the detectors using the rule by the custom rule ids stored with them. Detectors stored before the ids
+         * were added to the detectors index are found by their inputs until they are indexed again.
+         */
         private void searchDetectors(String ruleId, ActionListener<SearchResponse> listener) {
+            String customRuleIdsPath = "detector." + Detector.CUSTOM_RULE_IDS_FIELD;
             QueryBuilder queryBuilder =
-                    QueryBuilders.nestedQuery("detector.inputs.detector_input.custom_rules",
-                            QueryBuilders.boolQuery().must(
-                                    QueryBuilders.matchQuery("detector.inputs.detector_input.custom_rules.id", ruleId)
-                            ), ScoreMode.Avg);
+                    QueryBuilders.nestedQuery("detector",
+                            QueryBuilders.boolQuery().should(
+                                    QueryBuilders.termQuery(customRuleIdsPath, ruleId)
+                            ).should(
+                                    QueryBuilders.boolQuery().mustNot(
+                                            QueryBuilders.existsQuery(customRuleIdsPath)
+                                    ).must(
+                                            QueryBuilders.nestedQuery("detector.inputs.detector_input.custom_rules",
+                                                    QueryBuilders.matchQuery("detector.inputs.detector_input.custom_rules.id", ruleId),
+                                                    ScoreMode.Avg)
+                                    )
+                            ), ScoreMode.None);
 
             SearchRequest searchRequest = new SearchRequest(Detector.DETECTORS_INDEX)
                     .source(new SearchSourceBuilder()
@@ -283,28 +376,72 @@ public class TransportIndexRuleAction extends HandledTransportAction<IndexRuleRe
             client.search(searchRequest, listener);
         }
 
-        private void updateDetectors(IndexResponse indexResponse, Rule rule, List<Detector> detectors) {
-            for (Detector detector: detectors) {
-                IndexDetectorRequest indexRequest = new IndexDetectorRequest(detector.getId(), request.getRefreshPolicy(), RestRequest.Method.PUT, detector);
-                client.execute(IndexDetectorAction.INSTANCE, indexRequest,
-                        new ActionListener<>() {
-                            @Override
-                            public void onResponse(IndexDetectorResponse response) {
-                                if (response.getStatus() != RestStatus.OK) {
-                                    onFailures(new OpenSearchStatusException(String.format(Locale.getDefault(), "Rule with id %s cannot be updated", request.getRuleId()), RestStatus.INTERNAL_SERVER_ERROR));
-                                }
-                                onComplete(indexResponse, rule, detectors.size());
-                            }
+        /**
+         * Gets the rule as stored before the update. A rule keeping its kind, estimated cost and the index groups it can
+         * match keeps its place among the monitors of the detectors using it, so only the monitors evaluating it need to
+         * be updated.
+         */
+        private void getCurrentRule(Rule rule, List<Detector> detectors) {
+            client.get(new GetRequest(Rule.CUSTOM_RULES_INDEX, request.getRuleId()), new ActionListener<>() {
+                @Override
+                public void onResponse(GetResponse response) {
+                    try {
+                        boolean sameMonitors = false;
+                        if (response.isExists()) {
+                            XContentParser xcp = XContentHelper.createParser(
+                                    xContentRegistry, LoggingDeprecationHandler.INSTANCE,
+                                    response.getSourceAsBytesRef(), XContentType.JSON
+                            );
+                            Rule currentRule = Rule.docParse(xcp, response.getId(), response.getVersion());
+                            sameMonitors = currentRule.isAggregationRule() == rule.isAggregationRule() &&
+                                    currentRule.getEstimatedCost() != null &&
+                                    Objects.equals(currentRule.getEstimatedCost(), rule.getEstimatedCost()) &&
+                                    DetectorQueryGenerator.canMatchSameIndices(currentRule, rule);
+                        }
+                        updateRule(rule, detectors, sameMonitors);
+                    } catch (IOException e) {
+                        onFailures(e);
+                    }
+                }
 
-                            @Override
-                            public void onFailure(Exception e) {
-                                onFailures(e);
-                            }
-                        });
-            }
+                @Override
+                public void onFailure(Exception e) {
+                    onFailures(e);
+                }
+            });
+        }
+
+        /**
+         * Refreshes the detectors using the rule, at most {@link SecurityAnalyticsSettings#BULK_DETECTORS_MAX_IN_FLIGHT}
+         * of them at a time and looking up their rules once for all of them.
+         *
+         * @param sameMonitors whether the rule keeps its monitors, which are then the only ones updated
+         */
+        private void updateDetectors(IndexResponse indexResponse, Rule rule, List<Detector> detectors, boolean sameMonitors) {
+            DetectorProvisioningContext provisioningContext = new DetectorProvisioningContext(detectors);
+            BiConsumer<Detector, ActionListener<IndexDetectorResponse>> updateDetector = (detector, detectorListener) -> {
+                IndexDetectorRequest indexRequest = new IndexDetectorRequest(detector.getId(), request.getRefreshPolicy(), RestRequest.Method.PUT, detector);
+                indexRequest.setProvisioningContext(provisioningContext);
+                if (sameMonitors) {
+                    indexRequest.setRefreshedRuleId(request.getRuleId());
+                }
+                client.execute(IndexDetectorAction.INSTANCE, indexRequest, detectorListener);
+            };
+
+            monitorRequestExecutor.execute(detectors, updateDetector, detector -> true, true, maxDetectorsInFlight, (responses, failure) -> {
+                // ingest detection evaluates the updated rule
+                detectors.forEach(detector -> detectorRulesCache.invalidate(detector.getId()));
+                if (failure != null) {
+                    onFailures(failure);
+                } else if (responses.stream().anyMatch(it -> it.getStatus() != RestStatus.OK)) {
+                    onFailures(new OpenSearchStatusException(String.format(Locale.getDefault(), "Rule with id %s cannot be updated", request.getRuleId()), RestStatus.INTERNAL_SERVER_ERROR));
+                } else {
+                    onOperation(indexResponse, rule);
+                }
+            });
         }
 
-        private void updateRule(Rule rule, List<Detector> detectors) throws IOException {
+        private void updateRule(Rule rule, List<Detector> detectors, boolean sameMonitors) throws IOException {
             IndexRequest indexRequest = new IndexRequest(Rule.CUSTOM_RULES_INDEX)
                     .setRefreshPolicy(request.getRefreshPolicy())
                     .source(rule.toXContent(XContentFactory.jsonBuilder(), new ToXContent.MapParams(Map.of("with_type", "true"))))
@@ -317,7 +454,7 @@ public class TransportIndexRuleAction extends HandledTransportAction<IndexRuleRe
                     rule.setId(response.getId());
 
                     if (detectors.size() > 0) {
-                        updateDetectors(response, rule, detectors);
+                        updateDetectors(response, rule, detectors, sameMonitors);
                     } else {
                         onOperation(response, rule);
                     }
@@ -330,12 +467,6 @@ public class TransportIndexRuleAction extends HandledTransportAction<IndexRuleRe
             });
         }
 
-        private void onComplete(IndexResponse response, Rule rule, int target) {
-            if (checker.incrementAndGet() == target) {
-                onOperation(response, rule);
-            }
-        }
-
         private void onOperation(IndexResponse response, Rule rule) {
             this.response.set(response);
             if (counter.compareAndSet(false, true)) {
@@ -363,4 +494,24 @@ public class TransportIndexRuleAction extends HandledTransportAction<IndexRuleRe
             }));
         }
     }
-}
\ No newline at end of file
+
+    private void setMaxDetectorsInFlight(int maxDetectorsInFlight) {
+        this.maxDetectorsInFlight = maxDetectorsInFlight;
+    }
+
+    private void setOptimizeConditions(boolean optimizeConditions) {
+        this.optimizeConditions = optimizeConditions;
+    }
+
+    private void setRegexDeterminizeWorkLimit(int regexDeterminizeWorkLimit) {
+        this.regexDeterminizeWorkLimit = regexDeterminizeWorkLimit;
+    }
+
+    private void setRejectComplexRegexRules(boolean rejectComplexRegexRules) {
+        this.rejectComplexRegexRules = rejectComplexRegexRules;
+    }
+
+    private void setRewriteSimpleRegex(boolean rewriteSimpleRegex) {
+        this.rewriteSimpleRegex = rewriteSimpleRegex;
+    }
+}
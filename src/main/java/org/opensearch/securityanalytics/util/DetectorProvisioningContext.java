@@ -0,0 +1,166 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.util;
+
+import org.opensearch.action.ActionListener;
+import org.opensearch.common.CheckedFunction;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.model.DetectorInput;
+import org.opensearch.securityanalytics.model.DetectorRule;
+import org.opensearch.securityanalytics.rules.backend.QueryBackend;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Work shared by the detectors indexed by one request, e.g. all detectors of a bulk request: preparing the rule
+ * indices, looking up the rules of a category, checking read access to the log indices and the query backends of the
+ * bucket level monitors. A single detector gets a context of its own, so it looks up exactly its rules as before.
+ * The context lives on the node handling the request and is never serialized.
+ */
+public class DetectorProvisioningContext {
+
+    private final Map<String, Set<String>> prePackagedRuleIds = new HashMap<>();
+
+    private final Set<String> customRuleIds = new HashSet<>();
+
+    private final Set<String> readableIndices = ConcurrentHashMap.newKeySet();
+
+    private final Map<String, SharedResult<?>> sharedResults = new ConcurrentHashMap<>();
+
+    /**
+     * guarded by the context, query backends keep state while converting rules and the detectors of a bulk request
+     * are indexed concurrently
+     */
+    private final Map<String, QueryBackend> queryBackends = new HashMap<>();
+
+    public DetectorProvisioningContext(Collection<Detector> detectors) {
+        for (Detector detector: detectors) {
+            for (DetectorInput input: detector.getInputs()) {
+                Set<String> ruleIds = prePackagedRuleIds.computeIfAbsent(detector.getDetectorType(), it -> new HashSet<>());
+                input.getPrePackagedRules().stream().map(DetectorRule::getId).forEach(ruleIds::add);
+                input.getCustomRules().stream().map(DetectorRule::getId).forEach(customRuleIds::add);
+            }
+        }
+    }
+
+    /**
+     * @return ids of the pre packaged rules of the category used by any of the detectors
+     */
+    public Set<String> getPrePackagedRuleIds(String category) {
+        return prePackagedRuleIds.getOrDefault(category, Set.of());
+    }
+
+    /**
+     * @return ids of the custom rules used by any of the detectors
+     */
+    public Set<String> getCustomRuleIds() {
+        return customRuleIds;
+    }
+
+    public boolean canReadIndices(Collection<String> indices) {
+        return readableIndices.containsAll(indices);
+    }
+
+    public void addReadableIndices(Collection<String> indices) {
+        readableIndices.addAll(indices);
+    }
+
+    /**
+     * Loads a result once for all detectors. The first caller runs the loader, later callers are notified with its
+     * result or failure, once it is there.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> void shared(String key, Consumer<ActionListener<T>> loader, ActionListener<T> listener) {
+        SharedResult<T> sharedResult = (SharedResult<T>) sharedResults.computeIfAbsent(key, it -> new SharedResult<T>());
+        if (sharedResult.subscribe(listener)) {
+            try {
+                loader.accept(ActionListener.wrap(sharedResult::onResponse, sharedResult::onFailure));
+            } catch (Exception e) {
+                sharedResult.onFailure(e);
+            }
+        }
+    }
+
+    /**
+     * @return query backend of the category shared by all detectors, to be used while holding the lock of the context
+     */
+    public synchronized QueryBackend queryBackend(String category, CheckedFunction<String, QueryBackend, IOException> factory) throws IOException {
+        QueryBackend queryBackend = queryBackends.get(category);
+        if (queryBackend == null) {
+            queryBackend = factory.apply(category);
+            queryBackends.put(category, queryBackend);
+        }
+        return queryBackend;
+    }
+
+    private static class SharedResult<T> {
+
+        private final List<ActionListener<T>> listeners = new ArrayList<>();
+
+        private boolean loading;
+
+        private boolean done;
+
+        private T result;
+
+        private Exception failure;
+
+        /**
+         * @return whether the caller is the first one and loads the result
+         */
+        private boolean subscribe(ActionListener<T> listener) {
+            synchronized (this) {
+                if (!done) {
+                    listeners.add(listener);
+                    boolean first = !loading;
+                    loading = true;
+                    return first;
+                }
+            }
+            notifyListener(listener);
+            return false;
+        }
+
+        private void onResponse(T result) {
+            complete(result, null);
+        }
+
+        private void onFailure(Exception failure) {
+            complete(null, failure);
+        }
+
+        private void complete(T result, Exception failure) {
+            List<ActionListener<T>> waiting;
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                this.result = result;
+                this.failure = failure;
+                done = true;
+                waiting = new ArrayList<>(listeners);
+                listeners.clear();
+            }
+            waiting.forEach(this::notifyListener);
+        }
+
+        private void notifyListener(ActionListener<T> listener) {
+            if (failure != null) {
+                listener.onFailure(failure);
+            } else {
+                listener.onResponse(result);
+            }
+        }
+    }
+}
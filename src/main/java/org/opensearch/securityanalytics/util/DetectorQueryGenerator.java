@@ -0,0 +1,658 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.util;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.metadata.DataStream;
+import org.opensearch.cluster.metadata.IndexNameExpressionResolver;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.cache.Cache;
+import org.opensearch.common.cache.CacheBuilder;
+import org.opensearch.common.xcontent.LoggingDeprecationHandler;
+import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.commons.alerting.aggregation.bucketselectorext.BucketSelectorExtAggregationBuilder;
+import org.opensearch.commons.alerting.model.BucketLevelTrigger;
+import org.opensearch.commons.alerting.model.DocLevelQuery;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.index.mapper.IndexFieldMapper;
+import org.opensearch.index.query.AbstractQueryBuilder;
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.index.query.RangeQueryBuilder;
+import org.opensearch.search.aggregations.AggregationBuilders;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.securityanalytics.mapper.IndexMappingsCache;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.model.Rule;
+import org.opensearch.securityanalytics.model.Value;
+import org.opensearch.securityanalytics.rules.backend.OSQueryBackend;
+import org.opensearch.securityanalytics.rules.backend.OSQueryBackend.AggregationQueries;
+import org.opensearch.securityanalytics.rules.backend.OSQueryBuilderBackend;
+import org.opensearch.securityanalytics.rules.backend.QueryBackend;
+import org.opensearch.securityanalytics.rules.condition.ConditionFieldEqualsValueExpression;
+import org.opensearch.securityanalytics.rules.condition.ConditionItem;
+import org.opensearch.securityanalytics.rules.condition.ConditionNOT;
+import org.opensearch.securityanalytics.rules.condition.ConditionValueExpression;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
+import org.opensearch.securityanalytics.rules.modifiers.SigmaCIDRModifier;
+import org.opensearch.securityanalytics.rules.objects.SigmaCondition;
+import org.opensearch.securityanalytics.rules.objects.SigmaDetection;
+import org.opensearch.securityanalytics.rules.objects.SigmaDetectionItem;
+import org.opensearch.securityanalytics.rules.objects.SigmaRule;
+import org.opensearch.securityanalytics.rules.utils.AnyOneOf;
+import org.opensearch.securityanalytics.rules.utils.Either;
+import org.opensearch.securityanalytics.sequence.SequenceRule;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.opensearch.securityanalytics.transport.TransportIndexDetectorAction.RULE_FILTER_AGGREGATION_PREFIX;
+import static org.opensearch.securityanalytics.transport.TransportIndexDetectorAction.TIMESTAMP_FIELD_ALIAS;
+
+/**
+ * Generates the queries the monitors of a detector evaluate from its rules. Shared by the detector monitors and the
+ * detector dry run, so that a dry run executes exactly the queries the monitors would.
+ */
+public class DetectorQueryGenerator {
+
+    private static final Logger log = LogManager.getLogger(DetectorQueryGenerator.class);
+
+    // fields of values a rule searches in any field, see OSQueryBackend
+    private static final Pattern UNBOUND_VALUE_FIELD = Pattern.compile("_\\d+");
+
+    private static final int RULE_DETECTIONS_CACHE_SIZE = 4096;
+
+    /**
+     * properties of the detections of rules keyed by the rule yaml, so a changed rule is parsed again
+     */
+    private static final Cache<String, RuleDetections> ruleDetectionsCache =
+            CacheBuilder.<String, RuleDetections>builder().setMaximumWeight(RULE_DETECTIONS_CACHE_SIZE).build();
+
+    /**
+     * Properties of the parsed detections of a rule which decide whether its query depends on the index mappings.
+     */
+    static class RuleDetections {
+
+        private final boolean cidr;
+
+        private final boolean negation;
+
+        RuleDetections(boolean cidr, boolean negation) {
+            this.cidr = cidr;
+            this.negation = negation;
+        }
+
+        /**
+         * @return whether a detection item of the rule uses the cidr modifier
+         */
+        boolean hasCidrCondition() {
+            return cidr;
+        }
+
+        /**
+         * @return whether a condition of the rule negates an expression, which also matches documents without its fields
+         */
+        boolean hasNegation() {
+            return negation;
+        }
+    }
+
+    /**
+     * Search and triggers of a bucket level monitor.
+     */
+    public static class BucketLevelSearch {
+
+        private final SearchSourceBuilder searchSource;
+
+        private final List<BucketLevelTrigger> triggers;
+
+        BucketLevelSearch(SearchSourceBuilder searchSource, List<BucketLevelTrigger> triggers) {
+            this.searchSource = searchSource;
+            this.triggers = triggers;
+        }
+
+        public SearchSourceBuilder getSearchSource() {
+            return searchSource;
+        }
+
+        public List<BucketLevelTrigger> getTriggers() {
+            return triggers;
+        }
+    }
+
+    /**
+     * Indices of a detector input whose newest concrete indices share the same mappings, so the rules give the same
+     * queries for all of them and they are evaluated by the same monitors.
+     */
+    public static class IndexGroup {
+
+        private final List<String> indices;
+
+        private final IndexMappingsCache.IndexMappings indexMappings;
+
+        IndexGroup(List<String> indices, IndexMappingsCache.IndexMappings indexMappings) {
+            this.indices = indices;
+            this.indexMappings = indexMappings;
+        }
+
+        public List<String> getIndices() {
+            return indices;
+        }
+
+        /**
+         * @return mappings shared by the indices, null if they could not be read
+         */
+        public IndexMappingsCache.IndexMappings getIndexMappings() {
+            return indexMappings;
+        }
+
+        public boolean canMatch(Rule rule) {
+            return DetectorQueryGenerator.canMatch(rule, indexMappings);
+        }
+    }
+
+    private final ClusterService clusterService;
+
+    private final IndexNameExpressionResolver indexNameExpressionResolver;
+
+    private final NamedXContentRegistry xContentRegistry;
+
+    private final IndexMappingsCache indexMappingsCache;
+
+    private volatile Boolean useQueryDsl;
+
+    private volatile String bucketLevelAggregationMode;
+
+    private volatile Integer compositeAggregationPageSize;
+
+    public DetectorQueryGenerator(ClusterService clusterService, IndexNameExpressionResolver indexNameExpressionResolver, NamedXContentRegistry xContentRegistry, IndexMappingsCache indexMappingsCache) {
+        this.clusterService = clusterService;
+        this.indexNameExpressionResolver = indexNameExpressionResolver;
+        this.xContentRegistry = xContentRegistry;
+        this.indexMappingsCache = indexMappingsCache;
+
+        this.useQueryDsl = SecurityAnalyticsSettings.QUERY_DSL_ENABLED.get(clusterService.getSettings());
+        this.bucketLevelAggregationMode = SecurityAnalyticsSettings.BUCKET_LEVEL_AGGREGATION_MODE.get(clusterService.getSettings());
+        this.compositeAggregationPageSize = SecurityAnalyticsSettings.COMPOSITE_AGGREGATION_PAGE_SIZE.get(clusterService.getSettings());
+
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.QUERY_DSL_ENABLED, it -> useQueryDsl = it);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.BUCKET_LEVEL_AGGREGATION_MODE, it -> bucketLevelAggregationMode = it);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.COMPOSITE_AGGREGATION_PAGE_SIZE, it -> compositeAggregationPageSize = it);
+    }
+
+    /**
+     * @return the queries of the doc level monitor evaluating the given doc level rules
+     */
+    public List<DocLevelQuery> buildDocLevelQueries(List<Pair<String, Rule>> queries, Detector detector) throws SigmaError {
+        return buildDocLevelQueries(queries, detector, null);
+    }
+
+    /**
+     * @param indexGroup indices the monitor evaluates the rules on, or null for all indices of the detector input,
+     *                   taking the mappings of its newest index
+     * @return the queries of the doc level monitor evaluating the given doc level rules on the indices
+     */
+    public List<DocLevelQuery> buildDocLevelQueries(List<Pair<String, Rule>> queries, Detector detector, IndexGroup indexGroup) throws SigmaError {
+        List<DocLevelQuery> docLevelQueries = new ArrayList<>();
+        Map<String, String> fieldTypes = null;
+
+        for (Pair<String, Rule> query: queries) {
+            String id = query.getLeft();
+
+            Rule rule = query.getRight();
+            String name = query.getLeft();
+
+            SequenceRule sequenceRule = SequenceRule.fromRule(rule);
+            if (sequenceRule != null) {
+                docLevelQueries.addAll(sequenceRule.stepQueries(rule.getQueries().stream().map(Value::getValue).collect(Collectors.toList())));
+                continue;
+            }
+
+            String actualQuery = rule.getQueries().get(0).getValue();
+            if (hasCidrCondition(rule)) {
+                if (fieldTypes == null) {
+                    fieldTypes = indexGroup == null? getFieldTypes(detector):
+                            indexGroup.getIndexMappings() == null? Collections.emptyMap(): indexGroup.getIndexMappings().getFieldTypes();
+                }
+                actualQuery = buildMappingAwareRuleQueryString(rule, fieldTypes);
+            }
+
+            List<String> tags = new ArrayList<>();
+            tags.add(rule.getLevel());
+            tags.add(rule.getCategory());
+            tags.addAll(rule.getTags().stream().map(Value::getValue).collect(Collectors.toList()));
+
+            docLevelQueries.add(new DocLevelQuery(id, name, actualQuery, tags));
+        }
+        return docLevelQueries;
+    }
+
+    /**
+     * Backend converting the aggregations of bucket level rules, grouping with a composite aggregation paged by the
+     * alerting bucket level runner when the composite mode is enabled.
+     */
+    public QueryBackend newBucketLevelQueryBackend(String category) throws IOException {
+        OSQueryBackend backend = new OSQueryBackend(category, true, true);
+        if (SecurityAnalyticsSettings.COMPOSITE_AGGREGATION_MODE.equals(bucketLevelAggregationMode)) {
+            backend.setCompositeAggregationPageSize(compositeAggregationPageSize);
+        }
+        return backend;
+    }
+
+    /**
+     * Creates the search of one bucket level monitor evaluating the given aggregation rules. A single rule keeps its
+     * query and aggregation at the top level of the search. Several rules share one search: it matches documents of
+     * any of the rules and aggregates them under a filter aggregation per rule, while each rule keeps its own trigger,
+     * whose id is the rule id.
+     *
+     * @param periodStart exclusive start of the time range searched, if the input index has a timestamp alias
+     * @param periodEnd inclusive end of the time range searched, in epoch millis or as a mustache template of the monitor
+     */
+    public BucketLevelSearch buildBucketLevelSearch(
+        List<Rule> rules,
+        Detector detector,
+        Map<String, QueryBackend> queryBackendMap,
+        String periodStart,
+        String periodEnd
+    ) throws SigmaError, IOException {
+        return buildBucketLevelSearch(rules, detector, (IndexGroup) null, queryBackendMap, periodStart, periodEnd);
+    }
+
+    /**
+     * @param indexGroup indices whose mappings the search is specialized for, or null for the newest index of the
+     *                   detector input
+     * @see #buildBucketLevelSearch(List, Detector, Map, String, String)
+     */
+    public BucketLevelSearch buildBucketLevelSearch(
+        List<Rule> rules,
+        Detector detector,
+        IndexGroup indexGroup,
+        Map<String, QueryBackend> queryBackendMap,
+        String periodStart,
+        String periodEnd
+    ) throws SigmaError, IOException {
+        // mappings are read from the local cluster state, shared by all rules of the monitor and cached per mapping version
+        IndexMappingsCache.IndexMappings indexMappings = null;
+        boolean timeStampAliasPresent = false;
+        try {
+            indexMappings = indexGroup == null? getIndexMappings(detector): indexGroup.getIndexMappings();
+            timeStampAliasPresent = indexMappings != null && indexMappings.hasAlias(TIMESTAMP_FIELD_ALIAS);
+        } catch (Exception e) {
+            log.error(
+                    String.format(Locale.getDefault(),
+                            "Unable to verify presence of timestamp alias for detector [%s]. Not setting time range filter for bucket level monitor.",
+                    detector.getName()), e);
+        }
+
+        List<Pair<Rule, QueryBuilder>> ruleQueries = new ArrayList<>();
+        for (Rule rule: rules) {
+            ruleQueries.add(Pair.of(rule, buildRuleQuery(rule, indexMappings)));
+        }
+        return buildBucketLevelSearch(ruleQueries, queryBackendMap, timeStampAliasPresent? timeRangeFilter(periodStart, periodEnd): null);
+    }
+
+    /**
+     * Creates the search of one bucket level monitor over indices with different mappings, which give different
+     * queries for the same rule. A rule matches the documents of each group of indices it can match with its query
+     * for the mappings of the group, restricted to the indices of the group, so no query runs against mappings it
+     * was not built for.
+     *
+     * @param indexGroups indices of the detector input grouped by their mappings, see {@link #groupIndicesByMappings}
+     * @see #buildBucketLevelSearch(List, Detector, Map, String, String)
+     */
+    public BucketLevelSearch buildBucketLevelSearch(
+        List<Rule> rules,
+        Detector detector,
+        List<IndexGroup> indexGroups,
+        Map<String, QueryBackend> queryBackendMap,
+        String periodStart,
+        String periodEnd
+    ) throws SigmaError, IOException {
+        if (indexGroups.size() < 2) {
+            return buildBucketLevelSearch(rules, detector, indexGroups.isEmpty()? null: indexGroups.get(0), queryBackendMap, periodStart, periodEnd);
+        }
+
+        ClusterState state = clusterService.state();
+        List<Pair<Rule, QueryBuilder>> ruleQueries = new ArrayList<>();
+        for (Rule rule: rules) {
+            BoolQueryBuilder ruleQuery = QueryBuilders.boolQuery().minimumShouldMatch(1);
+            for (IndexGroup indexGroup: indexGroups) {
+                if (!indexGroup.canMatch(rule)) {
+                    continue;
+                }
+                IndexMappingsCache.IndexMappings indexMappings = indexGroup.getIndexMappings();
+                BoolQueryBuilder groupQuery = QueryBuilders.boolQuery()
+                        .filter(buildRuleQuery(rule, indexMappings))
+                        .filter(indexGroupFilter(state, indexGroup));
+                if (indexMappings != null && indexMappings.hasAlias(TIMESTAMP_FIELD_ALIAS)) {
+                    groupQuery.filter(timeRangeFilter(periodStart, periodEnd));
+                }
+                ruleQuery.should(groupQuery);
+            }
+            ruleQueries.add(Pair.of(rule, ruleQuery));
+        }
+        return buildBucketLevelSearch(ruleQueries, queryBackendMap, null);
+    }
+
+    private BucketLevelSearch buildBucketLevelSearch(
+        List<Pair<Rule, QueryBuilder>> ruleQueries,
+        Map<String, QueryBackend> queryBackendMap,
+        RangeQueryBuilder timeRangeFilter
+    ) throws SigmaError {
+        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder()
+            .seqNoAndPrimaryTerm(true)
+            .version(true);
+        BoolQueryBuilder anyRuleQuery = QueryBuilders.boolQuery().minimumShouldMatch(1);
+        List<BucketLevelTrigger> triggers = new ArrayList<>();
+
+        for (Pair<Rule, QueryBuilder> ruleQuery: ruleQueries) {
+            Rule rule = ruleQuery.getKey();
+            AggregationQueries aggregationQueries = queryBackendMap.get(rule.getCategory()).convertAggregation(rule.getAggregationItemsFromRule().get(0));
+
+            BucketSelectorExtAggregationBuilder condition = aggregationQueries.getCondition();
+            if (ruleQueries.size() == 1) {
+                searchSourceBuilder.query(ruleQuery.getValue()).aggregation(aggregationQueries.getAggBuilder());
+            } else {
+                String filterName = RULE_FILTER_AGGREGATION_PREFIX + rule.getId();
+                anyRuleQuery.should(ruleQuery.getValue());
+                searchSourceBuilder.aggregation(AggregationBuilders.filter(filterName, ruleQuery.getValue()).subAggregation(aggregationQueries.getAggBuilder()));
+                condition = new BucketSelectorExtAggregationBuilder(condition.getName(), condition.getBucketsPathsMap(), condition.getScript(),
+                        filterName + ">" + condition.getParentBucketPath(), condition.getFilter());
+            }
+            triggers.add(new BucketLevelTrigger(rule.getId(), rule.getTitle(), rule.getLevel(), condition, Collections.emptyList()));
+        }
+        if (ruleQueries.size() > 1) {
+            searchSourceBuilder.query(anyRuleQuery);
+        }
+
+        if (timeRangeFilter != null) {
+            BoolQueryBuilder boolQueryBuilder = searchSourceBuilder.query() == null
+                    ? new BoolQueryBuilder()
+                    : QueryBuilders.boolQuery().must(searchSourceBuilder.query());
+            boolQueryBuilder.must(timeRangeFilter);
+            searchSourceBuilder.query(boolQueryBuilder);
+        }
+        return new BucketLevelSearch(searchSourceBuilder, triggers);
+    }
+
+    /**
+     * @return the query of the rule, specialized for the given mappings if they change it
+     */
+    private QueryBuilder buildRuleQuery(Rule rule, IndexMappingsCache.IndexMappings indexMappings) throws IOException {
+        QueryBuilder ruleQuery = buildRuleQuery(rule);
+        if (useQueryDsl && indexMappings != null) {
+            QueryBuilder mappingAwareQuery = buildMappingAwareRuleQuery(rule, indexMappings);
+            if (mappingAwareQuery != null) {
+                ruleQuery = mappingAwareQuery;
+            }
+        }
+        return ruleQuery;
+    }
+
+    private static RangeQueryBuilder timeRangeFilter(String periodStart, String periodEnd) {
+        return QueryBuilders.rangeQuery(TIMESTAMP_FIELD_ALIAS)
+                .gt(periodStart)
+                .lte(periodEnd)
+                .format("epoch_millis");
+    }
+
+    /**
+     * Matches the documents of the indices of the group by their _index field, which holds the concrete index name.
+     * Index names and patterns match it directly, data streams by the names of their backing indices and aliases by
+     * the indices they point to when the monitor is created.
+     */
+    static QueryBuilder indexGroupFilter(ClusterState state, IndexGroup indexGroup) {
+        BoolQueryBuilder indexFilter = QueryBuilders.boolQuery().minimumShouldMatch(1);
+        for (String index: indexGroup.getIndices()) {
+            if (IndexUtils.isDataStream(index, state)) {
+                indexFilter.should(QueryBuilders.wildcardQuery(IndexFieldMapper.NAME, DataStream.BACKING_INDEX_PREFIX + index + "-*"));
+            } else if (IndexUtils.isAlias(index, state)) {
+                indexFilter.should(QueryBuilders.termsQuery(IndexFieldMapper.NAME, state.getMetadata().getIndicesLookup().get(index).getIndices()
+                        .stream().map(it -> it.getIndex().getName()).collect(Collectors.toList())));
+            } else {
+                indexFilter.should(QueryBuilders.wildcardQuery(IndexFieldMapper.NAME, index));
+            }
+        }
+        return indexFilter;
+    }
+
+    /**
+     * Groups the indices of the detector input by the mappings of their newest concrete index, indices being index
+     * names, patterns, aliases or data streams. Indices whose mappings cannot be read are grouped without mappings.
+     *
+     * @return groups in the order of their first index
+     */
+    public List<IndexGroup> groupIndicesByMappings(Detector detector) {
+        ClusterState state = clusterService.state();
+        Map<List<Map<String, String>>, List<String>> indicesBySignature = new LinkedHashMap<>();
+        Map<List<Map<String, String>>, IndexMappingsCache.IndexMappings> mappingsBySignature = new HashMap<>();
+        List<String> indicesWithoutMappings = new ArrayList<>();
+
+        for (String index: detector.getInputs().get(0).getIndices()) {
+            try {
+                IndexMappingsCache.IndexMappings indexMappings = getIndexMappings(state, index);
+                if (indexMappings != null) {
+                    List<Map<String, String>> signature = indexMappings.getSignature();
+                    indicesBySignature.computeIfAbsent(signature, it -> new ArrayList<>()).add(index);
+                    mappingsBySignature.putIfAbsent(signature, indexMappings);
+                    continue;
+                }
+            } catch (Exception e) {
+                log.error(String.format(Locale.getDefault(), "Unable to read mappings of index [%s] of detector [%s]", index, detector.getName()), e);
+            }
+            indicesWithoutMappings.add(index);
+        }
+
+        List<IndexGroup> indexGroups = new ArrayList<>();
+        for (Map.Entry<List<Map<String, String>>, List<String>> indices: indicesBySignature.entrySet()) {
+            indexGroups.add(new IndexGroup(indices.getValue(), mappingsBySignature.get(indices.getKey())));
+        }
+        if (!indicesWithoutMappings.isEmpty()) {
+            indexGroups.add(new IndexGroup(indicesWithoutMappings, null));
+        }
+        return indexGroups;
+    }
+
+    /**
+     * A rule querying only fields which are not mapped can never match, unless it negates a condition or searches
+     * values in any field, which also matches documents without its fields. Only mappings which documents cannot
+     * extend are trusted, a field added later by dynamic mapping could make the rule match.
+     * <p>
+     * The mappings are read when the detector is created or updated. Skipped rules are not added back when the
+     * mappings of a group change later, e.g. by a new backing index from a changed index template, until the detector
+     * is updated again.
+     *
+     * @param indexMappings mappings of the indices, null if unknown
+     * @return whether the rule can match documents of indices with the given mappings
+     */
+    public static boolean canMatch(Rule rule, IndexMappingsCache.IndexMappings indexMappings) {
+        if (indexMappings == null || indexMappings.isDynamic() || rule.getQueries().isEmpty()) {
+            return true;
+        }
+        return canMatch(rule.getQueryFieldNames().stream().map(Value::getValue).collect(Collectors.toList()),
+                ruleDetections(rule).hasNegation(), indexMappings.getQueryFieldNames());
+    }
+
+    /**
+     * @return whether both versions of a rule can match the same index groups, so that an updated rule stays with the
+     * monitors of the groups evaluating it
+     */
+    public static boolean canMatchSameIndices(Rule rule, Rule other) {
+        return rule.getQueries().isEmpty() == other.getQueries().isEmpty() &&
+                ruleDetections(rule).hasNegation() == ruleDetections(other).hasNegation() &&
+                rule.getQueryFieldNames().stream().map(Value::getValue).collect(Collectors.toSet()).equals(
+                        other.getQueryFieldNames().stream().map(Value::getValue).collect(Collectors.toSet()));
+    }
+
+    static boolean canMatch(List<String> ruleFieldNames, boolean negation, Set<String> mappedFieldNames) {
+        // field names are unknown for rules indexed without them
+        if (ruleFieldNames.isEmpty() || negation) {
+            return true;
+        }
+        return ruleFieldNames.stream().anyMatch(it -> UNBOUND_VALUE_FIELD.matcher(it).matches() || mappedFieldNames.contains(it));
+    }
+
+    /**
+     * @return whether the newest index of the detector input maps the timestamp alias
+     */
+    public boolean hasTimestampAlias(Detector detector) throws IOException {
+        IndexMappingsCache.IndexMappings indexMappings = getIndexMappings(detector);
+        return indexMappings != null && indexMappings.hasAlias(TIMESTAMP_FIELD_ALIAS);
+    }
+
+    /**
+     * Uses the structured query DSL stored on the rule when enabled, and falls back to the query_string form
+     * for rules indexed before it was available.
+     */
+    private QueryBuilder buildRuleQuery(Rule rule) throws IOException {
+        if (useQueryDsl && rule.hasQueryDsl()) {
+            try (XContentParser xcp = XContentType.JSON.xContent().createParser(
+                    xContentRegistry, LoggingDeprecationHandler.INSTANCE, rule.getQueryDsl().get(0).getValue())) {
+                return AbstractQueryBuilder.parseInnerQueryBuilder(xcp);
+            }
+        }
+        return QueryBuilders.queryStringQuery(rule.getQueries().get(0).getValue());
+    }
+
+    /**
+     * Converts the rule again against the mappings of the index if they change its query, i.e. if the index has
+     * accelerated subfields, the rule matches CIDRs, whose query depends on whether the field is an ip, or the rule
+     * queries keyword fields, whose strings are matched ignoring case.
+     */
+    private QueryBuilder buildMappingAwareRuleQuery(Rule rule, IndexMappingsCache.IndexMappings indexMappings) {
+        try {
+            Map<String, String> acceleratedFields = indexMappings.getAcceleratedFields();
+            if (acceleratedFields.isEmpty() && !hasCidrCondition(rule) && !hasKeywordField(rule, indexMappings.getFieldTypes())) {
+                return null;
+            }
+
+            QueryBackend backend = new OSQueryBuilderBackend(rule.getCategory(), true, true,
+                    clusterService.getClusterSettings().get(SecurityAnalyticsSettings.ENABLE_CONDITION_OPTIMIZER), acceleratedFields);
+            backend.setRewriteSimpleRegex(clusterService.getClusterSettings().get(SecurityAnalyticsSettings.REWRITE_SIMPLE_REGEX));
+            backend.setFieldTypes(indexMappings.getFieldTypes());
+            for (Object query: backend.convertRule(SigmaRule.fromYaml(rule.getRule(), true))) {
+                if (query instanceof QueryBuilder) {
+                    return (QueryBuilder) query;
+                }
+            }
+        } catch (Exception e) {
+            log.error(String.format(Locale.getDefault(), "Unable to use index mappings for rule [%s]", rule.getId()), e);
+        }
+        return null;
+    }
+
+    /**
+     * Converts the query_string of a doc level rule again if it matches CIDRs, so fields which are not mapped as ip
+     * get prefix queries.
+     */
+    private String buildMappingAwareRuleQueryString(Rule rule, Map<String, String> fieldTypes) {
+        try {
+            QueryBackend backend = new OSQueryBackend(rule.getCategory(), true, true,
+                    clusterService.getClusterSettings().get(SecurityAnalyticsSettings.ENABLE_CONDITION_OPTIMIZER));
+            backend.setRewriteSimpleRegex(clusterService.getClusterSettings().get(SecurityAnalyticsSettings.REWRITE_SIMPLE_REGEX));
+            backend.setFieldTypes(fieldTypes);
+            return backend.convertRule(SigmaRule.fromYaml(rule.getRule(), true)).get(0).toString();
+        } catch (Exception e) {
+            log.error(String.format(Locale.getDefault(), "Unable to use index mappings for rule [%s]", rule.getId()), e);
+            return rule.getQueries().get(0).getValue();
+        }
+    }
+
+    /**
+     * @return field types of the newest index of the detector input, read from the local cluster state
+     */
+    private Map<String, String> getFieldTypes(Detector detector) {
+        try {
+            IndexMappingsCache.IndexMappings indexMappings = getIndexMappings(detector);
+            if (indexMappings != null) {
+                return indexMappings.getFieldTypes();
+            }
+        } catch (Exception e) {
+            log.error(String.format(Locale.getDefault(), "Unable to read field types for detector [%s]", detector.getName()), e);
+        }
+        return Collections.emptyMap();
+    }
+
+    private IndexMappingsCache.IndexMappings getIndexMappings(Detector detector) {
+        return getIndexMappings(clusterService.state(), detector.getInputs().get(0).getIndices().get(0));
+    }
+
+    private IndexMappingsCache.IndexMappings getIndexMappings(ClusterState state, String index) {
+        // input index can also be an index pattern, alias or data stream so we have to resolve it to concrete index
+        String concreteIndex = IndexUtils.getNewIndexByCreationDate(state, indexNameExpressionResolver, index);
+        return concreteIndex == null? null: indexMappingsCache.get(state, concreteIndex);
+    }
+
+    private static boolean hasCidrCondition(Rule rule) {
+        return ruleDetections(rule).hasCidrCondition();
+    }
+
+    static boolean hasKeywordField(Rule rule, Map<String, String> fieldTypes) {
+        return rule.getQueryFieldNames().stream().anyMatch(it -> "keyword".equals(fieldTypes.get(it.getValue())));
+    }
+
+    static RuleDetections ruleDetections(Rule rule) {
+        try {
+            return ruleDetectionsCache.computeIfAbsent(rule.getRule(), DetectorQueryGenerator::parseRuleDetections);
+        } catch (ExecutionException e) {
+            // rules are validated when they are indexed, a rule which cannot be parsed is converted as it is
+            log.error(String.format(Locale.getDefault(), "Unable to parse rule [%s]", rule.getId()), e);
+            return new RuleDetections(false, true);
+        }
+    }
+
+    static RuleDetections parseRuleDetections(String ruleYaml) throws SigmaError {
+        SigmaRule sigmaRule = SigmaRule.fromYaml(ruleYaml, true);
+        boolean cidr = false;
+        for (SigmaDetection detection: sigmaRule.getDetection().getDetections().values()) {
+            cidr |= hasCidrModifier(detection);
+        }
+        boolean negation = false;
+        for (SigmaCondition condition: sigmaRule.getDetection().getParsedCondition()) {
+            negation |= hasNegation(condition.parsed().getLeft());
+        }
+        return new RuleDetections(cidr, negation);
+    }
+
+    private static boolean hasNegation(ConditionItem condition) {
+        if (condition == null) {
+            return false;
+        }
+        if (condition instanceof ConditionNOT) {
+            return true;
+        }
+        for (Either<AnyOneOf<ConditionItem, ConditionFieldEqualsValueExpression, ConditionValueExpression>, String> arg: condition.getArgs()) {
+            if (arg.isLeft() && arg.getLeft().isLeft() && hasNegation(arg.getLeft().getLeft())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasCidrModifier(SigmaDetection detection) {
+        for (Either<SigmaDetectionItem, SigmaDetection> item: detection.getDetectionItems()) {
+            if (item.isLeft()? item.getLeft().getModifiers().contains(SigmaCIDRModifier.class): hasCidrModifier(item.get())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
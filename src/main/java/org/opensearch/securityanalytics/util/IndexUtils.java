@@ -166,7 +166,8 @@ public class IndexUtils {
     }
 
     public static String getNewIndexByCreationDate(ClusterState state, IndexNameExpressionResolver i, String index) {
-        String[] strings = i.concreteIndexNames(state, IndicesOptions.LENIENT_EXPAND_OPEN, index);
+        // data streams resolve to their backing indices, the newest one being the write index
+        String[] strings = i.concreteIndexNames(state, IndicesOptions.LENIENT_EXPAND_OPEN, true, index);
         return getNewestIndexByCreationDate(strings, state);
     }
 
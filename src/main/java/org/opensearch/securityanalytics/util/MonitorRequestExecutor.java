@@ -0,0 +1,291 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.ExceptionsHelper;
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.bulk.BackoffPolicy;
+import org.opensearch.action.support.WriteRequest;
+import org.opensearch.client.Client;
+import org.opensearch.client.node.NodeClient;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.io.stream.NamedWriteableRegistry;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.OpenSearchRejectedExecutionException;
+import org.opensearch.commons.alerting.AlertingPluginInterface;
+import org.opensearch.commons.alerting.action.DeleteMonitorRequest;
+import org.opensearch.commons.alerting.action.DeleteMonitorResponse;
+import org.opensearch.commons.alerting.action.IndexMonitorRequest;
+import org.opensearch.commons.alerting.action.IndexMonitorResponse;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.rest.RestStatus;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.threadpool.ThreadPool;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Sends batches of alerting monitor requests of a detector with a bounded number of requests in flight. Requests
+ * rejected because of load are retried with exponential backoff, see {@link #isRetryable(Exception, boolean)}.
+ */
+public class MonitorRequestExecutor {
+
+    private static final Logger log = LogManager.getLogger(MonitorRequestExecutor.class);
+
+    private final Client client;
+
+    private final ThreadPool threadPool;
+
+    private final NamedWriteableRegistry namedWriteableRegistry;
+
+    private volatile int maxInFlight;
+
+    private volatile int maxRetries;
+
+    private volatile TimeValue retryBackoff;
+
+    public MonitorRequestExecutor(Client client, ClusterService clusterService, ThreadPool threadPool, NamedWriteableRegistry namedWriteableRegistry) {
+        this(client, threadPool, namedWriteableRegistry,
+                SecurityAnalyticsSettings.MONITOR_REQUESTS_MAX_IN_FLIGHT.get(clusterService.getSettings()),
+                SecurityAnalyticsSettings.MONITOR_REQUESTS_MAX_RETRIES.get(clusterService.getSettings()),
+                SecurityAnalyticsSettings.MONITOR_REQUESTS_RETRY_BACKOFF.get(clusterService.getSettings()));
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.MONITOR_REQUESTS_MAX_IN_FLIGHT, it -> maxInFlight = it);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.MONITOR_REQUESTS_MAX_RETRIES, it -> maxRetries = it);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.MONITOR_REQUESTS_RETRY_BACKOFF, it -> retryBackoff = it);
+    }
+
+    MonitorRequestExecutor(Client client, ThreadPool threadPool, NamedWriteableRegistry namedWriteableRegistry, int maxInFlight, int maxRetries, TimeValue retryBackoff) {
+        this.client = client;
+        this.threadPool = threadPool;
+        this.namedWriteableRegistry = namedWriteableRegistry;
+        this.maxInFlight = maxInFlight;
+        this.maxRetries = maxRetries;
+        this.retryBackoff = retryBackoff;
+    }
+
+    /**
+     * Creates and updates monitors. The first request is sent alone, as alerting creates the doc level queries index
+     * with the first doc level monitor and concurrent creations fail (https://github.com/opensearch-project/alerting/issues/646).
+     * If a request fails, no further request is sent and the monitors created by the batch are deleted again before
+     * the listener is notified of the failure. Updated monitors are not reverted.
+     *
+     * @param listener notified with the responses in request order
+     */
+    public void indexMonitors(List<IndexMonitorRequest> requests, ActionListener<List<IndexMonitorResponse>> listener) {
+        if (requests.isEmpty()) {
+            listener.onResponse(new ArrayList<>());
+            return;
+        }
+
+        BiConsumer<IndexMonitorRequest, ActionListener<IndexMonitorResponse>> indexMonitor =
+                (request, responseListener) -> AlertingPluginInterface.INSTANCE.indexMonitor((NodeClient) client, request, namedWriteableRegistry, responseListener);
+
+        // monitors are only created by POST, updates can be sent again
+        Predicate<IndexMonitorRequest> idempotent = request -> request.getMethod() != RestRequest.Method.POST;
+        execute(requests.subList(0, 1), indexMonitor, idempotent, true, 1, (first, firstFailure) -> {
+            if (firstFailure != null) {
+                listener.onFailure(firstFailure);
+                return;
+            }
+            execute(requests.subList(1, requests.size()), indexMonitor, idempotent, true, maxInFlight, (rest, failure) -> {
+                List<IndexMonitorResponse> responses = new ArrayList<>(first);
+                responses.addAll(rest);
+                if (failure == null) {
+                    listener.onResponse(responses);
+                } else {
+                    rollback(requests, responses, failure, listener);
+                }
+            });
+        });
+    }
+
+    /**
+     * Deletes monitors. Every monitor is attempted even if others fail; the first failure is reported with the others
+     * suppressed, as {@link org.opensearch.action.support.GroupedActionListener} does.
+     *
+     * @param listener notified with the responses in request order
+     */
+    public void deleteMonitors(List<String> monitorIds, WriteRequest.RefreshPolicy refreshPolicy, ActionListener<List<DeleteMonitorResponse>> listener) {
+        if (monitorIds.isEmpty()) {
+            listener.onResponse(new ArrayList<>());
+            return;
+        }
+
+        List<DeleteMonitorRequest> requests = monitorIds.stream().map(it -> new DeleteMonitorRequest(it, refreshPolicy)).collect(Collectors.toList());
+        this.<DeleteMonitorRequest, DeleteMonitorResponse>execute(requests,
+                (request, responseListener) -> AlertingPluginInterface.INSTANCE.deleteMonitor((NodeClient) client, request, responseListener),
+                request -> true, false, maxInFlight, (responses, failure) -> {
+                    if (failure == null) {
+                        listener.onResponse(responses);
+                    } else {
+                        listener.onFailure(failure);
+                    }
+                });
+    }
+
+    /**
+     * Sends the requests with at most maxInFlight of them in flight, retrying each one on load related failures.
+     *
+     * @param idempotent whether a request can be sent again after it may have been processed
+     * @param stopOnFailure whether requests not sent yet are skipped once a request failed
+     * @param onDone called with the responses in request order, null for failed or skipped requests, and the first
+     *               failure with any later ones suppressed
+     */
+    public <Request, Response> void execute(List<Request> requests, BiConsumer<Request, ActionListener<Response>> action, Predicate<Request> idempotent,
+                                            boolean stopOnFailure, int maxInFlight, BiConsumer<List<Response>, Exception> onDone) {
+        new FanOut<>(requests, action, idempotent, stopOnFailure, maxInFlight, onDone).start();
+    }
+
+    private void rollback(List<IndexMonitorRequest> requests, List<IndexMonitorResponse> responses, Exception failure, ActionListener<List<IndexMonitorResponse>> listener) {
+        List<String> createdMonitorIds = new ArrayList<>();
+        for (int i = 0; i < requests.size(); ++i) {
+            if (responses.get(i) != null && requests.get(i).getMethod() == RestRequest.Method.POST) {
+                createdMonitorIds.add(responses.get(i).getId());
+            }
+        }
+        if (createdMonitorIds.isEmpty()) {
+            listener.onFailure(failure);
+            return;
+        }
+
+        log.info("Deleting monitors {} created before the failure of a monitor request", createdMonitorIds);
+        deleteMonitors(createdMonitorIds, requests.get(0).getRefreshPolicy(), ActionListener.wrap(
+                deleted -> listener.onFailure(failure),
+                e -> {
+                    log.error("Failed to delete monitors created before the failure of a monitor request", e);
+                    failure.addSuppressed(e);
+                    listener.onFailure(failure);
+                }
+        ));
+    }
+
+    /**
+     * Requests rejected by a full thread pool or with 429 were not processed and are always retried. 503 and 504 can
+     * be returned after the request was processed, e.g. when the response timed out, so requests are only retried on
+     * them if they are idempotent: sending a monitor creation again could leave a duplicate monitor behind.
+     */
+    static boolean isRetryable(Exception e, boolean idempotent) {
+        if (ExceptionsHelper.unwrapCause(e) instanceof OpenSearchRejectedExecutionException) {
+            return true;
+        }
+        RestStatus status = ExceptionsHelper.status(e);
+        if (status == RestStatus.TOO_MANY_REQUESTS) {
+            return true;
+        }
+        return idempotent && (status == RestStatus.SERVICE_UNAVAILABLE || status == RestStatus.GATEWAY_TIMEOUT);
+    }
+
+    /**
+     * Sends requests from a shared queue through a fixed number of slots, each slot sending its next request once
+     * the previous one completed. The batch is done once every slot found the queue empty.
+     */
+    private class FanOut<Request, Response> {
+
+        private final List<Request> requests;
+
+        private final BiConsumer<Request, ActionListener<Response>> action;
+
+        private final Predicate<Request> idempotent;
+
+        private final boolean stopOnFailure;
+
+        private final BiConsumer<List<Response>, Exception> onDone;
+
+        private final AtomicReferenceArray<Response> responses;
+
+        private final AtomicInteger next = new AtomicInteger();
+
+        private final AtomicInteger activeSlots;
+
+        private final AtomicReference<Exception> failure = new AtomicReference<>();
+
+        private FanOut(List<Request> requests, BiConsumer<Request, ActionListener<Response>> action, Predicate<Request> idempotent,
+                       boolean stopOnFailure, int maxInFlight, BiConsumer<List<Response>, Exception> onDone) {
+            this.requests = requests;
+            this.action = action;
+            this.idempotent = idempotent;
+            this.stopOnFailure = stopOnFailure;
+            this.onDone = onDone;
+            this.responses = new AtomicReferenceArray<>(requests.size());
+            this.activeSlots = new AtomicInteger(Math.max(1, Math.min(maxInFlight, requests.size())));
+        }
+
+        private void start() {
+            if (requests.isEmpty()) {
+                onDone.accept(new ArrayList<>(), null);
+                return;
+            }
+            for (int slot = activeSlots.get(); slot > 0; --slot) {
+                sendNext();
+            }
+        }
+
+        private void sendNext() {
+            int idx = next.getAndIncrement();
+            if (idx >= requests.size() || (stopOnFailure && failure.get() != null)) {
+                if (activeSlots.decrementAndGet() == 0) {
+                    List<Response> result = new ArrayList<>(requests.size());
+                    for (int i = 0; i < requests.size(); ++i) {
+                        result.add(responses.get(i));
+                    }
+                    onDone.accept(result, failure.get());
+                }
+                return;
+            }
+            send(idx, BackoffPolicy.exponentialBackoff(retryBackoff, maxRetries).iterator());
+        }
+
+        private void send(int idx, Iterator<TimeValue> backoff) {
+            AtomicBoolean completed = new AtomicBoolean();
+            try {
+                action.accept(requests.get(idx), new ActionListener<>() {
+                    @Override
+                    public void onResponse(Response response) {
+                        if (completed.compareAndSet(false, true)) {
+                            responses.set(idx, response);
+                            sendNext();
+                        }
+                    }
+
+                    @Override
+                    public void onFailure(Exception e) {
+                        if (completed.compareAndSet(false, true)) {
+                            onRequestFailure(idx, backoff, e);
+                        }
+                    }
+                });
+            } catch (Exception e) {
+                // only requests which failed to be sent, the listener handles everything after that
+                if (completed.compareAndSet(false, true)) {
+                    onRequestFailure(idx, backoff, e);
+                }
+            }
+        }
+
+        private void onRequestFailure(int idx, Iterator<TimeValue> backoff, Exception e) {
+            if (isRetryable(e, idempotent.test(requests.get(idx))) && backoff.hasNext() && !(stopOnFailure && failure.get() != null)) {
+                TimeValue delay = backoff.next();
+                log.debug("Retrying monitor request in {}", delay);
+                threadPool.schedule(() -> send(idx, backoff), delay, ThreadPool.Names.GENERIC);
+                return;
+            }
+            if (!failure.compareAndSet(null, e) && failure.get() != e) {
+                failure.get().addSuppressed(e);
+            }
+            sendNext();
+        }
+    }
+}
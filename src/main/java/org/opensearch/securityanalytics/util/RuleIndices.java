@@ -42,9 +42,14 @@ import org.opensearch.securityanalytics.mapper.MapperUtils;
 import org.opensearch.securityanalytics.model.Detector;
 import org.opensearch.securityanalytics.model.Rule;
 import org.opensearch.securityanalytics.rules.backend.OSQueryBackend;
+import org.opensearch.securityanalytics.rules.backend.OSQueryBuilderBackend;
 import org.opensearch.securityanalytics.rules.backend.QueryBackend;
+import org.opensearch.securityanalytics.rules.backend.RegexComplexityAnalyzer;
+import org.opensearch.securityanalytics.rules.backend.RuleCostEstimator;
 import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaRegularExpressionError;
 import org.opensearch.securityanalytics.rules.objects.SigmaRule;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
 import org.opensearch.threadpool.ThreadPool;
 
 import java.io.IOException;
@@ -260,8 +265,13 @@ public class RuleIndices {
         List<Rule> queries = new ArrayList<>();
 
         for (Map.Entry<String, List<String>> logIndexToRule: logIndexToRules.entrySet()) {
-            final QueryBackend backend = new OSQueryBackend(logIndexToRule.getKey(), true, true);
-            queries.addAll(getQueries(backend, logIndexToRule.getKey(), logIndexToRule.getValue()));
+            boolean optimizeConditions = clusterService.getClusterSettings().get(SecurityAnalyticsSettings.ENABLE_CONDITION_OPTIMIZER);
+            final QueryBackend backend = new OSQueryBackend(logIndexToRule.getKey(), true, true, optimizeConditions);
+            final QueryBackend queryBuilderBackend = new OSQueryBuilderBackend(logIndexToRule.getKey(), true, true, optimizeConditions);
+            boolean rewriteSimpleRegex = clusterService.getClusterSettings().get(SecurityAnalyticsSettings.REWRITE_SIMPLE_REGEX);
+            backend.setRewriteSimpleRegex(rewriteSimpleRegex);
+            queryBuilderBackend.setRewriteSimpleRegex(rewriteSimpleRegex);
+            queries.addAll(getQueries(backend, queryBuilderBackend, logIndexToRule.getKey(), logIndexToRule.getValue()));
         }
         loadRules(queries, refreshPolicy, indexTimeout, listener, true);
     }
@@ -280,20 +290,32 @@ public class RuleIndices {
         return fs;
     }
 
-    private List<Rule> getQueries(QueryBackend backend, String category, List<String> rules) throws SigmaError {
+    private List<Rule> getQueries(QueryBackend backend, QueryBackend queryBuilderBackend, String category, List<String> rules) throws SigmaError {
+        RuleCostEstimator costEstimator = new RuleCostEstimator();
+        RegexComplexityAnalyzer regexAnalyzer = new RegexComplexityAnalyzer(clusterService.getClusterSettings().get(SecurityAnalyticsSettings.REGEX_DETERMINIZE_WORK_LIMIT));
         List<Rule> queries = new ArrayList<>();
         for (String ruleStr: rules) {
             SigmaRule rule = SigmaRule.fromYaml(ruleStr, true);
             backend.resetQueryFields();
             List<Object> ruleQueries = backend.convertRule(rule);
             Set<String> queryFieldNames = backend.getQueryFields().keySet();
+            List<Object> ruleQueryDsl = queryBuilderBackend.convertRule(rule);
 
             Rule ruleModel = new Rule(
                     rule.getId().toString(), NO_VERSION, rule, category,
                     ruleQueries.stream().map(Object::toString).collect(Collectors.toList()),
                     new ArrayList<>(queryFieldNames),
-                    ruleStr
+                    ruleStr,
+                    ruleQueryDsl
             );
+            ruleModel.setEstimatedCost(costEstimator.estimate(rule));
+            try {
+                ruleModel.setRegexAutomatonStates(regexAnalyzer.analyze(rule));
+            } catch (SigmaRegularExpressionError e) {
+                // pre-packaged rules are trusted, only flag them
+                log.warn("Pre-packaged rule {} has a complex regular expression: {}", ruleModel.getId(), e.getMessage());
+                ruleModel.setRegexAutomatonStates(RegexComplexityAnalyzer.TOO_COMPLEX);
+            }
             queries.add(ruleModel);
         }
         return queries;
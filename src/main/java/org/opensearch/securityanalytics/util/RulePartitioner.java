@@ -0,0 +1,87 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.ToLongFunction;
+
+/**
+ * Splits the doc level rules of a detector into partitions of similar cost, each evaluated by its own doc level
+ * monitor, so that the percolation of a large rule set is spread over several monitors and nodes.
+ */
+public class RulePartitioner {
+
+    private RulePartitioner() {}
+
+    /**
+     * Assigns the most expensive remaining rule to the cheapest partition until all rules are assigned. Rules keep
+     * their order within a partition, so the same rules and costs always give the same partitions.
+     *
+     * @param minPartitions number of partitions created at least, as long as there are enough rules
+     * @param maxPartitionCost partitions are added until the cost of the rules is at most this per partition, 0 to
+     *                         only use minPartitions. A single rule above it still gets a partition of its own.
+     * @return non empty partitions, a single one holding all rules if no split is needed
+     */
+    public static <T> List<List<T>> partition(List<T> rules, ToLongFunction<T> cost, int minPartitions, long maxPartitionCost) {
+        if (rules.isEmpty()) {
+            return new ArrayList<>();
+        }
+        if (minPartitions <= 1 && maxPartitionCost <= 0) {
+            return List.of(rules);
+        }
+
+        long[] costs = new long[rules.size()];
+        long totalCost = 0L;
+        for (int i = 0; i < rules.size(); ++i) {
+            costs[i] = Math.max(1L, cost.applyAsLong(rules.get(i)));
+            totalCost += costs[i];
+        }
+
+        int partitions = Math.max(1, minPartitions);
+        if (maxPartitionCost > 0) {
+            partitions = (int) Math.max(partitions, Math.min(Integer.MAX_VALUE, (totalCost + maxPartitionCost - 1) / maxPartitionCost));
+        }
+        partitions = Math.min(partitions, rules.size());
+        if (partitions == 1) {
+            return List.of(rules);
+        }
+
+        List<Integer> byCost = new ArrayList<>(rules.size());
+        for (int i = 0; i < rules.size(); ++i) {
+            byCost.add(i);
+        }
+        // stable, rules of equal cost are assigned in their order
+        byCost.sort(Comparator.comparingLong((Integer i) -> costs[i]).reversed());
+
+        long[] partitionCosts = new long[partitions];
+        List<List<Integer>> assigned = new ArrayList<>(partitions);
+        PriorityQueue<Integer> cheapest = new PriorityQueue<>(partitions,
+                Comparator.comparingLong((Integer p) -> partitionCosts[p]).thenComparingInt(p -> p));
+        for (int p = 0; p < partitions; ++p) {
+            assigned.add(new ArrayList<>());
+            cheapest.add(p);
+        }
+        for (int i: byCost) {
+            int p = cheapest.poll();
+            assigned.get(p).add(i);
+            partitionCosts[p] += costs[i];
+            cheapest.add(p);
+        }
+
+        List<List<T>> result = new ArrayList<>(partitions);
+        for (List<Integer> indices: assigned) {
+            indices.sort(Comparator.naturalOrder());
+            List<T> partition = new ArrayList<>(indices.size());
+            for (int i: indices) {
+                partition.add(rules.get(i));
+            }
+            result.add(partition);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.util;
+
+import org.opensearch.cluster.routing.Murmur3HashFunction;
+import org.opensearch.commons.alerting.model.IntervalSchedule;
+import org.opensearch.commons.alerting.model.Schedule;
+
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * Spreads the runs of interval scheduled detectors over their interval. Alerting runs an interval monitor at its
+ * enabled time plus multiples of the interval, so detectors enabled at the same time, e.g. by automation, run their
+ * monitors in the same instant on every interval. The interval is split into slots and the enabled time of a detector
+ * is moved back into a slot, which shifts the runs of its monitors without delaying the first one.
+ */
+public class ScheduleStagger {
+
+    /**
+     * upper bound of the slots an interval is split into, intervals shorter than this many seconds get a slot per second
+     */
+    public static final int MAX_SLOTS = 60;
+
+    private ScheduleStagger() {}
+
+    /**
+     * @return length of the interval in millis, or 0 for schedules not running on a fixed interval
+     */
+    public static long intervalMillis(Schedule schedule) {
+        if (schedule instanceof IntervalSchedule) {
+            IntervalSchedule intervalSchedule = (IntervalSchedule) schedule;
+            return intervalSchedule.getUnit().getDuration().toMillis() * intervalSchedule.getInterval();
+        }
+        return 0L;
+    }
+
+    public static int slots(long intervalMillis) {
+        return (int) Math.max(1L, Math.min(MAX_SLOTS, intervalMillis / 1000L));
+    }
+
+    /**
+     * @return slot the detector with the given id goes to while all slots are equally used
+     */
+    public static int preferredSlot(String detectorId, int slots) {
+        return Math.floorMod(Murmur3HashFunction.hash(detectorId), slots);
+    }
+
+    /**
+     * @return slot the enabled time of a detector falls in
+     */
+    public static int slotOf(Instant enabledTime, long intervalMillis, int slots) {
+        long phase = Math.floorMod(enabledTime.toEpochMilli(), intervalMillis);
+        return (int) Math.min(slots - 1, phase / (intervalMillis / slots));
+    }
+
+    /**
+     * Picks the least used slot for a new detector, starting from the slot preferred by its id, so detectors added to
+     * a balanced set of slots fill the gaps first and the same id and slot usage always give the same slot.
+     *
+     * @param usedSlots slots of the detectors already staggered on the same interval
+     */
+    public static int chooseSlot(String detectorId, Collection<Integer> usedSlots, int slots) {
+        int[] usage = new int[slots];
+        for (int slot: usedSlots) {
+            if (slot >= 0 && slot < slots) {
+                ++usage[slot];
+            }
+        }
+
+        int preferred = preferredSlot(detectorId, slots);
+        int chosen = preferred;
+        for (int i = 1; i < slots; ++i) {
+            int slot = (preferred + i) % slots;
+            if (usage[slot] < usage[chosen]) {
+                chosen = slot;
+            }
+        }
+        return chosen;
+    }
+
+    /**
+     * @return latest instant at or before the enabled time which is at the start of the slot within the interval
+     */
+    public static Instant stagger(Instant enabledTime, long intervalMillis, int slot, int slots) {
+        long enabledMillis = enabledTime.toEpochMilli();
+        long staggeredMillis = enabledMillis - Math.floorMod(enabledMillis, intervalMillis) + slot * (intervalMillis / slots);
+        if (staggeredMillis > enabledMillis) {
+            staggeredMillis -= intervalMillis;
+        }
+        return Instant.ofEpochMilli(staggeredMillis);
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.util;
+
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.admin.indices.create.CreateIndexRequest;
+import org.opensearch.action.admin.indices.create.CreateIndexResponse;
+import org.opensearch.client.Client;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.Settings;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.Objects;
+
+public class SequenceStateIndices {
+
+    public static final String SEQUENCE_STATE_INDEX = ".opensearch-sap-sequence-state";
+
+    private final Client client;
+
+    private final ClusterService clusterService;
+
+    public SequenceStateIndices(Client client, ClusterService clusterService) {
+        this.client = client;
+        this.clusterService = clusterService;
+    }
+
+    public static String sequenceStateMappings() throws IOException {
+        return new String(Objects.requireNonNull(SequenceStateIndices.class.getClassLoader().getResourceAsStream("mappings/sequence_state.json")).readAllBytes(), Charset.defaultCharset());
+    }
+
+    public void initSequenceStateIndex(ActionListener<CreateIndexResponse> actionListener) throws IOException {
+        if (!sequenceStateIndexExists()) {
+            CreateIndexRequest indexRequest = new CreateIndexRequest(SEQUENCE_STATE_INDEX)
+                    .mapping(sequenceStateMappings())
+                    .settings(Settings.builder().put("index.hidden", true).build());
+            client.admin().indices().create(indexRequest, actionListener);
+        } else {
+            actionListener.onResponse(null);
+        }
+    }
+
+    public boolean sequenceStateIndexExists() {
+        ClusterState clusterState = clusterService.state();
+        return clusterState.getRoutingTable().hasIndex(SEQUENCE_STATE_INDEX);
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.junit.Assert;
+import org.opensearch.action.support.WriteRequest;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+import static org.opensearch.securityanalytics.TestHelpers.randomDetector;
+import static org.opensearch.securityanalytics.TestHelpers.randomDetectorWithInputs;
+
+public class BulkIndexDetectorRequestTests extends OpenSearchTestCase {
+
+    public void testBulkIndexDetectorRequest() throws IOException {
+        List<Detector> detectors = List.of(randomDetector(List.of(UUID.randomUUID().toString())), randomDetector(List.of(UUID.randomUUID().toString())));
+        BulkIndexDetectorRequest request = new BulkIndexDetectorRequest(detectors, WriteRequest.RefreshPolicy.IMMEDIATE);
+        Assert.assertNull(request.validate());
+
+        BytesStreamOutput out = new BytesStreamOutput();
+        request.writeTo(out);
+
+        StreamInput sin = StreamInput.wrap(out.bytes().toBytesRef().bytes);
+        BulkIndexDetectorRequest newRequest = new BulkIndexDetectorRequest(sin);
+        Assert.assertEquals(WriteRequest.RefreshPolicy.IMMEDIATE, newRequest.getRefreshPolicy());
+        Assert.assertEquals(2, newRequest.getDetectors().size());
+        Assert.assertEquals(detectors.get(1).getName(), newRequest.getDetectors().get(1).getName());
+    }
+
+    public void testBulkIndexDetectorRequestValidation() {
+        Assert.assertNotNull(new BulkIndexDetectorRequest(List.of(), WriteRequest.RefreshPolicy.IMMEDIATE).validate());
+
+        List<Detector> detectors = List.of(randomDetector(List.of(UUID.randomUUID().toString())), randomDetectorWithInputs(List.of()));
+        BulkIndexDetectorRequest request = new BulkIndexDetectorRequest(detectors, WriteRequest.RefreshPolicy.IMMEDIATE);
+        Assert.assertNotNull(request.validate());
+        Assert.assertEquals(List.of("detector [1] has no inputs"), request.validate().validationErrors());
+    }
+}
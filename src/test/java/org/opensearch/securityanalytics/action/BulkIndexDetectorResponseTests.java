@@ -0,0 +1,39 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.junit.Assert;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.rest.RestStatus;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+import java.util.List;
+
+public class BulkIndexDetectorResponseTests extends OpenSearchTestCase {
+
+    public void testBulkIndexDetectorResponse() throws IOException {
+        BulkIndexDetectorResponse response = new BulkIndexDetectorResponse(120L, List.of(
+                new BulkIndexDetectorResponse.Item("detector-1", 1L, RestStatus.CREATED, null),
+                new BulkIndexDetectorResponse.Item(null, null, RestStatus.NOT_FOUND, "Indices not found logs")
+        ));
+        Assert.assertTrue(response.hasFailures());
+
+        BytesStreamOutput out = new BytesStreamOutput();
+        response.writeTo(out);
+
+        StreamInput sin = StreamInput.wrap(out.bytes().toBytesRef().bytes);
+        BulkIndexDetectorResponse newResponse = new BulkIndexDetectorResponse(sin);
+        Assert.assertEquals(120L, newResponse.getTookInMillis());
+        Assert.assertEquals(2, newResponse.getItems().size());
+        Assert.assertEquals("detector-1", newResponse.getItems().get(0).getId());
+        Assert.assertEquals(RestStatus.CREATED, newResponse.getItems().get(0).getStatus());
+        Assert.assertFalse(newResponse.getItems().get(0).isFailed());
+        Assert.assertNull(newResponse.getItems().get(1).getId());
+        Assert.assertEquals(RestStatus.NOT_FOUND, newResponse.getItems().get(1).getStatus());
+        Assert.assertEquals("Indices not found logs", newResponse.getItems().get(1).getFailure());
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.junit.Assert;
+import org.opensearch.action.support.WriteRequest;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+import static org.opensearch.securityanalytics.TestHelpers.randomDetector;
+
+public class DryRunDetectorRequestTests extends OpenSearchTestCase {
+
+    public void testDryRunDetectorRequest() throws IOException {
+        IndexDetectorRequest detectorRequest = new IndexDetectorRequest(Detector.NO_ID, WriteRequest.RefreshPolicy.NONE, RestRequest.Method.POST,
+                randomDetector(List.of(UUID.randomUUID().toString())));
+        DryRunDetectorRequest request = new DryRunDetectorRequest(detectorRequest, TimeValue.timeValueMinutes(5), TimeValue.timeValueSeconds(10));
+        Assert.assertNull(request.validate());
+
+        BytesStreamOutput out = new BytesStreamOutput();
+        request.writeTo(out);
+
+        StreamInput sin = StreamInput.wrap(out.bytes().toBytesRef().bytes);
+        DryRunDetectorRequest newRequest = new DryRunDetectorRequest(sin);
+        Assert.assertEquals(TimeValue.timeValueMinutes(5), newRequest.getWindow());
+        Assert.assertEquals(TimeValue.timeValueSeconds(10), newRequest.getTimeout());
+        Assert.assertNotNull(newRequest.getDetectorRequest().getDetector());
+    }
+
+    public void testDryRunDetectorRequestValidation() {
+        IndexDetectorRequest detectorRequest = new IndexDetectorRequest(Detector.NO_ID, WriteRequest.RefreshPolicy.NONE, RestRequest.Method.POST,
+                randomDetector(List.of(UUID.randomUUID().toString())));
+        DryRunDetectorRequest request = new DryRunDetectorRequest(detectorRequest, TimeValue.ZERO, TimeValue.timeValueSeconds(10));
+        Assert.assertNotNull(request.validate());
+        Assert.assertEquals(1, request.validate().validationErrors().size());
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.junit.Assert;
+import org.opensearch.common.Strings;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.xcontent.XContentHelper;
+import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.securityanalytics.action.DryRunDetectorResponse.RuleResult;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+public class DryRunDetectorResponseTests extends OpenSearchTestCase {
+
+    public void testDryRunDetectorResponse() throws IOException {
+        DryRunDetectorResponse response = new DryRunDetectorResponse(1000L, 2000L, 15L, List.of(
+                new RuleResult("rule-1", "rule-1", "doc_level_monitor", 42L, null, 12L, 5, false, null),
+                new RuleResult("rule-2", "rule-2", "bucket_level_monitor", 7L, 3, 9L, 5, true, null),
+                new RuleResult("rule-3", "rule-3", "doc_level_monitor", 0L, null, 0L, 0, false, "failed to parse query")
+        ));
+
+        BytesStreamOutput out = new BytesStreamOutput();
+        response.writeTo(out);
+
+        StreamInput sin = StreamInput.wrap(out.bytes().toBytesRef().bytes);
+        DryRunDetectorResponse newResponse = new DryRunDetectorResponse(sin);
+        Assert.assertEquals(1000L, newResponse.getPeriodStart());
+        Assert.assertEquals(2000L, newResponse.getPeriodEnd());
+        Assert.assertEquals(15L, newResponse.getTookInMillis());
+        Assert.assertEquals(10L, newResponse.getTotalShards());
+        Assert.assertEquals(3, newResponse.getRuleResults().size());
+        Assert.assertEquals(42L, newResponse.getRuleResults().get(0).getHits());
+        Assert.assertNull(newResponse.getRuleResults().get(0).getBuckets());
+        Assert.assertEquals(Integer.valueOf(3), newResponse.getRuleResults().get(1).getBuckets());
+        Assert.assertTrue(newResponse.getRuleResults().get(1).isTimedOut());
+        Assert.assertEquals("failed to parse query", newResponse.getRuleResults().get(2).getFailure());
+
+        Map<String, Object> responseMap = XContentHelper.convertToMap(XContentType.JSON.xContent(), Strings.toString(XContentType.JSON, newResponse), false);
+        Assert.assertEquals(DryRunDetectorResponse.LIMITATIONS, responseMap.get("limitations"));
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.ActionRequestValidationException;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+
+public class GetFindingsPageRequestTests extends OpenSearchTestCase {
+
+    public void testStreamInOut() throws IOException {
+        BytesStreamOutput out = new BytesStreamOutput();
+
+        GetFindingsPageRequest request = new GetFindingsPageRequest("detectorId-123", 50, "token", false);
+        request.writeTo(out);
+
+        StreamInput sin = StreamInput.wrap(out.bytes().toBytesRef().bytes);
+        GetFindingsPageRequest newReq = new GetFindingsPageRequest(sin);
+
+        assertEquals("detectorId-123", newReq.getDetectorId());
+        assertEquals(50, newReq.getSize());
+        assertEquals("token", newReq.getNextToken());
+        assertFalse(newReq.isIncludeDocuments());
+    }
+
+    public void testValidate() {
+        GetFindingsPageRequest request = new GetFindingsPageRequest("detectorId-123", GetFindingsPageRequest.DEFAULT_SIZE, null, true);
+        ActionRequestValidationException e = request.validate();
+        assertNull(e);
+
+        request = new GetFindingsPageRequest("", GetFindingsPageRequest.DEFAULT_SIZE, null, true);
+        e = request.validate();
+        assertNotNull(e);
+
+        request = new GetFindingsPageRequest("detectorId-123", 0, null, true);
+        e = request.validate();
+        assertNotNull(e);
+
+        request = new GetFindingsPageRequest("detectorId-123", GetFindingsPageRequest.MAX_SIZE + 1, null, true);
+        e = request.validate();
+        assertNotNull(e);
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.ActionRequestValidationException;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+import java.util.Map;
+
+public class GetFindingsSummaryRequestTests extends OpenSearchTestCase {
+
+    public void testStreamInOut() throws IOException {
+        BytesStreamOutput out = new BytesStreamOutput();
+
+        GetFindingsSummaryRequest request = new GetFindingsSummaryRequest(null, Detector.DetectorType.WINDOWS, 1000L, null, TimeValue.timeValueMinutes(5));
+        request.writeTo(out);
+
+        StreamInput sin = StreamInput.wrap(out.bytes().toBytesRef().bytes);
+        GetFindingsSummaryRequest newReq = new GetFindingsSummaryRequest(sin);
+
+        assertNull(newReq.getDetectorId());
+        assertEquals(Detector.DetectorType.WINDOWS, newReq.getDetectorType());
+        assertEquals(Long.valueOf(1000L), newReq.getStartTime());
+        assertNull(newReq.getEndTime());
+        assertEquals(TimeValue.timeValueMinutes(5), newReq.getInterval());
+    }
+
+    public void testValidate() {
+        GetFindingsSummaryRequest request = new GetFindingsSummaryRequest("detectorId-123", null, null, null, GetFindingsSummaryRequest.DEFAULT_INTERVAL);
+        ActionRequestValidationException e = request.validate();
+        assertNull(e);
+
+        request = new GetFindingsSummaryRequest(null, null, null, null, GetFindingsSummaryRequest.DEFAULT_INTERVAL);
+        e = request.validate();
+        assertNotNull(e);
+
+        request = new GetFindingsSummaryRequest("detectorId-123", null, 10L, 10L, GetFindingsSummaryRequest.DEFAULT_INTERVAL);
+        e = request.validate();
+        assertNotNull(e);
+
+        request = new GetFindingsSummaryRequest("detectorId-123", null, null, null, TimeValue.ZERO);
+        e = request.validate();
+        assertNotNull(e);
+    }
+
+    public void testResponseStreamInOut() throws IOException {
+        BytesStreamOutput out = new BytesStreamOutput();
+
+        GetFindingsSummaryResponse response = new GetFindingsSummaryResponse(5L, Map.of("detector", 5L),
+                Map.of("rule1", 4L, "rule2", 1L), Map.of("high", 4L), Map.of(0L, 2L, 3600000L, 3L));
+        response.writeTo(out);
+
+        StreamInput sin = StreamInput.wrap(out.bytes().toBytesRef().bytes);
+        GetFindingsSummaryResponse newResp = new GetFindingsSummaryResponse(sin);
+
+        assertEquals(5L, newResp.getTotalFindings());
+        assertEquals(response.getByDetector(), newResp.getByDetector());
+        assertEquals(response.getByRule(), newResp.getByRule());
+        assertEquals(response.getBySeverity(), newResp.getBySeverity());
+        assertEquals(response.getOverTime(), newResp.getOverTime());
+    }
+}
@@ -10,10 +10,20 @@ import java.time.ZoneId;
 import java.util.ArrayDeque;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
+import org.opensearch.OpenSearchStatusException;
 import org.opensearch.action.ActionListener;
+import org.opensearch.action.search.CreatePitAction;
+import org.opensearch.action.search.CreatePitRequest;
 import org.opensearch.client.Client;
+import org.opensearch.common.io.stream.NamedWriteableRegistry;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.commons.ConfigConstants;
 import org.opensearch.commons.alerting.model.CronSchedule;
 import org.opensearch.commons.alerting.model.DocLevelQuery;
 import org.opensearch.commons.alerting.model.Finding;
@@ -25,10 +35,12 @@ import org.opensearch.securityanalytics.action.FindingDto;
 import org.opensearch.securityanalytics.action.GetDetectorAction;
 import org.opensearch.securityanalytics.action.GetDetectorRequest;
 import org.opensearch.securityanalytics.action.GetDetectorResponse;
+import org.opensearch.securityanalytics.action.GetFindingsPageResponse;
 import org.opensearch.securityanalytics.action.GetFindingsResponse;
 import org.opensearch.securityanalytics.config.monitors.DetectorMonitorConfig;
 import org.opensearch.securityanalytics.model.Detector;
 import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.threadpool.ThreadPool;
 
 
 import static org.mockito.ArgumentMatchers.any;
@@ -36,7 +48,10 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class FindingServiceTests extends OpenSearchTestCase {
 
@@ -255,4 +270,117 @@ public class FindingServiceTests extends OpenSearchTestCase {
             }
         });
     }
+
+    public void testBucketLevelFindingMappedToRuleOfMonitor() {
+        FindingsService findingsService = new FindingsService();
+        Detector detector = detector(
+                List.of("merged_monitor", "single_monitor", "doc_monitor"),
+                Map.of(
+                        "rule1", "merged_monitor",
+                        "rule2", "merged_monitor",
+                        "rule3", "single_monitor",
+                        Detector.DOC_LEVEL_MONITOR, "doc_monitor"
+                )
+        );
+
+        // a merged bucket level monitor does not record which of its triggers fired, its findings are not counted for
+        // every rule of the monitor
+        Finding mergedFinding = new Finding("1", List.of("doc1"), List.of("doc1"), "merged_monitor", "merged_monitor",
+                "test_index1", List.of(), Instant.now());
+        FindingDto mergedFindingDto = findingsService.mapFindingWithDocsToFindingDto(new FindingWithDocs(mergedFinding, List.of()), detector);
+        assertEquals(List.of(), mergedFindingDto.getDocLevelQueries());
+
+        Finding singleFinding = new Finding("2", List.of("doc2"), List.of("doc2"), "single_monitor", "single_monitor",
+                "test_index1", List.of(), Instant.now());
+        FindingDto singleFindingDto = findingsService.mapFindingWithDocsToFindingDto(new FindingWithDocs(singleFinding, List.of()), detector);
+        assertEquals(List.of("rule3"),
+                singleFindingDto.getDocLevelQueries().stream().map(DocLevelQuery::getId).collect(Collectors.toList()));
+
+        // findings of doc level monitors keep the queries which matched
+        DocLevelQuery docLevelQuery = new DocLevelQuery("rule4", "rule4", "fieldA:valABC", List.of());
+        Finding docLevelFinding = new Finding("3", List.of("doc3"), List.of("doc3"), "doc_monitor", "doc_monitor",
+                "test_index1", List.of(docLevelQuery), Instant.now());
+        FindingDto docLevelFindingDto = findingsService.mapFindingWithDocsToFindingDto(new FindingWithDocs(docLevelFinding, List.of()), detector);
+        assertEquals(List.of(docLevelQuery), docLevelFindingDto.getDocLevelQueries());
+    }
+
+    public void testFindingsPageReadAsPlugin() {
+        ThreadContext threadContext = new ThreadContext(Settings.EMPTY);
+        threadContext.putTransient(ConfigConstants.OPENSEARCH_SECURITY_USER_INFO_THREAD_CONTEXT, "user|backend_role|role");
+        Client client = pageClient(threadContext, detector(List.of("monitor_id1"), Map.of()));
+        FindingsService findingsService = new FindingsService(client, new NamedWriteableRegistry(List.of()));
+
+        AtomicReference<Object> pitUser = new AtomicReference<>("not called");
+        doAnswer(invocation -> {
+            CreatePitRequest request = invocation.getArgument(1);
+            assertArrayEquals(new String[]{DetectorMonitorConfig.getAllFindingsIndicesPattern(Detector.DetectorType.OTHERS_APPLICATION.getDetectorType())},
+                    request.indices());
+            pitUser.set(threadContext.getTransient(ConfigConstants.OPENSEARCH_SECURITY_USER_INFO_THREAD_CONTEXT));
+            ActionListener l = invocation.getArgument(2);
+            l.onFailure(new IllegalStateException("CreatePit failed"));
+            return null;
+        }).when(client).execute(eq(CreatePitAction.INSTANCE), any(CreatePitRequest.class), any(ActionListener.class));
+
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        findingsService.getFindingsPage("detector_id123", null, 10, false, TimeValue.timeValueMinutes(1),
+                ActionListener.wrap(response -> fail("this test should've failed"), failure::set));
+
+        // the point in time over the hidden findings indices is opened as the plugin, the caller's context is kept
+        assertNull(pitUser.get());
+        assertEquals("user|backend_role|role", threadContext.getTransient(ConfigConstants.OPENSEARCH_SECURITY_USER_INFO_THREAD_CONTEXT));
+        assertTrue(failure.get().getMessage().contains("CreatePit failed"));
+    }
+
+    public void testFindingsPageRejectsPitOfOtherIndices() {
+        Client client = pageClient(new ThreadContext(Settings.EMPTY), detector(List.of("monitor_id1"), Map.of()));
+        FindingsService findingsService = new FindingsService(client, new NamedWriteableRegistry(List.of()));
+        String nextToken = new FindingsCursor("detector_id123", "not_a_findings_pit", 1L, "finding_id").encode();
+
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        findingsService.getFindingsPage("detector_id123", nextToken, 10, false, TimeValue.timeValueMinutes(1),
+                ActionListener.wrap(response -> fail("this test should've failed"), failure::set));
+
+        assertTrue(failure.get() instanceof OpenSearchStatusException);
+        assertEquals(RestStatus.BAD_REQUEST, ((OpenSearchStatusException) failure.get()).status());
+        verify(client, never()).search(any(), any());
+        assertFalse(findingsService.isPitOverIndices("not_a_findings_pit", ".opensearch-sap-*-findings*"));
+    }
+
+    private static Client pageClient(ThreadContext threadContext, Detector detector) {
+        Client client = mock(Client.class);
+        ThreadPool threadPool = mock(ThreadPool.class);
+        when(threadPool.getThreadContext()).thenReturn(threadContext);
+        when(client.threadPool()).thenReturn(threadPool);
+        GetDetectorResponse getDetectorResponse = new GetDetectorResponse(detector.getId(), 1L, RestStatus.OK, detector);
+        doAnswer(invocation -> {
+            ActionListener l = invocation.getArgument(2);
+            l.onResponse(getDetectorResponse);
+            return null;
+        }).when(client).execute(eq(GetDetectorAction.INSTANCE), any(GetDetectorRequest.class), any(ActionListener.class));
+        return client;
+    }
+
+    private static Detector detector(List<String> monitorIds, Map<String, String> ruleIdMonitorIdMap) {
+        return new Detector(
+                "detector_id123",
+                0L,
+                "test-monitor",
+                true,
+                new CronSchedule("31 * * * *", ZoneId.of("Asia/Kolkata"), Instant.ofEpochSecond(1538164858L)),
+                Instant.now(),
+                Instant.now(),
+                Detector.DetectorType.OTHERS_APPLICATION,
+                null,
+                List.of(),
+                List.of(),
+                monitorIds,
+                DetectorMonitorConfig.getRuleIndex(Detector.DetectorType.OTHERS_APPLICATION.getDetectorType()),
+                null,
+                DetectorMonitorConfig.getAlertsIndex(Detector.DetectorType.OTHERS_APPLICATION.getDetectorType()),
+                null,
+                null,
+                DetectorMonitorConfig.getFindingsIndex(Detector.DetectorType.OTHERS_APPLICATION.getDetectorType()),
+                ruleIdMonitorIdMap
+        );
+    }
 }
@@ -0,0 +1,43 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.findings;
+
+import org.opensearch.OpenSearchStatusException;
+import org.opensearch.rest.RestStatus;
+import org.opensearch.test.OpenSearchTestCase;
+
+public class FindingsCursorTests extends OpenSearchTestCase {
+
+    public void testEncodeDecode() {
+        FindingsCursor cursor = new FindingsCursor("detectorId", "pitId==", 1538164858000L, "findingId");
+
+        FindingsCursor decoded = FindingsCursor.decode(cursor.encode(), "detectorId");
+
+        assertEquals("detectorId", decoded.getDetectorId());
+        assertEquals("pitId==", decoded.getPitId());
+        assertArrayEquals(new Object[]{1538164858000L, "findingId"}, decoded.getSearchAfter());
+    }
+
+    public void testTokenIsUrlSafe() {
+        String token = new FindingsCursor(randomAlphaOfLength(20), randomUnicodeOfLength(50), randomLong(), randomAlphaOfLength(20)).encode();
+
+        assertTrue(token.matches("[A-Za-z0-9_-]*"));
+    }
+
+    public void testDecodeMalformedToken() {
+        OpenSearchStatusException e = expectThrows(OpenSearchStatusException.class, () -> FindingsCursor.decode("not a token", "detectorId"));
+        assertEquals(RestStatus.BAD_REQUEST, e.status());
+
+        e = expectThrows(OpenSearchStatusException.class, () -> FindingsCursor.decode("AAAA", "detectorId"));
+        assertEquals(RestStatus.BAD_REQUEST, e.status());
+    }
+
+    public void testDecodeTokenOfOtherDetector() {
+        String token = new FindingsCursor("detectorId", "pitId", 0L, "findingId").encode();
+
+        OpenSearchStatusException e = expectThrows(OpenSearchStatusException.class, () -> FindingsCursor.decode(token, "otherDetectorId"));
+        assertEquals(RestStatus.BAD_REQUEST, e.status());
+    }
+}
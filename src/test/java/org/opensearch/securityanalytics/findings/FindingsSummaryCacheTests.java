@@ -0,0 +1,56 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.findings;
+
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.securityanalytics.action.GetFindingsSummaryResponse;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.opensearch.securityanalytics.TestHelpers.randomDetector;
+
+public class FindingsSummaryCacheTests extends OpenSearchTestCase {
+
+    public void testPutGet() {
+        FindingsSummaryCache cache = new FindingsSummaryCache(TimeValue.timeValueMinutes(1));
+        GetFindingsSummaryResponse summary = new GetFindingsSummaryResponse(3L, Map.of("detector", 3L), Map.of(), Map.of(), Map.of(0L, 3L));
+
+        assertNull(cache.get("key"));
+        cache.put("key", summary);
+        assertSame(summary, cache.get("key"));
+        assertNull(cache.get("otherKey"));
+    }
+
+    public void testZeroTtlDisablesCache() {
+        FindingsSummaryCache cache = new FindingsSummaryCache(TimeValue.ZERO);
+        cache.put("key", new GetFindingsSummaryResponse(0L, Map.of(), Map.of(), Map.of(), Map.of()));
+        assertNull(cache.get("key"));
+
+        cache.setTtl(TimeValue.timeValueMinutes(1));
+        GetFindingsSummaryResponse summary = new GetFindingsSummaryResponse(0L, Map.of(), Map.of(), Map.of(), Map.of());
+        cache.put("key", summary);
+        assertSame(summary, cache.get("key"));
+    }
+
+    public void testKeyDependsOnMonitorsAndRange() {
+        Detector detector1 = randomDetector(List.of());
+        detector1.setMonitorIds(List.of("monitor1", "monitor2"));
+        Detector detector2 = randomDetector(List.of());
+        detector2.setMonitorIds(List.of("monitor3"));
+        TimeValue interval = TimeValue.timeValueHours(1);
+
+        assertEquals(FindingsSummaryCache.key(List.of(detector1, detector2), 0L, 10L, interval),
+                FindingsSummaryCache.key(List.of(detector2, detector1), 0L, 10L, interval));
+        assertNotEquals(FindingsSummaryCache.key(List.of(detector1, detector2), 0L, 10L, interval),
+                FindingsSummaryCache.key(List.of(detector1), 0L, 10L, interval));
+        assertNotEquals(FindingsSummaryCache.key(List.of(detector1), 0L, 10L, interval),
+                FindingsSummaryCache.key(List.of(detector1), 0L, null, interval));
+        assertNotEquals(FindingsSummaryCache.key(List.of(detector1), 0L, 10L, interval),
+                FindingsSummaryCache.key(List.of(detector1), 0L, 10L, TimeValue.timeValueMinutes(1)));
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.ingest;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.lucene.util.automaton.Operations;
+import org.junit.Assert;
+import org.opensearch.OpenSearchParseException;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.commons.alerting.model.DocLevelQuery;
+import org.opensearch.commons.alerting.model.Finding;
+import org.opensearch.ingest.IngestDocument;
+import org.opensearch.securityanalytics.TestHelpers;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.model.Rule;
+import org.opensearch.securityanalytics.model.Value;
+import org.opensearch.securityanalytics.rules.evaluator.RuleLiteralIndex;
+import org.opensearch.securityanalytics.rules.evaluator.SigmaRuleEvaluator;
+import org.opensearch.securityanalytics.rules.objects.SigmaRule;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class DetectionProcessorTests extends OpenSearchTestCase {
+
+    public void testMatchingRulesAreTagged() throws Exception {
+        DetectionProcessor processor = factory(compiledDetector()).create(null, "tag", null, config(100));
+
+        IngestDocument matching = document(Map.of("mappedA", "run mimikatz.exe"));
+        processor.execute(matching);
+        Assert.assertEquals(List.of("rule1"), matching.getFieldValue(DetectionProcessor.DEFAULT_TAG_FIELD, List.class));
+
+        IngestDocument other = document(Map.of("mappedA", "notepad.exe"));
+        processor.execute(other);
+        Assert.assertFalse(other.hasField(DetectionProcessor.DEFAULT_TAG_FIELD));
+    }
+
+    public void testDocumentsPassUntilDetectorIsLoaded() throws Exception {
+        DetectionProcessor processor = factory(null).create(null, "tag", null, config(100));
+
+        IngestDocument matching = document(Map.of("mappedA", "run mimikatz.exe"));
+        processor.execute(matching);
+        Assert.assertFalse(matching.hasField(DetectionProcessor.DEFAULT_TAG_FIELD));
+    }
+
+    public void testRateLimited() throws Exception {
+        DetectionProcessor processor = factory(compiledDetector()).create(null, "tag", null, config(1));
+
+        IngestDocument first = document(Map.of("mappedA", "run mimikatz.exe"));
+        processor.execute(first);
+        Assert.assertTrue(first.hasField(DetectionProcessor.DEFAULT_TAG_FIELD));
+
+        IngestDocument second = document(Map.of("mappedA", "run mimikatz.exe"));
+        processor.execute(second);
+        Assert.assertFalse(second.hasField(DetectionProcessor.DEFAULT_TAG_FIELD));
+        Assert.assertEquals(1L, processor.getSkippedCount());
+    }
+
+    public void testFindingsAttributedToMonitorOfRule() throws Exception {
+        Detector detector = TestHelpers.randomDetector(List.of("rule1"));
+        detector.setId("detector1");
+        DetectorRulesCache.CompiledDetector compiledDetector = compiledDetector(detector, Map.of("rule1",
+                List.of(Pair.of(List.of("windows"), "monitor1"), Pair.of(List.of("logs*"), "monitor2"))));
+        List<String> findings = new ArrayList<>();
+        IngestFindingsWriter findingsWriter = new IngestFindingsWriter(null, null, null) {
+            @Override
+            public void addFinding(Detector detector, String monitorId, String index, String docId, Rule rule) {
+                findings.add(monitorId + "/" + index + "/" + docId + "/" + rule.getId());
+            }
+        };
+        Map<String, Object> config = config(100);
+        config.put(DetectionProcessor.WRITE_FINDINGS, true);
+        DetectionProcessor processor = factory(compiledDetector, findingsWriter).create(null, "tag", null, config);
+
+        processor.execute(document(Map.of("mappedA", "run mimikatz.exe")));
+        // documents without an id are left to the monitors
+        processor.execute(new IngestDocument("logs", null, null, null, null, new HashMap<>(Map.of("mappedA", "run mimikatz.exe"))));
+        Assert.assertEquals(List.of("monitor2/logs/1/rule1"), findings);
+    }
+
+    public void testMonitorFindingSupersedesIngestFindings() {
+        Detector detector = TestHelpers.randomDetector(List.of("rule1"));
+        detector.setId("detector1");
+        detector.setFindingsIndex(".opensearch-sap-windows-findings");
+        Finding finding = new Finding("finding1", List.of("1"), List.of("1"), "monitor2", "detector", "logs",
+                List.of(new DocLevelQuery("rule1", "rule1", "mappedA: *mimikatz*", List.of()), new DocLevelQuery("rule2", "rule2", "mappedB: *", List.of())),
+                Instant.now());
+
+        BulkRequest bulkRequest = IngestFindingsWriter.supersededFindings(detector, finding);
+        Assert.assertEquals(2, bulkRequest.numberOfActions());
+        Assert.assertEquals(IngestFindingsWriter.findingId("detector1", "logs", "1", "rule1"), bulkRequest.requests().get(0).id());
+        Assert.assertEquals(".opensearch-sap-windows-findings", bulkRequest.requests().get(0).index());
+        Assert.assertNotEquals(IngestFindingsWriter.findingId("detector2", "logs", "1", "rule1"), bulkRequest.requests().get(0).id());
+
+        Finding bucketLevelFinding = new Finding("finding2", List.of("1"), List.of("1"), "monitor3", "detector", "logs", List.of(), Instant.now());
+        Assert.assertNull(IngestFindingsWriter.supersededFindings(detector, bucketLevelFinding));
+    }
+
+    public void testRulesOfMonitorReadFromInputs() {
+        Map<String, List<Pair<List<String>, String>>> ruleMonitors = new HashMap<>();
+        DetectorRulesCache.addMonitorRules(ruleMonitors, "monitor1", Map.of("monitor", Map.of("inputs", List.of(
+                Map.of("doc_level_input", Map.of("indices", List.of("windows"), "queries", List.of(Map.of("id", "rule1"), Map.of("id", "rule2"))))))));
+        DetectorRulesCache.addMonitorRules(ruleMonitors, "monitor2", Map.of("monitor", Map.of("inputs", List.of(
+                Map.of("search", Map.of("indices", List.of("windows")))))));
+
+        Assert.assertEquals(Map.of("rule1", List.of(Pair.of(List.of("windows"), "monitor1")), "rule2", List.of(Pair.of(List.of("windows"), "monitor1"))),
+                ruleMonitors);
+    }
+
+    public void testInvalidConfig() {
+        Map<String, Object> config = config(0);
+        expectThrows(OpenSearchParseException.class, () -> factory(null).create(null, "tag", null, config));
+        expectThrows(OpenSearchParseException.class, () -> factory(null).create(null, "tag", null, new HashMap<>()));
+    }
+
+    private DetectorRulesCache.CompiledDetector compiledDetector() throws Exception {
+        return compiledDetector(null, Map.of());
+    }
+
+    private DetectorRulesCache.CompiledDetector compiledDetector(Detector detector, Map<String, List<Pair<List<String>, String>>> ruleMonitors) throws Exception {
+        SigmaRule rule = SigmaRule.fromYaml(
+                "            title: Test\n" +
+                "            id: 39f919f3-980b-4e6f-a975-8af7e507ef2b\n" +
+                "            status: test\n" +
+                "            level: critical\n" +
+                "            description: Detects QuarksPwDump clearing access history in hive\n" +
+                "            author: Florian Roth\n" +
+                "            date: 2017/05/15\n" +
+                "            logsource:\n" +
+                "                category: test_category\n" +
+                "                product: test_product\n" +
+                "            detection:\n" +
+                "                sel:\n" +
+                "                    fieldA1|contains: mimikatz\n" +
+                "                condition: sel", false);
+        RuleLiteralIndex literalIndex = new RuleLiteralIndex();
+        literalIndex.addRule("rule1", "others_proxy", rule);
+        Rule storedRule = new Rule("rule1", 1L, "Test", "others_proxy", "others_proxy", "Test", List.of(), List.of(), "critical",
+                List.of(), "author", "test", Instant.now(), List.of(new Value("fieldA1: *mimikatz*")), List.of(new Value("fieldA1")), "", List.of());
+        return new DetectorRulesCache.CompiledDetector(detector, Map.of("rule1", storedRule),
+                Map.of("rule1", new SigmaRuleEvaluator("others_proxy", true).compile(rule)), literalIndex, ruleMonitors, 0L);
+    }
+
+    private DetectionProcessor.Factory factory(DetectorRulesCache.CompiledDetector compiledDetector) {
+        return factory(compiledDetector, null);
+    }
+
+    private DetectionProcessor.Factory factory(DetectorRulesCache.CompiledDetector compiledDetector, IngestFindingsWriter findingsWriter) {
+        DetectorRulesCache cache = new DetectorRulesCache(null, null, null, () -> 0L, Operations.DEFAULT_DETERMINIZE_WORK_LIMIT) {
+            @Override
+            public CompiledDetector get(String detectorId, long refreshIntervalInMillis) {
+                return compiledDetector;
+            }
+        };
+        return new DetectionProcessor.Factory(cache, findingsWriter, () -> 0L);
+    }
+
+    private Map<String, Object> config(int maxDocsPerSecond) {
+        Map<String, Object> config = new HashMap<>();
+        config.put(DetectionProcessor.DETECTOR_ID, "detector1");
+        config.put(DetectionProcessor.MAX_DOCS_PER_SECOND, maxDocsPerSecond);
+        return config;
+    }
+
+    private IngestDocument document(Map<String, Object> source) {
+        return new IngestDocument("logs", "1", null, null, null, new HashMap<>(source));
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.mapper;
+
+import org.opensearch.Version;
+import org.opensearch.cluster.ClusterName;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.metadata.MappingMetadata;
+import org.opensearch.cluster.metadata.Metadata;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.index.mapper.MapperService;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+
+public class IndexMappingsCacheTests extends OpenSearchTestCase {
+
+    public void testReusedUntilMappingVersionChanges() throws IOException {
+        IndexMappingsCache cache = new IndexMappingsCache();
+
+        ClusterState state = clusterState(1L, Map.of(
+                "@timestamp", Map.of("type", "date"),
+                "timestamp", Map.of("type", "alias", "path", "@timestamp"),
+                "src_ip", Map.of("type", "ip")
+        ));
+        IndexMappingsCache.IndexMappings indexMappings = cache.get(state, "my_index");
+        assertTrue(indexMappings.hasAlias("timestamp"));
+        assertEquals("ip", indexMappings.getFieldTypes().get("src_ip"));
+        assertEquals("date", indexMappings.getFieldTypes().get("timestamp"));
+        assertSame(indexMappings, cache.get(state, "my_index"));
+
+        ClusterState updated = clusterState(2L, Map.of(
+                "@timestamp", Map.of("type", "date"),
+                "src_ip", Map.of("type", "keyword")
+        ));
+        IndexMappingsCache.IndexMappings updatedMappings = cache.get(updated, "my_index");
+        assertNotSame(indexMappings, updatedMappings);
+        assertEquals(2L, updatedMappings.getMappingVersion());
+        assertFalse(updatedMappings.hasAlias("timestamp"));
+        assertEquals("keyword", updatedMappings.getFieldTypes().get("src_ip"));
+    }
+
+    public void testQueryFieldNamesAndSignature() {
+        IndexMappingsCache cache = new IndexMappingsCache();
+
+        ClusterState state = clusterState(1L, Map.of(
+                "@timestamp", Map.of("type", "date"),
+                "winlog", Map.of("properties", Map.of("event_id", Map.of("type", "integer"))),
+                "event_id", Map.of("type", "alias", "path", "winlog.event_id")
+        ));
+        IndexMappingsCache.IndexMappings indexMappings = cache.get(state, "my_index");
+        assertEquals(Set.of("@timestamp", "winlog_event_id", "event_id"), indexMappings.getQueryFieldNames());
+
+        ClusterState sameMappings = clusterState(2L, Map.of(
+                "@timestamp", Map.of("type", "date"),
+                "winlog", Map.of("properties", Map.of("event_id", Map.of("type", "integer"))),
+                "event_id", Map.of("type", "alias", "path", "winlog.event_id")
+        ));
+        assertEquals(indexMappings.getSignature(), cache.get(sameMappings, "my_index").getSignature());
+
+        ClusterState otherMappings = clusterState(3L, Map.of(
+                "@timestamp", Map.of("type", "date"),
+                "winlog", Map.of("properties", Map.of("event_id", Map.of("type", "keyword")))
+        ));
+        assertNotEquals(indexMappings.getSignature(), cache.get(otherMappings, "my_index").getSignature());
+    }
+
+    public void testDynamicMappings() {
+        IndexMappingsCache cache = new IndexMappingsCache();
+        Map<String, Object> properties = Map.of("@timestamp", Map.of("type", "date"));
+
+        IndexMappingsCache.IndexMappings dynamicMappings = cache.get(mappingState(1L, Map.of("properties", properties)), "my_index");
+        assertTrue(dynamicMappings.isDynamic());
+
+        IndexMappingsCache.IndexMappings strictMappings = cache.get(mappingState(2L, Map.of("dynamic", "strict", "properties", properties)), "my_index");
+        assertFalse(strictMappings.isDynamic());
+        assertNotEquals(dynamicMappings.getSignature(), strictMappings.getSignature());
+
+        assertFalse(cache.get(mappingState(3L, Map.of("dynamic", false, "properties", properties)), "my_index").isDynamic());
+    }
+
+    public void testMissingIndex() {
+        IndexMappingsCache cache = new IndexMappingsCache();
+        assertNull(cache.get(ClusterState.builder(ClusterName.DEFAULT).build(), "my_index"));
+    }
+
+    private static ClusterState clusterState(long mappingVersion, Map<String, Object> properties) {
+        return mappingState(mappingVersion, Map.of("properties", properties));
+    }
+
+    private static ClusterState mappingState(long mappingVersion, Map<String, Object> mapping) {
+        MappingMetadata mappingMetadata = new MappingMetadata(MapperService.SINGLE_MAPPING_NAME,
+                Map.of(MapperService.SINGLE_MAPPING_NAME, mapping));
+        IndexMetadata indexMetadata = IndexMetadata.builder("my_index")
+                .settings(Settings.builder()
+                        .put(IndexMetadata.SETTING_VERSION_CREATED, Version.CURRENT)
+                        .put(IndexMetadata.SETTING_INDEX_UUID, "my_index_uuid"))
+                .numberOfShards(1)
+                .numberOfReplicas(0)
+                .putMapping(mappingMetadata)
+                .mappingVersion(mappingVersion)
+                .build();
+        return ClusterState.builder(ClusterName.DEFAULT)
+                .metadata(Metadata.builder().put(indexMetadata, false))
+                .build();
+    }
+}
@@ -94,4 +94,47 @@ public class MapperUtilsTests extends OpenSearchTestCase {
         assertThrows(IllegalArgumentException.class, () -> MapperUtils.getAllPathsFromAliasMappings(MapperTopicStore.aliasMappings("test1")));
         assertThrows(JsonParseException.class, () -> MapperUtils.getAllPathsFromAliasMappings(MapperTopicStore.aliasMappings("test2")));
     }
+
+    public void testAddAcceleratedSubfields() {
+        Map<String, Object> m = new HashMap<>();
+        m.put("process.command_line", Map.of("type", "keyword"));
+        m.put("process.pid", Map.of("type", "integer"));
+
+        Map<String, Object> result = MapperUtils.addAcceleratedSubfields(m, List.of("process.command_line", "process.pid", "missing"));
+        Map<String, Object> subfields = (Map<String, Object>) ((Map<String, Object>) result.get("process.command_line")).get(MapperUtils.FIELDS);
+        assertEquals(2, subfields.size());
+        assertTrue(subfields.containsKey(MapperUtils.NGRAM_SUBFIELD));
+        assertTrue(subfields.containsKey(MapperUtils.REVERSE_SUBFIELD));
+        assertEquals(Map.of("type", "integer"), result.get("process.pid"));
+        assertFalse(result.containsKey("missing"));
+    }
+
+    public void testGetAcceleratedFields() {
+        Map<String, Object> m = new HashMap<>();
+        m.put("process.command_line", Map.of("type", "keyword", "fields", Map.of(
+                MapperUtils.NGRAM_SUBFIELD, Map.of("type", "text", "analyzer", MapperUtils.NGRAM_ANALYZER),
+                MapperUtils.REVERSE_SUBFIELD, Map.of("type", "text", "analyzer", MapperUtils.REVERSE_ANALYZER))));
+        m.put("process.name", Map.of("type", "keyword"));
+        m.put("CommandLine", Map.of("type", "alias", "path", "process.command_line"));
+        m.put("Image", Map.of("type", "alias", "path", "process.name"));
+        Map<String, Object> properties = Map.of("properties", m);
+        Map<String, Object> root = Map.of(MapperService.SINGLE_MAPPING_NAME, properties);
+        MappingMetadata mappingMetadata = new MappingMetadata(MapperService.SINGLE_MAPPING_NAME, root);
+
+        Map<String, String> acceleratedFields = MapperUtils.getAcceleratedFields(mappingMetadata);
+        assertEquals(Map.of("process.command_line", "process.command_line", "CommandLine", "process.command_line"), acceleratedFields);
+    }
+
+    public void testGetFieldTypes() {
+        Map<String, Object> m = new HashMap<>();
+        m.put("source.ip", Map.of("type", "ip"));
+        m.put("process.name", Map.of("type", "keyword"));
+        m.put("SourceIp", Map.of("type", "alias", "path", "source.ip"));
+        Map<String, Object> properties = Map.of("properties", m);
+        Map<String, Object> root = Map.of(MapperService.SINGLE_MAPPING_NAME, properties);
+        MappingMetadata mappingMetadata = new MappingMetadata(MapperService.SINGLE_MAPPING_NAME, root);
+
+        Map<String, String> fieldTypes = MapperUtils.getFieldTypes(mappingMetadata);
+        assertEquals(Map.of("source.ip", "ip", "process.name", "keyword", "SourceIp", "ip"), fieldTypes);
+    }
 }
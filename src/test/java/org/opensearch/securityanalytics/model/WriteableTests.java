@@ -12,6 +12,7 @@ import org.opensearch.test.OpenSearchTestCase;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 
 import static org.opensearch.securityanalytics.TestHelpers.randomDetector;
 import static org.opensearch.securityanalytics.TestHelpers.randomUser;
@@ -29,6 +30,25 @@ public class WriteableTests extends OpenSearchTestCase {
         Assert.assertEquals("Round tripping Detector doesn't work", detector, newDetector);
     }
 
+    public void testShardedDocLevelMonitorsAsStream() throws IOException {
+        Detector detector = randomDetector(List.of());
+        detector.setInputs(List.of(new DetectorInput("", List.of(), List.of(), List.of())));
+        detector.setMonitorIds(List.of("monitor-0", "monitor-1", "monitor-2", "bucket-monitor"));
+        detector.setRuleIdMonitorIdMap(Map.of(
+                Detector.docLevelMonitorKey(2), "monitor-2",
+                Detector.docLevelMonitorKey(0), "monitor-0",
+                Detector.docLevelMonitorKey(1), "monitor-1",
+                "rule-id", "bucket-monitor"
+        ));
+        BytesStreamOutput out = new BytesStreamOutput();
+        detector.writeTo(out);
+        StreamInput sin = StreamInput.wrap(out.bytes().toBytesRef().bytes);
+        Detector newDetector = new Detector(sin);
+        Assert.assertEquals("monitor-0", newDetector.getDocLevelMonitorId());
+        Assert.assertEquals(List.of("monitor-0", "monitor-1", "monitor-2"), newDetector.getDocLevelMonitorIds());
+        Assert.assertFalse(Detector.isDocLevelMonitorKey("rule-id"));
+    }
+
     public void testUserAsStream() throws IOException {
         User user = randomUser();
         BytesStreamOutput out = new BytesStreamOutput();
@@ -6,8 +6,12 @@ package org.opensearch.securityanalytics.model;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 import org.junit.Assert;
 import org.opensearch.common.bytes.BytesReference;
+import org.opensearch.common.xcontent.LoggingDeprecationHandler;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.common.xcontent.XContentType;
 import org.opensearch.core.xcontent.ToXContent;
 import org.opensearch.commons.authuser.User;
 import org.opensearch.test.OpenSearchTestCase;
@@ -16,10 +20,12 @@ import org.opensearch.test.OpenSearchTestCase;
 import static org.opensearch.securityanalytics.TestHelpers.builder;
 import static org.opensearch.securityanalytics.TestHelpers.parser;
 import static org.opensearch.securityanalytics.TestHelpers.randomDetector;
+import static org.opensearch.securityanalytics.TestHelpers.randomDetectorWithInputs;
 import static org.opensearch.securityanalytics.TestHelpers.randomDetectorWithNoUser;
 import static org.opensearch.securityanalytics.TestHelpers.randomUser;
 import static org.opensearch.securityanalytics.TestHelpers.randomUserEmpty;
 import static org.opensearch.securityanalytics.TestHelpers.toJsonStringWithUser;
+import static org.opensearch.securityanalytics.TestHelpers.xContentRegistry;
 
 public class XContentTests extends OpenSearchTestCase {
 
@@ -31,6 +37,22 @@ public class XContentTests extends OpenSearchTestCase {
         Assert.assertEquals("Round tripping Detector doesn't work", detector, parsedDetector);
     }
 
+    public void testDetectorDocStoresCustomRuleIds() throws IOException {
+        DetectorInput input = new DetectorInput("windows detector for security analytics", List.of("windows"),
+                List.of(new DetectorRule("rule-1"), new DetectorRule("rule-2"), new DetectorRule("rule-1")), List.of(new DetectorRule("rule-3")));
+        Detector detector = randomDetectorWithInputs(List.of(input));
+        Assert.assertEquals(List.of("rule-1", "rule-2"), detector.getCustomRuleIds());
+
+        String detectorString = BytesReference.bytes(detector.toXContentWithUser(XContentFactory.jsonBuilder(),
+                new ToXContent.MapParams(Map.of("with_type", "true")))).utf8ToString();
+        Assert.assertTrue(detectorString.contains("\"custom_rule_ids\":[\"rule-1\",\"rule-2\"]"));
+        Assert.assertFalse(toJsonStringWithUser(detector).contains("custom_rule_ids"));
+
+        Detector parsedDetector = Detector.docParse(XContentType.JSON.xContent().createParser(xContentRegistry(),
+                LoggingDeprecationHandler.INSTANCE, detectorString), Detector.NO_ID, Detector.NO_VERSION);
+        Assert.assertEquals(detector.getInputs(), parsedDetector.getInputs());
+    }
+
     public void testDetectorParsingWithNoName() {
         String detectorStringWithoutName = "{\n" +
                 "  \"type\": \"detector\",\n" +
@@ -7,6 +7,7 @@ package org.opensearch.securityanalytics.resthandler;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 
 import org.apache.hc.core5.http.ContentType;
 import org.apache.hc.core5.http.HttpEntity;
@@ -22,6 +23,8 @@ import org.opensearch.common.settings.Settings;
 import org.opensearch.client.ResponseException;
 import org.opensearch.common.xcontent.XContentFactory;
 import org.opensearch.commons.alerting.model.Monitor.MonitorType;
+import org.opensearch.core.xcontent.ToXContent;
+import org.opensearch.core.xcontent.XContentBuilder;
 import org.opensearch.rest.RestStatus;
 import org.opensearch.search.SearchHit;
 import org.opensearch.securityanalytics.SecurityAnalyticsPlugin;
@@ -36,6 +39,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import org.opensearch.securityanalytics.model.DetectorTrigger;
 
@@ -1236,4 +1240,209 @@ public class DetectorRestApiIT extends SecurityAnalyticsRestTestCase {
         List<?> findings = (List<?>) getFindingsBody.get("findings");
         Assert.assertEquals(findings.size(), 1);
     }
-}
\ No newline at end of file
+
+    @SuppressWarnings("unchecked")
+    public void testBulkCreatingDetectors_itemsMatchCreatedMonitors() throws IOException {
+        String index = createTestIndex(randomIndex(), productIndexMapping());
+
+        // Execute CreateMappingsAction to add alias mapping for index
+        Request createMappingRequest = new Request("POST", SecurityAnalyticsPlugin.MAPPER_BASE_URI);
+        // both req params and req body are supported
+        createMappingRequest.setJsonEntity(
+                "{ \"index_name\":\"" + index + "\"," +
+                        "  \"rule_topic\":\"test_windows\", " +
+                        "  \"partial\":true" +
+                        "}"
+        );
+
+        Response response = client().performRequest(createMappingRequest);
+        assertEquals(HttpStatus.SC_OK, response.getStatusLine().getStatusCode());
+
+        String customAvgRuleId = createRule(productIndexAvgAggRule());
+        List<DetectorRule> prePackagedRules = getRandomPrePackagedRules().stream().map(DetectorRule::new).collect(Collectors.toList());
+
+        // a detector with doc level and aggregation rules, one with doc level rules only and one with a missing rule
+        List<Detector> detectors = List.of(
+                randomDetectorWithInputs(List.of(new DetectorInput("windows detector for security analytics", List.of("windows"),
+                        List.of(new DetectorRule(customAvgRuleId)), prePackagedRules))),
+                randomDetectorWithInputs(List.of(new DetectorInput("windows detector for security analytics", List.of("windows"),
+                        List.of(), prePackagedRules))),
+                randomDetectorWithInputs(List.of(new DetectorInput("windows detector for security analytics", List.of("windows"),
+                        List.of(new DetectorRule(java.util.UUID.randomUUID().toString())), prePackagedRules)))
+        );
+        XContentBuilder builder = XContentFactory.jsonBuilder().startObject().startArray("detectors");
+        for (Detector detector: detectors) {
+            detector.toXContent(builder, ToXContent.EMPTY_PARAMS);
+        }
+        builder.endArray().endObject();
+
+        Response bulkResponse = makeRequest(client(), "POST", SecurityAnalyticsPlugin.DETECTOR_BASE_URI + "/_bulk", Collections.emptyMap(),
+                new StringEntity(Strings.toString(builder), ContentType.APPLICATION_JSON));
+        Assert.assertEquals("Bulk create detectors failed", RestStatus.OK, restStatus(bulkResponse));
+
+        Map<String, Object> responseBody = asMap(bulkResponse);
+        Assert.assertEquals(true, responseBody.get("errors"));
+        List<Map<String, Object>> items = (List<Map<String, Object>>) responseBody.get("items");
+        Assert.assertEquals(3, items.size());
+
+        // items are in the order of the detectors of the request
+        List<List<String>> expectedMonitorTypes = List.of(
+                List.of(MonitorType.BUCKET_LEVEL_MONITOR.getValue(), MonitorType.DOC_LEVEL_MONITOR.getValue()),
+                List.of(MonitorType.DOC_LEVEL_MONITOR.getValue()));
+        for (int i = 0; i < expectedMonitorTypes.size(); ++i) {
+            Map<String, Object> item = items.get(i);
+            Assert.assertEquals(RestStatus.CREATED.getStatus(), item.get("status"));
+            Assert.assertFalse(item.containsKey("failure"));
+
+            String request = "{\n" +
+                    "   \"query\" : {\n" +
+                    "     \"match\":{\n" +
+                    "        \"_id\": \"" + item.get("_id") + "\"\n" +
+                    "     }\n" +
+                    "   }\n" +
+                    "}";
+            List<SearchHit> hits = executeSearch(Detector.DETECTORS_INDEX, request);
+            Assert.assertEquals(1, hits.size());
+            Map<String, Object> detectorAsMap = (Map<String, Object>) hits.get(0).getSourceAsMap().get("detector");
+            Assert.assertEquals(detectors.get(i).getName(), detectorAsMap.get("name"));
+
+            List<String> monitorTypes = new ArrayList<>();
+            for (String monitorId: (List<String>) detectorAsMap.get("monitor_id")) {
+                monitorTypes.add(((Map<String, String>) entityAsMap(client().performRequest(new Request("GET", "/_plugins/_alerting/monitors/" + monitorId))).get("monitor")).get("monitor_type"));
+            }
+            Collections.sort(monitorTypes);
+            Assert.assertEquals(expectedMonitorTypes.get(i), monitorTypes);
+        }
+
+        Map<String, Object> failedItem = items.get(2);
+        Assert.assertTrue((Integer) failedItem.get("status") >= RestStatus.BAD_REQUEST.getStatus());
+        Assert.assertTrue(failedItem.containsKey("failure"));
+        Assert.assertFalse(failedItem.containsKey("_id"));
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testDryRunningADetector() throws IOException {
+        String index = createTestIndex(randomIndex(), productIndexMapping());
+
+        // Execute CreateMappingsAction to add alias mapping for index
+        Request createMappingRequest = new Request("POST", SecurityAnalyticsPlugin.MAPPER_BASE_URI);
+        // both req params and req body are supported
+        createMappingRequest.setJsonEntity(
+                "{ \"index_name\":\"" + index + "\"," +
+                        "  \"rule_topic\":\"test_windows\", " +
+                        "  \"partial\":true" +
+                        "}"
+        );
+
+        Response response = client().performRequest(createMappingRequest);
+        assertEquals(HttpStatus.SC_OK, response.getStatusLine().getStatusCode());
+
+        // the dry run searches the last window by the timestamp alias
+        Request updateRequest = new Request("PUT", SecurityAnalyticsPlugin.MAPPER_BASE_URI);
+        updateRequest.setJsonEntity(Strings.toString(XContentFactory.jsonBuilder().map(Map.of(
+                "index_name", index,
+                "field", "time",
+                "alias", "timestamp"))));
+        Response apiResponse = client().performRequest(updateRequest);
+        assertEquals(HttpStatus.SC_OK, apiResponse.getStatusLine().getStatusCode());
+
+        String customAvgRuleId = createRule(productIndexAvgAggRule());
+        List<String> prePackagedRules = getRandomPrePackagedRules();
+
+        DetectorInput input = new DetectorInput("windows detector for security analytics", List.of("windows"), List.of(new DetectorRule(customAvgRuleId)),
+                prePackagedRules.stream().map(DetectorRule::new).collect(Collectors.toList()));
+        Detector detector = randomDetectorWithInputs(List.of(input));
+
+        indexDoc(index, "1", randomProductDocumentWithTime(System.currentTimeMillis()));
+
+        Response dryRunResponse = makeRequest(client(), "POST", SecurityAnalyticsPlugin.DETECTOR_BASE_URI + "/_dry_run", Collections.emptyMap(), toHttpEntity(detector));
+        Assert.assertEquals("Dry run detector failed", RestStatus.OK, restStatus(dryRunResponse));
+
+        Map<String, Object> responseBody = asMap(dryRunResponse);
+        List<Map<String, Object>> ruleResults = (List<Map<String, Object>>) responseBody.get("rules");
+
+        Set<String> docLevelRuleIds = new HashSet<>();
+        boolean bucketLevelRuleRun = false;
+        for (Map<String, Object> ruleResult: ruleResults) {
+            Assert.assertFalse(ruleResult.containsKey("failure"));
+            Assert.assertEquals(false, ruleResult.get("timed_out"));
+            if (customAvgRuleId.equals(ruleResult.get("rule_id"))) {
+                Assert.assertEquals("bucket_level_monitor", ruleResult.get("monitor_type"));
+                // the product document is in the window and matches the aggregation rule
+                Assert.assertEquals(1, ruleResult.get("hits"));
+                Assert.assertEquals(1, ruleResult.get("buckets"));
+                bucketLevelRuleRun = true;
+            } else {
+                Assert.assertEquals("doc_level_monitor", ruleResult.get("monitor_type"));
+                docLevelRuleIds.add(ruleResult.get("rule_id").toString());
+            }
+        }
+        Assert.assertTrue(bucketLevelRuleRun);
+        Assert.assertEquals(new HashSet<>(prePackagedRules), docLevelRuleIds);
+
+        // a dry run does not create the detector
+        String request = "{\n" +
+                "   \"query\" : {\n" +
+                "     \"match_phrase\":{\n" +
+                "        \"detector.name\": \"" + detector.getName() + "\"\n" +
+                "     }\n" +
+                "   }\n" +
+                "}";
+        HttpEntity requestEntity = new StringEntity(request, ContentType.APPLICATION_JSON);
+        Response searchResponse = makeRequest(client(), "POST", SecurityAnalyticsPlugin.DETECTOR_BASE_URI + "/" + "_search", Collections.emptyMap(), requestEntity);
+        Map<String, Object> searchResponseHits = (Map) asMap(searchResponse).get("hits");
+        Assert.assertEquals(0, ((Map) searchResponseHits.get("total")).get("value"));
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testGettingRuleCostsOfADetector() throws IOException {
+        String index = createTestIndex(randomIndex(), windowsIndexMapping());
+
+        // Execute CreateMappingsAction to add alias mapping for index
+        Request createMappingRequest = new Request("POST", SecurityAnalyticsPlugin.MAPPER_BASE_URI);
+        // both req params and req body are supported
+        createMappingRequest.setJsonEntity(
+                "{ \"index_name\":\"" + index + "\"," +
+                        "  \"rule_topic\":\"" + randomDetectorType() + "\", " +
+                        "  \"partial\":true" +
+                        "}"
+        );
+
+        Response response = client().performRequest(createMappingRequest);
+        assertEquals(HttpStatus.SC_OK, response.getStatusLine().getStatusCode());
+
+        String customRuleId = createRule(randomRule());
+        List<String> prePackagedRules = getRandomPrePackagedRules();
+        DetectorInput input = new DetectorInput("windows detector for security analytics", List.of("windows"), List.of(new DetectorRule(customRuleId)),
+                prePackagedRules.stream().map(DetectorRule::new).collect(Collectors.toList()));
+        String detectorId = createDetector(randomDetectorWithInputs(List.of(input)));
+
+        Set<String> ruleIds = new HashSet<>(prePackagedRules);
+        ruleIds.add(customRuleId);
+
+        Response costsResponse = makeRequest(client(), "GET", SecurityAnalyticsPlugin.DETECTOR_BASE_URI + "/" + detectorId + "/rules/cost", Collections.emptyMap(), null);
+        Assert.assertEquals("Get rule costs failed", RestStatus.OK, restStatus(costsResponse));
+        Map<String, Object> responseBody = asMap(costsResponse);
+        Assert.assertEquals(detectorId, responseBody.get("_id"));
+
+        List<Map<String, Object>> ruleCosts = (List<Map<String, Object>>) responseBody.get("rules");
+        Assert.assertEquals(ruleIds, ruleCosts.stream().map(it -> it.get("rule_id").toString()).collect(Collectors.toSet()));
+        for (Map<String, Object> ruleCost: ruleCosts) {
+            Assert.assertNotNull(ruleCost.get("title"));
+            Assert.assertTrue(((Number) ruleCost.get("estimated_cost")).doubleValue() >= 0);
+            // only profiled when an index to profile against is given
+            Assert.assertFalse(ruleCost.containsKey("profiled_time_in_nanos"));
+        }
+
+        indexDoc(index, "1", randomDoc());
+
+        costsResponse = makeRequest(client(), "GET", SecurityAnalyticsPlugin.DETECTOR_BASE_URI + "/" + detectorId + "/rules/cost",
+                Map.of("profile_index", index), null);
+        Assert.assertEquals("Get rule costs failed", RestStatus.OK, restStatus(costsResponse));
+        ruleCosts = (List<Map<String, Object>>) asMap(costsResponse).get("rules");
+        Assert.assertEquals(ruleIds, ruleCosts.stream().map(it -> it.get("rule_id").toString()).collect(Collectors.toSet()));
+        for (Map<String, Object> ruleCost: ruleCosts) {
+            Assert.assertTrue(((Number) ruleCost.get("profiled_time_in_nanos")).longValue() >= 0);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.resthandler;
+
+import org.apache.hc.core5.http.HttpStatus;
+import org.junit.Assert;
+import org.opensearch.client.Request;
+import org.opensearch.client.Response;
+import org.opensearch.rest.RestStatus;
+import org.opensearch.search.SearchHit;
+import org.opensearch.securityanalytics.SecurityAnalyticsPlugin;
+import org.opensearch.securityanalytics.SecurityAnalyticsRestTestCase;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.model.DetectorTrigger;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.opensearch.securityanalytics.TestHelpers.randomDetectorType;
+import static org.opensearch.securityanalytics.TestHelpers.randomDetectorWithTriggers;
+import static org.opensearch.securityanalytics.TestHelpers.randomDoc;
+import static org.opensearch.securityanalytics.TestHelpers.randomIndex;
+import static org.opensearch.securityanalytics.TestHelpers.windowsIndexMapping;
+
+public class FindingsRestApiIT extends SecurityAnalyticsRestTestCase {
+
+    @SuppressWarnings("unchecked")
+    public void testGettingFindingsPageByPage() throws IOException {
+        String detectorId = createDetectorWithFindings(3);
+
+        Map<String, String> params = new HashMap<>();
+        params.put("detector_id", detectorId);
+        Response getFindingsResponse = makeRequest(client(), "GET", SecurityAnalyticsPlugin.FINDINGS_BASE_URI + "/_search", params, null);
+        List<Map<String, Object>> findings = (List<Map<String, Object>>) entityAsMap(getFindingsResponse).get("findings");
+        Assert.assertEquals(3, findings.size());
+        Set<String> findingIds = new HashSet<>();
+        findings.forEach(finding -> findingIds.add(finding.get("id").toString()));
+
+        // follow the next token one finding at a time until the last page
+        List<String> pagedFindingIds = new ArrayList<>();
+        String nextToken = null;
+        int pages = 0;
+        do {
+            params = new HashMap<>();
+            params.put("detector_id", detectorId);
+            params.put("size", "1");
+            params.put("include_documents", "false");
+            if (nextToken != null) {
+                params.put("next_token", nextToken);
+            }
+            Response pageResponse = makeRequest(client(), "GET", SecurityAnalyticsPlugin.FINDINGS_BASE_URI + "/_page", params, null);
+            Assert.assertEquals("Get findings page failed", RestStatus.OK, restStatus(pageResponse));
+
+            Map<String, Object> page = entityAsMap(pageResponse);
+            List<Map<String, Object>> pageFindings = (List<Map<String, Object>>) page.get("findings");
+            Assert.assertTrue(pageFindings.size() <= 1);
+            for (Map<String, Object> finding: pageFindings) {
+                Assert.assertEquals(detectorId, finding.get("detectorId"));
+                pagedFindingIds.add(finding.get("id").toString());
+            }
+            nextToken = (String) page.get("next_token");
+            Assert.assertTrue("Paging did not end", ++pages <= findingIds.size() + 1);
+        } while (nextToken != null);
+
+        // every finding is returned exactly once
+        Assert.assertEquals(findingIds.size(), pagedFindingIds.size());
+        Assert.assertEquals(findingIds, new HashSet<>(pagedFindingIds));
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testGettingFindingsSummary() throws IOException {
+        String detectorId = createDetectorWithFindings(3);
+
+        Map<String, String> params = new HashMap<>();
+        params.put("detector_id", detectorId);
+        Response getFindingsResponse = makeRequest(client(), "GET", SecurityAnalyticsPlugin.FINDINGS_BASE_URI + "/_search", params, null);
+        List<Map<String, Object>> findings = (List<Map<String, Object>>) entityAsMap(getFindingsResponse).get("findings");
+        Map<String, Integer> findingsByRule = new HashMap<>();
+        for (Map<String, Object> finding: findings) {
+            for (Map<String, Object> query: (List<Map<String, Object>>) finding.get("queries")) {
+                findingsByRule.merge(query.get("id").toString(), 1, Integer::sum);
+            }
+        }
+
+        Response summaryResponse = makeRequest(client(), "GET", SecurityAnalyticsPlugin.FINDINGS_BASE_URI + "/_summary", params, null);
+        Assert.assertEquals("Get findings summary failed", RestStatus.OK, restStatus(summaryResponse));
+        Map<String, Object> summary = entityAsMap(summaryResponse);
+
+        Assert.assertEquals(findings.size(), summary.get("total_findings"));
+        Assert.assertEquals(Map.of(detectorId, findings.size()), summary.get("by_detector"));
+        Assert.assertEquals(findingsByRule, summary.get("by_rule"));
+
+        int overTime = 0;
+        for (Map<String, Object> bucket: (List<Map<String, Object>>) summary.get("over_time")) {
+            Assert.assertNotNull(bucket.get("timestamp"));
+            overTime += (Integer) bucket.get("count");
+        }
+        Assert.assertEquals(findings.size(), overTime);
+
+        // a time range ending before the findings excludes them
+        params.put("start_time", "0");
+        params.put("end_time", "1");
+        summary = entityAsMap(makeRequest(client(), "GET", SecurityAnalyticsPlugin.FINDINGS_BASE_URI + "/_summary", params, null));
+        Assert.assertEquals(0, summary.get("total_findings"));
+    }
+
+    /**
+     * Creates a detector with the pre-packaged test rules on a windows index and runs its monitor on the given number
+     * of documents, each of them giving one finding.
+     */
+    @SuppressWarnings("unchecked")
+    private String createDetectorWithFindings(int numberOfDocs) throws IOException {
+        String index = createTestIndex(randomIndex(), windowsIndexMapping());
+
+        // Execute CreateMappingsAction to add alias mapping for index
+        Request createMappingRequest = new Request("POST", SecurityAnalyticsPlugin.MAPPER_BASE_URI);
+        // both req params and req body are supported
+        createMappingRequest.setJsonEntity(
+                "{ \"index_name\":\"" + index + "\"," +
+                        "  \"rule_topic\":\"" + randomDetectorType() + "\", " +
+                        "  \"partial\":true" +
+                        "}"
+        );
+
+        Response response = client().performRequest(createMappingRequest);
+        assertEquals(HttpStatus.SC_OK, response.getStatusLine().getStatusCode());
+
+        Detector detector = randomDetectorWithTriggers(getRandomPrePackagedRules(), List.of(new DetectorTrigger(null, "test-trigger", "1", List.of(randomDetectorType()), List.of(), List.of(), List.of(), List.of())));
+        String detectorId = createDetector(detector);
+
+        String request = "{\n" +
+                "   \"query\" : {\n" +
+                "     \"match\":{\n" +
+                "        \"_id\": \"" + detectorId + "\"\n" +
+                "     }\n" +
+                "   }\n" +
+                "}";
+        List<SearchHit> hits = executeSearch(Detector.DETECTORS_INDEX, request);
+        SearchHit hit = hits.get(0);
+
+        for (int i = 1; i <= numberOfDocs; ++i) {
+            indexDoc(index, String.valueOf(i), randomDoc());
+        }
+
+        for (String monitorId: (List<String>) ((Map<String, Object>) hit.getSourceAsMap().get("detector")).get("monitor_id")) {
+            executeAlertingMonitor(monitorId, Collections.emptyMap());
+        }
+        refreshAllIndices();
+        return detectorId;
+    }
+}
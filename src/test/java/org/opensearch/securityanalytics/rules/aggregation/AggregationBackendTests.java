@@ -5,7 +5,13 @@
 package org.opensearch.securityanalytics.rules.aggregation;
 
 import org.junit.Assert;
+import org.opensearch.search.aggregations.bucket.composite.CompositeAggregationBuilder;
+import org.opensearch.search.aggregations.metrics.CardinalityAggregationBuilder;
+import org.opensearch.search.aggregations.metrics.PercentilesAggregationBuilder;
 import org.opensearch.securityanalytics.rules.backend.OSQueryBackend;
+import org.opensearch.securityanalytics.rules.backend.OSQueryBuilderBackend;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaAggregationParameterError;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaConditionError;
 import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
 import org.opensearch.securityanalytics.rules.objects.SigmaRule;
 import org.opensearch.test.OpenSearchTestCase;
@@ -203,4 +209,212 @@ public class AggregationBackendTests extends OpenSearchTestCase {
         Assert.assertEquals("{\"result_agg\":{\"terms\":{\"field\":\"fieldB\"},\"aggs\":{\"fieldA\":{\"avg\":{\"field\":\"fieldA\"}}}}}", aggQuery);
         Assert.assertEquals("{\"buckets_path\":{\"fieldA\":\"fieldA\"},\"parent_bucket_path\":\"result_agg\",\"script\":{\"source\":\"params.fieldA > 110.0\",\"lang\":\"painless\"}}", bucketTriggerQuery);
     }
+
+    public void testCompositeAggregationWithGroupBy() throws IOException, SigmaError {
+        OSQueryBackend queryBackend = new OSQueryBackend("windows", true, true);
+        queryBackend.setCompositeAggregationPageSize(500);
+        List<Object> queries = queryBackend.convertRule(SigmaRule.fromYaml(
+                "            title: Test\n" +
+                "            id: 39f919f3-980b-4e6f-a975-8af7e507ef2b\n" +
+                "            status: test\n" +
+                "            level: critical\n" +
+                "            description: Detects QuarksPwDump clearing access history in hive\n" +
+                "            author: Florian Roth\n" +
+                "            date: 2017/05/15\n" +
+                "            logsource:\n" +
+                "                category: test_category\n" +
+                "                product: test_product\n" +
+                "            detection:\n" +
+                "                sel:\n" +
+                "                    fieldA: valueA\n" +
+                "                condition: sel | sum(fieldD) by fieldB > 110", true));
+
+        OSQueryBackend.AggregationQueries aggQueries = (OSQueryBackend.AggregationQueries) queries.get(1);
+        Assert.assertTrue(aggQueries.getAggBuilder() instanceof CompositeAggregationBuilder);
+        CompositeAggregationBuilder aggBuilder = (CompositeAggregationBuilder) aggQueries.getAggBuilder();
+        Assert.assertEquals("result_agg", aggBuilder.getName());
+        Assert.assertEquals(500, aggBuilder.size());
+        Assert.assertEquals("fieldB", aggBuilder.sources().get(0).field());
+        Assert.assertEquals(1, aggBuilder.getSubAggregations().size());
+        Assert.assertEquals("result_agg", aggQueries.getCondition().getParentBucketPath());
+    }
+
+    public void testCardinalityAggregationWithGroupBy() throws IOException, SigmaError {
+        OSQueryBackend queryBackend = new OSQueryBackend("windows", true, true);
+        List<Object> queries = queryBackend.convertRule(SigmaRule.fromYaml(
+                "            title: Test\n" +
+                "            id: 39f919f3-980b-4e6f-a975-8af7e507ef2b\n" +
+                "            status: test\n" +
+                "            level: critical\n" +
+                "            description: Detects QuarksPwDump clearing access history in hive\n" +
+                "            author: Florian Roth\n" +
+                "            date: 2017/05/15\n" +
+                "            logsource:\n" +
+                "                category: test_category\n" +
+                "                product: test_product\n" +
+                "            detection:\n" +
+                "                sel:\n" +
+                "                    fieldA: valueA\n" +
+                "                condition: sel | cardinality(fieldD, 1000) by fieldB > 50", true));
+
+        OSQueryBackend.AggregationQueries aggQueries = (OSQueryBackend.AggregationQueries) queries.get(1);
+        Assert.assertEquals("{\"result_agg\":{\"terms\":{\"field\":\"fieldB\"},\"aggs\":{\"fieldD\":{\"cardinality\":{\"field\":\"fieldD\",\"precision_threshold\":1000}}}}}", aggQueries.getAggQuery());
+        Assert.assertEquals("{\"buckets_path\":{\"fieldD\":\"fieldD\"},\"parent_bucket_path\":\"result_agg\",\"script\":{\"source\":\"params.fieldD > 50.0\",\"lang\":\"painless\"}}", aggQueries.getBucketTriggerQuery());
+
+        CardinalityAggregationBuilder subAgg = (CardinalityAggregationBuilder) aggQueries.getAggBuilder().getSubAggregations().iterator().next();
+        Assert.assertEquals(1000L, subAgg.precisionThreshold().longValue());
+    }
+
+    public void testPercentilesAggregationWithGroupBy() throws IOException, SigmaError {
+        OSQueryBackend queryBackend = new OSQueryBackend("windows", true, true);
+        List<Object> queries = queryBackend.convertRule(SigmaRule.fromYaml(
+                "            title: Test\n" +
+                "            id: 39f919f3-980b-4e6f-a975-8af7e507ef2b\n" +
+                "            status: test\n" +
+                "            level: critical\n" +
+                "            description: Detects QuarksPwDump clearing access history in hive\n" +
+                "            author: Florian Roth\n" +
+                "            date: 2017/05/15\n" +
+                "            logsource:\n" +
+                "                category: test_category\n" +
+                "                product: test_product\n" +
+                "            detection:\n" +
+                "                sel:\n" +
+                "                    fieldA: valueA\n" +
+                "                condition: sel | percentiles(fieldD, 95) by fieldB > 1000", true));
+
+        OSQueryBackend.AggregationQueries aggQueries = (OSQueryBackend.AggregationQueries) queries.get(1);
+        Assert.assertEquals("{\"result_agg\":{\"terms\":{\"field\":\"fieldB\"},\"aggs\":{\"fieldD\":{\"percentiles\":{\"field\":\"fieldD\",\"percents\":[95.0]}}}}}", aggQueries.getAggQuery());
+        Assert.assertEquals("{\"buckets_path\":{\"fieldD\":\"fieldD[95.0]\"},\"parent_bucket_path\":\"result_agg\",\"script\":{\"source\":\"params.fieldD > 1000.0\",\"lang\":\"painless\"}}", aggQueries.getBucketTriggerQuery());
+
+        PercentilesAggregationBuilder subAgg = (PercentilesAggregationBuilder) aggQueries.getAggBuilder().getSubAggregations().iterator().next();
+        Assert.assertArrayEquals(new double[] { 95.0 }, subAgg.percentiles(), 0.0);
+        Assert.assertEquals("fieldD[95.0]", aggQueries.getCondition().getBucketsPathsMap().get("fieldD"));
+    }
+
+    public void testSequenceConvertsEveryStep() throws IOException, SigmaError {
+        OSQueryBackend queryBackend = new OSQueryBackend("windows", true, true);
+        List<Object> queries = queryBackend.convertRule(SigmaRule.fromYaml(
+                "            title: Test\n" +
+                "            id: 39f919f3-980b-4e6f-a975-8af7e507ef2b\n" +
+                "            status: test\n" +
+                "            level: critical\n" +
+                "            description: Detects QuarksPwDump clearing access history in hive\n" +
+                "            author: Florian Roth\n" +
+                "            date: 2017/05/15\n" +
+                "            logsource:\n" +
+                "                category: test_category\n" +
+                "                product: test_product\n" +
+                "            detection:\n" +
+                "                sel_a:\n" +
+                "                    fieldA: valueA\n" +
+                "                sel_b:\n" +
+                "                    fieldC: valueC\n" +
+                "                timeframe: 5m\n" +
+                "                condition: sel_a | followed_by sel_b by fieldB", true));
+
+        Assert.assertEquals(2, queries.size());
+        Assert.assertEquals("fieldA: \"valueA\"", queries.get(0).toString());
+        Assert.assertEquals("fieldC: \"valueC\"", queries.get(1).toString());
+    }
+
+    public void testSequenceConvertedTwiceKeepsItsSteps() throws IOException, SigmaError {
+        SigmaRule rule = SigmaRule.fromYaml(
+                "            title: Test\n" +
+                "            id: 39f919f3-980b-4e6f-a975-8af7e507ef2b\n" +
+                "            status: test\n" +
+                "            level: critical\n" +
+                "            description: Detects QuarksPwDump clearing access history in hive\n" +
+                "            author: Florian Roth\n" +
+                "            date: 2017/05/15\n" +
+                "            logsource:\n" +
+                "                category: test_category\n" +
+                "                product: test_product\n" +
+                "            detection:\n" +
+                "                sel_a:\n" +
+                "                    fieldA: valueA\n" +
+                "                sel_b:\n" +
+                "                    fieldC: valueC\n" +
+                "                timeframe: 5m\n" +
+                "                condition: sel_a | followed_by sel_b by fieldB", true);
+
+        OSQueryBackend queryBackend = new OSQueryBackend("windows", true, true);
+        Assert.assertEquals(2, queryBackend.convertRule(rule).size());
+        Assert.assertEquals(2, queryBackend.convertRule(rule).size());
+        Assert.assertEquals(List.of("sel_a", "sel_b"), rule.getDetection().getParsedCondition().get(0).parsed().getRight().getSequenceSelections());
+    }
+
+    public void testSequenceRequiresTimeframe() throws IOException {
+        // errors are only thrown by a backend which does not collect them
+        OSQueryBackend queryBackend = new OSQueryBackend("windows", false, true);
+        expectThrows(SigmaConditionError.class, () -> queryBackend.convertRule(SigmaRule.fromYaml(
+                "            title: Test\n" +
+                "            id: 39f919f3-980b-4e6f-a975-8af7e507ef2b\n" +
+                "            status: test\n" +
+                "            level: critical\n" +
+                "            description: Detects QuarksPwDump clearing access history in hive\n" +
+                "            author: Florian Roth\n" +
+                "            date: 2017/05/15\n" +
+                "            logsource:\n" +
+                "                category: test_category\n" +
+                "                product: test_product\n" +
+                "            detection:\n" +
+                "                sel_a:\n" +
+                "                    fieldA: valueA\n" +
+                "                sel_b:\n" +
+                "                    fieldC: valueC\n" +
+                "                condition: sel_a | near sel_b", true)));
+    }
+
+    public void testPercentOutsideOfRangeRejected() throws IOException {
+        OSQueryBackend queryBackend = new OSQueryBackend("windows", false, true);
+        expectThrows(SigmaConditionError.class, () -> queryBackend.convertRule(SigmaRule.fromYaml(
+                ruleWithCondition("sel | percentiles(fieldD, 150) by fieldB > 1000"), true)));
+        expectThrows(SigmaConditionError.class, () -> queryBackend.convertRule(SigmaRule.fromYaml(
+                ruleWithCondition("sel | percentiles(fieldD, -5) by fieldB > 1000"), true)));
+    }
+
+    public void testPrecisionThresholdNotPositiveIntegerRejected() throws IOException {
+        OSQueryBackend queryBackend = new OSQueryBackend("windows", false, true);
+        expectThrows(SigmaConditionError.class, () -> queryBackend.convertRule(SigmaRule.fromYaml(
+                ruleWithCondition("sel | cardinality(fieldD, 0) by fieldB > 50"), true)));
+        expectThrows(SigmaConditionError.class, () -> queryBackend.convertRule(SigmaRule.fromYaml(
+                ruleWithCondition("sel | cardinality(fieldD, -100) by fieldB > 50"), true)));
+        expectThrows(SigmaConditionError.class, () -> queryBackend.convertRule(SigmaRule.fromYaml(
+                ruleWithCondition("sel | cardinality(fieldD, 10.5) by fieldB > 50"), true)));
+    }
+
+    public void testParameterOfOtherFunctionsRejected() throws IOException {
+        OSQueryBackend queryBackend = new OSQueryBackend("windows", false, true);
+        expectThrows(SigmaConditionError.class, () -> queryBackend.convertRule(SigmaRule.fromYaml(
+                ruleWithCondition("sel | count(fieldD, 5) by fieldB > 1"), true)));
+        expectThrows(SigmaConditionError.class, () -> queryBackend.convertRule(SigmaRule.fromYaml(
+                ruleWithCondition("sel | sum(fieldD, 5) by fieldB > 1"), true)));
+    }
+
+    public void testInvalidParameterCollected() throws IOException, SigmaError {
+        for (OSQueryBackend queryBackend: List.of(new OSQueryBackend("windows", true, true), new OSQueryBuilderBackend("windows", true, true))) {
+            queryBackend.convertRule(SigmaRule.fromYaml(ruleWithCondition("sel | percentiles(fieldD, 150) by fieldB > 1000"), true));
+
+            Assert.assertEquals(1, queryBackend.getErrors().size());
+            Assert.assertTrue(queryBackend.getErrors().get(0).getRight() instanceof SigmaAggregationParameterError);
+        }
+    }
+
+    private static String ruleWithCondition(String condition) {
+        return "            title: Test\n" +
+                "            id: 39f919f3-980b-4e6f-a975-8af7e507ef2b\n" +
+                "            status: test\n" +
+                "            level: critical\n" +
+                "            description: Detects QuarksPwDump clearing access history in hive\n" +
+                "            author: Florian Roth\n" +
+                "            date: 2017/05/15\n" +
+                "            logsource:\n" +
+                "                category: test_category\n" +
+                "                product: test_product\n" +
+                "            detection:\n" +
+                "                sel:\n" +
+                "                    fieldA: valueA\n" +
+                "                condition: " + condition;
+    }
 }
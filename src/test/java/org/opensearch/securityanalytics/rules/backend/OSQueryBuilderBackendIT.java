@@ -0,0 +1,125 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.rules.backend;
+
+import org.junit.Assert;
+import org.opensearch.common.Strings;
+import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.securityanalytics.SecurityAnalyticsRestTestCase;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
+import org.opensearch.securityanalytics.rules.objects.SigmaRule;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.opensearch.securityanalytics.TestHelpers.randomIndex;
+
+public class OSQueryBuilderBackendIT extends SecurityAnalyticsRestTestCase {
+
+    private static final Map<String, String> FIELD_TYPES = Map.of("textField", "text", "keywordField", "keyword");
+
+    public void testQueryDslMatchesSameDocsAsQueryString() throws IOException, SigmaError {
+        String index = createTestIndex(randomIndex(), mapping());
+        indexDoc(index, "1", "{\"textField\": \"Remote Desktop Connection\", \"keywordField\": \"cmd.exe\", \"number\": 4624}");
+        indexDoc(index, "2", "{\"textField\": \"remote shell\", \"keywordField\": \"powershell.exe\", \"number\": 4625}");
+        indexDoc(index, "3", "{\"textField\": \"Desktop\", \"keywordField\": \"cmd.exe.bak\", \"number\": 4688}");
+
+        List<String> detections = List.of(
+                "                sel:\n" +
+                "                    textField: Desktop\n" +
+                "                condition: sel",
+                "                sel:\n" +
+                "                    textField|startswith: remote\n" +
+                "                condition: sel",
+                "                sel:\n" +
+                "                    keywordField: cmd.exe\n" +
+                "                condition: sel",
+                "                sel:\n" +
+                "                    keywordField|endswith: '.exe'\n" +
+                "                condition: sel",
+                "                sel:\n" +
+                "                    keywordField:\n" +
+                "                        - cmd.exe\n" +
+                "                        - powershell.exe\n" +
+                "                condition: sel",
+                "                sel:\n" +
+                "                    number:\n" +
+                "                        - 4624\n" +
+                "                        - 4688\n" +
+                "                condition: sel",
+                "                sel:\n" +
+                "                    textField: desktop\n" +
+                "                filter:\n" +
+                "                    keywordField|contains: bak\n" +
+                "                condition: sel and not filter"
+        );
+        for (String detection: detections) {
+            SigmaRule rule = SigmaRule.fromYaml(rule(detection), true);
+            String queryString = new OSQueryBackend("others_proxy", true, true).convertRule(rule).get(0).toString();
+
+            OSQueryBuilderBackend queryBuilderBackend = new OSQueryBuilderBackend("others_proxy", true, true);
+            queryBuilderBackend.setFieldTypes(FIELD_TYPES);
+            QueryBuilder queryDsl = (QueryBuilder) queryBuilderBackend.convertRule(rule).get(0);
+
+            Assert.assertEquals(detection, search(index, QueryBuilders.queryStringQuery(queryString)), search(index, queryDsl));
+        }
+    }
+
+    public void testQueryDslMatchesKeywordsIgnoringCase() throws IOException, SigmaError {
+        String index = createTestIndex(randomIndex(), mapping());
+        indexDoc(index, "1", "{\"keywordField\": \"cmd.exe\"}");
+        indexDoc(index, "2", "{\"keywordField\": \"CMD.EXE\"}");
+        indexDoc(index, "3", "{\"keywordField\": \"C:\\\\Windows\\\\System32\\\\Cmd.exe\"}");
+
+        OSQueryBuilderBackend backend = new OSQueryBuilderBackend("others_proxy", true, true);
+        backend.setFieldTypes(FIELD_TYPES);
+        QueryBuilder equals = (QueryBuilder) backend.convertRule(SigmaRule.fromYaml(rule(
+                "                sel:\n" +
+                "                    keywordField: Cmd.Exe\n" +
+                "                condition: sel"), true)).get(0);
+        Assert.assertEquals(Set.of("1", "2"), search(index, equals));
+
+        QueryBuilder endswith = (QueryBuilder) backend.convertRule(SigmaRule.fromYaml(rule(
+                "                sel:\n" +
+                "                    keywordField|endswith: '\\cmd.exe'\n" +
+                "                condition: sel"), true)).get(0);
+        Assert.assertEquals(Set.of("3"), search(index, endswith));
+    }
+
+    private Set<String> search(String index, QueryBuilder query) throws IOException {
+        List<SearchHit> hits = executeSearch(index, Strings.toString(XContentType.JSON, new SearchSourceBuilder().query(query).size(100)));
+        return hits.stream().map(SearchHit::getId).collect(Collectors.toSet());
+    }
+
+    private static String mapping() {
+        return "\"properties\": {\n" +
+                "    \"textField\": {\"type\": \"text\"},\n" +
+                "    \"keywordField\": {\"type\": \"keyword\"},\n" +
+                "    \"number\": {\"type\": \"integer\"}\n" +
+                "}";
+    }
+
+    private static String rule(String detection) {
+        return "            title: Test\n" +
+                "            id: 39f919f3-980b-4e6f-a975-8af7e507ef2b\n" +
+                "            status: test\n" +
+                "            level: critical\n" +
+                "            description: Compares the query_string and query DSL forms of a rule\n" +
+                "            author: Security Analytics\n" +
+                "            date: 2023/01/15\n" +
+                "            logsource:\n" +
+                "                category: test_category\n" +
+                "                product: test_product\n" +
+                "            detection:\n" +
+                detection;
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.rules.backend;
+
+import org.junit.Assert;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
+import org.opensearch.securityanalytics.rules.objects.SigmaRule;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+public class OSQueryBuilderBackendTests extends OpenSearchTestCase {
+
+    public void testAndOfEquals() throws IOException, SigmaError {
+        List<Object> queries = testBackend().convertRule(SigmaRule.fromYaml(rule(
+                "                sel:\n" +
+                "                    fieldA: value1\n" +
+                "                    fieldB: value2\n" +
+                "                condition: sel"), false));
+        QueryBuilder expected = QueryBuilders.boolQuery()
+                .filter(QueryBuilders.matchPhraseQuery("fieldA", "value1"))
+                .filter(QueryBuilders.matchPhraseQuery("mappedB", "value2"));
+        Assert.assertEquals(expected, queries.get(0));
+    }
+
+    public void testKeywordFieldIgnoresCase() throws IOException, SigmaError {
+        OSQueryBuilderBackend backend = testBackend();
+        backend.setFieldTypes(Map.of("fieldA", "keyword"));
+        List<Object> queries = backend.convertRule(SigmaRule.fromYaml(rule(
+                "                sel:\n" +
+                "                    fieldA: Value1\n" +
+                "                condition: sel"), false));
+        Assert.assertEquals(QueryBuilders.termQuery("fieldA", "Value1").caseInsensitive(true), queries.get(0));
+    }
+
+    public void testSameFieldOrOfNumbersAsTerms() throws IOException, SigmaError {
+        List<Object> queries = testBackend().convertRule(SigmaRule.fromYaml(rule(
+                "                sel:\n" +
+                "                    fieldA1:\n" +
+                "                        - 4624\n" +
+                "                        - 4625\n" +
+                "                condition: sel"), false));
+        Assert.assertEquals(QueryBuilders.termsQuery("mappedA", List.of(4624, 4625)), queries.get(0));
+    }
+
+    public void testSameFieldOrOfStringsIsNotTerms() throws IOException, SigmaError {
+        List<Object> queries = testBackend().convertRule(SigmaRule.fromYaml(rule(
+                "                sel:\n" +
+                "                    fieldA1:\n" +
+                "                        - value1\n" +
+                "                        - value2\n" +
+                "                condition: sel"), false));
+        QueryBuilder expected = QueryBuilders.boolQuery()
+                .should(QueryBuilders.matchPhraseQuery("mappedA", "value1"))
+                .should(QueryBuilders.matchPhraseQuery("mappedA", "value2"))
+                .minimumShouldMatch(1);
+        Assert.assertEquals(expected, queries.get(0));
+    }
+
+    public void testMixedFieldOr() throws IOException, SigmaError {
+        List<Object> queries = testBackend().convertRule(SigmaRule.fromYaml(rule(
+                "                sel1:\n" +
+                "                    fieldA: value1\n" +
+                "                sel2:\n" +
+                "                    fieldB: value2\n" +
+                "                condition: sel1 or sel2"), false));
+        QueryBuilder expected = QueryBuilders.boolQuery()
+                .should(QueryBuilders.matchPhraseQuery("fieldA", "value1"))
+                .should(QueryBuilders.matchPhraseQuery("mappedB", "value2"))
+                .minimumShouldMatch(1);
+        Assert.assertEquals(expected, queries.get(0));
+    }
+
+    public void testNot() throws IOException, SigmaError {
+        List<Object> queries = testBackend().convertRule(SigmaRule.fromYaml(rule(
+                "                sel:\n" +
+                "                    fieldA: value1\n" +
+                "                condition: not sel"), false));
+        Assert.assertEquals(QueryBuilders.boolQuery().mustNot(QueryBuilders.matchPhraseQuery("fieldA", "value1")), queries.get(0));
+    }
+
+    public void testWildcards() throws IOException, SigmaError {
+        List<Object> queries = testBackend().convertRule(SigmaRule.fromYaml(rule(
+                "                sel:\n" +
+                "                    fieldA|startswith: 'C:\\Windows'\n" +
+                "                condition: sel"), false));
+        Assert.assertEquals(QueryBuilders.wildcardQuery("fieldA", "C:\\\\Windows*").caseInsensitive(true), queries.get(0));
+    }
+
+    public void testRegularExpression() throws IOException, SigmaError {
+        List<Object> queries = testBackend().convertRule(SigmaRule.fromYaml(rule(
+                "                sel:\n" +
+                "                    fieldA|re: 'foo.*bar'\n" +
+                "                condition: sel"), false));
+        Assert.assertEquals(QueryBuilders.regexpQuery("fieldA", "foo.*bar"), queries.get(0));
+    }
+
+    public void testCompare() throws IOException, SigmaError {
+        List<Object> queries = testBackend().convertRule(SigmaRule.fromYaml(rule(
+                "                sel:\n" +
+                "                    fieldA|gt: 10\n" +
+                "                condition: sel"), false));
+        Assert.assertEquals(QueryBuilders.rangeQuery("fieldA").gt(10), queries.get(0));
+    }
+
+    public void testCidr() throws IOException, SigmaError {
+        List<Object> queries = testBackend().convertRule(SigmaRule.fromYaml(rule(
+                "                sel:\n" +
+                "                    fieldA|cidr: 10.10.10.0/24\n" +
+                "                condition: sel"), false));
+        Assert.assertEquals(QueryBuilders.termQuery("fieldA", "10.10.10.0/24"), queries.get(0));
+    }
+
+    public void testCidrOnKeywordField() throws IOException, SigmaError {
+        OSQueryBuilderBackend backend = testBackend();
+        backend.setFieldTypes(Map.of("fieldA", "keyword"));
+        List<Object> queries = backend.convertRule(SigmaRule.fromYaml(rule(
+                "                sel:\n" +
+                "                    fieldA|cidr: 10.10.0.0/15\n" +
+                "                condition: sel"), false));
+        QueryBuilder expected = QueryBuilders.boolQuery()
+                .should(QueryBuilders.prefixQuery("fieldA", "10.10."))
+                .should(QueryBuilders.prefixQuery("fieldA", "10.11."));
+        Assert.assertEquals(expected, queries.get(0));
+    }
+
+    public void testIpv6CidrOnIpField() throws IOException, SigmaError {
+        OSQueryBuilderBackend backend = testBackend();
+        backend.setFieldTypes(Map.of("fieldA", "ip"));
+        List<Object> queries = backend.convertRule(SigmaRule.fromYaml(rule(
+                "                sel:\n" +
+                "                    fieldA|cidr: '2001:db8::/33'\n" +
+                "                condition: sel"), false));
+        Assert.assertEquals(QueryBuilders.termQuery("fieldA", "2001:db8::/33"), queries.get(0));
+    }
+
+    public void testNull() throws IOException, SigmaError {
+        List<Object> queries = testBackend().convertRule(SigmaRule.fromYaml(rule(
+                "                sel:\n" +
+                "                    fieldA1: null\n" +
+                "                condition: sel"), false));
+        Assert.assertEquals(QueryBuilders.boolQuery().mustNot(QueryBuilders.existsQuery("mappedA")), queries.get(0));
+    }
+
+    public void testAggregationIsConverted() throws IOException, SigmaError {
+        List<Object> queries = testBackend().convertRule(SigmaRule.fromYaml(rule(
+                "                sel:\n" +
+                "                    fieldA: value1\n" +
+                "                condition: sel | count(*) by fieldB > 5"), false));
+        Assert.assertEquals(2, queries.size());
+        Assert.assertTrue(queries.get(1) instanceof OSQueryBackend.AggregationQueries);
+    }
+
+    public void testAcceleratedContainsAndEndswith() throws IOException, SigmaError {
+        OSQueryBuilderBackend backend = new OSQueryBuilderBackend("others_proxy", true, true, false, Map.of("fieldA", "process.command_line"));
+        List<Object> queries = backend.convertRule(SigmaRule.fromYaml(rule(
+                "                sel:\n" +
+                "                    fieldA|contains: 'mimikatz'\n" +
+                "                    fieldA|endswith: '.exe'\n" +
+                "                    fieldB|contains: 'foo'\n" +
+                "                condition: sel"), false));
+        QueryBuilder expected = QueryBuilders.boolQuery()
+                .filter(QueryBuilders.matchPhraseQuery("process.command_line.sap_ngram", "mimikatz"))
+                .filter(QueryBuilders.prefixQuery("process.command_line.sap_reverse", "exe."))
+                .filter(QueryBuilders.wildcardQuery("mappedB", "*foo*").caseInsensitive(true));
+        Assert.assertEquals(expected, queries.get(0));
+    }
+
+    public void testShortContainsIsNotAccelerated() throws IOException, SigmaError {
+        OSQueryBuilderBackend backend = new OSQueryBuilderBackend("others_proxy", true, true, false, Map.of("fieldA", "fieldA"));
+        List<Object> queries = backend.convertRule(SigmaRule.fromYaml(rule(
+                "                sel:\n" +
+                "                    fieldA|contains: 'ab'\n" +
+                "                condition: sel"), false));
+        Assert.assertEquals(QueryBuilders.wildcardQuery("fieldA", "*ab*").caseInsensitive(true), queries.get(0));
+    }
+
+    private OSQueryBuilderBackend testBackend() throws IOException {
+        return new OSQueryBuilderBackend("others_proxy", true, true);
+    }
+
+    private String rule(String detection) {
+        return "            title: Test\n" +
+                "            id: 39f919f3-980b-4e6f-a975-8af7e507ef2b\n" +
+                "            status: test\n" +
+                "            level: critical\n" +
+                "            description: Detects QuarksPwDump clearing access history in hive\n" +
+                "            author: Florian Roth\n" +
+                "            date: 2017/05/15\n" +
+                "            logsource:\n" +
+                "                category: test_category\n" +
+                "                product: test_product\n" +
+                "            detection:\n" +
+                detection;
+    }
+}
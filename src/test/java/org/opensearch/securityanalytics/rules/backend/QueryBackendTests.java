@@ -15,6 +15,7 @@ import org.opensearch.test.OpenSearchTestCase;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 public class QueryBackendTests extends OpenSearchTestCase {
 
@@ -621,6 +622,27 @@ public class QueryBackendTests extends OpenSearchTestCase {
         assertTrue(actualMessage.contains(expectedMessage));
     }
 
+    public void testConvertValueCidrOnKeywordField() throws IOException, SigmaError {
+        OSQueryBackend queryBackend = testBackend();
+        queryBackend.setFieldTypes(Map.of("mappedA", "keyword"));
+        List<Object> queries = queryBackend.convertRule(SigmaRule.fromYaml(
+                "            title: Test\n" +
+                "            id: 39f919f3-980b-4e6f-a975-8af7e507ef2b\n" +
+                "            status: test\n" +
+                "            level: critical\n" +
+                "            description: Detects QuarksPwDump clearing access history in hive\n" +
+                "            author: Florian Roth\n" +
+                "            date: 2017/05/15\n" +
+                "            logsource:\n" +
+                "                category: test_category\n" +
+                "                product: test_product\n" +
+                "            detection:\n" +
+                "                sel:\n" +
+                "                    fieldA1|cidr: 192.168.0.0/14\n" +
+                "                condition: sel", false));
+        Assert.assertEquals("(mappedA: 192.168.* OR mappedA: 192.169.* OR mappedA: 192.170.* OR mappedA: 192.171.*)", queries.get(0).toString());
+    }
+
     public void testConvertInvalidCidr() throws IOException {
         OSQueryBackend queryBackend = testBackend();
         Exception exception = assertThrows(SigmaValueError.class, () -> {
@@ -0,0 +1,101 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.rules.backend;
+
+import org.junit.Assert;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaRegularExpressionError;
+import org.opensearch.securityanalytics.rules.objects.SigmaRule;
+import org.opensearch.securityanalytics.rules.types.SigmaRegularExpression;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+import java.util.List;
+
+public class RegexComplexityAnalyzerTests extends OpenSearchTestCase {
+
+    public void testStatesOfRule() throws SigmaError {
+        RegexComplexityAnalyzer analyzer = new RegexComplexityAnalyzer(10000);
+        Assert.assertEquals(0L, analyzer.analyze(rule(
+                "                sel:\n" +
+                "                    fieldA: value1\n" +
+                "                condition: sel")));
+
+        long simple = analyzer.analyze(rule(
+                "                sel:\n" +
+                "                    fieldA|re: 'ab.*'\n" +
+                "                condition: sel"));
+        long complex = analyzer.analyze(rule(
+                "                sel1:\n" +
+                "                    fieldA|re: 'ab.*'\n" +
+                "                sel2:\n" +
+                "                    fieldB|re: '(a|b)*a(a|b){4}'\n" +
+                "                condition: sel1 or sel2"));
+        Assert.assertTrue(simple > 0L);
+        Assert.assertTrue(complex > simple);
+    }
+
+    public void testDeterminizationBudget() {
+        RegexComplexityAnalyzer analyzer = new RegexComplexityAnalyzer(1000);
+        expectThrows(SigmaRegularExpressionError.class, () -> analyzer.states("(a|b)*a(a|b){12}"));
+        expectThrows(SigmaRegularExpressionError.class, () -> analyzer.analyze(rule(
+                "                sel:\n" +
+                "                    fieldA|re: '(a|b)*a(a|b){12}'\n" +
+                "                condition: sel")));
+    }
+
+    public void testInvalidLuceneSyntax() {
+        RegexComplexityAnalyzer analyzer = new RegexComplexityAnalyzer(10000);
+        expectThrows(SigmaRegularExpressionError.class, () -> analyzer.states("ab(c"));
+    }
+
+    public void testToPrefixOrTerm() throws SigmaRegularExpressionError {
+        Assert.assertEquals("foo", new SigmaRegularExpression("foo").toPrefixOrTerm().toString());
+        Assert.assertEquals("foo.exe*", new SigmaRegularExpression("foo\\.exe.*").toPrefixOrTerm().toString());
+        Assert.assertNull(new SigmaRegularExpression("fo+").toPrefixOrTerm());
+        Assert.assertNull(new SigmaRegularExpression(".*foo").toPrefixOrTerm());
+        Assert.assertNull(new SigmaRegularExpression("foo\\d").toPrefixOrTerm());
+        Assert.assertNull(new SigmaRegularExpression(".*").toPrefixOrTerm());
+    }
+
+    public void testRewriteSimpleRegex() throws IOException, SigmaError {
+        OSQueryBackend queryBackend = new OSQueryBackend("others_proxy", true, true);
+        queryBackend.setRewriteSimpleRegex(true);
+
+        List<Object> queries = queryBackend.convertRule(rule(
+                "                sel:\n" +
+                "                    fieldA1|re: 'value.*'\n" +
+                "                condition: sel"));
+        Assert.assertEquals("mappedA: value*", queries.get(0).toString());
+
+        queries = queryBackend.convertRule(rule(
+                "                sel:\n" +
+                "                    fieldA1|re: 'value'\n" +
+                "                condition: sel"));
+        Assert.assertEquals("mappedA: \"value\"", queries.get(0).toString());
+
+        queries = queryBackend.convertRule(rule(
+                "                sel:\n" +
+                "                    fieldA1|re: 'val.*ue'\n" +
+                "                condition: sel"));
+        Assert.assertEquals("mappedA: /val.*ue/", queries.get(0).toString());
+    }
+
+    private SigmaRule rule(String detection) throws SigmaError {
+        return SigmaRule.fromYaml(
+                "            title: Test\n" +
+                "            id: 39f919f3-980b-4e6f-a975-8af7e507ef2b\n" +
+                "            status: test\n" +
+                "            level: critical\n" +
+                "            description: Detects QuarksPwDump clearing access history in hive\n" +
+                "            author: Florian Roth\n" +
+                "            date: 2017/05/15\n" +
+                "            logsource:\n" +
+                "                category: test_category\n" +
+                "                product: test_product\n" +
+                "            detection:\n" +
+                detection, true);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.rules.backend;
+
+import org.junit.Assert;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
+import org.opensearch.securityanalytics.rules.objects.SigmaRule;
+import org.opensearch.securityanalytics.rules.types.SigmaString;
+import org.opensearch.test.OpenSearchTestCase;
+
+public class RuleCostEstimatorTests extends OpenSearchTestCase {
+
+    public void testStringCost() {
+        Assert.assertEquals(RuleCostEstimator.TERM_COST, RuleCostEstimator.stringCost(new SigmaString("foo")));
+        Assert.assertEquals(RuleCostEstimator.TERM_COST + RuleCostEstimator.WILDCARD_COST, RuleCostEstimator.stringCost(new SigmaString("foo*")));
+        Assert.assertEquals(RuleCostEstimator.TERM_COST + RuleCostEstimator.LEADING_WILDCARD_COST + RuleCostEstimator.WILDCARD_COST,
+                RuleCostEstimator.stringCost(new SigmaString("*foo*")));
+    }
+
+    public void testRegexCostGrowsWithQuantifiers() {
+        Assert.assertTrue(RuleCostEstimator.regexCost(".*foo.*bar") > RuleCostEstimator.regexCost("foo.*"));
+        Assert.assertTrue(RuleCostEstimator.regexCost("foo\\*") < RuleCostEstimator.regexCost("foo*"));
+    }
+
+    public void testLeadingWildcardMoreExpensiveThanTerm() throws SigmaError {
+        long term = estimate(
+                "                sel:\n" +
+                "                    fieldA: value1\n" +
+                "                condition: sel");
+        long endswith = estimate(
+                "                sel:\n" +
+                "                    fieldA|endswith: value1\n" +
+                "                condition: sel");
+        long regex = estimate(
+                "                sel:\n" +
+                "                    fieldA|re: '.*value1'\n" +
+                "                condition: sel");
+        Assert.assertTrue(term < endswith);
+        Assert.assertTrue(endswith < regex);
+    }
+
+    public void testOrFanOutAndFieldsAddCost() throws SigmaError {
+        long single = estimate(
+                "                sel:\n" +
+                "                    fieldA: value1\n" +
+                "                condition: sel");
+        long fanOut = estimate(
+                "                sel:\n" +
+                "                    fieldA:\n" +
+                "                        - value1\n" +
+                "                        - value2\n" +
+                "                        - value3\n" +
+                "                condition: sel");
+        long fields = estimate(
+                "                sel:\n" +
+                "                    fieldA: value1\n" +
+                "                    fieldB: value2\n" +
+                "                condition: sel");
+        Assert.assertTrue(single < fanOut);
+        Assert.assertTrue(single < fields);
+    }
+
+    public void testUnboundKeywordsAreExpensive() throws SigmaError {
+        long bound = estimate(
+                "                sel:\n" +
+                "                    fieldA: value1\n" +
+                "                condition: sel");
+        long keywords = estimate(
+                "                keywords:\n" +
+                "                    - value1\n" +
+                "                condition: keywords");
+        Assert.assertTrue(bound + RuleCostEstimator.UNBOUND_VALUE_COST - RuleCostEstimator.FIELD_COST <= keywords);
+    }
+
+    private long estimate(String detection) throws SigmaError {
+        return new RuleCostEstimator().estimate(SigmaRule.fromYaml(
+                "            title: Test\n" +
+                "            id: 39f919f3-980b-4e6f-a975-8af7e507ef2b\n" +
+                "            status: test\n" +
+                "            level: critical\n" +
+                "            description: Detects QuarksPwDump clearing access history in hive\n" +
+                "            author: Florian Roth\n" +
+                "            date: 2017/05/15\n" +
+                "            logsource:\n" +
+                "                category: test_category\n" +
+                "                product: test_product\n" +
+                "            detection:\n" +
+                detection, true));
+    }
+}
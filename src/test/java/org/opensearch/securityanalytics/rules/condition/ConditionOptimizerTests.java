@@ -0,0 +1,124 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.rules.condition;
+
+import org.junit.Assert;
+import org.opensearch.securityanalytics.rules.backend.OSQueryBackend;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
+import org.opensearch.securityanalytics.rules.objects.SigmaRule;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+import java.util.List;
+
+public class ConditionOptimizerTests extends OpenSearchTestCase {
+
+    public void testFlattenNestedOr() throws IOException, SigmaError {
+        List<Object> queries = optimizedBackend().convertRule(SigmaRule.fromYaml(rule(
+                "                sel1:\n" +
+                "                    fieldA1: value1\n" +
+                "                sel2:\n" +
+                "                    fieldA1: value2\n" +
+                "                sel3:\n" +
+                "                    fieldA1: value4\n" +
+                "                condition: sel1 or sel2 or sel3"), false));
+        Assert.assertEquals("mappedA: (\"value1\" OR \"value2\" OR \"value4\")", queries.get(0).toString());
+    }
+
+    public void testDuplicatePredicatesRemoved() throws IOException, SigmaError {
+        List<Object> queries = optimizedBackend().convertRule(SigmaRule.fromYaml(rule(
+                "                sel1:\n" +
+                "                    fieldA: value1\n" +
+                "                sel2:\n" +
+                "                    fieldA: value1\n" +
+                "                condition: sel1 or sel2"), false));
+        Assert.assertEquals("fieldA: \"value1\"", queries.get(0).toString());
+    }
+
+    public void testSameFieldFoldedUnderMixedOr() throws IOException, SigmaError {
+        List<Object> queries = optimizedBackend().convertRule(SigmaRule.fromYaml(rule(
+                "                sel1:\n" +
+                "                    fieldA: value1\n" +
+                "                sel2:\n" +
+                "                    fieldB: value2\n" +
+                "                sel3:\n" +
+                "                    fieldA: value3\n" +
+                "                condition: sel1 or sel2 or sel3"), false));
+        Assert.assertEquals("(mappedB: \"value2\") OR (fieldA: (\"value1\" OR \"value3\"))", queries.get(0).toString());
+    }
+
+    public void testSameFieldWildcardsFolded() throws IOException, SigmaError {
+        List<Object> queries = optimizedBackend().convertRule(SigmaRule.fromYaml(rule(
+                "                sel:\n" +
+                "                    fieldA|endswith:\n" +
+                "                        - value1\n" +
+                "                        - value2\n" +
+                "                condition: sel"), false));
+        Assert.assertEquals("fieldA: (*value1 OR *value2)", queries.get(0).toString());
+    }
+
+    public void testNotPushedDown() throws IOException, SigmaError {
+        List<Object> queries = optimizedBackend().convertRule(SigmaRule.fromYaml(rule(
+                "                sel1:\n" +
+                "                    fieldA: value1\n" +
+                "                sel2:\n" +
+                "                    fieldB: value2\n" +
+                "                condition: not (sel1 or sel2)"), false));
+        Assert.assertEquals("((NOT fieldA: \"value1\")) AND ((NOT mappedB: \"value2\"))", queries.get(0).toString());
+    }
+
+    public void testDoubleNegationRemoved() throws IOException, SigmaError {
+        List<Object> queries = optimizedBackend().convertRule(SigmaRule.fromYaml(rule(
+                "                sel:\n" +
+                "                    fieldA: value1\n" +
+                "                condition: not (not sel)"), false));
+        Assert.assertEquals("fieldA: \"value1\"", queries.get(0).toString());
+    }
+
+    public void testCheapPredicatesFirst() throws IOException, SigmaError {
+        List<Object> queries = optimizedBackend().convertRule(SigmaRule.fromYaml(rule(
+                "                sel:\n" +
+                "                    fieldA|contains: foo\n" +
+                "                    fieldB: bar\n" +
+                "                condition: sel"), false));
+        Assert.assertEquals("(mappedB: \"bar\") AND (fieldA: *foo*)", queries.get(0).toString());
+    }
+
+    public void testOptimizerDisabledByDefault() throws IOException, SigmaError {
+        List<Object> queries = new OSQueryBackend("others_proxy", true, true).convertRule(SigmaRule.fromYaml(rule(
+                "                sel:\n" +
+                "                    fieldA|contains: foo\n" +
+                "                    fieldB: bar\n" +
+                "                condition: sel"), false));
+        Assert.assertEquals("(fieldA: *foo*) AND (mappedB: \"bar\")", queries.get(0).toString());
+
+        queries = new OSQueryBackend("others_proxy", true, true).convertRule(SigmaRule.fromYaml(rule(
+                "                sel1:\n" +
+                "                    fieldA: value1\n" +
+                "                sel2:\n" +
+                "                    fieldA: value3\n" +
+                "                condition: sel1 or sel2"), false));
+        Assert.assertEquals("(fieldA: \"value1\") OR (fieldA: \"value3\")", queries.get(0).toString());
+    }
+
+    private OSQueryBackend optimizedBackend() throws IOException {
+        return new OSQueryBackend("others_proxy", true, true, true);
+    }
+
+    private String rule(String detection) {
+        return "            title: Test\n" +
+                "            id: 39f919f3-980b-4e6f-a975-8af7e507ef2b\n" +
+                "            status: test\n" +
+                "            level: critical\n" +
+                "            description: Detects QuarksPwDump clearing access history in hive\n" +
+                "            author: Florian Roth\n" +
+                "            date: 2017/05/15\n" +
+                "            logsource:\n" +
+                "                category: test_category\n" +
+                "                product: test_product\n" +
+                "            detection:\n" +
+                detection;
+    }
+}
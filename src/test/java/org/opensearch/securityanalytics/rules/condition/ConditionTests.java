@@ -312,6 +312,24 @@ public class ConditionTests extends OpenSearchTestCase {
         assertTrue(actualMessage.contains(expectedMessage));
     }
 
+    public void testCachedConditionIsBoundPerDetections() throws SigmaError {
+        ConditionItem first = new SigmaCondition("detection1 and not other", sigmaSimpleDetections()).parsed().getLeft();
+        ConditionItem second = new SigmaCondition("detection1  and\tnot other ", sigmaSimpleDetections()).parsed().getLeft();
+
+        Assert.assertEquals(ConditionAND.class, first.getClass());
+        Assert.assertEquals(ConditionAND.class, second.getClass());
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals("val1", second.getArgs().get(0).getLeft().get().getValue().toString());
+        Assert.assertEquals(ConditionNOT.class, second.getArgs().get(1).getLeft().getLeft().getClass());
+    }
+
+    public void testParsedCanBeCalledRepeatedly() throws SigmaError {
+        SigmaCondition sigmaCondition = new SigmaCondition("1 of detection* | count(*) by fieldA > 5", sigmaSimpleDetections());
+        Assert.assertEquals(ConditionOR.class, sigmaCondition.parsed().getLeft().getClass());
+        Assert.assertEquals(ConditionOR.class, sigmaCondition.parsed().getLeft().getClass());
+        Assert.assertEquals("fieldA", sigmaCondition.parsed().getRight().getGroupByField());
+    }
+
     private SigmaDetections sigmaSimpleDetections() throws SigmaError {
         Map<String, SigmaDetection> detections = new HashMap<>();
 
@@ -0,0 +1,52 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.rules.evaluator;
+
+import org.junit.Assert;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public class AhoCorasickAutomatonTests extends OpenSearchTestCase {
+
+    public void testOverlappingPatterns() {
+        AhoCorasickAutomaton automaton = new AhoCorasickAutomaton(List.of("he", "she", "his", "hers"));
+        List<String> matches = new ArrayList<>();
+        automaton.search("uSHErs", (patternId, start, end) -> matches.add(patternId + "@" + start + "-" + end));
+        Assert.assertEquals(List.of("1@1-4", "0@2-4", "3@2-6"), matches);
+    }
+
+    public void testNoMatch() {
+        AhoCorasickAutomaton automaton = new AhoCorasickAutomaton(List.of("mimikatz", "sekurlsa"));
+        List<Integer> matches = new ArrayList<>();
+        automaton.search("powershell -enc", (patternId, start, end) -> matches.add(patternId));
+        Assert.assertTrue(matches.isEmpty());
+        Assert.assertEquals(2, automaton.size());
+    }
+
+    public void testMatchesAgreeWithIndexOf() {
+        List<String> patterns = new ArrayList<>();
+        for (int i = 0; i < 50; ++i) {
+            patterns.add(randomAlphaOfLengthBetween(1, 4).toLowerCase(Locale.ROOT));
+        }
+        AhoCorasickAutomaton automaton = new AhoCorasickAutomaton(patterns);
+        String text = randomAlphaOfLength(200).toLowerCase(Locale.ROOT);
+
+        int[] counts = new int[patterns.size()];
+        automaton.search(text, (patternId, start, end) -> {
+            Assert.assertEquals(patterns.get(patternId), text.substring(start, end));
+            ++counts[patternId];
+        });
+        for (int i = 0; i < patterns.size(); ++i) {
+            int expected = 0;
+            for (int from = text.indexOf(patterns.get(i)); from >= 0; from = text.indexOf(patterns.get(i), from + 1)) {
+                ++expected;
+            }
+            Assert.assertEquals(expected, counts[i]);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.rules.evaluator;
+
+import org.junit.Assert;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
+import org.opensearch.securityanalytics.rules.objects.SigmaRule;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+
+public class RuleLiteralIndexTests extends OpenSearchTestCase {
+
+    public void testMatchTypes() throws IOException, SigmaError {
+        RuleLiteralIndex index = new RuleLiteralIndex();
+        index.addRule("contains", "others_proxy", rule(
+                "                sel:\n" +
+                "                    fieldA|contains: mimikatz\n" +
+                "                condition: sel"));
+        index.addRule("startswith", "others_proxy", rule(
+                "                sel:\n" +
+                "                    fieldA|startswith: 'C:\\Temp'\n" +
+                "                condition: sel"));
+        index.addRule("endswith", "others_proxy", rule(
+                "                sel:\n" +
+                "                    fieldA|endswith: '.ps1'\n" +
+                "                condition: sel"));
+        index.addRule("exact", "others_proxy", rule(
+                "                sel:\n" +
+                "                    fieldA: 'cmd.exe'\n" +
+                "                condition: sel"));
+
+        Assert.assertEquals(Set.of("contains", "startswith"), index.matchingRules("fieldA", "c:\\temp\\MIMIKATZ.exe"));
+        Assert.assertEquals(Set.of("endswith"), index.matchingRules("fieldA", "x.ps1"));
+        Assert.assertEquals(Set.of("exact"), index.matchingRules("fieldA", "CMD.EXE"));
+        Assert.assertEquals(Set.of(), index.matchingRules("fieldA", "run cmd.exe"));
+        Assert.assertEquals(Set.of(), index.matchingRules("fieldB", "mimikatz"));
+    }
+
+    public void testFieldMappingsAndNegationsAndDocuments() throws IOException, SigmaError {
+        RuleLiteralIndex index = new RuleLiteralIndex();
+        index.addRule("rule1", "others_proxy", rule(
+                "                sel:\n" +
+                "                    fieldA1|contains: evil\n" +
+                "                filter:\n" +
+                "                    fieldB|contains: good\n" +
+                "                condition: sel and not filter"));
+
+        Assert.assertEquals(Set.of("mappedA"), index.getFields());
+        Assert.assertEquals(Set.of("rule1"), index.matchingRules(Map.of("mappedA", "very evil", "mappedB", "good")));
+        Assert.assertEquals(Set.of(), index.matchingRules(Map.of("fieldA1", "very evil")));
+    }
+
+    public void testIncrementalUpdates() throws IOException, SigmaError {
+        RuleLiteralIndex index = new RuleLiteralIndex();
+        index.addRule("rule1", "others_proxy", rule(
+                "                sel:\n" +
+                "                    fieldA|contains:\n" +
+                "                        - foo\n" +
+                "                        - bar\n" +
+                "                condition: sel"));
+        index.addRule("rule2", "others_proxy", rule(
+                "                sel:\n" +
+                "                    fieldA|contains: foo\n" +
+                "                condition: sel"));
+        Assert.assertEquals(Set.of("rule1", "rule2"), index.matchingRules("fieldA", "xfoox"));
+
+        index.addRule("rule1", "others_proxy", rule(
+                "                sel:\n" +
+                "                    fieldC|contains: foo\n" +
+                "                condition: sel"));
+        Assert.assertEquals(Set.of("rule2"), index.matchingRules("fieldA", "xfoobar"));
+        Assert.assertEquals(Set.of("rule1"), index.matchingRules("fieldC", "xfoo"));
+
+        index.removeRule("rule2");
+        Assert.assertEquals(Set.of(), index.matchingRules("fieldA", "xfoobar"));
+        Assert.assertEquals(Set.of("fieldC"), index.getFields());
+    }
+
+    public void testRequiresLiteralMatch() throws IOException, SigmaError {
+        RuleLiteralIndex index = new RuleLiteralIndex();
+        index.addRule("and", "others_proxy", rule(
+                "                sel:\n" +
+                "                    fieldA|contains: foo\n" +
+                "                    fieldB|re: 'ba.*r'\n" +
+                "                condition: sel"));
+        index.addRule("or", "others_proxy", rule(
+                "                sel1:\n" +
+                "                    fieldA|contains: foo\n" +
+                "                sel2:\n" +
+                "                    fieldB|re: 'ba.*r'\n" +
+                "                condition: sel1 or sel2"));
+        index.addRule("not", "others_proxy", rule(
+                "                sel:\n" +
+                "                    fieldA|contains: foo\n" +
+                "                condition: not sel"));
+
+        Assert.assertTrue(index.requiresLiteralMatch("and"));
+        Assert.assertFalse(index.requiresLiteralMatch("or"));
+        Assert.assertFalse(index.requiresLiteralMatch("not"));
+
+        index.removeRule("and");
+        Assert.assertFalse(index.requiresLiteralMatch("and"));
+    }
+
+    private SigmaRule rule(String detection) throws SigmaError {
+        return SigmaRule.fromYaml(
+                "            title: Test\n" +
+                "            id: 39f919f3-980b-4e6f-a975-8af7e507ef2b\n" +
+                "            status: test\n" +
+                "            level: critical\n" +
+                "            description: Detects QuarksPwDump clearing access history in hive\n" +
+                "            author: Florian Roth\n" +
+                "            date: 2017/05/15\n" +
+                "            logsource:\n" +
+                "                category: test_category\n" +
+                "                product: test_product\n" +
+                "            detection:\n" +
+                detection, false);
+    }
+}
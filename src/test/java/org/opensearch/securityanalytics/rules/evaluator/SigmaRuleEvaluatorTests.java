@@ -0,0 +1,141 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.rules.evaluator;
+
+import org.junit.Assert;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaValueError;
+import org.opensearch.securityanalytics.rules.objects.SigmaRule;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class SigmaRuleEvaluatorTests extends OpenSearchTestCase {
+
+    public void testFieldMappingsApplied() throws IOException, SigmaError {
+        CompiledSigmaRule rule = compile(
+                "                sel:\n" +
+                "                    fieldA1: value1\n" +
+                "                    fieldB: value2\n" +
+                "                condition: sel");
+        Assert.assertTrue(rule.matches(Map.of("mappedA", "value1", "mappedB", "VALUE2")));
+        Assert.assertFalse(rule.matches(Map.of("fieldA1", "value1", "fieldB", "value2")));
+        Assert.assertFalse(rule.matches(Map.of("mappedA", "value1")));
+    }
+
+    public void testNestedAndDottedFields() throws IOException, SigmaError {
+        CompiledSigmaRule rule = compile(
+                "                sel:\n" +
+                "                    process.name: cmd.exe\n" +
+                "                condition: sel");
+        Assert.assertTrue(rule.matches(Map.of("process", Map.of("name", "cmd.exe"))));
+        Assert.assertTrue(rule.matches(Map.of("process.name", "cmd.exe")));
+        Assert.assertTrue(rule.matches(Map.of("process", List.of(Map.of("name", "foo"), Map.of("name", "CMD.EXE")))));
+        Assert.assertFalse(rule.matches(Map.of("process", Map.of("name", "powershell.exe"))));
+    }
+
+    public void testWildcards() throws IOException, SigmaError {
+        CompiledSigmaRule rule = compile(
+                "                sel1:\n" +
+                "                    fieldA|contains: mimi\n" +
+                "                sel2:\n" +
+                "                    fieldA|endswith: '.ps1'\n" +
+                "                sel3:\n" +
+                "                    fieldA: 'C:\\Win*\\sys?em32'\n" +
+                "                condition: sel1 or sel2 or sel3");
+        Assert.assertTrue(rule.matches(Map.of("fieldA", "run MimiKatz")));
+        Assert.assertTrue(rule.matches(Map.of("fieldA", "script.PS1")));
+        Assert.assertTrue(rule.matches(Map.of("fieldA", "c:\\windows\\system32")));
+        Assert.assertFalse(rule.matches(Map.of("fieldA", "c:\\windows\\syssem33")));
+        Assert.assertFalse(rule.matches(Map.of("fieldA", "ps1.txt")));
+    }
+
+    public void testRegexCidrAndCompare() throws IOException, SigmaError {
+        CompiledSigmaRule rule = compile(
+                "                sel:\n" +
+                "                    fieldA|re: 'foo[0-9]+'\n" +
+                "                    fieldB|cidr: 10.10.0.0/15\n" +
+                "                    fieldC|gte: 10\n" +
+                "                condition: sel");
+        Assert.assertTrue(rule.matches(Map.of("fieldA", "xfoo12", "mappedB", "10.11.1.1", "fieldC", 10)));
+        Assert.assertTrue(rule.matches(Map.of("fieldA", "foo1", "mappedB", "10.10.255.1", "fieldC", "12.5")));
+        Assert.assertFalse(rule.matches(Map.of("fieldA", "foo1", "mappedB", "10.12.0.1", "fieldC", 12)));
+        Assert.assertFalse(rule.matches(Map.of("fieldA", "foo1", "mappedB", "10.10.0.1", "fieldC", 9)));
+        Assert.assertFalse(rule.matches(Map.of("fieldA", "bar1", "mappedB", "10.10.0.1", "fieldC", 12)));
+    }
+
+    public void testNullAndNot() throws IOException, SigmaError {
+        CompiledSigmaRule rule = compile(
+                "                sel:\n" +
+                "                    fieldA: value1\n" +
+                "                filter:\n" +
+                "                    fieldA1: null\n" +
+                "                condition: sel and not filter");
+        Map<String, Object> nullValue = new HashMap<>();
+        nullValue.put("fieldA", "value1");
+        nullValue.put("mappedA", null);
+        Assert.assertFalse(rule.matches(nullValue));
+        Assert.assertFalse(rule.matches(Map.of("fieldA", "value1")));
+        Assert.assertTrue(rule.matches(Map.of("fieldA", "value1", "mappedA", "x")));
+    }
+
+    public void testKeywords() throws IOException, SigmaError {
+        CompiledSigmaRule rule = compile(
+                "                keywords:\n" +
+                "                    - '*mimikatz*'\n" +
+                "                condition: keywords");
+        Assert.assertTrue(rule.matches(Map.of("a", Map.of("b", List.of("x", "sekurlsa mimikatz")))));
+        Assert.assertFalse(rule.matches(Map.of("a", "benign")));
+    }
+
+    public void testAggregationRuleIsFlagged() throws IOException, SigmaError {
+        CompiledSigmaRule rule = compile(
+                "                sel:\n" +
+                "                    fieldA: value1\n" +
+                "                condition: sel | count(*) by fieldB > 5");
+        Assert.assertTrue(rule.isAggregationRule());
+        Assert.assertTrue(rule.matches(Map.of("fieldA", "value1")));
+    }
+
+    public void testRegularExpressionMatchedWithoutBacktracking() throws IOException, SigmaError {
+        CompiledSigmaRule rule = compile(
+                "                sel:\n" +
+                "                    fieldA|re: '(a+)+b'\n" +
+                "                condition: sel");
+        Assert.assertFalse(rule.matches(Map.of("fieldA", "a".repeat(10000) + "c")));
+        Assert.assertTrue(rule.matches(Map.of("fieldA", "xaab")));
+    }
+
+    public void testComplexRegularExpressionRejected() throws IOException {
+        SigmaRuleEvaluator evaluator = new SigmaRuleEvaluator("others_proxy", true, 100);
+        expectThrows(SigmaValueError.class, () -> evaluator.compile(rule(
+                "                sel:\n" +
+                "                    fieldA|re: '[ab]*a[ab]{20}'\n" +
+                "                condition: sel")));
+    }
+
+    private CompiledSigmaRule compile(String detection) throws IOException, SigmaError {
+        return new SigmaRuleEvaluator("others_proxy", true).compile(rule(detection));
+    }
+
+    private SigmaRule rule(String detection) throws SigmaError {
+        return SigmaRule.fromYaml(
+                "            title: Test\n" +
+                "            id: 39f919f3-980b-4e6f-a975-8af7e507ef2b\n" +
+                "            status: test\n" +
+                "            level: critical\n" +
+                "            description: Detects QuarksPwDump clearing access history in hive\n" +
+                "            author: Florian Roth\n" +
+                "            date: 2017/05/15\n" +
+                "            logsource:\n" +
+                "                category: test_category\n" +
+                "                product: test_product\n" +
+                "            detection:\n" +
+                detection, false);
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.rules.types;
+
+import org.junit.Assert;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaTypeError;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.List;
+
+public class SigmaCIDRExpressionTests extends OpenSearchTestCase {
+
+    public void testExpandOctetAligned() throws SigmaTypeError {
+        Assert.assertEquals(List.of("10.*"), new SigmaCIDRExpression("10.0.0.0/8").expandToWildcards());
+        Assert.assertEquals(List.of("10.1.2.3"), new SigmaCIDRExpression("10.1.2.3").expandToWildcards());
+        Assert.assertEquals(List.of("*"), new SigmaCIDRExpression("0.0.0.0/0").expandToWildcards());
+    }
+
+    public void testExpandNonOctetAligned() throws SigmaTypeError {
+        Assert.assertEquals(List.of("10.10.*", "10.11.*"), new SigmaCIDRExpression("10.11.0.0/15").expandToWildcards());
+        Assert.assertEquals(List.of("10.0.0.64", "10.0.0.65", "10.0.0.66", "10.0.0.67"),
+                new SigmaCIDRExpression("10.0.0.64/30").expandToWildcards());
+    }
+
+    public void testIpv6() throws SigmaTypeError {
+        SigmaCIDRExpression cidr = new SigmaCIDRExpression("2001:db8::/32");
+        Assert.assertTrue(cidr.isIPv6());
+        Assert.assertNull(cidr.expandToWildcards());
+        Assert.assertEquals("2001:db8::/32", cidr.convert());
+    }
+
+    public void testInvalid() {
+        expectThrows(SigmaTypeError.class, () -> new SigmaCIDRExpression("192.168.0/16"));
+        expectThrows(SigmaTypeError.class, () -> new SigmaCIDRExpression("192.168.0.0/33"));
+    }
+}
@@ -192,6 +192,17 @@ public class SigmaStringTests extends OpenSearchTestCase {
         Assert.assertEquals("\\f?\\*bar*", s.convert("\\", "*", "?", "f", "", "o"));
     }
 
+    public void testStringsConvertWithEscapeTable() throws SigmaValueError {
+        SigmaString.EscapeTable table = new SigmaString.EscapeTable("\\", "*", "?", "/:\\\u00fc", "&& ||", "\u00f6");
+        Assert.assertEquals("C\\:\\\\Windows\\\\sys_ws_tem32\\*.exe", new SigmaString("C:\\Windows\\sys tem32\\*.exe").convert(table));
+        Assert.assertEquals("\\&&", new SigmaString("&&").convert(table));
+        Assert.assertEquals("\\\u00fcn_ws_cd\u00e9*", new SigmaString("\u00fcn c\u00f6d\u00e9*").convert(table));
+
+        StringBuilder sb = new StringBuilder("prefix:");
+        new SigmaString("foo bar").convert(table, sb);
+        Assert.assertEquals("prefix:foo_ws_bar", sb.toString());
+    }
+
     public void testStringsConvertNoMultiWildcard() {
         assertThrows(SigmaValueError.class, () -> {
             SigmaString s = new SigmaString("foo*bar");
@@ -0,0 +1,249 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.sequence;
+
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.DocWriteRequest;
+import org.opensearch.action.delete.DeleteRequest;
+import org.opensearch.action.delete.DeleteResponse;
+import org.opensearch.action.get.GetRequest;
+import org.opensearch.action.get.GetResponse;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.action.index.IndexResponse;
+import org.opensearch.client.Client;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.ClusterSettings;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.commons.alerting.model.DocLevelQuery;
+import org.opensearch.commons.alerting.model.Finding;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.index.engine.VersionConflictEngineException;
+import org.opensearch.index.reindex.DeleteByQueryAction;
+import org.opensearch.index.seqno.SequenceNumbers;
+import org.opensearch.index.shard.ShardId;
+import org.opensearch.securityanalytics.TestHelpers;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.securityanalytics.util.SequenceStateIndices;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SequenceRuleEngineTests extends OpenSearchTestCase {
+
+    private static final SequenceRule RULE = new SequenceRule("rule", 2, true, 1000L, "host", List.of());
+
+    private static final ShardId SHARD_ID = new ShardId(SequenceStateIndices.SEQUENCE_STATE_INDEX, "_na_", 0);
+
+    /**
+     * Sequence state index shared by the engines of several nodes, writes are checked against the sequence number of
+     * the checkpoints like the engine does.
+     */
+    private static class StateIndex {
+
+        private final Map<String, Map<String, Object>> sources = new HashMap<>();
+
+        private final Map<String, Long> seqNos = new HashMap<>();
+
+        private final List<List<String>> findings = new ArrayList<>();
+
+        private final List<Runnable> pendingGets = new ArrayList<>();
+
+        private boolean deferGets = false;
+
+        private int gets = 0;
+
+        private long seqNo = 0L;
+
+        private Client client() {
+            Client client = mock(Client.class);
+            doAnswer(invocation -> {
+                GetRequest request = invocation.getArgument(0);
+                ActionListener<GetResponse> listener = invocation.getArgument(1);
+                ++gets;
+                Runnable get = () -> listener.onResponse(getResponse(request.id()));
+                if (deferGets) {
+                    pendingGets.add(get);
+                } else {
+                    get.run();
+                }
+                return null;
+            }).when(client).get(any(GetRequest.class), any());
+            doAnswer(invocation -> {
+                index(invocation.getArgument(0), invocation.getArgument(1));
+                return null;
+            }).when(client).index(any(IndexRequest.class), any());
+            doAnswer(invocation -> {
+                delete(invocation.getArgument(0), invocation.getArgument(1));
+                return null;
+            }).when(client).delete(any(DeleteRequest.class), any());
+            return client;
+        }
+
+        private GetResponse getResponse(String id) {
+            GetResponse response = mock(GetResponse.class);
+            when(response.isExists()).thenReturn(sources.containsKey(id));
+            when(response.getSourceAsMap()).thenReturn(sources.getOrDefault(id, Map.of()));
+            when(response.getSeqNo()).thenReturn(seqNos.getOrDefault(id, SequenceNumbers.UNASSIGNED_SEQ_NO));
+            when(response.getPrimaryTerm()).thenReturn(1L);
+            return response;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void index(IndexRequest request, ActionListener<IndexResponse> listener) {
+            Map<String, Object> source = request.sourceAsMap();
+            if (!SequenceStateIndices.SEQUENCE_STATE_INDEX.equals(request.index())) {
+                findings.add((List<String>) source.get("related_doc_ids"));
+                listener.onResponse(mock(IndexResponse.class));
+                return;
+            }
+            boolean exists = seqNos.containsKey(request.id());
+            if (request.opType() == DocWriteRequest.OpType.CREATE? exists: !exists || seqNos.get(request.id()) != request.ifSeqNo()) {
+                listener.onFailure(new VersionConflictEngineException(SHARD_ID, request.id(), "checkpoint changed"));
+                return;
+            }
+            sources.put(request.id(), source);
+            seqNos.put(request.id(), ++seqNo);
+            IndexResponse response = mock(IndexResponse.class);
+            when(response.getSeqNo()).thenReturn(seqNo);
+            when(response.getPrimaryTerm()).thenReturn(1L);
+            listener.onResponse(response);
+        }
+
+        private void delete(DeleteRequest request, ActionListener<DeleteResponse> listener) {
+            if (!seqNos.containsKey(request.id()) || seqNos.get(request.id()) != request.ifSeqNo()) {
+                listener.onFailure(new VersionConflictEngineException(SHARD_ID, request.id(), "checkpoint changed"));
+                return;
+            }
+            sources.remove(request.id());
+            seqNos.remove(request.id());
+            listener.onResponse(mock(DeleteResponse.class));
+        }
+
+        private void releaseGets() {
+            deferGets = false;
+            List<Runnable> gets = new ArrayList<>(pendingGets);
+            pendingGets.clear();
+            gets.forEach(Runnable::run);
+        }
+    }
+
+    public void testSequenceCompletedFromCheckpoint() {
+        StateIndex stateIndex = new StateIndex();
+        SequenceRuleEngine engine = engine(stateIndex.client(), () -> 0L);
+        Detector detector = TestHelpers.randomDetector(List.of());
+
+        engine.update(detector, finding(), RULE, List.of(0), List.of(event("a", 100L, "host1")));
+        assertEquals(1, stateIndex.sources.size());
+
+        // a node without the state in its cache continues from the checkpoint
+        SequenceRuleEngine otherEngine = engine(stateIndex.client(), () -> 0L);
+        otherEngine.update(detector, finding(), RULE, List.of(1), List.of(event("b", 200L, "host1")));
+
+        assertEquals(List.of(List.of("a", "b")), stateIndex.findings);
+        assertTrue(stateIndex.sources.isEmpty());
+    }
+
+    public void testStaleCachedStateReloadedOnConflict() {
+        StateIndex stateIndex = new StateIndex();
+        SequenceRuleEngine engine = engine(stateIndex.client(), () -> 0L);
+        SequenceRuleEngine otherEngine = engine(stateIndex.client(), () -> 0L);
+        Detector detector = TestHelpers.randomDetector(List.of());
+
+        engine.update(detector, finding(), RULE, List.of(0), List.of(event("a", 100L, "host1")));
+        // the checkpoint is replaced by another node, the state cached by the first node is stale
+        otherEngine.update(detector, finding(), RULE, List.of(0), List.of(event("a2", 200L, "host1")));
+        engine.update(detector, finding(), RULE, List.of(1), List.of(event("b", 300L, "host1")));
+
+        assertEquals(List.of(List.of("a2", "b")), stateIndex.findings);
+        assertTrue(stateIndex.sources.isEmpty());
+    }
+
+    public void testUpdatesOfGroupAppliedInOrder() {
+        StateIndex stateIndex = new StateIndex();
+        SequenceRuleEngine engine = engine(stateIndex.client(), () -> 0L);
+        Detector detector = TestHelpers.randomDetector(List.of());
+
+        stateIndex.deferGets = true;
+        engine.update(detector, finding(), RULE, List.of(0), List.of(event("a", 100L, "host1")));
+        engine.update(detector, finding(), RULE, List.of(1), List.of(event("b", 200L, "host1")));
+        // the second update waits for the state loaded by the first one
+        assertEquals(1, stateIndex.gets);
+
+        stateIndex.releaseGets();
+        assertEquals(1, stateIndex.gets);
+        assertEquals(List.of(List.of("a", "b")), stateIndex.findings);
+    }
+
+    public void testGroupsAdvancedSeparately() {
+        StateIndex stateIndex = new StateIndex();
+        SequenceRuleEngine engine = engine(stateIndex.client(), () -> 0L);
+        Detector detector = TestHelpers.randomDetector(List.of());
+
+        engine.update(detector, finding(), RULE, List.of(0), List.of(event("a1", 100L, "host1"), event("a2", 100L, "host2")));
+        engine.update(detector, finding(), RULE, List.of(1), List.of(event("b2", 200L, "host2"), event("nohost", 200L, null)));
+
+        assertEquals(List.of(List.of("a2", "b2")), stateIndex.findings);
+        assertEquals(1, stateIndex.sources.size());
+        Map<String, Object> checkpoint = stateIndex.sources.get(SequenceRuleEngine.stateId(detector.getId(), "rule", "host1"));
+        assertEquals("host1", checkpoint.get("group"));
+        assertEquals(1100L, ((Number) checkpoint.get("expire_time")).longValue());
+    }
+
+    public void testExpiredStatesDeletedPeriodically() {
+        Client client = mock(Client.class);
+        AtomicLong now = new AtomicLong(0L);
+        SequenceRuleEngine engine = engine(client, now::get);
+        Detector detector = TestHelpers.randomDetector(List.of());
+        Finding finding = new Finding("finding", List.of("a"), List.of("a"), "monitor", "monitor", "logs",
+                RULE.stepQueries(List.of("host: a", "host: b")), Instant.now());
+
+        engine.onFinding(detector, finding);
+        now.addAndGet(SequenceRuleEngine.STATE_CLEANUP_INTERVAL_IN_MILLIS - 1);
+        engine.onFinding(detector, finding);
+        verify(client, times(1)).execute(eq(DeleteByQueryAction.INSTANCE), any(), any());
+
+        now.addAndGet(1);
+        engine.onFinding(detector, finding);
+        verify(client, times(2)).execute(eq(DeleteByQueryAction.INSTANCE), any(), any());
+    }
+
+    private static SequenceRuleEngine engine(Client client, LongSupplier relativeTimeInMillisSupplier) {
+        ClusterService clusterService = mock(ClusterService.class);
+        when(clusterService.getSettings()).thenReturn(Settings.EMPTY);
+        when(clusterService.getClusterSettings()).thenReturn(new ClusterSettings(Settings.EMPTY, Set.of(SecurityAnalyticsSettings.SEQUENCE_MAX_GROUPS)));
+        SequenceStateIndices sequenceStateIndices = mock(SequenceStateIndices.class);
+        when(sequenceStateIndices.sequenceStateIndexExists()).thenReturn(true);
+        return new SequenceRuleEngine(client, clusterService, NamedXContentRegistry.EMPTY, sequenceStateIndices, relativeTimeInMillisSupplier);
+    }
+
+    private static Finding finding() {
+        return new Finding("finding", List.of(), List.of(), "monitor", "monitor", "logs",
+                List.of(new DocLevelQuery("rule_step_0", "rule", "host: a", List.of(SequenceRule.SEQUENCE_STEP_TAG))), Instant.now());
+    }
+
+    private static SequenceRuleEngine.Event event(String docId, long timestamp, String host) {
+        Map<String, Object> source = new HashMap<>();
+        if (host != null) {
+            source.put("host", host);
+        }
+        return new SequenceRuleEngine.Event(docId, timestamp, source);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.sequence;
+
+import org.junit.Assert;
+import org.opensearch.commons.alerting.model.DocLevelQuery;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.List;
+
+public class SequenceStateMachineTests extends OpenSearchTestCase {
+
+    public void testOrderedSequenceWithinTimeframe() {
+        SequenceStateMachine stateMachine = new SequenceStateMachine(new SequenceRule("rule", 3, true, 1000L, "host", List.of()));
+
+        Assert.assertNull(stateMachine.advance(1, 100L, "b0"));
+        Assert.assertNull(stateMachine.advance(0, 200L, "a"));
+        Assert.assertNull(stateMachine.advance(1, 300L, "b"));
+        Assert.assertNull(stateMachine.advance(0, 400L, "a1"));
+        Assert.assertEquals(List.of("a", "b", "c"), stateMachine.advance(2, 900L, "c"));
+        Assert.assertTrue(stateMachine.isEmpty());
+    }
+
+    public void testOrderedSequenceOutsideTimeframe() {
+        SequenceStateMachine stateMachine = new SequenceStateMachine(new SequenceRule("rule", 2, true, 1000L, "host", List.of()));
+
+        Assert.assertNull(stateMachine.advance(0, 100L, "a"));
+        Assert.assertNull(stateMachine.advance(1, 1200L, "b"));
+        Assert.assertTrue(stateMachine.isEmpty());
+    }
+
+    public void testOneDocumentDoesNotCompleteConsecutiveSteps() {
+        SequenceStateMachine stateMachine = new SequenceStateMachine(new SequenceRule("rule", 2, true, 1000L, null, List.of()));
+
+        Assert.assertNull(stateMachine.advance(1, 100L, "ab"));
+        Assert.assertNull(stateMachine.advance(0, 100L, "ab"));
+        Assert.assertEquals(List.of("ab", "b"), stateMachine.advance(1, 200L, "b"));
+    }
+
+    public void testUnorderedSequence() {
+        SequenceStateMachine stateMachine = new SequenceStateMachine(new SequenceRule("rule", 2, false, 1000L, "host", List.of()));
+
+        Assert.assertNull(stateMachine.advance(1, 100L, "b0"));
+        Assert.assertNull(stateMachine.advance(0, 1500L, "a"));
+        Assert.assertEquals(List.of("a", "b"), stateMachine.advance(1, 1200L, "b"));
+        Assert.assertTrue(stateMachine.isEmpty());
+    }
+
+    public void testCheckpointRoundTrip() {
+        SequenceRule rule = new SequenceRule("rule", 3, true, 1000L, "host", List.of());
+        SequenceStateMachine stateMachine = new SequenceStateMachine(rule);
+        stateMachine.advance(0, 100L, "a");
+        stateMachine.advance(1, 200L, "b");
+
+        SequenceStateMachine restored = SequenceStateMachine.fromMap(rule, stateMachine.toMap());
+        Assert.assertEquals(200L, restored.getLastEventTime());
+        Assert.assertEquals(1100L, restored.getExpireTime());
+        Assert.assertEquals(List.of("a", "b", "c"), restored.advance(2, 300L, "c"));
+    }
+
+    public void testStepQueries() {
+        SequenceRule rule = new SequenceRule("rule", 2, true, 1000L, "host", List.of("high"));
+        List<DocLevelQuery> queries = rule.stepQueries(List.of("fieldA: \"valueA\"", "fieldC: \"valueC\""));
+
+        Assert.assertEquals(2, queries.size());
+        Assert.assertTrue(SequenceRule.isStepQuery(queries.get(1)));
+        Assert.assertEquals(1, SequenceRule.step(queries.get(1)));
+        Assert.assertEquals("rule", queries.get(1).getName());
+        Assert.assertFalse(SequenceRule.isStepQuery(new DocLevelQuery("rule", "rule", "fieldA: \"valueA\"", List.of("high"))));
+    }
+}
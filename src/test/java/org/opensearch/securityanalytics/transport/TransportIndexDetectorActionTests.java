@@ -0,0 +1,71 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.transport;
+
+import org.opensearch.commons.alerting.action.IndexMonitorResponse;
+import org.opensearch.commons.alerting.aggregation.bucketselectorext.BucketSelectorExtAggregationBuilder;
+import org.opensearch.commons.alerting.model.BucketLevelTrigger;
+import org.opensearch.commons.alerting.model.CronSchedule;
+import org.opensearch.commons.alerting.model.DataSources;
+import org.opensearch.commons.alerting.model.Monitor;
+import org.opensearch.commons.alerting.model.Trigger;
+import org.opensearch.script.Script;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public class TransportIndexDetectorActionTests extends OpenSearchTestCase {
+
+    public void testMergedBucketLevelMonitorMappedToEachRule() {
+        List<IndexMonitorResponse> monitorResponses = List.of(
+                monitorResponse("doc_monitor_0", Monitor.MonitorType.DOC_LEVEL_MONITOR, List.of()),
+                monitorResponse("merged_monitor", Monitor.MonitorType.BUCKET_LEVEL_MONITOR, List.of(trigger("rule1"), trigger("rule2"))),
+                monitorResponse("doc_monitor_1", Monitor.MonitorType.DOC_LEVEL_MONITOR, List.of()),
+                monitorResponse("single_monitor", Monitor.MonitorType.BUCKET_LEVEL_MONITOR, List.of(trigger("rule3")))
+        );
+
+        Map<String, String> ruleIdMonitorIdMap = TransportIndexDetectorAction.mapMonitorIds(monitorResponses);
+
+        assertEquals(Map.of(
+                "rule1", "merged_monitor",
+                "rule2", "merged_monitor",
+                "rule3", "single_monitor",
+                Detector.docLevelMonitorKey(0), "doc_monitor_0",
+                Detector.docLevelMonitorKey(1), "doc_monitor_1"
+        ), ruleIdMonitorIdMap);
+    }
+
+    private static IndexMonitorResponse monitorResponse(String monitorId, Monitor.MonitorType monitorType, List<Trigger> triggers) {
+        Monitor monitor = new Monitor(
+                monitorId,
+                1L,
+                "monitor_name",
+                true,
+                new CronSchedule("31 * * * *", ZoneId.of("UTC"), Instant.ofEpochSecond(1538164858L)),
+                Instant.now(),
+                Instant.now(),
+                monitorType,
+                null,
+                1,
+                List.of(),
+                triggers,
+                Map.of(),
+                new DataSources(),
+                TransportIndexDetectorAction.PLUGIN_OWNER_FIELD
+        );
+        return new IndexMonitorResponse(monitorId, 1L, 0L, 1L, monitor);
+    }
+
+    private static BucketLevelTrigger trigger(String ruleId) {
+        BucketSelectorExtAggregationBuilder condition = new BucketSelectorExtAggregationBuilder(ruleId,
+                Collections.singletonMap("_cnt", "_cnt"), new Script("params._cnt > 1"), "result_agg", null);
+        return new BucketLevelTrigger(ruleId, "rule_title", "high", condition, List.of());
+    }
+}
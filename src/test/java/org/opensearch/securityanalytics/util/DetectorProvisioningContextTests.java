@@ -0,0 +1,70 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.util;
+
+import org.junit.Assert;
+import org.opensearch.action.ActionListener;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.model.DetectorInput;
+import org.opensearch.securityanalytics.model.DetectorRule;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.opensearch.securityanalytics.TestHelpers.randomDetectorWithInputs;
+
+public class DetectorProvisioningContextTests extends OpenSearchTestCase {
+
+    public void testRuleIdsOfAllDetectors() {
+        DetectorInput firstInput = new DetectorInput("first", List.of("windows"), List.of(new DetectorRule("custom-1")), List.of(new DetectorRule("rule-1")));
+        DetectorInput secondInput = new DetectorInput("second", List.of("windows"), List.of(), List.of(new DetectorRule("rule-1"), new DetectorRule("rule-2")));
+        DetectorProvisioningContext context = new DetectorProvisioningContext(List.of(
+                randomDetectorWithInputs(List.of(firstInput), Detector.DetectorType.WINDOWS),
+                randomDetectorWithInputs(List.of(secondInput), Detector.DetectorType.WINDOWS)));
+
+        Assert.assertEquals(Set.of("rule-1", "rule-2"), context.getPrePackagedRuleIds("windows"));
+        Assert.assertEquals(Set.of(), context.getPrePackagedRuleIds("network"));
+        Assert.assertEquals(Set.of("custom-1"), context.getCustomRuleIds());
+    }
+
+    public void testSharedResultIsLoadedOnce() {
+        DetectorProvisioningContext context = new DetectorProvisioningContext(List.of());
+        AtomicInteger loads = new AtomicInteger();
+        AtomicReference<ActionListener<String>> pending = new AtomicReference<>();
+        List<String> results = new ArrayList<>();
+
+        for (int i = 0; i < 3; ++i) {
+            context.<String>shared("rules", it -> {
+                loads.incrementAndGet();
+                pending.set(it);
+            }, ActionListener.wrap(results::add, e -> fail()));
+        }
+        Assert.assertTrue(results.isEmpty());
+
+        pending.get().onResponse("loaded");
+        context.<String>shared("rules", it -> loads.incrementAndGet(), ActionListener.wrap(results::add, e -> fail()));
+
+        Assert.assertEquals(1, loads.get());
+        Assert.assertEquals(List.of("loaded", "loaded", "loaded", "loaded"), results);
+    }
+
+    public void testSharedFailureIsReportedToAll() {
+        DetectorProvisioningContext context = new DetectorProvisioningContext(List.of());
+        List<Exception> failures = new ArrayList<>();
+
+        for (int i = 0; i < 2; ++i) {
+            context.<String>shared("rules", it -> {
+                throw new IllegalStateException("rule index missing");
+            }, ActionListener.wrap(it -> fail(), failures::add));
+        }
+
+        Assert.assertEquals(2, failures.size());
+        Assert.assertEquals("rule index missing", failures.get(1).getMessage());
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.util;
+
+import org.opensearch.Version;
+import org.opensearch.cluster.ClusterName;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.metadata.IndexNameExpressionResolver;
+import org.opensearch.cluster.metadata.MappingMetadata;
+import org.opensearch.cluster.metadata.Metadata;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.ClusterSettings;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.commons.alerting.model.BucketLevelTrigger;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.index.mapper.MapperService;
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.search.aggregations.AggregationBuilder;
+import org.opensearch.search.aggregations.bucket.filter.FilterAggregationBuilder;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.securityanalytics.TestHelpers;
+import org.opensearch.securityanalytics.mapper.IndexMappingsCache;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.model.DetectorInput;
+import org.opensearch.securityanalytics.model.Rule;
+import org.opensearch.securityanalytics.model.Value;
+import org.opensearch.securityanalytics.rules.backend.QueryBackend;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.opensearch.securityanalytics.transport.TransportIndexDetectorAction.RULE_FILTER_AGGREGATION_PREFIX;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DetectorQueryGeneratorTests extends OpenSearchTestCase {
+
+    private static final Set<String> MAPPED_FIELDS = Set.of("@timestamp", "winlog_event_id", "event_id");
+
+    public void testRuleQueryingMappedFieldCanMatch() {
+        assertTrue(DetectorQueryGenerator.canMatch(List.of("process_name", "event_id"), false, MAPPED_FIELDS));
+    }
+
+    public void testRuleQueryingOnlyUnmappedFieldsCannotMatch() {
+        assertFalse(DetectorQueryGenerator.canMatch(List.of("process_name", "command_line"), false, MAPPED_FIELDS));
+    }
+
+    public void testNegatedRuleCanMatchWithoutItsFields() {
+        assertTrue(DetectorQueryGenerator.canMatch(List.of("process_name"), true, MAPPED_FIELDS));
+    }
+
+    public void testRuleSearchingAnyFieldCanMatch() {
+        assertTrue(DetectorQueryGenerator.canMatch(List.of("_0"), false, MAPPED_FIELDS));
+    }
+
+    public void testRuleWithoutFieldNamesCanMatch() {
+        assertTrue(DetectorQueryGenerator.canMatch(List.of(), false, MAPPED_FIELDS));
+    }
+
+    public void testNegationReadFromParsedCondition() throws SigmaError {
+        assertTrue(DetectorQueryGenerator.parseRuleDetections(rule("Test",
+                "                sel:\n" +
+                "                    process_name: cmd.exe\n" +
+                "                filter:\n" +
+                "                    user: admin\n" +
+                "                condition: sel and not filter")).hasNegation());
+        assertFalse(DetectorQueryGenerator.parseRuleDetections(rule("Detects NOT a negation",
+                "                sel:\n" +
+                "                    process_name: 'NOT cmd.exe'\n" +
+                "                condition: sel")).hasNegation());
+    }
+
+    public void testRuleWithOtherFieldsCannotMatchSameIndices() {
+        Rule rule = docLevelRule("process_name", "sel and not filter");
+        assertTrue(DetectorQueryGenerator.canMatchSameIndices(rule, docLevelRule("process_name", "sel and not filter")));
+        // an index group mapping only one of the fields gets the rule in one version but not the other
+        assertFalse(DetectorQueryGenerator.canMatchSameIndices(rule, docLevelRule("command_line", "sel and not filter")));
+        assertFalse(DetectorQueryGenerator.canMatchSameIndices(rule, docLevelRule("process_name", "sel")));
+    }
+
+    public void testGroupIndicesByMappings() {
+        Map<String, Object> windowsMappings = Map.of("winlog", Map.of("properties", Map.of("event_id", Map.of("type", "integer"))));
+        Map<String, Object> networkMappings = Map.of("src_ip", Map.of("type", "ip"));
+        ClusterState state = ClusterState.builder(ClusterName.DEFAULT)
+                .metadata(Metadata.builder()
+                        .put(indexMetadata("windows-1", windowsMappings), false)
+                        .put(indexMetadata("windows-2", windowsMappings), false)
+                        .put(indexMetadata("network-1", networkMappings), false))
+                .build();
+        DetectorQueryGenerator generator = generator(state);
+
+        Detector detector = TestHelpers.randomDetectorWithInputs(List.of(new DetectorInput("test",
+                List.of("windows-1", "network-1", "windows-2", "missing"), List.of(), List.of())));
+        List<DetectorQueryGenerator.IndexGroup> indexGroups = generator.groupIndicesByMappings(detector);
+
+        assertEquals(3, indexGroups.size());
+        assertEquals(List.of("windows-1", "windows-2"), indexGroups.get(0).getIndices());
+        assertEquals(Set.of("winlog_event_id"), indexGroups.get(0).getIndexMappings().getQueryFieldNames());
+        assertEquals(List.of("network-1"), indexGroups.get(1).getIndices());
+        assertEquals(Set.of("src_ip"), indexGroups.get(1).getIndexMappings().getQueryFieldNames());
+        assertEquals(List.of("missing"), indexGroups.get(2).getIndices());
+        assertNull(indexGroups.get(2).getIndexMappings());
+    }
+
+    public void testMergedBucketLevelSearch() throws SigmaError, IOException {
+        DetectorQueryGenerator generator = generator(ClusterState.builder(ClusterName.DEFAULT).build());
+        Detector detector = TestHelpers.randomDetectorWithInputs(List.of(new DetectorInput("test", List.of("missing"), List.of(), List.of())));
+        List<Rule> rules = List.of(aggregationRule("rule1", "count", " > 1"), aggregationRule("rule2", "max", " > 3"));
+        Map<String, QueryBackend> queryBackendMap = Map.of("test_windows", generator.newBucketLevelQueryBackend("test_windows"));
+
+        DetectorQueryGenerator.BucketLevelSearch search = generator.buildBucketLevelSearch(rules, detector, queryBackendMap, "0", "1");
+
+        SearchSourceBuilder searchSource = search.getSearchSource();
+        assertTrue(searchSource.query() instanceof BoolQueryBuilder);
+        assertEquals(2, ((BoolQueryBuilder) searchSource.query()).should().size());
+        List<AggregationBuilder> aggregations = List.copyOf(searchSource.aggregations().getAggregatorFactories());
+        assertEquals(2, aggregations.size());
+        for (int i = 0; i < rules.size(); ++i) {
+            String ruleId = rules.get(i).getId();
+            AggregationBuilder aggregation = aggregations.get(i);
+            assertTrue(aggregation instanceof FilterAggregationBuilder);
+            assertEquals(RULE_FILTER_AGGREGATION_PREFIX + ruleId, aggregation.getName());
+            assertEquals(1, aggregation.getSubAggregations().size());
+            assertEquals("result_agg", aggregation.getSubAggregations().iterator().next().getName());
+
+            BucketLevelTrigger trigger = search.getTriggers().get(i);
+            assertEquals(ruleId, trigger.getId());
+            assertEquals(RULE_FILTER_AGGREGATION_PREFIX + ruleId + ">result_agg", trigger.getBucketSelector().getParentBucketPath());
+        }
+    }
+
+    public void testSingleRuleBucketLevelSearchNotMerged() throws SigmaError, IOException {
+        DetectorQueryGenerator generator = generator(ClusterState.builder(ClusterName.DEFAULT).build());
+        Detector detector = TestHelpers.randomDetectorWithInputs(List.of(new DetectorInput("test", List.of("missing"), List.of(), List.of())));
+        Map<String, QueryBackend> queryBackendMap = Map.of("test_windows", generator.newBucketLevelQueryBackend("test_windows"));
+
+        DetectorQueryGenerator.BucketLevelSearch search = generator.buildBucketLevelSearch(
+                List.of(aggregationRule("rule1", "count", " > 1")), detector, queryBackendMap, "0", "1");
+
+        assertEquals("result_agg", search.getSearchSource().aggregations().getAggregatorFactories().iterator().next().getName());
+        assertEquals("result_agg", search.getTriggers().get(0).getBucketSelector().getParentBucketPath());
+    }
+
+    public void testBucketLevelSearchRestrictsRuleQueryToIndexGroups() throws SigmaError, IOException {
+        ClusterState state = ClusterState.builder(ClusterName.DEFAULT)
+                .metadata(Metadata.builder()
+                        .put(indexMetadata("windows-1", Map.of("Opcode", Map.of("type", "keyword"))), false)
+                        .put(indexMetadata("windows-2", Map.of("Opcode", Map.of("type", "text"))), false))
+                .build();
+        DetectorQueryGenerator generator = generator(state);
+        Detector detector = TestHelpers.randomDetectorWithInputs(List.of(new DetectorInput("test",
+                List.of("windows-1", "windows-2"), List.of(), List.of())));
+        List<DetectorQueryGenerator.IndexGroup> indexGroups = generator.groupIndicesByMappings(detector);
+        assertEquals(2, indexGroups.size());
+        Map<String, QueryBackend> queryBackendMap = Map.of("test_windows", generator.newBucketLevelQueryBackend("test_windows"));
+
+        DetectorQueryGenerator.BucketLevelSearch search = generator.buildBucketLevelSearch(
+                List.of(aggregationRule("rule1", "count", " > 1")), detector, indexGroups, queryBackendMap, "0", "1");
+
+        // one clause per group, each with the query for its mappings and limited to its indices
+        List<QueryBuilder> groupQueries = ((BoolQueryBuilder) search.getSearchSource().query()).should();
+        assertEquals(2, groupQueries.size());
+        for (int i = 0; i < indexGroups.size(); ++i) {
+            List<QueryBuilder> filters = ((BoolQueryBuilder) groupQueries.get(i)).filter();
+            assertEquals(2, filters.size());
+            assertEquals(DetectorQueryGenerator.indexGroupFilter(state, indexGroups.get(i)), filters.get(1));
+            assertEquals(QueryBuilders.wildcardQuery("_index", indexGroups.get(i).getIndices().get(0)),
+                    ((BoolQueryBuilder) filters.get(1)).should().get(0));
+        }
+        assertEquals("result_agg", search.getTriggers().get(0).getBucketSelector().getParentBucketPath());
+    }
+
+    public void testCidrConditionReadFromDetections() throws SigmaError {
+        assertTrue(DetectorQueryGenerator.parseRuleDetections(rule("Detects connections to internal ranges",
+                "                sel:\n" +
+                "                    dst_ip|cidr: 10.0.0.0/8\n" +
+                "                condition: sel")).hasCidrCondition());
+    }
+
+    public void testCidrMentionedOutsideDetectionsIgnored() throws SigmaError {
+        assertFalse(DetectorQueryGenerator.parseRuleDetections(rule("Replaces the old dst_ip|cidr rule",
+                "                sel:\n" +
+                "                    dst_ip: 10.0.0.1\n" +
+                "                condition: sel")).hasCidrCondition());
+    }
+
+    static DetectorQueryGenerator generator(ClusterState state) {
+        ClusterService clusterService = mock(ClusterService.class);
+        when(clusterService.state()).thenReturn(state);
+        when(clusterService.getSettings()).thenReturn(Settings.EMPTY);
+        when(clusterService.getClusterSettings()).thenReturn(new ClusterSettings(Settings.EMPTY, Set.of(
+                SecurityAnalyticsSettings.QUERY_DSL_ENABLED,
+                SecurityAnalyticsSettings.BUCKET_LEVEL_AGGREGATION_MODE,
+                SecurityAnalyticsSettings.COMPOSITE_AGGREGATION_PAGE_SIZE,
+                SecurityAnalyticsSettings.ENABLE_CONDITION_OPTIMIZER,
+                SecurityAnalyticsSettings.REWRITE_SIMPLE_REGEX
+        )));
+        return new DetectorQueryGenerator(clusterService, new IndexNameExpressionResolver(new ThreadContext(Settings.EMPTY)),
+                NamedXContentRegistry.EMPTY, new IndexMappingsCache());
+    }
+
+    static IndexMetadata indexMetadata(String index, Map<String, Object> properties) {
+        MappingMetadata mappingMetadata = new MappingMetadata(MapperService.SINGLE_MAPPING_NAME,
+                Map.of(MapperService.SINGLE_MAPPING_NAME, Map.of("properties", properties)));
+        return IndexMetadata.builder(index)
+                .settings(Settings.builder()
+                        .put(IndexMetadata.SETTING_VERSION_CREATED, Version.CURRENT)
+                        .put(IndexMetadata.SETTING_INDEX_UUID, index + "_uuid"))
+                .numberOfShards(1)
+                .numberOfReplicas(0)
+                .putMapping(mappingMetadata)
+                .build();
+    }
+
+    static Rule aggregationRule(String id, String aggFunction, String signAndValue) {
+        String yaml = rule("Test aggregation",
+                "                sel:\n" +
+                "                    Opcode: Info\n" +
+                "                condition: sel | " + aggFunction + "(SeverityValue) by Version" + signAndValue);
+        return new Rule(id, 1L, "Test", "test_windows", "test_windows", "Test aggregation", List.of(), List.of(), "high",
+                List.of(), "author", "test", Instant.now(), List.of(new Value("Opcode: Info")), List.of(new Value("Opcode")), yaml,
+                List.of(new Value(aggFunction)));
+    }
+
+    private static Rule docLevelRule(String fieldName, String condition) {
+        String yaml = rule("Test",
+                "                sel:\n" +
+                "                    " + fieldName + ": cmd.exe\n" +
+                "                filter:\n" +
+                "                    user: admin\n" +
+                "                condition: " + condition);
+        return new Rule("rule1", 1L, "Test", "test_windows", "test_windows", "Test", List.of(), List.of(), "high",
+                List.of(), "author", "test", Instant.now(), List.of(new Value(fieldName + ": \"cmd.exe\"")), List.of(new Value(fieldName), new Value("user")),
+                yaml, List.of());
+    }
+
+    static String rule(String description, String detection) {
+        return "            title: Test\n" +
+                "            id: 39f919f3-980b-4e6f-a975-8af7e507ef2b\n" +
+                "            status: test\n" +
+                "            level: critical\n" +
+                "            description: " + description + "\n" +
+                "            author: Florian Roth\n" +
+                "            date: 2017/05/15\n" +
+                "            logsource:\n" +
+                "                category: test_category\n" +
+                "                product: test_product\n" +
+                "            detection:\n" +
+                detection;
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.util;
+
+import org.opensearch.OpenSearchStatusException;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.OpenSearchRejectedExecutionException;
+import org.opensearch.rest.RestStatus;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.threadpool.TestThreadPool;
+import org.opensearch.threadpool.ThreadPool;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class MonitorRequestExecutorTests extends OpenSearchTestCase {
+
+    private ThreadPool threadPool;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        threadPool = new TestThreadPool(getTestName());
+    }
+
+    @Override
+    public void tearDown() throws Exception {
+        terminate(threadPool);
+        super.tearDown();
+    }
+
+    public void testBoundsRequestsInFlight() throws InterruptedException {
+        MonitorRequestExecutor executor = executor(2);
+        List<Integer> requests = IntStream.range(0, 20).boxed().collect(Collectors.toList());
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        AtomicReference<List<String>> responses = new AtomicReference<>();
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        executor.<Integer, String>execute(requests, (request, listener) -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            threadPool.generic().execute(() -> {
+                inFlight.decrementAndGet();
+                listener.onResponse("monitor-" + request);
+            });
+        }, request -> false, true, 2, (result, e) -> {
+            responses.set(result);
+            failure.set(e);
+            latch.countDown();
+        });
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertNull(failure.get());
+        assertTrue(maxInFlight.get() <= 2);
+        assertEquals(requests.stream().map(it -> "monitor-" + it).collect(Collectors.toList()), responses.get());
+    }
+
+    public void testRetriesRejectedRequests() throws InterruptedException {
+        MonitorRequestExecutor executor = executor(3);
+        Set<Integer> rejectedOnce = ConcurrentHashMap.newKeySet();
+
+        AtomicReference<List<String>> responses = new AtomicReference<>();
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        executor.<Integer, String>execute(List.of(0, 1, 2, 3), (request, listener) -> {
+            if (rejectedOnce.add(request)) {
+                listener.onFailure(new OpenSearchRejectedExecutionException("rejected"));
+            } else {
+                listener.onResponse("monitor-" + request);
+            }
+        }, request -> false, true, 2, (result, e) -> {
+            responses.set(result);
+            failure.set(e);
+            latch.countDown();
+        });
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertNull(failure.get());
+        assertEquals(List.of("monitor-0", "monitor-1", "monitor-2", "monitor-3"), responses.get());
+    }
+
+    public void testStopsOnFailure() throws InterruptedException {
+        MonitorRequestExecutor executor = executor(3);
+        AtomicInteger sent = new AtomicInteger();
+
+        AtomicReference<List<String>> responses = new AtomicReference<>();
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        executor.<Integer, String>execute(List.of(0, 1, 2, 3), (request, listener) -> {
+            sent.incrementAndGet();
+            if (request == 1) {
+                listener.onFailure(new OpenSearchStatusException("invalid monitor", RestStatus.BAD_REQUEST));
+            } else {
+                listener.onResponse("monitor-" + request);
+            }
+        }, request -> false, true, 1, (result, e) -> {
+            responses.set(result);
+            failure.set(e);
+            latch.countDown();
+        });
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertEquals("invalid monitor", failure.get().getMessage());
+        assertEquals(2, sent.get());
+        assertEquals("monitor-0", responses.get().get(0));
+        assertNull(responses.get().get(1));
+        assertNull(responses.get().get(3));
+    }
+
+    public void testRetriesUnavailableOnlyForIdempotentRequests() throws InterruptedException {
+        MonitorRequestExecutor executor = executor(3);
+        Set<Integer> unavailableOnce = ConcurrentHashMap.newKeySet();
+        AtomicInteger sent = new AtomicInteger();
+
+        AtomicReference<List<String>> responses = new AtomicReference<>();
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        executor.<Integer, String>execute(List.of(0, 1), (request, listener) -> {
+            sent.incrementAndGet();
+            if (unavailableOnce.add(request)) {
+                listener.onFailure(new OpenSearchStatusException("timed out", RestStatus.SERVICE_UNAVAILABLE));
+            } else {
+                listener.onResponse("monitor-" + request);
+            }
+        }, request -> request == 0, false, 1, (result, e) -> {
+            responses.set(result);
+            failure.set(e);
+            latch.countDown();
+        });
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertEquals("timed out", failure.get().getMessage());
+        assertEquals(3, sent.get());
+        assertEquals("monitor-0", responses.get().get(0));
+        assertNull(responses.get().get(1));
+    }
+
+    public void testIsRetryable() {
+        assertTrue(MonitorRequestExecutor.isRetryable(new OpenSearchRejectedExecutionException("rejected"), false));
+        assertTrue(MonitorRequestExecutor.isRetryable(new OpenSearchStatusException("busy", RestStatus.TOO_MANY_REQUESTS), false));
+        assertFalse(MonitorRequestExecutor.isRetryable(new OpenSearchStatusException("invalid", RestStatus.BAD_REQUEST), true));
+        assertTrue(MonitorRequestExecutor.isRetryable(new OpenSearchStatusException("unavailable", RestStatus.SERVICE_UNAVAILABLE), true));
+        assertTrue(MonitorRequestExecutor.isRetryable(new OpenSearchStatusException("timed out", RestStatus.GATEWAY_TIMEOUT), true));
+        assertFalse(MonitorRequestExecutor.isRetryable(new OpenSearchStatusException("unavailable", RestStatus.SERVICE_UNAVAILABLE), false));
+        assertFalse(MonitorRequestExecutor.isRetryable(new OpenSearchStatusException("timed out", RestStatus.GATEWAY_TIMEOUT), false));
+    }
+
+    private MonitorRequestExecutor executor(int maxRetries) {
+        return new MonitorRequestExecutor(null, threadPool, null, 2, maxRetries, TimeValue.timeValueMillis(1));
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.util;
+
+import org.junit.Assert;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.List;
+import java.util.Map;
+
+public class RulePartitionerTests extends OpenSearchTestCase {
+
+    private static final Map<String, Long> COSTS = Map.of(
+            "a", 10L, "b", 40L, "c", 5L, "d", 25L, "e", 20L
+    );
+
+    public void testSinglePartitionByDefault() {
+        List<String> rules = List.of("a", "b", "c", "d", "e");
+        Assert.assertEquals(List.of(rules), RulePartitioner.partition(rules, COSTS::get, 1, 0L));
+        Assert.assertTrue(RulePartitioner.partition(List.<String>of(), COSTS::get, 3, 0L).isEmpty());
+    }
+
+    public void testBalancesPartitionsByCost() {
+        List<List<String>> partitions = RulePartitioner.partition(List.of("a", "b", "c", "d", "e"), COSTS::get, 2, 0L);
+        // b(40) and a(10) against d(25), e(20) and c(5), rules keep their order within a partition
+        Assert.assertEquals(List.of(List.of("a", "b"), List.of("c", "d", "e")), partitions);
+    }
+
+    public void testPartitionsDerivedFromCost() {
+        List<List<String>> partitions = RulePartitioner.partition(List.of("a", "b", "c", "d", "e"), COSTS::get, 1, 35L);
+        Assert.assertEquals(3, partitions.size());
+        Assert.assertEquals(List.of(List.of("b"), List.of("c", "d"), List.of("a", "e")), partitions);
+    }
+
+    public void testNoMorePartitionsThanRules() {
+        List<List<String>> partitions = RulePartitioner.partition(List.of("a", "b"), COSTS::get, 5, 1L);
+        Assert.assertEquals(List.of(List.of("b"), List.of("a")), partitions);
+    }
+}
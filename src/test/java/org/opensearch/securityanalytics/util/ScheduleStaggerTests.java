@@ -0,0 +1,80 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.util;
+
+import org.opensearch.commons.alerting.model.CronSchedule;
+import org.opensearch.commons.alerting.model.IntervalSchedule;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ScheduleStaggerTests extends OpenSearchTestCase {
+
+    public void testIntervalMillis() {
+        assertEquals(300000L, ScheduleStagger.intervalMillis(new IntervalSchedule(5, ChronoUnit.MINUTES, null)));
+        assertEquals(0L, ScheduleStagger.intervalMillis(new CronSchedule("31 * * * *", ZoneId.of("UTC"), null)));
+    }
+
+    public void testSlots() {
+        assertEquals(ScheduleStagger.MAX_SLOTS, ScheduleStagger.slots(300000L));
+        assertEquals(30, ScheduleStagger.slots(30000L));
+        assertEquals(1, ScheduleStagger.slots(500L));
+    }
+
+    public void testChooseSlotPrefersSlotOfId() {
+        String detectorId = randomAlphaOfLength(20);
+        int preferred = ScheduleStagger.preferredSlot(detectorId, 60);
+
+        assertEquals(preferred, ScheduleStagger.chooseSlot(detectorId, List.of(), 60));
+        assertEquals(ScheduleStagger.chooseSlot(detectorId, List.of(1, 2, 3), 60), ScheduleStagger.chooseSlot(detectorId, List.of(1, 2, 3), 60));
+    }
+
+    public void testChooseSlotFillsLeastUsedSlot() {
+        String detectorId = randomAlphaOfLength(20);
+        int preferred = ScheduleStagger.preferredSlot(detectorId, 4);
+        int free = (preferred + 2) % 4;
+
+        List<Integer> usedSlots = new ArrayList<>();
+        for (int slot = 0; slot < 4; ++slot) {
+            if (slot != free) {
+                usedSlots.add(slot);
+            }
+        }
+        assertEquals(free, ScheduleStagger.chooseSlot(detectorId, usedSlots, 4));
+    }
+
+    public void testAddedDetectorsAreSpreadEvenly() {
+        int slots = 10;
+        List<Integer> usedSlots = new ArrayList<>();
+        for (int i = 0; i < 35; ++i) {
+            usedSlots.add(ScheduleStagger.chooseSlot("detector-" + i, usedSlots, slots));
+        }
+
+        int[] usage = new int[slots];
+        for (int slot: usedSlots) {
+            ++usage[slot];
+        }
+        for (int count: usage) {
+            assertTrue(count == 3 || count == 4);
+        }
+    }
+
+    public void testStaggerMovesEnabledTimeIntoSlot() {
+        long intervalMillis = 300000L;
+        int slots = ScheduleStagger.slots(intervalMillis);
+        Instant enabledTime = Instant.ofEpochMilli(1538164858000L);
+
+        for (int slot = 0; slot < slots; ++slot) {
+            Instant staggered = ScheduleStagger.stagger(enabledTime, intervalMillis, slot, slots);
+            assertFalse(staggered.isAfter(enabledTime));
+            assertTrue(enabledTime.toEpochMilli() - staggered.toEpochMilli() < intervalMillis);
+            assertEquals(slot, ScheduleStagger.slotOf(staggered, intervalMillis, slots));
+        }
+    }
+}